@@ -1,13 +1,22 @@
 package ru.tinkoff.kora.cache;
 
 import reactor.core.publisher.Mono;
+import reactor.util.context.Context;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
 
+/**
+ * Concurrent misses of the same key share single {@link CacheLoader} call and its result.
+ * Failed loads are not cached: the error is propagated to all the callers waiting for that load and the next miss loads again.
+ */
 public final class DefaultLoadableCache<K, V> implements LoadableCache<K, V> {
     private final Cache<K, V> cache;
     private final CacheLoader<K, V> cacheLoader;
+    private final ConcurrentHashMap<K, CompletableFuture<V>> loading = new ConcurrentHashMap<>();
 
 
     public DefaultLoadableCache(Cache<K, V> cache, CacheLoader<K, V> cacheLoader) {
@@ -23,11 +32,25 @@ public final class DefaultLoadableCache<K, V> implements LoadableCache<K, V> {
             return fromCache;
         }
 
-        var value = cacheLoader.load(key);
-        if (value != null) {
-            cache.put(key, value);
+        var future = new CompletableFuture<V>();
+        var inProgress = loading.putIfAbsent(key, future);
+        if (inProgress != null) {
+            return await(inProgress);
         }
 
+        final V value;
+        try {
+            value = cacheLoader.load(key);
+            if (value != null) {
+                cache.put(key, value);
+            }
+        } catch (Throwable e) {
+            loading.remove(key, future);
+            future.completeExceptionally(e);
+            throw e;
+        }
+        loading.remove(key, future);
+        future.complete(value);
         return value;
     }
 
@@ -35,9 +58,46 @@ public final class DefaultLoadableCache<K, V> implements LoadableCache<K, V> {
     @Override
     public Mono<V> getAsync(@Nonnull K key) {
         return cache.getAsync(key)
-            .switchIfEmpty(
+            .switchIfEmpty(Mono.deferContextual(context -> {
+                var future = new CompletableFuture<V>();
+                var inProgress = loading.putIfAbsent(key, future);
+                if (inProgress != null) {
+                    return Mono.fromFuture(inProgress.copy());
+                }
+                // load is not bound to the subscriber that started it, so its cancellation won't affect other callers
                 cacheLoader.loadAsync(key)
                     .flatMap(value -> cache.putAsync(key, value).thenReturn(value))
-            );
+                    .subscribe(
+                        value -> {
+                            loading.remove(key, future);
+                            future.complete(value);
+                        },
+                        error -> {
+                            loading.remove(key, future);
+                            future.completeExceptionally(error);
+                        },
+                        () -> {
+                            loading.remove(key, future);
+                            future.complete(null);
+                        },
+                        Context.of(context)
+                    );
+                return Mono.fromFuture(future.copy());
+            }));
+    }
+
+    @Nullable
+    private static <V> V await(CompletableFuture<V> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException re) {
+                throw re;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw e;
+        }
     }
 }
@@ -0,0 +1,108 @@
+package ru.tinkoff.kora.cache;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import ru.tinkoff.kora.cache.testcache.DummyCache;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+class DefaultLoadableCacheTests extends Assertions {
+
+    @Test
+    void concurrentMissesShareSingleLoad() throws Exception {
+        var calls = new AtomicInteger();
+        var loadStarted = new CountDownLatch(1);
+        var release = new CountDownLatch(1);
+        var cache = LoadableCache.nonBlocking(new DummyCache<String, String>("test"), key -> {
+            calls.incrementAndGet();
+            loadStarted.countDown();
+            try {
+                release.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                throw new RuntimeException(e);
+            }
+            return "value-" + key;
+        });
+
+        var executor = Executors.newFixedThreadPool(2);
+        try {
+            var first = executor.submit(() -> cache.get("key"));
+            assertTrue(loadStarted.await(10, TimeUnit.SECONDS));
+            var second = executor.submit(() -> cache.get("key"));
+            Thread.sleep(100);
+            release.countDown();
+
+            assertEquals("value-key", first.get(10, TimeUnit.SECONDS));
+            assertEquals("value-key", second.get(10, TimeUnit.SECONDS));
+            assertEquals(1, calls.get());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void failedLoadIsNotCached() {
+        var calls = new AtomicInteger();
+        var cache = LoadableCache.nonBlocking(new DummyCache<String, String>("test"), key -> {
+            if (calls.incrementAndGet() == 1) {
+                throw new IllegalStateException("failed");
+            }
+            return "value-" + key;
+        });
+
+        assertThrows(IllegalStateException.class, () -> cache.get("key"));
+        assertEquals("value-key", cache.get("key"));
+        assertEquals("value-key", cache.get("key"));
+        assertEquals(2, calls.get());
+    }
+
+    @Test
+    void concurrentAsyncMissesShareSingleLoad() {
+        var calls = new AtomicInteger();
+        var sink = Sinks.<String>one();
+        var cache = LoadableCache.async(new DummyCache<String, String>("test"), key -> {
+            calls.incrementAndGet();
+            return sink.asMono();
+        });
+
+        var first = cache.getAsync("key").toFuture();
+        var second = cache.getAsync("key").toFuture();
+        sink.tryEmitValue("value");
+
+        assertEquals("value", first.join());
+        assertEquals("value", second.join());
+        assertEquals("value", cache.getAsync("key").block(Duration.ofSeconds(1)));
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    void cancelledAsyncCallerDoesNotCancelLoad() {
+        var sink = Sinks.<String>one();
+        var cache = LoadableCache.async(new DummyCache<String, String>("test"), key -> sink.asMono());
+
+        var first = cache.getAsync("key").subscribe();
+        var second = cache.getAsync("key").toFuture();
+        first.dispose();
+        sink.tryEmitValue("value");
+
+        assertEquals("value", second.join());
+    }
+
+    @Test
+    void failedAsyncLoadIsNotCached() {
+        var calls = new AtomicInteger();
+        var cache = LoadableCache.async(new DummyCache<String, String>("test"), key -> calls.incrementAndGet() == 1
+            ? Mono.error(new IllegalStateException("failed"))
+            : Mono.just("value-" + key));
+
+        assertThrows(IllegalStateException.class, () -> cache.getAsync("key").block(Duration.ofSeconds(1)));
+        assertEquals("value-key", cache.getAsync("key").block(Duration.ofSeconds(1)));
+        assertEquals(2, calls.get());
+    }
+}
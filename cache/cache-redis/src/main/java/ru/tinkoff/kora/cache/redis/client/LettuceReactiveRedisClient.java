@@ -6,9 +6,14 @@ import io.lettuce.core.api.reactive.RedisKeyReactiveCommands;
 import io.lettuce.core.api.reactive.RedisServerReactiveCommands;
 import io.lettuce.core.api.reactive.RedisStringReactiveCommands;
 import reactor.core.publisher.Mono;
+import ru.tinkoff.kora.common.util.ReactorUtils;
 
 import java.time.Duration;
 
+/**
+ * Lettuce emits results on its netty threads, so every command installs the caller {@link ru.tinkoff.kora.common.Context} back
+ * for the operators after it, e.g. cache telemetry.
+ */
 public final class LettuceReactiveRedisClient implements ReactiveRedisClient {
 
     private final RedisStringReactiveCommands<byte[], byte[]> stringCommands;
@@ -23,31 +28,31 @@ public final class LettuceReactiveRedisClient implements ReactiveRedisClient {
 
     @Override
     public Mono<byte[]> get(byte[] key) {
-        return stringCommands.get(key);
+        return ReactorUtils.propagateContext(stringCommands.get(key));
     }
 
     @Override
     public Mono<byte[]> getExpire(byte[] key, long expireAfterMillis) {
-        return stringCommands.getex(key, GetExArgs.Builder.ex(Duration.ofMillis(expireAfterMillis)));
+        return ReactorUtils.propagateContext(stringCommands.getex(key, GetExArgs.Builder.ex(Duration.ofMillis(expireAfterMillis))));
     }
 
     @Override
     public Mono<Void> set(byte[] key, byte[] value) {
-        return stringCommands.set(key, value).then();
+        return ReactorUtils.propagateContext(stringCommands.set(key, value).then());
     }
 
     @Override
     public Mono<Void> setExpire(byte[] key, byte[] value, long expireAfterMillis) {
-        return stringCommands.psetex(key, expireAfterMillis, value).then();
+        return ReactorUtils.propagateContext(stringCommands.psetex(key, expireAfterMillis, value).then());
     }
 
     @Override
     public Mono<Void> del(byte[] key) {
-        return keyCommands.del(key).then();
+        return ReactorUtils.propagateContext(keyCommands.del(key).then());
     }
 
     @Override
     public Mono<Void> flushAll() {
-        return serverCommands.flushall(FlushMode.SYNC).then();
+        return ReactorUtils.propagateContext(serverCommands.flushall(FlushMode.SYNC).then());
     }
 }
@@ -70,11 +70,14 @@ public class Context {
     }
 
     public static class Reactor {
+        /**
+         * @return context from the subscriber context or the one installed in the current thread if there is none
+         */
         public static Context current(reactor.util.context.ContextView ctx) {
             if (ctx.hasKey(Context.class)) {
                 return ctx.get(Context.class);
             }
-            return new Context();
+            return Context.current();
         }
 
         public static reactor.util.context.Context inject(reactor.util.context.ContextView ctxView, Context ctx) {
@@ -133,6 +136,6 @@ public class Context {
     }
 
     static {
-        ReactorContextHook.init();
+        ReactorContextHook.initIfEnabled();
     }
 }
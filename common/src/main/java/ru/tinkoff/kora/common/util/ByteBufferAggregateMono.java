@@ -0,0 +1,198 @@
+package ru.tinkoff.kora.common.util;
+
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscription;
+import reactor.core.CoreSubscriber;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Operators;
+import reactor.util.context.Context;
+
+import javax.annotation.Nullable;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+
+/**
+ * Aggregates all the buffers of the source into a single byte array.
+ * <p>
+ * Received buffers are kept as is until the source completes and then copied into the resulting array exactly once.
+ * Buffers are never modified: their position and limit stay the same.
+ */
+final class ByteBufferAggregateMono extends Mono<byte[]> {
+    static final int MAX_ARRAY_SIZE = Integer.MAX_VALUE - 8;
+
+    private final Publisher<? extends ByteBuffer> source;
+    private final int maxSize;
+    private final boolean truncate;
+
+    /**
+     * @param maxSize  max size of the result
+     * @param truncate whether to drop the bytes after max size or fail with {@link SizeLimitExceededException}
+     */
+    ByteBufferAggregateMono(Publisher<? extends ByteBuffer> source, int maxSize, boolean truncate) {
+        this.source = source;
+        this.maxSize = maxSize;
+        this.truncate = truncate;
+    }
+
+    @Override
+    public void subscribe(CoreSubscriber<? super byte[]> actual) {
+        this.source.subscribe(new AggregateSubscriber(actual, this.maxSize, this.truncate));
+    }
+
+    private static final class AggregateSubscriber implements CoreSubscriber<ByteBuffer>, Subscription {
+        private static final AtomicIntegerFieldUpdater<AggregateSubscriber> STATE = AtomicIntegerFieldUpdater.newUpdater(AggregateSubscriber.class, "state");
+        private static final int NO_REQUEST_NO_RESULT = 0;
+        private static final int HAS_REQUEST_NO_RESULT = 1;
+        private static final int NO_REQUEST_HAS_RESULT = 2;
+        private static final int DONE = 3;
+
+        private final CoreSubscriber<? super byte[]> actual;
+        private final int maxSize;
+        private final boolean truncate;
+        private Subscription subscription;
+        @Nullable
+        private ArrayList<ByteBuffer> buffers;
+        private int size;
+        private boolean done;
+        @Nullable
+        private byte[] result;
+        private volatile int state;
+
+        private AggregateSubscriber(CoreSubscriber<? super byte[]> actual, int maxSize, boolean truncate) {
+            this.actual = actual;
+            this.maxSize = maxSize;
+            this.truncate = truncate;
+        }
+
+        @Override
+        public Context currentContext() {
+            return this.actual.currentContext();
+        }
+
+        @Override
+        public void onSubscribe(Subscription s) {
+            if (Operators.validate(this.subscription, s)) {
+                this.subscription = s;
+                this.actual.onSubscribe(this);
+                s.request(Long.MAX_VALUE);
+            }
+        }
+
+        @Override
+        public void onNext(ByteBuffer buffer) {
+            if (this.done) {
+                Operators.onNextDropped(buffer, this.actual.currentContext());
+                return;
+            }
+            var remaining = buffer.remaining();
+            if (remaining == 0) {
+                return;
+            }
+            if ((long) this.size + remaining > this.maxSize) {
+                if (!this.truncate) {
+                    this.done = true;
+                    this.buffers = null;
+                    this.subscription.cancel();
+                    this.actual.onError(new SizeLimitExceededException(this.maxSize));
+                    return;
+                }
+                remaining = this.maxSize - this.size;
+                if (remaining == 0) {
+                    return;
+                }
+            }
+            if (this.buffers == null) {
+                this.buffers = new ArrayList<>();
+            }
+            this.buffers.add(remaining == buffer.remaining() ? buffer : buffer.slice(buffer.position(), remaining));
+            this.size += remaining;
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            if (this.done) {
+                Operators.onErrorDropped(t, this.actual.currentContext());
+                return;
+            }
+            this.done = true;
+            this.buffers = null;
+            this.actual.onError(t);
+        }
+
+        @Override
+        public void onComplete() {
+            if (this.done) {
+                return;
+            }
+            this.done = true;
+            var result = this.aggregate();
+            this.buffers = null;
+            for (; ; ) {
+                var state = this.state;
+                if (state == HAS_REQUEST_NO_RESULT) {
+                    if (STATE.compareAndSet(this, HAS_REQUEST_NO_RESULT, DONE)) {
+                        this.actual.onNext(result);
+                        this.actual.onComplete();
+                        return;
+                    }
+                } else if (state == NO_REQUEST_NO_RESULT) {
+                    this.result = result;
+                    if (STATE.compareAndSet(this, NO_REQUEST_NO_RESULT, NO_REQUEST_HAS_RESULT)) {
+                        return;
+                    }
+                    this.result = null;
+                } else {
+                    return;
+                }
+            }
+        }
+
+        private byte[] aggregate() {
+            var result = new byte[this.size];
+            var buffers = this.buffers;
+            if (buffers != null) {
+                var offset = 0;
+                for (var buffer : buffers) {
+                    var remaining = buffer.remaining();
+                    buffer.get(buffer.position(), result, offset, remaining);
+                    offset += remaining;
+                }
+            }
+            return result;
+        }
+
+        @Override
+        public void request(long n) {
+            if (!Operators.validate(n)) {
+                return;
+            }
+            for (; ; ) {
+                var state = this.state;
+                if (state == NO_REQUEST_HAS_RESULT) {
+                    if (STATE.compareAndSet(this, NO_REQUEST_HAS_RESULT, DONE)) {
+                        var result = this.result;
+                        this.result = null;
+                        this.actual.onNext(result);
+                        this.actual.onComplete();
+                    }
+                    return;
+                } else if (state == NO_REQUEST_NO_RESULT) {
+                    if (STATE.compareAndSet(this, NO_REQUEST_NO_RESULT, HAS_REQUEST_NO_RESULT)) {
+                        return;
+                    }
+                } else {
+                    return;
+                }
+            }
+        }
+
+        @Override
+        public void cancel() {
+            if (STATE.getAndSet(this, DONE) != DONE) {
+                this.result = null;
+                this.subscription.cancel();
+            }
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package ru.tinkoff.kora.common.util;
+
+import reactor.core.CoreSubscriber;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.FluxOperator;
+import ru.tinkoff.kora.common.Context;
+
+final class ContextPropagationFlux<T> extends FluxOperator<T, T> {
+    ContextPropagationFlux(Flux<? extends T> source) {
+        super(source);
+    }
+
+    @Override
+    public void subscribe(CoreSubscriber<? super T> actual) {
+        var ctx = actual.currentContext().getOrDefault(Context.class, (Context) null);
+        var current = Context.current();
+        if (ctx == null) {
+            ctx = current;
+        } else if (ctx != current) {
+            ctx.inject();
+        }
+        try {
+            this.source.subscribe(new ContextPropagator<T>(actual, ctx));
+        } finally {
+            if (ctx != current) {
+                current.inject();
+            }
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package ru.tinkoff.kora.common.util;
+
+import reactor.core.CoreSubscriber;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoOperator;
+import ru.tinkoff.kora.common.Context;
+
+final class ContextPropagationMono<T> extends MonoOperator<T, T> {
+    ContextPropagationMono(Mono<? extends T> source) {
+        super(source);
+    }
+
+    @Override
+    public void subscribe(CoreSubscriber<? super T> actual) {
+        var ctx = actual.currentContext().getOrDefault(Context.class, (Context) null);
+        var current = Context.current();
+        if (ctx == null) {
+            ctx = current;
+        } else if (ctx != current) {
+            ctx.inject();
+        }
+        try {
+            this.source.subscribe(new ContextPropagator<T>(actual, ctx));
+        } finally {
+            if (ctx != current) {
+                current.inject();
+            }
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package ru.tinkoff.kora.common.util;
+
+import org.reactivestreams.Subscription;
+import reactor.core.CoreSubscriber;
+import ru.tinkoff.kora.common.Context;
+
+import javax.annotation.Nonnull;
+
+/**
+ * Installs the given {@link Context} into the thread local for the duration of every signal of the delegate
+ * and exposes it in the subscriber context.
+ */
+final class ContextPropagator<T> implements CoreSubscriber<T> {
+    private final CoreSubscriber<? super T> delegate;
+    private final reactor.util.context.Context reactorContext;
+    private final Context instance;
+
+    ContextPropagator(CoreSubscriber<? super T> delegate, Context current) {
+        this.instance = current;
+        this.delegate = delegate;
+        this.reactorContext = Context.Reactor.inject(delegate.currentContext(), this.instance);
+    }
+
+    @Override
+    public void onSubscribe(Subscription s) {
+        var current = Context.current();
+        if (current == this.instance) {
+            this.delegate.onSubscribe(s);
+            return;
+        }
+        this.instance.inject();
+        try {
+            this.delegate.onSubscribe(s);
+        } finally {
+            current.inject();
+        }
+    }
+
+    @Override
+    public void onNext(T o) {
+        var current = Context.current();
+        if (current == this.instance) {
+            this.delegate.onNext(o);
+            return;
+        }
+        this.instance.inject();
+        try {
+            delegate.onNext(o);
+        } finally {
+            current.inject();
+        }
+    }
+
+    @Override
+    public void onError(Throwable t) {
+        var current = Context.current();
+        if (current == this.instance) {
+            this.delegate.onError(t);
+            return;
+        }
+        this.instance.inject();
+        try {
+            delegate.onError(t);
+        } finally {
+            current.inject();
+        }
+    }
+
+    @Override
+    public void onComplete() {
+        var current = Context.current();
+        if (current == this.instance) {
+            this.delegate.onComplete();
+            return;
+        }
+        this.instance.inject();
+        try {
+            delegate.onComplete();
+        } finally {
+            current.inject();
+        }
+    }
+
+    @Override
+    @Nonnull
+    public reactor.util.context.Context currentContext() {
+        return this.reactorContext;
+    }
+}
@@ -1,18 +1,24 @@
 package ru.tinkoff.kora.common.util;
 
 
-import org.reactivestreams.Subscription;
-import reactor.core.CoreSubscriber;
 import reactor.core.publisher.Hooks;
 import reactor.core.publisher.Operators;
 import ru.tinkoff.kora.common.Context;
 
-import javax.annotation.Nonnull;
 import java.util.concurrent.Callable;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.Predicate;
 
+/**
+ * Global hook that propagates {@link Context} through every reactor operator in the JVM.
+ * <p>
+ * It is not installed by default: Kora components pass the context in the subscriber context and install it into the thread local
+ * only at their own boundaries, see {@link ReactorUtils#propagateContext(reactor.core.publisher.Mono)}.
+ * The hook is installed either by an explicit {@link #init()} call or by the {@value #PROPERTY} system property set to {@code true},
+ * and adds the thread local switch to every signal of every operator.
+ */
 public class ReactorContextHook {
+    public static final String PROPERTY = "kora.reactor.context.hook";
     private static final AtomicBoolean initialized = new AtomicBoolean(false);
 
     public static void init() {
@@ -27,81 +33,9 @@ public class ReactorContextHook {
         }
     }
 
-    private static class ContextPropagator<T> implements CoreSubscriber<T> {
-        private final CoreSubscriber<T> delegate;
-        private final reactor.util.context.Context reactorContext;
-        private final Context instance;
-
-        private ContextPropagator(CoreSubscriber<T> delegate, Context current) {
-            this.instance = current;
-            this.delegate = delegate;
-            this.reactorContext = Context.Reactor.inject(delegate.currentContext(), this.instance);
-        }
-
-        @Override
-        public void onSubscribe(Subscription s) {
-            var current = Context.current();
-            if (current == this.instance) {
-                this.delegate.onSubscribe(s);
-                return;
-            }
-            this.instance.inject();
-            try {
-                this.delegate.onSubscribe(s);
-            } finally {
-                current.inject();
-            }
-        }
-
-        @Override
-        public void onNext(T o) {
-            var current = Context.current();
-            if (current == this.instance) {
-                this.delegate.onNext(o);
-                return;
-            }
-            this.instance.inject();
-            try {
-                delegate.onNext(o);
-            } finally {
-                current.inject();
-            }
-        }
-
-        @Override
-        public void onError(Throwable t) {
-            var current = Context.current();
-            if (current == this.instance) {
-                this.delegate.onError(t);
-                return;
-            }
-            this.instance.inject();
-            try {
-                delegate.onError(t);
-            } finally {
-                current.inject();
-            }
-        }
-
-        @Override
-        public void onComplete() {
-            var current = Context.current();
-            if (current == this.instance) {
-                this.delegate.onComplete();
-                return;
-            }
-            this.instance.inject();
-            try {
-                delegate.onComplete();
-            } finally {
-                current.inject();
-            }
-        }
-
-        @Override
-        @Nonnull
-        public reactor.util.context.Context currentContext() {
-            return this.reactorContext;
+    public static void initIfEnabled() {
+        if (Boolean.getBoolean(PROPERTY)) {
+            init();
         }
     }
 }
@@ -8,7 +8,6 @@ import reactor.core.scheduler.Schedulers;
 import ru.tinkoff.kora.common.Context;
 
 import java.nio.ByteBuffer;
-import java.util.Arrays;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Supplier;
 
@@ -29,6 +28,22 @@ public class ReactorUtils {
         return CACHED_ELASTIC.get();
     }
 
+    /**
+     * Installs {@link Context} from the subscriber context (or the current one if it has none) into the thread local
+     * while the source is subscribed and while it emits signals, so the operators right after it see the same context on any thread.
+     * Unlike {@link ReactorContextHook} it only affects the given publisher.
+     */
+    public static <T> Mono<T> propagateContext(Mono<T> source) {
+        return new ContextPropagationMono<>(source);
+    }
+
+    /**
+     * @see #propagateContext(Mono)
+     */
+    public static <T> Flux<T> propagateContext(Flux<T> source) {
+        return new ContextPropagationFlux<>(source);
+    }
+
     public static <T> Mono<T> ioMono(Supplier<T> function) {
         return Mono.create(sink -> ioScheduler().schedule(() -> {
             var oldCtx = Context.current();
@@ -52,46 +67,44 @@ public class ReactorUtils {
     }
 
     public static Mono<ByteBuffer> toByteBufferMono(Flux<ByteBuffer> flux) {
-        return flux.reduce(ByteBuffer.allocate(0), (bytes, byteBuffer) -> ByteBuffer.allocate(bytes.remaining() + byteBuffer.remaining())
-            .put(bytes)
-            .put(byteBuffer)
-            .rewind()
-        );
+        return toByteArrayMono(flux).map(ByteBuffer::wrap);
     }
 
     public static Mono<ByteBuffer> toByteBufferMono(Publisher<ByteBuffer> flux) {
-        return Flux.from(flux).reduce(ByteBuffer.allocate(0), (bytes, byteBuffer) -> ByteBuffer.allocate(bytes.remaining() + byteBuffer.remaining())
-            .put(bytes)
-            .put(byteBuffer)
-            .rewind()
-        );
+        return toByteArrayMono(flux).map(ByteBuffer::wrap);
     }
 
     public static Mono<byte[]> toByteArrayMono(Flux<ByteBuffer> flux) {
-        return flux.reduce(new byte[0], (bytes, byteBuffer) -> {
-            var newArr = Arrays.copyOf(bytes, bytes.length + byteBuffer.remaining());
-            byteBuffer.get(newArr, bytes.length, byteBuffer.remaining());
-            return newArr;
-        });
+        return new ByteBufferAggregateMono(flux, ByteBufferAggregateMono.MAX_ARRAY_SIZE, false);
     }
 
+    /**
+     * @param limit max size of the result, the rest of the content is dropped
+     */
     public static Mono<byte[]> toByteArrayMono(Flux<ByteBuffer> flux, int limit) {
-        return flux.reduce(new byte[0], (bytes, byteBuffer) -> {
-            if (bytes.length >= limit) {
-                return bytes;
-            }
-            var newLength = Math.min(bytes.length + byteBuffer.remaining(), limit);
-            var newArr = Arrays.copyOf(bytes, newLength);
-            byteBuffer.get(newArr, bytes.length, byteBuffer.remaining());
-            return newArr;
-        });
+        return new ByteBufferAggregateMono(flux, limit, true);
     }
 
     public static Mono<byte[]> toByteArrayMono(Publisher<ByteBuffer> flux) {
-        return Flux.from(flux).reduce(new byte[0], (bytes, byteBuffer) -> {
-            var newArr = Arrays.copyOf(bytes, bytes.length + byteBuffer.remaining());
-            byteBuffer.get(newArr, bytes.length, byteBuffer.remaining());
-            return newArr;
+        return new ByteBufferAggregateMono(flux, ByteBufferAggregateMono.MAX_ARRAY_SIZE, false);
+    }
+
+    /**
+     * Fails the content with {@link SizeLimitExceededException} as soon as it crosses the limit, so the rest of it is not read
+     *
+     * @param maxSize max allowed size of the content
+     */
+    public static Flux<ByteBuffer> limit(Flux<ByteBuffer> flux, long maxSize) {
+        return Flux.defer(() -> {
+            var size = new long[1];
+            return flux.handle((buffer, sink) -> {
+                size[0] += buffer.remaining();
+                if (size[0] > maxSize) {
+                    sink.error(new SizeLimitExceededException(maxSize));
+                } else {
+                    sink.next(buffer);
+                }
+            });
         });
     }
 }
@@ -0,0 +1,17 @@
+package ru.tinkoff.kora.common.util;
+
+/**
+ * Signals that aggregated content is larger than the allowed size.
+ */
+public class SizeLimitExceededException extends RuntimeException {
+    private final long limit;
+
+    public SizeLimitExceededException(long limit) {
+        super("Content size exceeds the limit of " + limit + " bytes");
+        this.limit = limit;
+    }
+
+    public long limit() {
+        return this.limit;
+    }
+}
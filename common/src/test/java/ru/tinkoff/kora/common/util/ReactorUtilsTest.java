@@ -0,0 +1,113 @@
+package ru.tinkoff.kora.common.util;
+
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+import ru.tinkoff.kora.common.Context;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ReactorUtilsTest {
+    private static final Context.Key<String> KEY = new Context.KeyImmutable<>() {};
+
+    @Test
+    void testPropagateContextFromSubscriberContext() {
+        var ctx = Context.current().fork();
+        ctx.set(KEY, "value");
+
+        var result = ReactorUtils.propagateContext(Mono.delay(Duration.ofMillis(1)))
+            .map(v -> Objects.requireNonNullElse(Context.current().get(KEY), "none"))
+            .contextWrite(c -> Context.Reactor.inject(c, ctx))
+            .block();
+
+        assertThat(result).isEqualTo("value");
+    }
+
+    @Test
+    void testPropagateContextFromCurrentThread() throws InterruptedException {
+        var result = new AtomicReference<String>();
+        var latch = new CountDownLatch(1);
+        var thread = new Thread(() -> {
+            Context.current().set(KEY, "value");
+            ReactorUtils.propagateContext(Flux.interval(Duration.ofMillis(1)).take(3))
+                .map(v -> Objects.requireNonNullElse(Context.current().get(KEY), "none"))
+                .collectList()
+                .subscribe(list -> {
+                    result.set(String.join(",", list));
+                    latch.countDown();
+                });
+        });
+        thread.start();
+        latch.await();
+
+        assertThat(result.get()).isEqualTo("value,value,value");
+    }
+
+    @Test
+    void testToByteArrayMono() {
+        var result = ReactorUtils.toByteArrayMono(chunks("some", " ", "body")).block();
+
+        assertThat(result).isEqualTo("some body".getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void testToByteArrayMonoEmpty() {
+        var result = ReactorUtils.toByteArrayMono(Flux.<ByteBuffer>empty()).block();
+
+        assertThat(result).isEmpty();
+    }
+
+    @Test
+    void testToByteArrayMonoDoesNotConsumeBuffers() {
+        var buffer = ByteBuffer.wrap("some body".getBytes(StandardCharsets.UTF_8));
+
+        ReactorUtils.toByteArrayMono(Flux.just(buffer)).block();
+
+        assertThat(buffer.remaining()).isEqualTo(9);
+    }
+
+    @Test
+    void testToByteArrayMonoWithLimit() {
+        var result = ReactorUtils.toByteArrayMono(chunks("some", " ", "body"), 6).block();
+
+        assertThat(result).isEqualTo("some b".getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void testLimit() {
+        assertThat(ReactorUtils.toByteArrayMono(ReactorUtils.limit(chunks("some", " ", "body"), 9)).block())
+            .isEqualTo("some body".getBytes(StandardCharsets.UTF_8));
+        StepVerifier.create(ReactorUtils.limit(chunks("some", " ", "body"), 6))
+            .expectNextCount(2)
+            .expectError(SizeLimitExceededException.class)
+            .verify();
+    }
+
+    @Test
+    void testToByteBufferMono() {
+        var result = ReactorUtils.toByteBufferMono(chunks("some", " ", "body")).block();
+
+        assertThat(result).isEqualTo(ByteBuffer.wrap("some body".getBytes(StandardCharsets.UTF_8)));
+    }
+
+    @Test
+    void testDelayedRequest() {
+        StepVerifier.create(ReactorUtils.toByteArrayMono(chunks("some", " ", "body")), 0)
+            .expectSubscription()
+            .thenRequest(1)
+            .assertNext(bytes -> assertThat(bytes).isEqualTo("some body".getBytes(StandardCharsets.UTF_8)))
+            .verifyComplete();
+    }
+
+    private static Flux<ByteBuffer> chunks(String... chunks) {
+        return Flux.fromArray(chunks).map(s -> ByteBuffer.wrap(s.getBytes(StandardCharsets.UTF_8)));
+    }
+}
@@ -27,6 +27,7 @@ public class DbUtils {
     public static final ClassName SUB_ENTITY_OF_ANNOTATION = ClassName.get("ru.tinkoff.kora.database.common.annotation", "SubEntityOf");
     public static final ClassName ENTITY_CONSTRUCTOR_ANNOTATION = ClassName.get("ru.tinkoff.kora.database.common.annotation", "EntityConstructor");
     public static final ClassName QUERY_CONTEXT = ClassName.get("ru.tinkoff.kora.database.common", "QueryContext");
+    public static final ClassName QUERY_TELEMETRY = ClassName.get("ru.tinkoff.kora.database.common.telemetry", "DataBaseTelemetry", "DataBaseQueryTelemetry");
     public static final ClassName UPDATE_COUNT = ClassName.get("ru.tinkoff.kora.database.common", "UpdateCount");
 
     public static List<ExecutableElement> findQueryMethods(Types types, Elements elements, TypeElement repositoryElement) {
@@ -115,6 +116,36 @@ public class DbUtils {
         return sb.append("_resultMapper").toString();
     }
 
+    public static String queryContextName(ExecutableElement method) {
+        return "$" + method.getSimpleName() + "_" + parameterTypesHash(method) + "_query";
+    }
+
+    public static String queryTelemetryName(ExecutableElement method) {
+        return "$" + method.getSimpleName() + "_" + parameterTypesHash(method) + "_telemetry";
+    }
+
+    /**
+     * Overloaded repository methods share a simple name, so query fields are told apart by their parameter types
+     */
+    private static String parameterTypesHash(ExecutableElement method) {
+        var parameterTypes = method.getParameters().stream()
+            .map(p -> p.asType().toString())
+            .toList();
+        return Integer.toHexString(parameterTypes.hashCode());
+    }
+
+    /**
+     * Query id and sql of a method never change, so the query context is created and its telemetry is bound once in the repository constructor
+     */
+    public static void addQueryContext(TypeSpec.Builder type, MethodSpec.Builder constructor, ExecutableElement method, String rawQuery, String sql) {
+        var queryContextName = queryContextName(method);
+        var queryTelemetryName = queryTelemetryName(method);
+        type.addField(QUERY_CONTEXT, queryContextName, Modifier.PRIVATE, Modifier.FINAL);
+        type.addField(QUERY_TELEMETRY, queryTelemetryName, Modifier.PRIVATE, Modifier.FINAL);
+        constructor.addCode("this.$L = new $T(\n  $S,\n  $S\n);\n", queryContextName, QUERY_CONTEXT, rawQuery, sql);
+        constructor.addCode("this.$L = _connectionFactory.telemetry().bind(this.$L);\n", queryTelemetryName, queryContextName);
+    }
+
 
     public record Mapper(@Nullable TypeMirror typeMirror, TypeName typeName, String name, @Nullable Function<CodeBlock, CodeBlock> wrapper) {
         public Mapper(TypeName typeName, String name) {
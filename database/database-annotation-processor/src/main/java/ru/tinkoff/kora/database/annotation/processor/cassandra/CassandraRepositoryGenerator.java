@@ -74,19 +74,21 @@ public class CassandraRepositoryGenerator implements RepositoryGenerator {
                 tn -> CassandraNativeTypes.findNativeType(tn) != null,
                 CassandraTypes.PARAMETER_COLUMN_MAPPER
             ));
-            var methodSpec = this.generate(method, methodType, query, parameters);
+            var methodSpec = this.generate(type, constructor, method, methodType, query, parameters);
             type.addMethod(methodSpec);
         }
         return type.addMethod(constructor.build()).build();
     }
 
-    private MethodSpec generate(ExecutableElement method, ExecutableType methodType, QueryWithParameters query, List<QueryParameter> parameters) {
+    private MethodSpec generate(TypeSpec.Builder type, MethodSpec.Builder constructor, ExecutableElement method, ExecutableType methodType, QueryWithParameters query, List<QueryParameter> parameters) {
         var sql = query.rawQuery();
         for (var parameter : query.parameters().stream().sorted(Comparator.<QueryWithParameters.QueryParameter, Integer>comparing(p -> p.sqlParameterName().length()).reversed()).toList()) {
             sql = sql.replace(":" + parameter.sqlParameterName(), "?");
         }
+        DbUtils.addQueryContext(type, constructor, method, query.rawQuery(), sql);
+
         var b = DbUtils.queryMethodBuilder(method, methodType);
-        b.addStatement(CodeBlock.of("var _query = new $T(\n  $S,\n  $S\n)", DbUtils.QUERY_CONTEXT, query.rawQuery(), sql));
+        b.addStatement("var _query = this.$L", DbUtils.queryContextName(method));
         var batchParam = parameters.stream().filter(QueryParameter.BatchParameter.class::isInstance).findFirst().orElse(null);
         String profile = null;
         var profileAnnotation = CommonUtils.findAnnotation(elements, method, CassandraTypes.CASSANDRA_PROFILE);
@@ -97,11 +99,11 @@ public class CassandraRepositoryGenerator implements RepositoryGenerator {
         var isFlux = CommonUtils.isFlux(returnType);
         var isMono = CommonUtils.isMono(returnType);
         if (isMono || isFlux) {
-            b.addCode("return ");
+            b.addCode("return ru.tinkoff.kora.common.util.ReactorUtils.propagateContext(");
             b.beginControlFlow("$T.deferContextual(_reactorCtx ->", isFlux ? Flux.class : Mono.class);
-            b.addStatement("var _telemetry = this._connectionFactory.telemetry().createContext(ru.tinkoff.kora.common.Context.Reactor.current(_reactorCtx), _query)");
+            b.addStatement("var _telemetry = this.$L.createContext(ru.tinkoff.kora.common.Context.Reactor.current(_reactorCtx))", DbUtils.queryTelemetryName(method));
             b.addStatement("var _session = this._connectionFactory.currentSession()");
-            b.addCode("return $T.fromCompletionStage(_session.prepareAsync(_query.sql()))", Mono.class);
+            b.addCode("return $T.fromCompletionStage(this._connectionFactory.prepareAsync(_query.sql()))", Mono.class);
             if (isMono) {
                 b.beginControlFlow(".flatMap(_st ->");
             } else {
@@ -109,9 +111,9 @@ public class CassandraRepositoryGenerator implements RepositoryGenerator {
             }
             b.addStatement("var _stmt = _st.boundStatementBuilder()");
         } else {
-            b.addStatement("var _telemetry = this._connectionFactory.telemetry().createContext(ru.tinkoff.kora.common.Context.current(), _query)");
+            b.addStatement("var _telemetry = this.$L.createContext(ru.tinkoff.kora.common.Context.current())", DbUtils.queryTelemetryName(method));
             b.addStatement("var _session = this._connectionFactory.currentSession()");
-            b.addStatement("var _stmt = _session.prepare(_query.sql()).boundStatementBuilder()");
+            b.addStatement("var _stmt = this._connectionFactory.prepare(_query.sql()).boundStatementBuilder()");
         }
         if (profile != null) {
             b.addStatement("_stmt.setExecutionProfileName($S)", profile);
@@ -131,7 +133,7 @@ public class CassandraRepositoryGenerator implements RepositoryGenerator {
                     }
                   });
                 """);
-            b.endControlFlow(")");// defer
+            b.endControlFlow("))");// defer
         } else {
             b.beginControlFlow("try");
             b.addStatement("var _rs = _session.execute(_s)");
@@ -71,7 +71,7 @@ public final class JdbcRepositoryGenerator implements RepositoryGenerator {
                 tn -> JdbcNativeTypes.findNativeType(tn) != null,
                 JdbcTypes.PARAMETER_COLUMN_MAPPER
             ));
-            var methodSpec = this.generate(method, methodType, query, parameters);
+            var methodSpec = this.generate(type, constructor, method, methodType, query, parameters);
             type.addMethod(methodSpec);
         }
         return type.addMethod(constructor.build()).build();
@@ -122,13 +122,15 @@ public final class JdbcRepositoryGenerator implements RepositoryGenerator {
         return this.repositoryInterface;
     }
 
-    public MethodSpec generate(ExecutableElement method, ExecutableType methodType, QueryWithParameters query, List<QueryParameter> parameters) {
+    public MethodSpec generate(TypeSpec.Builder type, MethodSpec.Builder constructor, ExecutableElement method, ExecutableType methodType, QueryWithParameters query, List<QueryParameter> parameters) {
         var batchParam = parameters.stream().filter(QueryParameter.BatchParameter.class::isInstance).findFirst().orElse(null);
         var sql = query.rawQuery();
         for (var parameter : query.parameters().stream().sorted(Comparator.<QueryWithParameters.QueryParameter, Integer>comparing(p -> p.sqlParameterName().length()).reversed()).toList()) {
             sql = sql.replace(":" + parameter.sqlParameterName(), "?");
         }
 
+        DbUtils.addQueryContext(type, constructor, method, query.rawQuery(), sql);
+
         var b = DbUtils.queryMethodBuilder(method, methodType);
         if (CommonUtils.isMono(methodType.getReturnType())) {
             b.addCode("return $T.fromCompletionStage(() -> $T.supplyAsync(() -> {$>\n", Mono.class, CompletableFuture.class);
@@ -145,13 +147,10 @@ public final class JdbcRepositoryGenerator implements RepositoryGenerator {
             } else {
                 _conToClose = null;
             }
-            var _query = new $T(
-              $S,
-              $S
-            );
-            var _telemetry = this._connectionFactory.telemetry().createContext(ru.tinkoff.kora.common.Context.current(), _query);
+            var _query = this.$L;
+            var _telemetry = this.$L.createContext(ru.tinkoff.kora.common.Context.current());
             try (_conToClose; var _stmt = _conToUse.prepareStatement(_query.sql())) {$>
-            """, connection, JdbcTypes.CONNECTION, DbUtils.QUERY_CONTEXT, query.rawQuery(), sql);
+            """, connection, JdbcTypes.CONNECTION, DbUtils.queryContextName(method), DbUtils.queryTelemetryName(method));
         b.addCode(StatementSetterGenerator.generate(method, query, parameters, batchParam));
         if (methodType.getReturnType().getKind() == TypeKind.VOID) {
             if (batchParam != null) {
@@ -72,13 +72,13 @@ public final class R2DbcRepositoryGenerator implements RepositoryGenerator {
                 tn -> R2dbcNativeTypes.findAndBox(tn) != null,
                 R2dbcTypes.PARAMETER_COLUMN_MAPPER
             ));
-            var methodSpec = this.generate(method, methodType, query, parameters);
+            var methodSpec = this.generate(type, constructor, method, methodType, query, parameters);
             type.addMethod(methodSpec);
         }
         return type.addMethod(constructor.build()).build();
     }
 
-    private MethodSpec generate(ExecutableElement method, ExecutableType methodType, QueryWithParameters query, List<QueryParameter> parameters) {
+    private MethodSpec generate(TypeSpec.Builder type, MethodSpec.Builder constructor, ExecutableElement method, ExecutableType methodType, QueryWithParameters query, List<QueryParameter> parameters) {
         var sql = query.rawQuery();
         {
             var params = new ArrayList<Map.Entry<QueryWithParameters.QueryParameter, Integer>>(query.parameters().size());
@@ -90,15 +90,17 @@ public final class R2DbcRepositoryGenerator implements RepositoryGenerator {
                 sql = sql.replace(":" + parameter.getKey().sqlParameterName(), "$" + (parameter.getValue() + 1));
             }
         }
+        DbUtils.addQueryContext(type, constructor, method, query.rawQuery(), sql);
+
         var b = DbUtils.queryMethodBuilder(method, methodType);
-        b.addStatement(CodeBlock.of("var _query = new $T(\n  $S,\n  $S\n)", DbUtils.QUERY_CONTEXT, query.rawQuery(), sql));
+        b.addStatement("var _query = this.$L", DbUtils.queryContextName(method));
         var batchParam = parameters.stream().filter(QueryParameter.BatchParameter.class::isInstance).findFirst().orElse(null);
         var returnType = methodType.getReturnType();
         var isFlux = CommonUtils.isFlux(returnType);
         var isMono = CommonUtils.isMono(returnType);
         b.addCode("var _result = ");
         b.addCode("$T.deferContextual(_reactorCtx -> {$>\n", isFlux ? Flux.class : Mono.class);
-        b.addCode("var _telemetry = this._connectionFactory.telemetry().createContext(ru.tinkoff.kora.common.Context.Reactor.current(_reactorCtx), _query);\n");
+        b.addCode("var _telemetry = this.$L.createContext(ru.tinkoff.kora.common.Context.Reactor.current(_reactorCtx));\n", DbUtils.queryTelemetryName(method));
         b.addCode("return this._connectionFactory.withConnection$L(_con -> {$>\n", isFlux ? "Flux" : "");
         b.addCode("var _stmt = _con.createStatement(_query.sql());\n");
 
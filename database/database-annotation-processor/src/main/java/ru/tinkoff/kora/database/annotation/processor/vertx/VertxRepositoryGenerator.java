@@ -71,13 +71,13 @@ public final class VertxRepositoryGenerator implements RepositoryGenerator {
                 tn -> VertxNativeTypes.find(tn) != null,
                 VertxTypes.PARAMETER_COLUMN_MAPPER
             ));
-            var methodSpec = this.generate(method, methodType, query, parameters);
+            var methodSpec = this.generate(type, constructor, method, methodType, query, parameters);
             type.addMethod(methodSpec);
         }
         return type.addMethod(constructor.build()).build();
     }
 
-    private MethodSpec generate(ExecutableElement method, ExecutableType methodType, QueryWithParameters query, List<QueryParameter> parameters) {
+    private MethodSpec generate(TypeSpec.Builder type, MethodSpec.Builder constructor, ExecutableElement method, ExecutableType methodType, QueryWithParameters query, List<QueryParameter> parameters) {
         var sql = query.rawQuery();
         {
             var params = new ArrayList<Map.Entry<QueryWithParameters.QueryParameter, Integer>>(query.parameters().size());
@@ -89,8 +89,10 @@ public final class VertxRepositoryGenerator implements RepositoryGenerator {
                 sql = sql.replace(":" + parameter.getKey().sqlParameterName(), "$" + (parameter.getValue() + 1));
             }
         }
+        DbUtils.addQueryContext(type, constructor, method, query.rawQuery(), sql);
+
         var b = DbUtils.queryMethodBuilder(method, methodType);
-        b.addStatement(CodeBlock.of("var _query = new $T(\n  $S,\n  $S\n)", DbUtils.QUERY_CONTEXT, query.rawQuery(), sql));
+        b.addStatement("var _query = this.$L", DbUtils.queryContextName(method));
         var batchParam = parameters.stream().filter(QueryParameter.BatchParameter.class::isInstance).findFirst().orElse(null);
         var returnType = methodType.getReturnType();
         var isFlux = CommonUtils.isFlux(returnType);
@@ -102,11 +104,11 @@ public final class VertxRepositoryGenerator implements RepositoryGenerator {
         b.addCode("$T.deferContextual(_reactorCtx -> {$>\n", isFlux ? Flux.class : Mono.class);
         ParametersToTupleBuilder.generate(b, query, method, parameters, batchParam);
         if (batchParam != null) {
-            b.addCode("return $T.batch(this._connectionFactory, _query, _batchParams);\n", VertxTypes.REPOSITORY_HELPER);
+            b.addCode("return $T.batch(this._connectionFactory, _query, this.$L, _batchParams);\n", VertxTypes.REPOSITORY_HELPER, DbUtils.queryTelemetryName(method));
         } else if (isFlux) {
-            b.addCode("return $T.flux(this._connectionFactory, _query, _tuple, $L);\n", VertxTypes.REPOSITORY_HELPER, DbUtils.resultMapperName(method));
+            b.addCode("return $T.flux(this._connectionFactory, _query, this.$L, _tuple, $L);\n", VertxTypes.REPOSITORY_HELPER, DbUtils.queryTelemetryName(method), DbUtils.resultMapperName(method));
         } else {
-            b.addCode("return $T.mono(this._connectionFactory, _query, _tuple, $L);\n", VertxTypes.REPOSITORY_HELPER, DbUtils.resultMapperName(method));
+            b.addCode("return $T.mono(this._connectionFactory, _query, this.$L, _tuple, $L);\n", VertxTypes.REPOSITORY_HELPER, DbUtils.queryTelemetryName(method), DbUtils.resultMapperName(method));
         }
         b.addCode("$<\n})");
         if (isFlux) {
@@ -24,7 +24,7 @@ public class MockCassandraExecutor implements CassandraConnectionFactory {
     public final CqlSession mockSession = Mockito.mock(CqlSession.class);
     public final Iterator<Row> iterator = Mockito.mock(Iterator.class);
     public final Row row = Mockito.mock(Row.class);
-    public final DataBaseTelemetry telemetry = Mockito.mock(DataBaseTelemetry.class);
+    public final DataBaseTelemetry telemetry = Mockito.mock(DataBaseTelemetry.class, Mockito.CALLS_REAL_METHODS);
     public final DataBaseTelemetry.DataBaseTelemetryContext telemetryCtx = Mockito.mock(DataBaseTelemetry.DataBaseTelemetryContext.class);
 
     public MockCassandraExecutor() {
@@ -94,4 +94,10 @@ public interface AllowedParametersRepository extends JdbcRepository {
     @Query("INSERT INTO test(value1, value2) VALUES (:value, :valueTest)")
     void parametersWithSimilarNames(String value, int valueTest);
 
+    @Query("INSERT INTO overloaded(value1) VALUES (:value)")
+    void overloadedParameters(String value);
+
+    @Query("INSERT INTO overloaded(value1, value2) VALUES (:value, :valueTest)")
+    void overloadedParameters(String value, int valueTest);
+
 }
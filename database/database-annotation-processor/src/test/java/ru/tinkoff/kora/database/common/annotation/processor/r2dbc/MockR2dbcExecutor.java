@@ -21,7 +21,7 @@ import static org.mockito.Mockito.when;
 public class MockR2dbcExecutor implements R2dbcConnectionFactory {
     public final Connection con = Mockito.mock(Connection.class);
     public final Statement statement = Mockito.mock(Statement.class);
-    public final DataBaseTelemetry telemetry = Mockito.mock(DataBaseTelemetry.class);
+    public final DataBaseTelemetry telemetry = Mockito.mock(DataBaseTelemetry.class, Mockito.CALLS_REAL_METHODS);
     public final DataBaseTelemetry.DataBaseTelemetryContext telemetryContext = Mockito.mock(DataBaseTelemetry.DataBaseTelemetryContext.class);
     public List<List<MockColumn>> rows = new ArrayList<>();
 
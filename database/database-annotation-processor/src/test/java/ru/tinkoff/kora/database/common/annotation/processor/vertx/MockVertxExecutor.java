@@ -30,7 +30,7 @@ public class MockVertxExecutor implements VertxConnectionFactory {
     public final PreparedQuery<RowSet<Row>> query = Mockito.mock(PreparedQuery.class);
     public final RowSet<Row> rowSet = Mockito.mock(RowSet.class);
     public final List<Row> rows = new ArrayList<>();
-    public final DataBaseTelemetry telemetry = Mockito.mock(DataBaseTelemetry.class);
+    public final DataBaseTelemetry telemetry = Mockito.mock(DataBaseTelemetry.class, Mockito.CALLS_REAL_METHODS);
     public final DataBaseTelemetry.DataBaseTelemetryContext telemetryContext = Mockito.mock(DataBaseTelemetry.DataBaseTelemetryContext.class);
 
     public MockVertxExecutor() {
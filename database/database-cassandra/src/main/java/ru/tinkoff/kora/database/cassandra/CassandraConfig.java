@@ -253,7 +253,8 @@ public record CassandraConfig(
         public record PreparedStatementsConfig(
             @Nullable Boolean prepareOnAllNodes,
             @Nullable ReprepareConfig reprepareOnUp,
-            @Nullable PreparedCacheConfig preparedCache
+            @Nullable PreparedCacheConfig preparedCache,
+            @Nullable Integer cacheSize
         ) {
             public record ReprepareConfig(
                 @Nullable Boolean enabled,
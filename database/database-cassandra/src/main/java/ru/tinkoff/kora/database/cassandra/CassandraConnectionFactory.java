@@ -6,6 +6,7 @@ import ru.tinkoff.kora.common.Context;
 import ru.tinkoff.kora.database.common.QueryContext;
 import ru.tinkoff.kora.database.common.telemetry.DataBaseTelemetry;
 
+import java.util.concurrent.CompletionStage;
 import java.util.function.Function;
 
 public interface CassandraConnectionFactory {
@@ -14,9 +15,17 @@ public interface CassandraConnectionFactory {
 
     DataBaseTelemetry telemetry();
 
+    default CompletionStage<PreparedStatement> prepareAsync(String sql) {
+        return this.currentSession().prepareAsync(sql);
+    }
+
+    default PreparedStatement prepare(String sql) {
+        return this.currentSession().prepare(sql);
+    }
+
     default <T> T query(QueryContext queryContext, Function<PreparedStatement, T> callback) {
         var telemetry = this.telemetry().createContext(Context.current(), queryContext);
-        var stmt = this.currentSession().prepare(queryContext.sql());
+        var stmt = this.prepare(queryContext.sql());
         try {
             var result = callback.apply(stmt);
             telemetry.close(null);
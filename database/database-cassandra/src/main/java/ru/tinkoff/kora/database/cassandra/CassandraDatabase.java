@@ -1,6 +1,7 @@
 package ru.tinkoff.kora.database.cassandra;
 
 import com.datastax.oss.driver.api.core.CqlSession;
+import com.datastax.oss.driver.api.core.cql.PreparedStatement;
 import reactor.core.Exceptions;
 import reactor.core.publisher.Mono;
 import ru.tinkoff.kora.application.graph.Lifecycle;
@@ -10,10 +11,14 @@ import ru.tinkoff.kora.database.common.telemetry.DataBaseTelemetryFactory;
 
 import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.CompletionStage;
 
 public final class CassandraDatabase implements CassandraConnectionFactory, Lifecycle {
+    private static final int DEFAULT_PREPARED_STATEMENT_CACHE_SIZE = 1000;
+
     private final CassandraConfig config;
     private final DataBaseTelemetry telemetry;
+    private final CassandraPreparedStatementCache preparedStatements;
     private CqlSession cqlSession;
 
     public CassandraDatabase(CassandraConfig config, DataBaseTelemetryFactory telemetryFactory) {
@@ -23,6 +28,10 @@ public final class CassandraDatabase implements CassandraConnectionFactory, Life
             "cassandra",
             Optional.ofNullable(config.auth()).map(CassandraConfig.CassandraCredentials::login).orElse("anonymous")
         );
+        this.preparedStatements = new CassandraPreparedStatementCache(Optional.ofNullable(config.advanced())
+            .map(CassandraConfig.Advanced::preparedStatements)
+            .map(CassandraConfig.Advanced.PreparedStatementsConfig::cacheSize)
+            .orElse(DEFAULT_PREPARED_STATEMENT_CACHE_SIZE));
     }
 
     @Override
@@ -35,12 +44,22 @@ public final class CassandraDatabase implements CassandraConnectionFactory, Life
         return this.telemetry;
     }
 
+    @Override
+    public CompletionStage<PreparedStatement> prepareAsync(String sql) {
+        return this.preparedStatements.prepareAsync(this.cqlSession, sql);
+    }
+
+    @Override
+    public PreparedStatement prepare(String sql) {
+        return this.preparedStatements.prepare(this.cqlSession, sql);
+    }
+
 
     @Override
     public Mono<Void> init() {
         return ReactorUtils.ioMono(() -> {
             try {
-                cqlSession = new CassandraSessionBuilder().build(config);
+                cqlSession = new CassandraSessionBuilder().build(config, preparedStatements);
             } catch (Exception e) {
                 throw Exceptions.propagate(e);
             }
@@ -51,6 +70,7 @@ public final class CassandraDatabase implements CassandraConnectionFactory, Life
     public Mono<Void> release() {
         return Mono.defer(() -> {
             if (cqlSession != null) {
+                preparedStatements.invalidateAll();
                 return ReactorUtils.ioMono(cqlSession::close);
             } else {
                 return Mono.empty();
@@ -0,0 +1,160 @@
+package ru.tinkoff.kora.database.cassandra;
+
+import com.datastax.oss.driver.api.core.CqlSession;
+import com.datastax.oss.driver.api.core.cql.PreparedStatement;
+import com.datastax.oss.driver.api.core.metadata.schema.KeyspaceMetadata;
+import com.datastax.oss.driver.api.core.metadata.schema.SchemaChangeListenerBase;
+import com.datastax.oss.driver.api.core.metadata.schema.TableMetadata;
+import com.datastax.oss.driver.api.core.type.UserDefinedType;
+
+import javax.annotation.Nonnull;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Bounded cache of prepared statements keyed by query text.
+ * <p>
+ * Lookups don't take any lock: statements are kept in {@link ConcurrentHashMap} and every hit only stamps the entry with its access time.
+ * When the cache grows over its size the least recently used statements are evicted by a single thread, so the bound and the eviction order
+ * are approximate under concurrent inserts.
+ * <p>
+ * Statements are prepared with {@link CqlSession#prepareAsync(String)}, so concurrent callers of the same query share single prepare request
+ * and never block on it. Failed prepares are not cached and the whole cache is dropped on any table, type or keyspace schema change,
+ * because statement result metadata may change with it. Unprepared responses for cached statements are handled by the driver itself:
+ * it reprepares the statement on the node and retries the request.
+ */
+public final class CassandraPreparedStatementCache extends SchemaChangeListenerBase {
+    private final ConcurrentHashMap<String, Entry> statements = new ConcurrentHashMap<>();
+    private final ReentrantLock evictionLock = new ReentrantLock();
+    private final int maxSize;
+
+    public CassandraPreparedStatementCache(int maxSize) {
+        if (maxSize <= 0) throw new IllegalArgumentException("`maxSize` must be positive");
+        this.maxSize = maxSize;
+    }
+
+    public CompletionStage<PreparedStatement> prepareAsync(CqlSession session, String sql) {
+        // minimal stage won't let callers cancel or complete shared future
+        return this.prepareShared(session, sql).minimalCompletionStage();
+    }
+
+    public PreparedStatement prepare(CqlSession session, String sql) {
+        var future = this.prepareShared(session, sql);
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException re) {
+                throw re;
+            }
+            throw e;
+        }
+    }
+
+    private CompletableFuture<PreparedStatement> prepareShared(CqlSession session, String sql) {
+        var cached = this.statements.get(sql);
+        if (cached != null) {
+            cached.accessed = System.nanoTime();
+            return cached.statement;
+        }
+        var entry = new Entry(new CompletableFuture<>());
+        var existing = this.statements.putIfAbsent(sql, entry);
+        if (existing != null) {
+            existing.accessed = System.nanoTime();
+            return existing.statement;
+        }
+        if (this.statements.size() > this.maxSize) {
+            this.evict();
+        }
+        var future = entry.statement;
+        session.prepareAsync(sql).whenComplete((result, error) -> {
+            if (error != null) {
+                this.statements.remove(sql, entry);
+                future.completeExceptionally(error);
+            } else {
+                future.complete(result);
+            }
+        });
+        return future;
+    }
+
+    private void evict() {
+        // callers that lose the race don't wait, the cache is trimmed by the thread holding the lock
+        if (!this.evictionLock.tryLock()) {
+            return;
+        }
+        try {
+            var overflow = this.statements.size() - this.maxSize;
+            if (overflow <= 0) {
+                return;
+            }
+            // access times are copied, so concurrent hits can't change the order while it's sorted
+            var candidates = new ArrayList<EvictionCandidate>(this.statements.size());
+            this.statements.forEach((sql, entry) -> candidates.add(new EvictionCandidate(sql, entry, entry.accessed)));
+            candidates.sort(Comparator.comparingLong(EvictionCandidate::accessed));
+            for (int i = 0; i < overflow && i < candidates.size(); i++) {
+                var eldest = candidates.get(i);
+                this.statements.remove(eldest.sql(), eldest.entry());
+            }
+        } finally {
+            this.evictionLock.unlock();
+        }
+    }
+
+    int size() {
+        return this.statements.size();
+    }
+
+    public void invalidate(String sql) {
+        this.statements.remove(sql);
+    }
+
+    public void invalidateAll() {
+        this.statements.clear();
+    }
+
+    @Override
+    public void onKeyspaceDropped(@Nonnull KeyspaceMetadata keyspace) {
+        this.invalidateAll();
+    }
+
+    @Override
+    public void onKeyspaceUpdated(@Nonnull KeyspaceMetadata current, @Nonnull KeyspaceMetadata previous) {
+        this.invalidateAll();
+    }
+
+    @Override
+    public void onTableDropped(@Nonnull TableMetadata table) {
+        this.invalidateAll();
+    }
+
+    @Override
+    public void onTableUpdated(@Nonnull TableMetadata current, @Nonnull TableMetadata previous) {
+        this.invalidateAll();
+    }
+
+    @Override
+    public void onUserDefinedTypeDropped(@Nonnull UserDefinedType type) {
+        this.invalidateAll();
+    }
+
+    @Override
+    public void onUserDefinedTypeUpdated(@Nonnull UserDefinedType current, @Nonnull UserDefinedType previous) {
+        this.invalidateAll();
+    }
+
+    private static final class Entry {
+        private final CompletableFuture<PreparedStatement> statement;
+        private volatile long accessed = System.nanoTime();
+
+        private Entry(CompletableFuture<PreparedStatement> statement) {
+            this.statement = statement;
+        }
+    }
+
+    private record EvictionCandidate(String sql, Entry entry, long accessed) {}
+}
@@ -2,8 +2,10 @@ package ru.tinkoff.kora.database.cassandra;
 
 import com.datastax.oss.driver.api.core.CqlSession;
 import com.datastax.oss.driver.api.core.CqlSessionBuilder;
+import com.datastax.oss.driver.api.core.metadata.schema.SchemaChangeListener;
 import com.datastax.oss.driver.internal.core.config.typesafe.DefaultProgrammaticDriverConfigLoaderBuilder;
 
+import javax.annotation.Nullable;
 import java.net.InetSocketAddress;
 import java.util.stream.Collectors;
 
@@ -11,7 +13,12 @@ import static com.datastax.oss.driver.api.core.config.DefaultDriverOption.*;
 
 public class CassandraSessionBuilder {
     public CqlSession build(CassandraConfig config) {
+        return this.build(config, null);
+    }
+
+    public CqlSession build(CassandraConfig config, @Nullable SchemaChangeListener schemaChangeListener) {
         var builder = CqlSession.builder();
+        builder.withSchemaChangeListener(schemaChangeListener);
         var loaderBuilder = new DefaultProgrammaticDriverConfigLoaderBuilder();
         var contactPoints = config.basic().contactPoints().stream().map(host -> {
             var s = host.split(":");
@@ -0,0 +1,108 @@
+package ru.tinkoff.kora.database.cassandra;
+
+import com.datastax.oss.driver.api.core.CqlSession;
+import com.datastax.oss.driver.api.core.cql.PreparedStatement;
+import com.datastax.oss.driver.api.core.metadata.schema.TableMetadata;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.util.ArrayList;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.Mockito.*;
+
+class CassandraPreparedStatementCacheTest {
+    private final CqlSession session = mock(CqlSession.class);
+    private final PreparedStatement statement = mock(PreparedStatement.class);
+
+    @Test
+    void testStatementIsPreparedOnce() {
+        var future = new CompletableFuture<PreparedStatement>();
+        when(session.prepareAsync("SELECT 1")).thenReturn(future);
+        var cache = new CassandraPreparedStatementCache(10);
+
+        var first = cache.prepareAsync(session, "SELECT 1").toCompletableFuture();
+        var second = cache.prepareAsync(session, "SELECT 1").toCompletableFuture();
+        Assertions.assertThat(first).isNotDone();
+        future.complete(statement);
+
+        Assertions.assertThat(first.join()).isSameAs(statement);
+        Assertions.assertThat(second.join()).isSameAs(statement);
+        Assertions.assertThat(cache.prepare(session, "SELECT 1")).isSameAs(statement);
+        verify(session, times(1)).prepareAsync("SELECT 1");
+    }
+
+    @Test
+    void testFailedPrepareIsNotCached() {
+        when(session.prepareAsync("SELECT 1"))
+            .thenReturn(CompletableFuture.failedFuture(new IllegalStateException("test")))
+            .thenReturn(CompletableFuture.completedFuture(statement));
+        var cache = new CassandraPreparedStatementCache(10);
+
+        Assertions.assertThatThrownBy(() -> cache.prepare(session, "SELECT 1")).isInstanceOf(IllegalStateException.class);
+        Assertions.assertThat(cache.prepare(session, "SELECT 1")).isSameAs(statement);
+        verify(session, times(2)).prepareAsync("SELECT 1");
+    }
+
+    @Test
+    void testSchemaChangeInvalidatesCache() {
+        when(session.prepareAsync("SELECT 1")).thenReturn(CompletableFuture.completedFuture(statement));
+        var cache = new CassandraPreparedStatementCache(10);
+
+        cache.prepare(session, "SELECT 1");
+        cache.onTableUpdated(Mockito.mock(TableMetadata.class), Mockito.mock(TableMetadata.class));
+        cache.prepare(session, "SELECT 1");
+
+        verify(session, times(2)).prepareAsync("SELECT 1");
+    }
+
+    @Test
+    void testLeastRecentlyUsedStatementIsEvicted() {
+        when(session.prepareAsync(anyString())).thenReturn(CompletableFuture.completedFuture(statement));
+        var cache = new CassandraPreparedStatementCache(2);
+
+        cache.prepare(session, "SELECT 1");
+        cache.prepare(session, "SELECT 2");
+        cache.prepare(session, "SELECT 1");
+        cache.prepare(session, "SELECT 3");
+        cache.prepare(session, "SELECT 1");
+        cache.prepare(session, "SELECT 3");
+        cache.prepare(session, "SELECT 2");
+
+        // SELECT 2 is the least recently used when SELECT 3 is added
+        verify(session, times(1)).prepareAsync("SELECT 1");
+        verify(session, times(2)).prepareAsync("SELECT 2");
+        verify(session, times(1)).prepareAsync("SELECT 3");
+    }
+
+    @Test
+    void testCacheIsBoundedUnderConcurrentInserts() throws Exception {
+        when(session.prepareAsync(anyString())).thenReturn(CompletableFuture.completedFuture(statement));
+        var cache = new CassandraPreparedStatementCache(10);
+        var executor = Executors.newFixedThreadPool(4);
+        try {
+            var futures = new ArrayList<Future<?>>();
+            for (int t = 0; t < 4; t++) {
+                var thread = t;
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < 1000; i++) {
+                        cache.prepare(session, "SELECT " + thread + "_" + i);
+                    }
+                }));
+            }
+            for (var future : futures) {
+                future.get(10, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        // eviction skipped by racing inserts is caught up by the next one
+        cache.prepare(session, "SELECT last");
+        Assertions.assertThat(cache.size()).isEqualTo(10);
+    }
+}
@@ -7,5 +7,16 @@ import javax.annotation.Nullable;
 public interface DataBaseMetricWriter {
     void recordQuery(long queryBegin, QueryContext queryContext, @Nullable Throwable exception);
 
+    /**
+     * Resolves metrics of the query once, so recording its executions doesn't need to look them up by query id.
+     */
+    default DataBaseQueryMetricWriter bind(QueryContext queryContext) {
+        return (queryBegin, exception) -> this.recordQuery(queryBegin, queryContext, exception);
+    }
+
     Object getMetricRegistry();
+
+    interface DataBaseQueryMetricWriter {
+        void recordQuery(long queryBegin, @Nullable Throwable exception);
+    }
 }
@@ -14,4 +14,15 @@ public interface DataBaseTelemetry {
     }
 
     DataBaseTelemetryContext createContext(Context context, QueryContext query);
+
+    /**
+     * Telemetry of a single query, bound once when the repository is created
+     */
+    interface DataBaseQueryTelemetry {
+        DataBaseTelemetryContext createContext(Context context);
+    }
+
+    default DataBaseQueryTelemetry bind(QueryContext query) {
+        return context -> this.createContext(context, query);
+    }
 }
@@ -29,13 +29,24 @@ public class DefaultDataBaseTelemetry implements DataBaseTelemetry {
 
     @Override
     public DataBaseTelemetryContext createContext(Context ctx, QueryContext query) {
+        return this.createContext(ctx, query, null);
+    }
+
+    @Override
+    public DataBaseQueryTelemetry bind(QueryContext query) {
+        var queryMetricWriter = this.metricWriter == null ? null : this.metricWriter.bind(query);
+        return ctx -> this.createContext(ctx, query, queryMetricWriter);
+    }
+
+    private DataBaseTelemetryContext createContext(Context ctx, QueryContext query, @Nullable DataBaseMetricWriter.DataBaseQueryMetricWriter queryMetricWriter) {
         var span = this.tracing == null ? null : this.tracing.createQuerySpan(ctx, query);
         var start = System.nanoTime();
         if (this.logger != null) this.logger.logQueryBegin(query);
 
         return exception -> {
             var duration = System.nanoTime() - start;
-            if (this.metricWriter != null) this.metricWriter.recordQuery(start, query, exception);
+            if (queryMetricWriter != null) queryMetricWriter.recordQuery(start, exception);
+            else if (this.metricWriter != null) this.metricWriter.recordQuery(start, query, exception);
             if (this.logger != null) this.logger.logQueryEnd(duration, query, exception);
             if (span != null) span.close(duration, exception);
         };
@@ -0,0 +1,46 @@
+package ru.tinkoff.kora.database.common.telemetry;
+
+import org.junit.jupiter.api.Test;
+import ru.tinkoff.kora.common.Context;
+import ru.tinkoff.kora.database.common.QueryContext;
+
+import static org.mockito.Mockito.*;
+
+class DefaultDataBaseTelemetryTest {
+    private final QueryContext query = new QueryContext("SELECT :id", "SELECT ?");
+
+    @Test
+    void testBindResolvesMetricsOnce() {
+        var metricWriter = mock(DataBaseMetricWriter.class);
+        var queryMetricWriter = mock(DataBaseMetricWriter.DataBaseQueryMetricWriter.class);
+        when(metricWriter.bind(query)).thenReturn(queryMetricWriter);
+        var telemetry = new DefaultDataBaseTelemetry(metricWriter, null, null);
+
+        var queryTelemetry = telemetry.bind(query);
+        queryTelemetry.createContext(Context.current()).close(null);
+        var error = new RuntimeException();
+        queryTelemetry.createContext(Context.current()).close(error);
+
+        verify(metricWriter).bind(query);
+        verify(queryMetricWriter).recordQuery(anyLong(), isNull());
+        verify(queryMetricWriter).recordQuery(anyLong(), same(error));
+        verify(metricWriter, never()).recordQuery(anyLong(), any(), any());
+    }
+
+    @Test
+    void testBindPassesQueryToTracerAndLogger() {
+        var tracer = mock(DataBaseTracer.class);
+        var span = mock(DataBaseTracer.DataBaseSpan.class);
+        var logger = mock(DataBaseLogger.class);
+        when(tracer.createQuerySpan(any(), any())).thenReturn(span);
+        var telemetry = new DefaultDataBaseTelemetry(null, tracer, logger);
+
+        var ctx = Context.current();
+        telemetry.bind(query).createContext(ctx).close(null);
+
+        verify(tracer).createQuerySpan(ctx, query);
+        verify(span).close(anyLong(), isNull());
+        verify(logger).logQueryBegin(query);
+        verify(logger).logQueryEnd(anyLong(), eq(query), isNull());
+    }
+}
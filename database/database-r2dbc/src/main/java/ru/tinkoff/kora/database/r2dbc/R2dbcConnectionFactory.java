@@ -6,6 +6,7 @@ import io.r2dbc.spi.Statement;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import ru.tinkoff.kora.common.Context;
+import ru.tinkoff.kora.common.util.ReactorUtils;
 import ru.tinkoff.kora.database.common.QueryContext;
 import ru.tinkoff.kora.database.common.telemetry.DataBaseTelemetry;
 
@@ -27,7 +28,8 @@ public interface R2dbcConnectionFactory {
 
 
     default <T> Mono<T> query(QueryContext queryContext, Consumer<Statement> statementSetter, Function<Flux<Result>, Mono<T>> resultFluxConsumer) {
-        return Mono.deferContextual(ctx -> {
+        // results are emitted on the driver threads, so the caller context is installed back for the mapping and downstream operators
+        return ReactorUtils.propagateContext(Mono.deferContextual(ctx -> {
             var telemetry = this.telemetry().createContext(Context.Reactor.current(ctx), queryContext);
             return this.withConnection(connection -> {
                 var stmt = connection.createStatement(queryContext.sql());
@@ -40,6 +42,6 @@ public interface R2dbcConnectionFactory {
                     telemetry.close(s.getThrowable());
                 }
             });
-        });
+        }));
     }
 }
@@ -17,6 +17,7 @@ import ru.tinkoff.kora.ksp.common.parseMappingData
 object DbUtils {
 
     val queryContext = ClassName("ru.tinkoff.kora.database.common", "QueryContext")
+    val queryTelemetry = ClassName("ru.tinkoff.kora.database.common.telemetry", "DataBaseTelemetry", "DataBaseQueryTelemetry")
     val repositoryAnnotation = ClassName("ru.tinkoff.kora.database.common.annotation", "Repository")
     val columnAnnotation = ClassName("ru.tinkoff.kora.database.common.annotation", "Column")
     val entityConstructorAnnotation = ClassName("ru.tinkoff.kora.database.common.annotation", "EntityConstructor")
@@ -154,6 +155,25 @@ object DbUtils {
 
     fun KSFunctionDeclaration.resultMapperName() = "_${this.simpleName.asString()}_resultMapper"
 
+    fun KSFunctionDeclaration.queryContextName() = "_${this.simpleName.asString()}_${this.parameterTypesHash()}_query"
+
+    fun KSFunctionDeclaration.queryTelemetryName() = "_${this.simpleName.asString()}_${this.parameterTypesHash()}_telemetry"
+
+    /**
+     * Overloaded repository methods share a simple name, so query properties are told apart by their parameter types
+     */
+    private fun KSFunctionDeclaration.parameterTypesHash() = Integer.toHexString(this.parameters.map { it.type.toTypeName().toString() }.hashCode())
+
+    /**
+     * Query id and sql of a method never change, so the query context is created and its telemetry is bound once in the repository constructor
+     */
+    fun addQueryContext(type: TypeSpec.Builder, constructor: FunSpec.Builder, connectionFactory: String, method: KSFunctionDeclaration, rawQuery: String, sql: String) {
+        type.addProperty(method.queryContextName(), queryContext, KModifier.PRIVATE)
+        type.addProperty(method.queryTelemetryName(), queryTelemetry, KModifier.PRIVATE)
+        constructor.addCode("this.%N = %T(\n  %S,\n  %S\n)\n", method.queryContextName(), queryContext, rawQuery, sql)
+        constructor.addCode("this.%N = this.%N.telemetry().bind(this.%N)\n", method.queryTelemetryName(), connectionFactory, method.queryContextName())
+    }
+
 
     fun KSFunctionDeclaration.queryMethodBuilder(resolver: Resolver): FunSpec.Builder {
         return overridingKeepAop(this, resolver)
@@ -14,7 +14,9 @@ import reactor.core.publisher.Mono
 import ru.tinkoff.kora.database.symbol.processor.DbUtils
 import ru.tinkoff.kora.database.symbol.processor.DbUtils.findQueryMethods
 import ru.tinkoff.kora.database.symbol.processor.DbUtils.parseExecutorTag
+import ru.tinkoff.kora.database.symbol.processor.DbUtils.queryContextName
 import ru.tinkoff.kora.database.symbol.processor.DbUtils.queryMethodBuilder
+import ru.tinkoff.kora.database.symbol.processor.DbUtils.queryTelemetryName
 import ru.tinkoff.kora.database.symbol.processor.DbUtils.resultMapperName
 import ru.tinkoff.kora.database.symbol.processor.Mapper
 import ru.tinkoff.kora.database.symbol.processor.QueryWithParameters
@@ -52,20 +54,22 @@ class CassandraRepositoryGenerator(private val resolver: Resolver) : RepositoryG
                 CassandraNativeTypes.findNativeType(it.toTypeName()) != null
             }
             DbUtils.addMappers(typeBuilder, constructorBuilder, parameterMappers)
-            val methodSpec = this.generate(method, methodType, query, parameters)
+            val methodSpec = this.generate(typeBuilder, constructorBuilder, method, methodType, query, parameters)
             typeBuilder.addFunction(methodSpec)
         }
 
         return typeBuilder.primaryConstructor(constructorBuilder.build()).build()
     }
 
-    private fun generate(funDeclaration: KSFunctionDeclaration, function: KSFunction, query: QueryWithParameters, parameters: List<QueryParameter>): FunSpec {
+    private fun generate(typeBuilder: TypeSpec.Builder, constructorBuilder: FunSpec.Builder, funDeclaration: KSFunctionDeclaration, function: KSFunction, query: QueryWithParameters, parameters: List<QueryParameter>): FunSpec {
         var sql = query.rawQuery
         for (parameter in query.parameters.asSequence().sortedByDescending { it.sqlParameterName.length }) {
             sql = sql.replace(":" + parameter.sqlParameterName, "?")
         }
+        DbUtils.addQueryContext(typeBuilder, constructorBuilder, "_cassandraConnectionFactory", funDeclaration, query.rawQuery, sql)
+
         val b = funDeclaration.queryMethodBuilder(resolver)
-        b.addCode("val _query = %T(\n  %S,\n  %S\n)\n", DbUtils.queryContext, query.rawQuery, sql)
+        b.addStatement("val _query = this.%N", funDeclaration.queryContextName())
         val batchParam = parameters.firstOrNull { it is QueryParameter.BatchParameter }
         val profile = funDeclaration.findAnnotation(CassandraTypes.cassandraProfileAnnotation)?.findValue<String>("value")
         val returnType = function.returnType!!
@@ -74,9 +78,9 @@ class CassandraRepositoryGenerator(private val resolver: Resolver) : RepositoryG
         if (isSuspend || isFlow) {
             b.addCode("return ")
             b.controlFlow("%T.deferContextual { _reactorCtx ->", if (isFlow) Flux::class else Mono::class) {
-                b.addStatement("val _telemetry = this._cassandraConnectionFactory.telemetry().createContext(ru.tinkoff.kora.common.Context.Reactor.current(_reactorCtx), _query)")
+                b.addStatement("val _telemetry = this.%N.createContext(ru.tinkoff.kora.common.Context.Reactor.current(_reactorCtx))", funDeclaration.queryTelemetryName())
                 b.addStatement("val _session = this._cassandraConnectionFactory.currentSession()")
-                b.addCode("%T.fromCompletionStage(_session.prepareAsync(_query.sql()))", Mono::class.java)
+                b.addCode("%T.fromCompletionStage(this._cassandraConnectionFactory.prepareAsync(_query.sql()))", Mono::class.java)
                 b.controlFlow(".%L { _st ->", if (isSuspend) "flatMap" else "flatMapMany") {
                     b.addStatement("var _stmt = _st.boundStatementBuilder()")
                     if (profile != null) {
@@ -108,9 +112,9 @@ class CassandraRepositoryGenerator(private val resolver: Resolver) : RepositoryG
                 b.addCode(".asFlow()")
             }
         } else {
-            b.addStatement("val _telemetry = this._cassandraConnectionFactory.telemetry().createContext(ru.tinkoff.kora.common.Context.current(), _query)")
+            b.addStatement("val _telemetry = this.%N.createContext(ru.tinkoff.kora.common.Context.current())", funDeclaration.queryTelemetryName())
             b.addStatement("val _session = this._cassandraConnectionFactory.currentSession()")
-            b.addStatement("var _stmt = _session.prepare(_query.sql()).boundStatementBuilder()")
+            b.addStatement("var _stmt = this._cassandraConnectionFactory.prepare(_query.sql()).boundStatementBuilder()")
             if (profile != null) {
                 b.addStatement("_stmt.setExecutionProfileName(%S)", profile)
             }
@@ -12,7 +12,9 @@ import reactor.core.publisher.Mono
 import ru.tinkoff.kora.database.symbol.processor.DbUtils
 import ru.tinkoff.kora.database.symbol.processor.DbUtils.findQueryMethods
 import ru.tinkoff.kora.database.symbol.processor.DbUtils.parseExecutorTag
+import ru.tinkoff.kora.database.symbol.processor.DbUtils.queryContextName
 import ru.tinkoff.kora.database.symbol.processor.DbUtils.queryMethodBuilder
+import ru.tinkoff.kora.database.symbol.processor.DbUtils.queryTelemetryName
 import ru.tinkoff.kora.database.symbol.processor.DbUtils.resultMapperName
 import ru.tinkoff.kora.database.symbol.processor.Mapper
 import ru.tinkoff.kora.database.symbol.processor.QueryWithParameters
@@ -51,18 +53,20 @@ class JdbcRepositoryGenerator(private val resolver: Resolver) : RepositoryGenera
                 JdbcNativeTypes.findNativeType(it.toTypeName()) != null
             }
             DbUtils.addMappers(typeBuilder, constructorBuilder, parameterMappers)
-            val methodSpec = this.generate(method, methodType, query, parameters)
+            val methodSpec = this.generate(typeBuilder, constructorBuilder, method, methodType, query, parameters)
             typeBuilder.addFunction(methodSpec)
         }
         return typeBuilder.primaryConstructor(constructorBuilder.build()).build()
     }
 
-    private fun generate(method: KSFunctionDeclaration, methodType: KSFunction, query: QueryWithParameters, parameters: List<QueryParameter>): FunSpec {
+    private fun generate(typeBuilder: TypeSpec.Builder, constructorBuilder: FunSpec.Builder, method: KSFunctionDeclaration, methodType: KSFunction, query: QueryWithParameters, parameters: List<QueryParameter>): FunSpec {
         val batchParam = parameters.firstOrNull { it is QueryParameter.BatchParameter }
         var sql = query.rawQuery
         for (parameter in query.parameters.sortedByDescending { it.sqlParameterName.length }) {
             sql = sql.replace(":${parameter.sqlParameterName}", "?")
         }
+        DbUtils.addQueryContext(typeBuilder, constructorBuilder, "_jdbcConnectionFactory", method, query.rawQuery, sql)
+
         val b = method.queryMethodBuilder(resolver)
         if (method.isSuspend()) {
             b.beginControlFlow("return %T.fromCompletionStage({", Mono::class)
@@ -79,8 +83,8 @@ class JdbcRepositoryGenerator(private val resolver: Resolver) : RepositoryGenera
             nextControlFlow("else")
             addStatement("_conToClose = null")
         }
-        b.addStatement("val _query = %T(%S, %S)", DbUtils.queryContext, query.rawQuery, sql)
-        b.addStatement("val _telemetry = this._jdbcConnectionFactory.telemetry().createContext(ru.tinkoff.kora.common.Context.current(), _query)")
+        b.addStatement("val _query = this.%N", method.queryContextName())
+        b.addStatement("val _telemetry = this.%N.createContext(ru.tinkoff.kora.common.Context.current())", method.queryTelemetryName())
         b.controlFlow("try") {
             controlFlow("_conToClose.use") {
                 controlFlow("_conToUse!!.prepareStatement(_query.sql()).use { _stmt ->") {
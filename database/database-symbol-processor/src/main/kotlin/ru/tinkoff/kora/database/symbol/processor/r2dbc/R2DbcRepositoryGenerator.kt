@@ -13,7 +13,9 @@ import reactor.core.publisher.Mono
 import ru.tinkoff.kora.database.symbol.processor.DbUtils
 import ru.tinkoff.kora.database.symbol.processor.DbUtils.findQueryMethods
 import ru.tinkoff.kora.database.symbol.processor.DbUtils.parseExecutorTag
+import ru.tinkoff.kora.database.symbol.processor.DbUtils.queryContextName
 import ru.tinkoff.kora.database.symbol.processor.DbUtils.queryMethodBuilder
+import ru.tinkoff.kora.database.symbol.processor.DbUtils.queryTelemetryName
 import ru.tinkoff.kora.database.symbol.processor.DbUtils.resultMapperName
 import ru.tinkoff.kora.database.symbol.processor.Mapper
 import ru.tinkoff.kora.database.symbol.processor.QueryWithParameters
@@ -50,28 +52,30 @@ class R2DbcRepositoryGenerator(val resolver: Resolver) : RepositoryGenerator {
                 R2dbcNativeTypes.findNativeType(it.toTypeName()) != null
             }
             DbUtils.addMappers(typeBuilder, constructorBuilder, parameterMappers)
-            val methodSpec = this.generate(method, methodType, query, parameters)
+            val methodSpec = this.generate(typeBuilder, constructorBuilder, method, methodType, query, parameters)
             typeBuilder.addFunction(methodSpec)
         }
 
         return typeBuilder.primaryConstructor(constructorBuilder.build()).build()
     }
 
-    private fun generate(funDeclaration: KSFunctionDeclaration, function: KSFunction, query: QueryWithParameters, parameters: List<QueryParameter>): FunSpec {
+    private fun generate(typeBuilder: TypeSpec.Builder, constructorBuilder: FunSpec.Builder, funDeclaration: KSFunctionDeclaration, function: KSFunction, query: QueryWithParameters, parameters: List<QueryParameter>): FunSpec {
         var sql = query.rawQuery
         for (p in query.parameters.asSequence().withIndex().sortedByDescending { it.value.sqlParameterName.length }) {
             val parameter = p.value
             sql = sql.replace(":" + parameter.sqlParameterName, "$" + (p.index + 1))
         }
+        DbUtils.addQueryContext(typeBuilder, constructorBuilder, "_r2dbcConnectionFactory", funDeclaration, query.rawQuery, sql)
+
         val b = funDeclaration.queryMethodBuilder(resolver)
-        b.addCode("val _query = %T(\n  %S,\n  %S\n)\n", DbUtils.queryContext, query.rawQuery, sql)
+        b.addStatement("val _query = this.%N", funDeclaration.queryContextName())
         val batchParam = parameters.firstOrNull { it is QueryParameter.BatchParameter }
         val returnType = function.returnType!!
         val isSuspend = funDeclaration.isSuspend()
         val isFlow = funDeclaration.isFlow()
         b.addCode("return ")
         b.controlFlow("%T.deferContextual { _reactorCtx ->", if (isFlow) Flux::class else Mono::class) {
-            b.addStatement("val _telemetry = this._r2dbcConnectionFactory.telemetry().createContext(ru.tinkoff.kora.common.Context.Reactor.current(_reactorCtx), _query)")
+            b.addStatement("val _telemetry = this.%N.createContext(ru.tinkoff.kora.common.Context.Reactor.current(_reactorCtx))", funDeclaration.queryTelemetryName())
             b.controlFlow("_r2dbcConnectionFactory.withConnection%L { _con ->", if (isFlow) "Flux" else "") {
                 b.addStatement("val _stmt = _con.createStatement(_query.sql())")
                 R2dbcStatementSetterGenerator.generate(b, funDeclaration, query, parameters, batchParam)
@@ -12,7 +12,9 @@ import com.squareup.kotlinpoet.ksp.toTypeName
 import ru.tinkoff.kora.database.symbol.processor.DbUtils
 import ru.tinkoff.kora.database.symbol.processor.DbUtils.findQueryMethods
 import ru.tinkoff.kora.database.symbol.processor.DbUtils.parseExecutorTag
+import ru.tinkoff.kora.database.symbol.processor.DbUtils.queryContextName
 import ru.tinkoff.kora.database.symbol.processor.DbUtils.queryMethodBuilder
+import ru.tinkoff.kora.database.symbol.processor.DbUtils.queryTelemetryName
 import ru.tinkoff.kora.database.symbol.processor.DbUtils.resultMapperName
 import ru.tinkoff.kora.database.symbol.processor.Mapper
 import ru.tinkoff.kora.database.symbol.processor.QueryWithParameters
@@ -50,22 +52,24 @@ class VertxRepositoryGenerator(private val resolver: Resolver, private val kspLo
                 VertxNativeTypes.findNativeType(it.toTypeName()) != null
             }
             DbUtils.addMappers(typeBuilder, constructorBuilder, parameterMappers)
-            val methodSpec = this.generate(method, methodType, query, parameters)
+            val methodSpec = this.generate(typeBuilder, constructorBuilder, method, methodType, query, parameters)
             typeBuilder.addFunction(methodSpec)
         }
 
         return typeBuilder.primaryConstructor(constructorBuilder.build()).build()
     }
 
-    private fun generate(funDeclaration: KSFunctionDeclaration, function: KSFunction, query: QueryWithParameters, parameters: List<QueryParameter>): FunSpec {
+    private fun generate(typeBuilder: TypeSpec.Builder, constructorBuilder: FunSpec.Builder, funDeclaration: KSFunctionDeclaration, function: KSFunction, query: QueryWithParameters, parameters: List<QueryParameter>): FunSpec {
         var sql = query.rawQuery
         query.parameters.indices.asSequence()
             .map { query.parameters[it].sqlParameterName to "$" + (it + 1) }
             .sortedByDescending { it.first.length }
             .forEach { sql = sql.replace("$" + it.first, it.second) }
 
+        DbUtils.addQueryContext(typeBuilder, constructorBuilder, "_vertxConnectionFactory", funDeclaration, query.rawQuery, sql)
+
         val b = funDeclaration.queryMethodBuilder(resolver)
-        b.addCode("val _query = %T(\n  %S,\n  %S\n)\n", DbUtils.queryContext, query.rawQuery, sql)
+        b.addStatement("val _query = this.%N", funDeclaration.queryContextName())
         val batchParam = parameters.firstOrNull { it is QueryParameter.BatchParameter }
         val isSuspend = funDeclaration.isSuspend()
         val isFlow = funDeclaration.isFlow()
@@ -73,23 +77,26 @@ class VertxRepositoryGenerator(private val resolver: Resolver, private val kspLo
 
         b.addCode("return ")
         if (batchParam != null) {
-            b.addCode("%T.batch(this._vertxConnectionFactory, _query, _batchParams).thenReturn(%T)\n", VertxTypes.repositoryHelper, Unit::class)
+            b.addCode("%T.batch(this._vertxConnectionFactory, _query, this.%N, _batchParams).thenReturn(%T)\n", VertxTypes.repositoryHelper, funDeclaration.queryTelemetryName(), Unit::class)
         } else if (isFlow) {
             b.addCode(
-                "%T.flux(this._vertxConnectionFactory, _query, _tuple, %N).asFlow()\n",
+                "%T.flux(this._vertxConnectionFactory, _query, this.%N, _tuple, %N).asFlow()\n",
                 VertxTypes.repositoryHelper,
+                funDeclaration.queryTelemetryName(),
                 funDeclaration.resultMapperName()
             )
         } else {
             if (function.returnType == resolver.builtIns.unitType) {
                 b.addCode(
-                    "%L.mono(this._vertxConnectionFactory, _query, _tuple) {}\n",
-                    VertxTypes.repositoryHelper
+                    "%L.mono(this._vertxConnectionFactory, _query, this.%N, _tuple) {}\n",
+                    VertxTypes.repositoryHelper,
+                    funDeclaration.queryTelemetryName()
                 )
             } else {
                 b.addCode(
-                    "%L.mono(this._vertxConnectionFactory, _query, _tuple, %N)\n",
+                    "%L.mono(this._vertxConnectionFactory, _query, this.%N, _tuple, %N)\n",
                     VertxTypes.repositoryHelper,
+                    funDeclaration.queryTelemetryName(),
                     funDeclaration.resultMapperName()
                 )
             }
@@ -36,7 +36,7 @@ class MockCassandraExecutor : CassandraConnectionFactory {
     ) as Iterator<Row>
     val row = Mockito.mock(Row::class.java)
     val batchStatementBuilder: BatchStatementBuilder = Mockito.mock(BatchStatementBuilder::class.java)
-    val telemetry = Mockito.mock(DataBaseTelemetry::class.java)
+    val telemetry = Mockito.mock(DataBaseTelemetry::class.java, Mockito.CALLS_REAL_METHODS)
     val telemetryCtx = Mockito.mock(DataBaseTelemetry.DataBaseTelemetryContext::class.java)
 
     fun reset() {
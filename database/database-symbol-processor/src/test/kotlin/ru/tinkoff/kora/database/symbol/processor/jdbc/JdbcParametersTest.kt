@@ -52,4 +52,13 @@ class JdbcParametersTest {
         Mockito.verify(executor.preparedStatement).setString(1, "test")
         Mockito.verify(executor.preparedStatement).setInt(2, 42)
     }
+
+    @Test
+    fun overloadedParameters() {
+        repository.overloadedParameters("test")
+        Mockito.verify(executor.mockConnection).prepareStatement("INSERT INTO overloaded(value1) VALUES (?)")
+
+        repository.overloadedParameters("test", 42)
+        Mockito.verify(executor.mockConnection).prepareStatement("INSERT INTO overloaded(value1, value2) VALUES (?, ?)")
+    }
 }
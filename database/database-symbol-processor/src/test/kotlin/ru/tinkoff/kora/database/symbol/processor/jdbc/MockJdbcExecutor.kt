@@ -16,7 +16,7 @@ class MockJdbcExecutor : JdbcConnectionFactory {
 
     val preparedStatement = Mockito.mock(PreparedStatement::class.java)!!
     val callableStatement = Mockito.mock(CallableStatement::class.java)!!
-    val telemetry = Mockito.mock(DataBaseTelemetry::class.java)!!
+    val telemetry = Mockito.mock(DataBaseTelemetry::class.java, Mockito.CALLS_REAL_METHODS)!!
     val telemetryCtx = Mockito.mock(DataBaseTelemetryContext::class.java)!!
     val mockConnection = Mockito.mock(Connection::class.java)!!
 
@@ -94,4 +94,10 @@ interface AllowedParametersRepository : JdbcRepository {
 
     @Query("INSERT INTO test(value1, value2) VALUES (:value, :valueTest)")
     fun parametersWithSimilarNames(value: String?, valueTest: Int)
+
+    @Query("INSERT INTO overloaded(value1) VALUES (:value)")
+    fun overloadedParameters(value: String?)
+
+    @Query("INSERT INTO overloaded(value1, value2) VALUES (:value, :valueTest)")
+    fun overloadedParameters(value: String?, valueTest: Int)
 }
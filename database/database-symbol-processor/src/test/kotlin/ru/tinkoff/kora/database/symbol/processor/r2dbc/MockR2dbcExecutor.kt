@@ -15,7 +15,7 @@ import java.util.function.Function
 class MockR2dbcExecutor : R2dbcConnectionFactory {
     val con: Connection = Mockito.mock(Connection::class.java)
     val statement: Statement = Mockito.mock(Statement::class.java)
-    val telemetry = Mockito.mock(DataBaseTelemetry::class.java)!!
+    val telemetry = Mockito.mock(DataBaseTelemetry::class.java, Mockito.CALLS_REAL_METHODS)!!
     val telemetryCtx = Mockito.mock(DataBaseTelemetry.DataBaseTelemetryContext::class.java)!!
 
     var rows = ArrayList<List<MockColumn>>()
@@ -23,7 +23,7 @@ class MockVertxExecutor : VertxConnectionFactory {
     val statement = Mockito.mock(PreparedStatement::class.java)
     val query: PreparedQuery<RowSet<Row>> = Mockito.mock(PreparedQuery::class.java) as PreparedQuery<RowSet<Row>>
     val rowSet: RowSet<Row> = Mockito.mock(RowSet::class.java) as RowSet<Row>
-    val telemetry = Mockito.mock(DataBaseTelemetry::class.java)
+    val telemetry = Mockito.mock(DataBaseTelemetry::class.java, Mockito.CALLS_REAL_METHODS)
     val telemetryCtx = Mockito.mock(DataBaseTelemetryContext::class.java)
 
     init {
@@ -5,7 +5,9 @@ import io.vertx.sqlclient.Tuple;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import ru.tinkoff.kora.common.Context;
+import ru.tinkoff.kora.common.util.ReactorUtils;
 import ru.tinkoff.kora.database.common.QueryContext;
+import ru.tinkoff.kora.database.common.telemetry.DataBaseTelemetry;
 import ru.tinkoff.kora.database.vertx.mapper.result.VertxRowMapper;
 import ru.tinkoff.kora.database.vertx.mapper.result.VertxRowSetMapper;
 
@@ -15,8 +17,12 @@ import java.util.function.Function;
 
 public class VertxRepositoryHelper {
     public static <T> Mono<T> mono(VertxConnectionFactory connectionFactory, QueryContext query, Tuple params, VertxRowSetMapper<T> mapper) {
+        return mono(connectionFactory, query, context -> connectionFactory.telemetry().createContext(context, query), params, mapper);
+    }
+
+    public static <T> Mono<T> mono(VertxConnectionFactory connectionFactory, QueryContext query, DataBaseTelemetry.DataBaseQueryTelemetry queryTelemetry, Tuple params, VertxRowSetMapper<T> mapper) {
         Function<SqlConnection, Mono<T>> $connectionCallback = connection -> Mono.create(sink -> {
-            var telemetry = connectionFactory.telemetry().createContext(Context.Reactor.current(sink.contextView()), query);
+            var telemetry = queryTelemetry.createContext(Context.Reactor.current(sink.contextView()));
             connection.prepare(query.sql(), $e -> {
                 if ($e.failed()) {
                     telemetry.close($e.cause());
@@ -38,17 +44,22 @@ public class VertxRepositoryHelper {
             });
         });
 
-        return connectionFactory.currentConnection().map(Optional::of).defaultIfEmpty(Optional.empty()).flatMap(o -> {
+        // results are emitted on the event loop, so the caller context is installed back for the downstream operators
+        return ReactorUtils.propagateContext(connectionFactory.currentConnection().map(Optional::of).defaultIfEmpty(Optional.empty()).flatMap(o -> {
             if (o.isPresent()) {
                 return $connectionCallback.apply(o.get());
             }
             return Mono.defer(() -> Mono.usingWhen(connectionFactory.newConnection(), $connectionCallback, $connection -> Mono.fromRunnable($connection::close)));
-        });
+        }));
     }
 
     public static Mono<Void> batch(VertxConnectionFactory connectionFactory, QueryContext query, List<Tuple> params) {
+        return batch(connectionFactory, query, context -> connectionFactory.telemetry().createContext(context, query), params);
+    }
+
+    public static Mono<Void> batch(VertxConnectionFactory connectionFactory, QueryContext query, DataBaseTelemetry.DataBaseQueryTelemetry queryTelemetry, List<Tuple> params) {
         Function<SqlConnection, Mono<Void>> $connectionCallback = connection -> Mono.create(sink -> {
-            var telemetry = connectionFactory.telemetry().createContext(Context.Reactor.current(sink.contextView()), query);
+            var telemetry = queryTelemetry.createContext(Context.Reactor.current(sink.contextView()));
             connection.prepare(query.sql(), $e -> {
                 if ($e.failed()) {
                     telemetry.close($e.cause());
@@ -68,17 +79,22 @@ public class VertxRepositoryHelper {
             });
         });
 
-        return connectionFactory.currentConnection().map(Optional::of).defaultIfEmpty(Optional.empty()).flatMap(o -> {
+        // results are emitted on the event loop, so the caller context is installed back for the downstream operators
+        return ReactorUtils.propagateContext(connectionFactory.currentConnection().map(Optional::of).defaultIfEmpty(Optional.empty()).flatMap(o -> {
             if (o.isPresent()) {
                 return $connectionCallback.apply(o.get());
             }
             return Mono.defer(() -> Mono.usingWhen(connectionFactory.newConnection(), $connectionCallback, $connection -> Mono.fromRunnable($connection::close)));
-        });
+        }));
     }
 
     public static <T> Flux<T> flux(VertxConnectionFactory connectionFactory, QueryContext query, Tuple params, VertxRowMapper<T> mapper) {
+        return flux(connectionFactory, query, context -> connectionFactory.telemetry().createContext(context, query), params, mapper);
+    }
+
+    public static <T> Flux<T> flux(VertxConnectionFactory connectionFactory, QueryContext query, DataBaseTelemetry.DataBaseQueryTelemetry queryTelemetry, Tuple params, VertxRowMapper<T> mapper) {
         Function<SqlConnection, Flux<T>> $connectionCallback = connection -> Flux.create(sink -> {
-            var telemetry = connectionFactory.telemetry().createContext(Context.Reactor.current(sink.contextView()), query);
+            var telemetry = queryTelemetry.createContext(Context.Reactor.current(sink.contextView()));
             connection.prepare(query.sql(), statementEvent -> {
                 if (statementEvent.failed()) {
                     telemetry.close(statementEvent.cause());
@@ -98,11 +114,11 @@ public class VertxRepositoryHelper {
             });
         });
 
-        return connectionFactory.currentConnection().map(Optional::of).defaultIfEmpty(Optional.empty()).flatMapMany(o -> {
+        return ReactorUtils.propagateContext(connectionFactory.currentConnection().map(Optional::of).defaultIfEmpty(Optional.empty()).flatMapMany(o -> {
             if (o.isPresent()) {
                 return $connectionCallback.apply(o.get());
             }
             return Flux.defer(() -> Flux.usingWhen(connectionFactory.newConnection(), $connectionCallback, $connection -> Mono.fromRunnable($connection::close)));
-        });
+        }));
     }
 }
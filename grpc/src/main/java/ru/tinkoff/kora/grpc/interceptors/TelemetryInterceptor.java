@@ -1,6 +1,7 @@
 package ru.tinkoff.kora.grpc.interceptors;
 
 import io.grpc.*;
+import ru.tinkoff.kora.common.Context;
 import ru.tinkoff.kora.grpc.telemetry.GrpcServerTelemetry;
 
 import java.util.concurrent.CancellationException;
@@ -14,36 +15,62 @@ public class TelemetryInterceptor implements ServerInterceptor {
 
     @Override
     public <ReqT, RespT> ServerCall.Listener<ReqT> interceptCall(ServerCall<ReqT, RespT> call, Metadata headers, ServerCallHandler<ReqT, RespT> next) {
+        var context = Context.current();
         var ctx = this.telemetry.createContext(call, headers);
-        var c = new TelemetryServerCall<>(call, ctx);
+        var c = new TelemetryServerCall<>(call, ctx, context);
         var listener = next.startCall(c, headers);
         return new TelemetryServerCallListener<>(listener, ctx);
     }
 
 
+    /**
+     * Responses may be sent from any thread, e.g. by a reactive service, so the call context is installed back for the telemetry
+     */
     private static final class TelemetryServerCall<REQUEST, RESPONSE> extends ForwardingServerCall.SimpleForwardingServerCall<REQUEST, RESPONSE> {
         private final GrpcServerTelemetry.GrpcServerTelemetryContext telemetryContext;
+        private final Context context;
 
-        private TelemetryServerCall(ServerCall<REQUEST, RESPONSE> delegate, GrpcServerTelemetry.GrpcServerTelemetryContext telemetryContext) {
+        private TelemetryServerCall(ServerCall<REQUEST, RESPONSE> delegate, GrpcServerTelemetry.GrpcServerTelemetryContext telemetryContext, Context context) {
             super(delegate);
             this.telemetryContext = telemetryContext;
+            this.context = context;
         }
 
         @Override
         public void sendMessage(RESPONSE message) {
-            this.telemetryContext.sendMessage(message);
-            super.sendMessage(message);
+            var current = Context.current();
+            if (current != this.context) {
+                this.context.inject();
+            }
+            try {
+                this.telemetryContext.sendMessage(message);
+                super.sendMessage(message);
+            } finally {
+                if (current != this.context) {
+                    current.inject();
+                }
+            }
         }
 
         @Override
         public void close(Status status, Metadata trailers) {
+            var current = Context.current();
+            if (current != this.context) {
+                this.context.inject();
+            }
             try {
-                delegate().close(status, trailers);
-            } catch (Throwable e) {
-                this.telemetryContext.close(null, e);
-                throw e;
+                try {
+                    delegate().close(status, trailers);
+                } catch (Throwable e) {
+                    this.telemetryContext.close(null, e);
+                    throw e;
+                }
+                this.telemetryContext.close(status, status.getCause());
+            } finally {
+                if (current != this.context) {
+                    current.inject();
+                }
             }
-            this.telemetryContext.close(status, status.getCause());
         }
     }
 
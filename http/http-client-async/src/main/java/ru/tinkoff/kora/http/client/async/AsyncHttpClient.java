@@ -10,6 +10,7 @@ import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import ru.tinkoff.kora.application.graph.Lifecycle;
 import ru.tinkoff.kora.common.Context;
+import ru.tinkoff.kora.common.util.ReactorUtils;
 import ru.tinkoff.kora.http.client.common.HttpClient;
 import ru.tinkoff.kora.http.client.common.HttpClientConnectionException;
 import ru.tinkoff.kora.http.client.common.HttpClientTimeoutException;
@@ -31,7 +32,8 @@ public class AsyncHttpClient implements HttpClient, Lifecycle {
 
     @Override
     public Mono<HttpClientResponse> execute(HttpClientRequest request) {
-        return Mono.deferContextual(ctx -> {
+        // response handler installs forked context, downstream operators should see the caller one
+        return ReactorUtils.propagateContext(Mono.deferContextual(ctx -> {
             var forkedContext = Context.Reactor.current(ctx).fork(); // we can modify whatever we want now
             return this.processRequest(forkedContext, request).contextWrite(c -> Context.Reactor.inject(c, forkedContext))
                 .onErrorMap(e -> {
@@ -46,7 +48,7 @@ public class AsyncHttpClient implements HttpClient, Lifecycle {
                     }
                     return new UnknownHttpClientException(e);
                 });
-        });
+        }));
     }
 
     private Mono<HttpClientResponse> processRequest(Context context, HttpClientRequest request) {
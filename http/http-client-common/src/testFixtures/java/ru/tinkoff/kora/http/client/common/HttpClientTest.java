@@ -3,6 +3,7 @@ package ru.tinkoff.kora.http.client.common;
 import ch.qos.logback.classic.Level;
 import org.junit.jupiter.api.Disabled;
 import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.TestMethodOrder;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.EnumSource;
@@ -11,17 +12,22 @@ import org.mockito.ArgumentMatchers;
 import org.mockito.Mockito;
 import org.mockserver.matchers.Times;
 import org.mockserver.model.Header;
+import reactor.core.publisher.Mono;
 import ru.tinkoff.kora.application.graph.Lifecycle;
+import ru.tinkoff.kora.common.Context;
 import ru.tinkoff.kora.http.client.common.interceptor.TelemetryInterceptor;
 import ru.tinkoff.kora.http.client.common.request.HttpClientRequest;
+import ru.tinkoff.kora.http.client.common.response.HttpClientResponse;
 import ru.tinkoff.kora.http.client.common.telemetry.DefaultHttpClientTelemetry;
 import ru.tinkoff.kora.opentelemetry.module.http.client.OpentelemetryHttpClientTracer;
 
 import java.nio.charset.StandardCharsets;
 import java.time.Duration;
+import java.util.Objects;
 import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.TimeUnit;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
@@ -33,6 +39,8 @@ import static ru.tinkoff.kora.http.common.HttpMethod.POST;
 
 @TestMethodOrder(MethodOrderer.Random.class)
 public abstract class HttpClientTest extends HttpClientTestBase {
+    private static final Context.Key<String> CALLER_KEY = new Context.KeyImmutable<>() {};
+
     @ParameterizedTest
     @EnumSource
     protected void testHappyPath(CallType type) {
@@ -278,4 +286,25 @@ public abstract class HttpClientTest extends HttpClientTestBase {
 
         server.verify(expectedRequest);
     }
+
+    @Test
+    protected void testCallerContextIsSeenAfterResponseThreadHop() {
+        ctx.getLogger("ru.tinkoff.kora.http.client").setLevel(Level.OFF);
+        server.when(request("/")).respond(response().withDelay(TimeUnit.MILLISECONDS, 50));
+        Context.current().set(CALLER_KEY, "caller");
+        var callerThread = Thread.currentThread();
+
+        var seen = Mono.usingWhen(
+                this.client.execute(HttpClientRequest.get("/").build()),
+                response -> Mono.fromCallable(() -> {
+                    // response is emitted by the client threads
+                    assertThat(Thread.currentThread()).isNotSameAs(callerThread);
+                    return Objects.requireNonNullElse(Context.current().get(CALLER_KEY), "none");
+                }),
+                HttpClientResponse::close
+            )
+            .block();
+
+        assertThat(seen).isEqualTo("caller");
+    }
 }
@@ -48,7 +48,7 @@ public abstract class HttpClientTestBase {
     protected final OpentelemetryContext rootTelemetry = OpentelemetryContext.get(Context.current());
     private final HttpClient baseClient = this.createClient(new HttpClientConfig(100, 500, null, null));
 
-    private final HttpClient client = this.baseClient
+    protected final HttpClient client = this.baseClient
         .with(new TelemetryInterceptor(new DefaultHttpClientTelemetry(
             new OpentelemetryHttpClientTracer(tracer),
             this.metrics,
@@ -4,6 +4,7 @@ import reactor.adapter.JdkFlowAdapter;
 import reactor.core.Fuseable;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import ru.tinkoff.kora.common.util.ReactorUtils;
 import ru.tinkoff.kora.http.client.common.HttpClient;
 import ru.tinkoff.kora.http.client.common.HttpClientConnectionException;
 import ru.tinkoff.kora.http.client.common.HttpClientTimeoutException;
@@ -33,7 +34,8 @@ public class JdkHttpClient implements HttpClient {
 
     @Override
     public Mono<HttpClientResponse> execute(HttpClientRequest request) {
-        return Mono.deferContextual(ctxView -> {
+        // response is completed on the client executor threads, so the caller context has to be installed back there
+        return ReactorUtils.propagateContext(Mono.deferContextual(ctxView -> {
             var httpClientRequest = HttpRequest.newBuilder()
                 .uri(URI.create(request.resolvedUri()))
                 .method(request.method(), this.toBodyPublisher(request.body()));
@@ -73,7 +75,7 @@ public class JdkHttpClient implements HttpClient {
                     return new UnknownHttpClientException(error);
                 })
                 .map(JdkHttpClientResponse::new);
-        });
+        }));
     }
 
     public BlockingHttpResponse executeBlocking(HttpClientRequest request) {
@@ -7,6 +7,7 @@ import com.squareup.javapoet.TypeName;
 import ru.tinkoff.kora.annotation.processor.common.CommonUtils;
 import ru.tinkoff.kora.http.common.annotation.HttpRoute;
 import ru.tinkoff.kora.http.server.common.annotation.HttpController;
+import ru.tinkoff.kora.http.server.common.annotation.MaxRequestBodySize;
 import ru.tinkoff.kora.http.server.common.handler.HttpServerRequestMapper;
 import ru.tinkoff.kora.http.server.common.handler.HttpServerResponseMapper;
 
@@ -87,6 +88,10 @@ public class HttpServerUtils {
             .filter(e -> e.getValue() != null)
             .collect(Collectors.toMap(AbstractMap.SimpleImmutableEntry::getKey, AbstractMap.SimpleImmutableEntry::getValue));
         var responseMapper = CommonUtils.parseMapping(executableElement).getMapping(types, httpResponseMappingType);
+        var maxRequestBodySize = executableElement.getAnnotation(MaxRequestBodySize.class);
+        if (maxRequestBodySize == null) {
+            maxRequestBodySize = controller.getAnnotation(MaxRequestBodySize.class);
+        }
 
         return new RequestMappingData(
             executableElement,
@@ -94,7 +99,8 @@ public class HttpServerUtils {
             httpMethod,
             finalPath,
             mappingData,
-            responseMapper
+            responseMapper,
+            maxRequestBodySize == null ? null : maxRequestBodySize.value()
         );
     }
 }
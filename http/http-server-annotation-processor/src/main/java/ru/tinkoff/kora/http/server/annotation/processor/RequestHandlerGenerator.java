@@ -91,12 +91,22 @@ public class RequestHandlerGenerator {
 
         var handlerCode = this.buildRequestHandler(controller, requestMappingData, parameters, methodBuilder);
 
-        methodBuilder.addCode("return $T.$L($S, _request -> {$>\n$L\n$<});",
-            HttpServerRequestHandlerImpl.class,
-            requestMappingData.httpMethod().toLowerCase(),
-            requestMappingData.route(),
-            handlerCode
-        );
+        if (requestMappingData.maxRequestBodySize() != null) {
+            methodBuilder.addCode("return new $T($S, $S, $LL, _request -> {$>\n$L\n$<});",
+                HttpServerRequestHandlerImpl.class,
+                requestMappingData.httpMethod(),
+                requestMappingData.route(),
+                requestMappingData.maxRequestBodySize(),
+                handlerCode
+            );
+        } else {
+            methodBuilder.addCode("return $T.$L($S, _request -> {$>\n$L\n$<});",
+                HttpServerRequestHandlerImpl.class,
+                requestMappingData.httpMethod().toLowerCase(),
+                requestMappingData.route(),
+                handlerCode
+            );
+        }
 
         return methodBuilder.build();
     }
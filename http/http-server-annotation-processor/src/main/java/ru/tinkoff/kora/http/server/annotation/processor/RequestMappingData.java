@@ -14,6 +14,7 @@ public record RequestMappingData(
     String httpMethod,
     String route,
     Map<VariableElement, CommonUtils.MappingData> httpRequestMappingData,
-    @Nullable CommonUtils.MappingData responseMapper
+    @Nullable CommonUtils.MappingData responseMapper,
+    @Nullable Long maxRequestBodySize
 ) {
 }
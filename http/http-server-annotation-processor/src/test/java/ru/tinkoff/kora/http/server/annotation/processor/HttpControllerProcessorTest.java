@@ -8,6 +8,7 @@ import ru.tinkoff.kora.http.server.annotation.processor.server.TestHttpServer;
 import java.nio.charset.StandardCharsets;
 import java.util.Map;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
@@ -198,6 +199,16 @@ class HttpControllerProcessorTest {
         server.invoke("GET", "/withMethodLevelInterceptors", new byte[0])
             .verifyStatus(200);
     }
-}
 
+    @Test
+    void testControllerWithMaxRequestBodySize() {
+        var server = TestHttpServer.fromController(TestControllerWithMaxRequestBodySize.class);
+        when(server.controller.controllerLimit(any())).thenReturn("body");
 
+        assertThat(server.handler(POST, "/controllerLimit").maxRequestBodySize()).isEqualTo(1024L);
+        assertThat(server.handler(POST, "/routeLimit").maxRequestBodySize()).isEqualTo(10L * 1024 * 1024 * 1024);
+        server.invoke(POST, "/controllerLimit", "body".getBytes(StandardCharsets.UTF_8))
+            .verifyStatus(200)
+            .verifyBody("body");
+    }
+}
@@ -0,0 +1,22 @@
+package ru.tinkoff.kora.http.server.annotation.processor.controller;
+
+import ru.tinkoff.kora.http.common.annotation.HttpRoute;
+import ru.tinkoff.kora.http.server.common.annotation.HttpController;
+import ru.tinkoff.kora.http.server.common.annotation.MaxRequestBodySize;
+
+import static ru.tinkoff.kora.http.common.HttpMethod.POST;
+
+@HttpController
+@MaxRequestBodySize(1024)
+public class TestControllerWithMaxRequestBodySize {
+    @HttpRoute(method = POST, path = "/controllerLimit")
+    public String controllerLimit(String body) {
+        return body;
+    }
+
+    @MaxRequestBodySize(10L * 1024 * 1024 * 1024)
+    @HttpRoute(method = POST, path = "/routeLimit")
+    public String routeLimit(String body) {
+        return body;
+    }
+}
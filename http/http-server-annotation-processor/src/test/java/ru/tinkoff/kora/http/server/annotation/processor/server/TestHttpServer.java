@@ -26,6 +26,15 @@ public class TestHttpServer<T> {
         this.controller = controller;
     }
 
+    public HttpServerRequestHandler handler(String method, String routeTemplate) {
+        for (var requestHandler : requestHandlers) {
+            if (requestHandler.method().equals(method) && requestHandler.routeTemplate().equals(routeTemplate)) {
+                return requestHandler;
+            }
+        }
+        throw new IllegalArgumentException("Handler not found: " + method + " " + routeTemplate);
+    }
+
     @SafeVarargs
     public final HttpResponseAssert invoke(String method, String path, byte[] body, Map.Entry<String, String>... headers) {
         for (var requestHandler : requestHandlers) {
@@ -0,0 +1,62 @@
+package ru.tinkoff.kora.http.server.common;
+
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Collects written bytes into a list of chunks, that grow up to max size, so large output is never copied or kept in one contiguous array.
+ */
+final class ByteBufferChunksOutputStream extends OutputStream {
+    private static final int INITIAL_CHUNK_SIZE = 8 * 1024;
+    private static final int MAX_CHUNK_SIZE = 256 * 1024;
+
+    private final ArrayList<ByteBuffer> chunks = new ArrayList<>();
+    private byte[] chunk = new byte[INITIAL_CHUNK_SIZE];
+    private int position = 0;
+    private int size = 0;
+
+    @Override
+    public void write(int b) {
+        if (this.position == this.chunk.length) {
+            this.nextChunk();
+        }
+        this.chunk[this.position++] = (byte) b;
+        this.size++;
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) {
+        while (len > 0) {
+            if (this.position == this.chunk.length) {
+                this.nextChunk();
+            }
+            var toCopy = Math.min(len, this.chunk.length - this.position);
+            System.arraycopy(b, off, this.chunk, this.position, toCopy);
+            this.position += toCopy;
+            this.size += toCopy;
+            off += toCopy;
+            len -= toCopy;
+        }
+    }
+
+    private void nextChunk() {
+        this.chunks.add(ByteBuffer.wrap(this.chunk, 0, this.position));
+        this.chunk = new byte[Math.min(this.chunk.length * 2, MAX_CHUNK_SIZE)];
+        this.position = 0;
+    }
+
+    int size() {
+        return this.size;
+    }
+
+    List<ByteBuffer> toBuffers() {
+        var result = new ArrayList<ByteBuffer>(this.chunks.size() + 1);
+        result.addAll(this.chunks);
+        if (this.position > 0) {
+            result.add(ByteBuffer.wrap(this.chunk, 0, this.position));
+        }
+        return result;
+    }
+}
@@ -0,0 +1,84 @@
+package ru.tinkoff.kora.http.server.common;
+
+import reactor.core.publisher.Flux;
+import ru.tinkoff.kora.http.common.HttpHeaders;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Response with a region of a file as a body.
+ * Servers that know this response transfer the region without copying it through the heap, honor Range and conditional requests,
+ * other servers and interceptors read the whole region with {@link #body()}.
+ *
+ * @param lastModified file modification time in milliseconds, used for Last-Modified and ETag
+ */
+public record FileHttpServerResponse(int code, String contentType, HttpHeaders headers, Path path, long position, long count, long lastModified) implements HttpServerResponse {
+    private static final int CHUNK_SIZE = 64 * 1024;
+
+    public FileHttpServerResponse {
+        if (position < 0 || count < 0) {
+            throw new IllegalArgumentException("Invalid file region: position " + position + ", count " + count);
+        }
+    }
+
+    public static FileHttpServerResponse of(Path path, String contentType) throws IOException {
+        return new FileHttpServerResponse(200, contentType, HttpHeaders.of(), path, 0, Files.size(path), Files.getLastModifiedTime(path).toMillis());
+    }
+
+    public static FileHttpServerResponse of(Path path, String contentType, long position, long count) throws IOException {
+        return new FileHttpServerResponse(200, contentType, HttpHeaders.of(), path, position, count, Files.getLastModifiedTime(path).toMillis());
+    }
+
+    /**
+     * @return -1 for regions that don't fit into int, their length is known only to the servers supporting this response
+     */
+    @Override
+    public int contentLength() {
+        return this.count <= Integer.MAX_VALUE ? (int) this.count : -1;
+    }
+
+    public String etag() {
+        return Long.toHexString(this.lastModified) + "-" + Long.toHexString(this.position) + "-" + Long.toHexString(this.count);
+    }
+
+    @Override
+    public Flux<? extends ByteBuffer> body() {
+        var end = this.position + this.count;
+        return Flux.using(
+            () -> FileChannel.open(this.path, StandardOpenOption.READ),
+            channel -> Flux.<ByteBuffer, Long>generate(() -> this.position, (position, sink) -> {
+                if (position >= end) {
+                    sink.complete();
+                    return position;
+                }
+                var buffer = ByteBuffer.allocate((int) Math.min(CHUNK_SIZE, end - position));
+                try {
+                    var read = channel.read(buffer, position);
+                    if (read < 0) {
+                        sink.error(new EOFException("File " + this.path + " is shorter than expected"));
+                        return position;
+                    }
+                    sink.next(buffer.flip());
+                    return position + read;
+                } catch (IOException e) {
+                    sink.error(e);
+                    return position;
+                }
+            }),
+            channel -> {
+                try {
+                    channel.close();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+        );
+    }
+}
@@ -1,6 +1,7 @@
 package ru.tinkoff.kora.http.server.common;
 
 import javax.annotation.Nullable;
+import java.util.List;
 
 public record HttpServerConfig(
     int publicApiHttpPort,
@@ -10,7 +11,165 @@ public record HttpServerConfig(
     String privateApiHttpLivenessPath,
     int ioThreads,
     int blockingThreads,
-    int shutdownWait) {
+    int shutdownWait,
+    BlockingExecutor blockingExecutor,
+    int virtualThreadsMaxConcurrency,
+    Http2Config http2,
+    @Nullable TlsConfig tls,
+    CompressionConfig compression,
+    long maxRequestBodySize) {
+
+    /**
+     * Executor of the blocking request handlers: platform threads of the server worker or a virtual thread per request
+     */
+    public enum BlockingExecutor {
+        PLATFORM, VIRTUAL
+    }
+
+    /**
+     * HTTP/2 of the public api listener: both h2c upgrade and prior knowledge connections are accepted when enabled
+     */
+    public record Http2Config(boolean enabled, int maxConcurrentStreams, int initialWindowSize, int maxFrameSize, int headerTableSize) {
+        public static int DEFAULT_MAX_CONCURRENT_STREAMS = 100;
+        public static int DEFAULT_INITIAL_WINDOW_SIZE = 65535;
+        public static int DEFAULT_MAX_FRAME_SIZE = 16384;
+        public static int DEFAULT_HEADER_TABLE_SIZE = 4096;
+
+        public Http2Config {
+            if (maxConcurrentStreams <= 0) {
+                throw new IllegalArgumentException("maxConcurrentStreams should be positive, got " + maxConcurrentStreams);
+            }
+            if (initialWindowSize <= 0) {
+                throw new IllegalArgumentException("initialWindowSize should be positive, got " + initialWindowSize);
+            }
+            if (maxFrameSize < 16384 || maxFrameSize > 16777215) {
+                throw new IllegalArgumentException("maxFrameSize should be between 16384 and 16777215, got " + maxFrameSize);
+            }
+            if (headerTableSize < 0) {
+                throw new IllegalArgumentException("headerTableSize should not be negative, got " + headerTableSize);
+            }
+        }
+
+        public Http2Config(
+            @Nullable Boolean enabled,
+            @Nullable Integer maxConcurrentStreams,
+            @Nullable Integer initialWindowSize,
+            @Nullable Integer maxFrameSize,
+            @Nullable Integer headerTableSize) {
+            this(
+                enabled != null && enabled,
+                maxConcurrentStreams != null ? maxConcurrentStreams : DEFAULT_MAX_CONCURRENT_STREAMS,
+                initialWindowSize != null ? initialWindowSize : DEFAULT_INITIAL_WINDOW_SIZE,
+                maxFrameSize != null ? maxFrameSize : DEFAULT_MAX_FRAME_SIZE,
+                headerTableSize != null ? headerTableSize : DEFAULT_HEADER_TABLE_SIZE
+            );
+        }
+    }
+
+    /**
+     * HTTPS listener of the public api, it is started alongside the plain http listener.
+     * Key store and trust store are files in the given format, trust store is used to verify client certificates.
+     * The ssl context is recreated on graph refresh, so renewed certificates are picked up without restart.
+     */
+    public record TlsConfig(
+        int port,
+        String keyStorePath,
+        @Nullable String keyStorePassword,
+        @Nullable String keyPassword,
+        String keyStoreType,
+        @Nullable String trustStorePath,
+        @Nullable String trustStorePassword,
+        String trustStoreType,
+        ClientAuth clientAuth,
+        List<String> protocols,
+        @Nullable List<String> cipherSuites,
+        int sessionCacheSize,
+        int sessionTimeout) {
+
+        public enum ClientAuth {
+            NONE, REQUESTED, REQUIRED
+        }
+
+        public static int DEFAULT_PORT = 8443;
+        public static String DEFAULT_STORE_TYPE = "PKCS12";
+        public static List<String> DEFAULT_PROTOCOLS = List.of("TLSv1.3", "TLSv1.2");
+        public static int DEFAULT_SESSION_CACHE_SIZE = 20480;
+        public static int DEFAULT_SESSION_TIMEOUT = 86400;
+
+        public TlsConfig(
+            @Nullable Integer port,
+            String keyStorePath,
+            @Nullable String keyStorePassword,
+            @Nullable String keyPassword,
+            @Nullable String keyStoreType,
+            @Nullable String trustStorePath,
+            @Nullable String trustStorePassword,
+            @Nullable String trustStoreType,
+            @Nullable ClientAuth clientAuth,
+            @Nullable List<String> protocols,
+            @Nullable List<String> cipherSuites,
+            @Nullable Integer sessionCacheSize,
+            @Nullable Integer sessionTimeout) {
+            this(
+                port != null ? port : DEFAULT_PORT,
+                keyStorePath,
+                keyStorePassword,
+                keyPassword,
+                keyStoreType != null ? keyStoreType : DEFAULT_STORE_TYPE,
+                trustStorePath,
+                trustStorePassword,
+                trustStoreType != null ? trustStoreType : DEFAULT_STORE_TYPE,
+                clientAuth != null ? clientAuth : ClientAuth.NONE,
+                protocols != null ? protocols : DEFAULT_PROTOCOLS,
+                cipherSuites,
+                sessionCacheSize != null ? sessionCacheSize : DEFAULT_SESSION_CACHE_SIZE,
+                sessionTimeout != null ? sessionTimeout : DEFAULT_SESSION_TIMEOUT
+            );
+        }
+    }
+
+    /**
+     * Compression of the public api responses negotiated with Accept-Encoding.
+     * Only responses of the listed content types that are not smaller than minSize are compressed, responses of unknown length are compressed as they are streamed.
+     * Content type ending with "/*" matches all the subtypes.
+     * Request bodies with gzip or deflate Content-Encoding are decoded when decodeRequests is enabled.
+     */
+    public record CompressionConfig(boolean enabled, boolean decodeRequests, int minSize, int level, List<String> contentTypes) {
+        public static int DEFAULT_MIN_SIZE = 1024;
+        public static int DEFAULT_LEVEL = 6;
+        public static List<String> DEFAULT_CONTENT_TYPES = List.of(
+            "text/*",
+            "application/json",
+            "application/x-ndjson",
+            "application/xml",
+            "application/javascript",
+            "image/svg+xml"
+        );
+
+        public CompressionConfig {
+            if (minSize < 0) {
+                throw new IllegalArgumentException("minSize should not be negative, got " + minSize);
+            }
+            if (level < 1 || level > 9) {
+                throw new IllegalArgumentException("level should be between 1 and 9, got " + level);
+            }
+        }
+
+        public CompressionConfig(
+            @Nullable Boolean enabled,
+            @Nullable Boolean decodeRequests,
+            @Nullable Integer minSize,
+            @Nullable Integer level,
+            @Nullable List<String> contentTypes) {
+            this(
+                enabled != null && enabled,
+                decodeRequests != null && decodeRequests,
+                minSize != null ? minSize : DEFAULT_MIN_SIZE,
+                level != null ? level : DEFAULT_LEVEL,
+                contentTypes != null ? contentTypes : DEFAULT_CONTENT_TYPES
+            );
+        }
+    }
 
     public static int DEFAULT_PUBLIC_API_PORT = 8080;
     public static int DEFAULT_PRIVATE_API_PORT = 8085;
@@ -20,6 +179,18 @@ public record HttpServerConfig(
     public static int DEFAULT_IO_THREADS = Math.max(Runtime.getRuntime().availableProcessors(), 2);
     public static int DEFAULT_BLOCKING_THREADS = Math.min(Math.max(Runtime.getRuntime().availableProcessors(), 2) * 8, 200);
     public static int DEFAULT_SHUTDOWN_WAIT = 5000;
+    public static BlockingExecutor DEFAULT_BLOCKING_EXECUTOR = BlockingExecutor.PLATFORM;
+    /**
+     * Virtual thread handlers are not limited by default
+     */
+    public static int DEFAULT_VIRTUAL_THREADS_MAX_CONCURRENCY = 0;
+    public static Http2Config DEFAULT_HTTP2 = new Http2Config(null, null, null, null, null);
+    public static CompressionConfig DEFAULT_COMPRESSION = new CompressionConfig(null, null, null, null, null);
+    /**
+     * Requests larger than {@code maxRequestBodySize} are rejected with 413, negative value disables the limit.
+     * The limit is disabled by default; routes may set their own with {@link ru.tinkoff.kora.http.server.common.annotation.MaxRequestBodySize}
+     */
+    public static final long DEFAULT_MAX_REQUEST_BODY_SIZE = -1;
 
     public HttpServerConfig(
         @Nullable Integer publicApiHttpPort,
@@ -29,7 +200,13 @@ public record HttpServerConfig(
         @Nullable String  privateApiHttpLivenessPath,
         @Nullable Integer ioThreads,
         @Nullable Integer blockingThreads,
-        @Nullable Integer shutdownWait) {
+        @Nullable Integer shutdownWait,
+        @Nullable BlockingExecutor blockingExecutor,
+        @Nullable Integer virtualThreadsMaxConcurrency,
+        @Nullable Http2Config http2,
+        @Nullable TlsConfig tls,
+        @Nullable CompressionConfig compression,
+        @Nullable Long maxRequestBodySize) {
         this(
             publicApiHttpPort != null ? publicApiHttpPort : DEFAULT_PUBLIC_API_PORT,
             privateApiHttpPort != null ? privateApiHttpPort : DEFAULT_PRIVATE_API_PORT,
@@ -38,7 +215,13 @@ public record HttpServerConfig(
             privateApiHttpLivenessPath != null ? privateApiHttpLivenessPath : DEFAULT_PRIVATE_API_LIVENESS_PATH,
             ioThreads != null ? ioThreads : DEFAULT_IO_THREADS,
             blockingThreads != null ? blockingThreads : DEFAULT_BLOCKING_THREADS,
-            shutdownWait != null ? shutdownWait : DEFAULT_SHUTDOWN_WAIT
+            shutdownWait != null ? shutdownWait : DEFAULT_SHUTDOWN_WAIT,
+            blockingExecutor != null ? blockingExecutor : DEFAULT_BLOCKING_EXECUTOR,
+            virtualThreadsMaxConcurrency != null ? virtualThreadsMaxConcurrency : DEFAULT_VIRTUAL_THREADS_MAX_CONCURRENCY,
+            http2 != null ? http2 : DEFAULT_HTTP2,
+            tls,
+            compression != null ? compression : DEFAULT_COMPRESSION,
+            maxRequestBodySize != null ? maxRequestBodySize : DEFAULT_MAX_REQUEST_BODY_SIZE
         );
     }
 }
@@ -45,8 +45,8 @@ public interface HttpServerModule extends StringParameterReadersModule {
         return new PrivateApiHandler(config, meterRegistry, readinessProbes, livenessProbes);
     }
 
-    default PublicApiHandler publicApiHandler(All<ValueOf<HttpServerRequestHandler>> handlers, @Tag(HttpServerModule.class) All<ValueOf<HttpServerInterceptor>> interceptors, ValueOf<HttpServerTelemetry> telemetry) {
-        return new PublicApiHandler(handlers, interceptors, telemetry);
+    default PublicApiHandler publicApiHandler(All<ValueOf<HttpServerRequestHandler>> handlers, @Tag(HttpServerModule.class) All<ValueOf<HttpServerInterceptor>> interceptors, ValueOf<HttpServerTelemetry> telemetry, HttpServerConfig config) {
+        return new PublicApiHandler(handlers, interceptors, telemetry, config.maxRequestBodySize());
     }
 
     default HttpServerLogger httpServerLogger() {
@@ -2,10 +2,20 @@ package ru.tinkoff.kora.http.server.common;
 
 import reactor.core.publisher.Mono;
 
+import javax.annotation.Nullable;
+
 public interface HttpServerRequestHandler {
     String method();
 
     String routeTemplate();
 
     Mono<HttpServerResponse> handle(HttpServerRequest request);
+
+    /**
+     * @return max request body size of the route in bytes, negative value disables the limit and null means server wide limit
+     */
+    @Nullable
+    default Long maxRequestBodySize() {
+        return null;
+    }
 }
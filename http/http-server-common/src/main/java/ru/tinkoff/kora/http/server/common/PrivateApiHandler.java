@@ -17,12 +17,16 @@ import ru.tinkoff.kora.http.server.common.telemetry.PrivateApiMetrics;
 import ru.tinkoff.kora.logging.common.MDC;
 
 import javax.annotation.Nullable;
+import java.io.IOException;
+import java.io.OutputStream;
 import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
 import java.time.Duration;
 import java.util.Optional;
 import java.util.function.Function;
 import java.util.function.Supplier;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPOutputStream;
 
 public class PrivateApiHandler {
     private static final String PLAIN_TEXT_CONTENT_TYPE = "text/plain; charset=utf-8";
@@ -44,12 +48,19 @@ public class PrivateApiHandler {
     }
 
     public Publisher<? extends HttpServerResponse> handle(String path) {
+        return this.handle(path, null);
+    }
+
+    /**
+     * @param acceptEncoding value of request Accept-Encoding header, metrics are compressed with gzip when it is accepted
+     */
+    public Publisher<? extends HttpServerResponse> handle(String path, @Nullable String acceptEncoding) {
         String metricsPath = config.get().privateApiHttpMetricsPath();
         String livenessPath = config.get().privateApiHttpLivenessPath();
         String readinessPath = config.get().privateApiHttpReadinessPath();
 
         if (path.equals(metricsPath) || path.startsWith(metricsPath + "?")) {
-            return this.metrics();
+            return this.metrics(acceptEncoding);
         }
         if (path.equals(readinessPath) || path.startsWith(readinessPath + "?")) {
             return this.readiness();
@@ -61,12 +72,55 @@ public class PrivateApiHandler {
         return Mono.just(new SimpleHttpServerResponse(404, PLAIN_TEXT_CONTENT_TYPE, HttpHeaders.of(), ByteBuffer.wrap("Private api path not found".getBytes(StandardCharsets.UTF_8))));
     }
 
-    private Publisher<HttpServerResponse> metrics() {
-        var response = this.meterRegistry.get()
-            .map(PrivateApiMetrics::scrape)
-            .orElse("");
-        var body = ByteBuffer.wrap(response.getBytes(StandardCharsets.UTF_8));
-        return Mono.just(new SimpleHttpServerResponse(200, "text/plain; charset=utf-8", HttpHeaders.of(), body));
+    private Publisher<HttpServerResponse> metrics(@Nullable String acceptEncoding) {
+        return Mono.fromCallable(() -> {
+            var metrics = this.meterRegistry.get();
+            if (metrics.isEmpty()) {
+                return new SimpleHttpServerResponse(200, PLAIN_TEXT_CONTENT_TYPE, HttpHeaders.of(), null);
+            }
+            var gzip = acceptsGzip(acceptEncoding);
+            var buffers = new ByteBufferChunksOutputStream();
+            if (gzip) {
+                try (var out = new FastGzipOutputStream(buffers)) {
+                    metrics.get().scrape(out);
+                }
+            } else {
+                metrics.get().scrape(buffers);
+            }
+            var headers = gzip
+                ? HttpHeaders.of("content-encoding", "gzip", "vary", "accept-encoding")
+                : HttpHeaders.of("vary", "accept-encoding");
+            var body = Flux.fromIterable(buffers.toBuffers()).map(ByteBuffer::slice);
+            return new SimpleHttpServerResponse(200, PLAIN_TEXT_CONTENT_TYPE, headers, buffers.size(), body);
+        });
+    }
+
+    static boolean acceptsGzip(@Nullable String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (var coding : acceptEncoding.split(",")) {
+            var parameters = coding.split(";");
+            if (!parameters[0].trim().equalsIgnoreCase("gzip")) {
+                continue;
+            }
+            for (int i = 1; i < parameters.length; i++) {
+                var parameter = parameters[i].trim();
+                if (parameter.startsWith("q=") && parameter.substring(2).matches("0(\\.0*)?")) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        return false;
+    }
+
+    private static final class FastGzipOutputStream extends GZIPOutputStream {
+        private FastGzipOutputStream(OutputStream out) throws IOException {
+            super(out, 8192);
+            // text exposition compresses well enough on the fastest level, and scrape shouldn't burn cpu
+            this.def.setLevel(Deflater.BEST_SPEED);
+        }
     }
 
     private Publisher<HttpServerResponse> readiness() {
@@ -0,0 +1,18 @@
+package ru.tinkoff.kora.http.server.common.annotation;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Overrides server wide max request body size for all the routes of a controller or for a single route
+ */
+@Target({ElementType.TYPE, ElementType.METHOD})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface MaxRequestBodySize {
+    /**
+     * @return max request body size in bytes, negative value disables the limit
+     */
+    long value();
+}
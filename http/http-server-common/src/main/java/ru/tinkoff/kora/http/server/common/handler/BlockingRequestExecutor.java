@@ -4,8 +4,12 @@ import reactor.core.publisher.Mono;
 import reactor.core.publisher.Operators;
 import ru.tinkoff.kora.common.Context;
 
+import javax.annotation.Nullable;
+import java.lang.reflect.InvocationTargetException;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.Consumer;
 
@@ -42,6 +46,57 @@ public interface BlockingRequestExecutor {
 
     }
 
+    /**
+     * Runs every handler in a new virtual thread, so blocking handlers are not limited by the size of the worker pool.
+     * Number of handlers running at the same time can be limited with {@code maxConcurrency}, the rest wait for a permit in their own virtual threads.
+     * Requires JDK with virtual threads enabled.
+     */
+    class VirtualThreads implements BlockingRequestExecutor {
+        private final ThreadFactory threadFactory;
+        @Nullable
+        private final Semaphore permits;
+
+        /**
+         * @param maxConcurrency max number of handlers running at the same time, zero or negative means no limit
+         */
+        public VirtualThreads(int maxConcurrency) {
+            this.threadFactory = virtualThreadFactory("kora-virtual-");
+            this.permits = maxConcurrency > 0 ? new Semaphore(maxConcurrency) : null;
+        }
+
+        public final <T> Mono<T> execute(Callable<T> handler) {
+            var permits = this.permits;
+            if (permits == null) {
+                return defaultExecute(this::start, handler);
+            }
+            return defaultExecute(this::start, () -> {
+                permits.acquire();
+                try {
+                    return handler.call();
+                } finally {
+                    permits.release();
+                }
+            });
+        }
+
+        private void start(Runnable runnable) {
+            this.threadFactory.newThread(runnable).start();
+        }
+
+        private static ThreadFactory virtualThreadFactory(String prefix) {
+            try {
+                var builderClass = Class.forName("java.lang.Thread$Builder");
+                var builder = Thread.class.getMethod("ofVirtual").invoke(null);
+                builder = builderClass.getMethod("name", String.class, long.class).invoke(builder, prefix, 0L);
+                return (ThreadFactory) builderClass.getMethod("factory").invoke(builder);
+            } catch (InvocationTargetException e) {
+                throw new IllegalStateException("Virtual threads are not enabled in the current JVM", e.getCause());
+            } catch (ReflectiveOperationException e) {
+                throw new IllegalStateException("Virtual threads are not supported by the current JVM", e);
+            }
+        }
+    }
+
     class Default implements BlockingRequestExecutor {
         private final ExecutorService executorService;
 
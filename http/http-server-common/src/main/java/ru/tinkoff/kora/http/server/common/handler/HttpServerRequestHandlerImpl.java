@@ -5,6 +5,7 @@ import ru.tinkoff.kora.http.server.common.HttpServerRequest;
 import ru.tinkoff.kora.http.server.common.HttpServerRequestHandler;
 import ru.tinkoff.kora.http.server.common.HttpServerResponse;
 
+import javax.annotation.Nullable;
 import java.util.function.Function;
 
 import static ru.tinkoff.kora.http.common.HttpMethod.*;
@@ -12,11 +13,18 @@ import static ru.tinkoff.kora.http.common.HttpMethod.*;
 public class HttpServerRequestHandlerImpl implements HttpServerRequestHandler {
     private final String method;
     private final String routeTemplate;
+    @Nullable
+    private final Long maxRequestBodySize;
     private final Function<HttpServerRequest, Mono<HttpServerResponse>> handler;
 
     public HttpServerRequestHandlerImpl(String method, String routeTemplate, Function<HttpServerRequest, Mono<HttpServerResponse>> handler) {
+        this(method, routeTemplate, null, handler);
+    }
+
+    public HttpServerRequestHandlerImpl(String method, String routeTemplate, @Nullable Long maxRequestBodySize, Function<HttpServerRequest, Mono<HttpServerResponse>> handler) {
         this.method = method;
         this.routeTemplate = routeTemplate;
+        this.maxRequestBodySize = maxRequestBodySize;
         this.handler = handler;
     }
 
@@ -71,4 +79,10 @@ public class HttpServerRequestHandlerImpl implements HttpServerRequestHandler {
     public Mono<HttpServerResponse> handle(HttpServerRequest request) {
         return this.handler.apply(request);
     }
+
+    @Nullable
+    @Override
+    public Long maxRequestBodySize() {
+        return this.maxRequestBodySize;
+    }
 }
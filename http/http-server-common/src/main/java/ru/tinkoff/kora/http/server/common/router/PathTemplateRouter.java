@@ -0,0 +1,241 @@
+package ru.tinkoff.kora.http.server.common.router;
+
+
+import javax.annotation.Nullable;
+import java.util.*;
+
+/**
+ * Compiled path template router.
+ * <p>
+ * Templates are grouped by their stem (literal prefix before the first path parameter or wildcard) and stems are stored in a radix trie.
+ * Lookup walks the request path once, tries the longest matching stem first and falls back to shorter ones, while templates sharing a stem
+ * are tried in {@link PathTemplate} order. Path is never split into substrings, only values of matched path parameters are allocated.
+ */
+public final class PathTemplateRouter<T> {
+    private final Node<T> root = new Node<>("");
+
+    /**
+     * The result of a path template match.
+     */
+    public record Match<T>(String matchedTemplate, Map<String, String> parameters, T value) {}
+
+    public PathTemplateRouter(Map<PathTemplate, T> templates) {
+        var sorted = new ArrayList<>(templates.entrySet());
+        sorted.sort(Map.Entry.comparingByKey());
+        PathTemplate previous = null;
+        for (var entry : sorted) {
+            var template = entry.getKey();
+            if (previous != null && previous.compareTo(template) == 0) {
+                throw new IllegalStateException("Cannot add path template %s, matcher already contains an equivalent pattern %s".formatted(template.templateString(), previous.templateString()));
+            }
+            previous = template;
+            insert(this.root, stem(template), 0, new Route<>(template, entry.getValue()));
+        }
+    }
+
+    @Nullable
+    public Match<T> match(String path) {
+        var normalizedPath = path.isEmpty() ? "/" : path;
+        return match(this.root, normalizedPath, 0);
+    }
+
+    @Nullable
+    private static <T> Match<T> match(Node<T> node, String path, int offset) {
+        if (offset < path.length()) {
+            var c = path.charAt(offset);
+            for (var child : node.children) {
+                var label = child.label;
+                if (label.charAt(0) == c) {
+                    if (path.regionMatches(offset, label, 0, label.length())) {
+                        var match = match(child, path, offset + label.length());
+                        if (match != null) {
+                            return match;
+                        }
+                    }
+                    break;
+                }
+            }
+        }
+        for (var route : node.routes) {
+            var match = route.match(path, offset);
+            if (match != null) {
+                return match;
+            }
+        }
+        return null;
+    }
+
+    private static String stem(PathTemplate template) {
+        var base = template.base();
+        if (base.endsWith("/") && !template.parameterNames().isEmpty()) {
+            return base.substring(0, base.length() - 1);
+        }
+        if (base.endsWith("*")) {
+            return base.substring(0, base.length() - 1);
+        }
+        return base;
+    }
+
+    private static <T> void insert(Node<T> node, String stem, int offset, Route<T> route) {
+        if (offset == stem.length()) {
+            node.routes = append(node.routes, route);
+            return;
+        }
+        for (int i = 0; i < node.children.length; i++) {
+            var child = node.children[i];
+            var label = child.label;
+            var common = 0;
+            while (common < label.length() && offset + common < stem.length() && label.charAt(common) == stem.charAt(offset + common)) {
+                common++;
+            }
+            if (common == 0) {
+                continue;
+            }
+            if (common < label.length()) {
+                var split = new Node<T>(label.substring(0, common));
+                child.label = label.substring(common);
+                split.children = append(split.children, child);
+                node.children[i] = split;
+                child = split;
+            }
+            insert(child, stem, offset + common, route);
+            return;
+        }
+        var leaf = new Node<T>(stem.substring(offset));
+        leaf.routes = append(leaf.routes, route);
+        node.children = append(node.children, leaf);
+    }
+
+    private static <E> E[] append(E[] array, E element) {
+        var result = Arrays.copyOf(array, array.length + 1);
+        result[array.length] = element;
+        return result;
+    }
+
+    private static final class Node<T> {
+        private String label;
+        private Node<T>[] children;
+        private Route<T>[] routes;
+
+        @SuppressWarnings("unchecked")
+        private Node(String label) {
+            this.label = label;
+            this.children = new Node[0];
+            this.routes = new Route[0];
+        }
+    }
+
+    /**
+     * Template compiled against its stem: {@link #match(String, int)} is called with an offset just after the stem and behaves exactly like
+     * {@link PathTemplate#matches(String, Map)} does for the rest of the path.
+     */
+    private static final class Route<T> {
+        private static final int EXACT = 0;
+        private static final int WILDCARD = 1;
+        private static final int TEMPLATE = 2;
+
+        private final String templateString;
+        private final T value;
+        private final int kind;
+        private final String[] parts;
+        private final boolean[] parameters;
+        private final boolean[] wildcards;
+        private final boolean trailingSlash;
+        @Nullable
+        private final Match<T> exactMatch;
+
+        private Route(PathTemplate template, T value) {
+            this.templateString = template.templateString();
+            this.value = value;
+            this.trailingSlash = template.trailingSlash();
+            var parts = template.parts();
+            this.parts = new String[parts.size()];
+            this.parameters = new boolean[parts.size()];
+            this.wildcards = new boolean[parts.size()];
+            for (int i = 0; i < parts.size(); i++) {
+                var part = parts.get(i);
+                this.parts[i] = part.part();
+                this.parameters[i] = part.template();
+                this.wildcards[i] = part.part().equals("*");
+            }
+            if (template.template()) {
+                this.kind = TEMPLATE;
+                this.exactMatch = null;
+            } else if (template.base().contains("*")) {
+                this.kind = WILDCARD;
+                this.exactMatch = null;
+            } else {
+                this.kind = EXACT;
+                this.exactMatch = new Match<>(this.templateString, Map.of(), value);
+            }
+        }
+
+        @Nullable
+        private Match<T> match(String path, int offset) {
+            if (this.kind == EXACT) {
+                return offset == path.length() ? this.exactMatch : null;
+            }
+            if (!this.matches(path, offset, null)) {
+                return null;
+            }
+            var parameters = new HashMap<String, String>();
+            this.matches(path, offset, parameters);
+            return new Match<>(this.templateString, parameters, this.value);
+        }
+
+        private boolean matches(String path, int offset, @Nullable Map<String, String> parameters) {
+            if (this.kind == WILDCARD) {
+                if (parameters != null) {
+                    parameters.put("*", path.substring(offset));
+                }
+                return true;
+            }
+            var length = path.length();
+            if (offset >= length || path.charAt(offset) != '/') {
+                return false;
+            }
+            if (this.trailingSlash && path.charAt(length - 1) != '/') {
+                return false;
+            }
+            var part = 0;
+            var partStart = offset + 1;
+            int i;
+            for (i = partStart; i < length; i++) {
+                var c = path.charAt(i);
+                if (c == '?' || this.wildcards[part]) {
+                    break;
+                } else if (c == '/') {
+                    if (!this.matchesPart(part, path, partStart, i, parameters)) {
+                        return false;
+                    }
+                    part++;
+                    if (part == this.parts.length) {
+                        return i == length - 1;
+                    }
+                    partStart = i + 1;
+                }
+            }
+            if (part + 1 != this.parts.length) {
+                return false;
+            }
+            if (this.wildcards[part]) {
+                if (parameters != null) {
+                    parameters.put("*", path.substring(partStart));
+                }
+                return true;
+            }
+            return this.matchesPart(part, path, partStart, i, parameters);
+        }
+
+        private boolean matchesPart(int part, String path, int start, int end, @Nullable Map<String, String> parameters) {
+            var name = this.parts[part];
+            if (this.parameters[part]) {
+                if (parameters != null) {
+                    parameters.put(name, path.substring(start, end));
+                }
+                return true;
+            }
+            return name.length() == end - start && path.regionMatches(start, name, 0, name.length());
+        }
+    }
+}
@@ -6,6 +6,8 @@ import reactor.core.publisher.Mono;
 import ru.tinkoff.kora.application.graph.All;
 import ru.tinkoff.kora.application.graph.RefreshListener;
 import ru.tinkoff.kora.application.graph.ValueOf;
+import ru.tinkoff.kora.common.util.ReactorUtils;
+import ru.tinkoff.kora.common.util.SizeLimitExceededException;
 import ru.tinkoff.kora.http.common.HttpHeaders;
 import ru.tinkoff.kora.http.common.HttpResultCode;
 import ru.tinkoff.kora.http.server.common.*;
@@ -15,51 +17,52 @@ import ru.tinkoff.kora.http.server.common.telemetry.HttpServerTelemetry;
 import javax.annotation.Nullable;
 import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
-import java.util.Collection;
-import java.util.HashMap;
-import java.util.Map;
-import java.util.Objects;
+import java.util.*;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.BiFunction;
 import java.util.function.Function;
 
-/**
- * Utility class that provides fast path matching of path templates. Templates are stored in a map based on the stem of the template,
- * and matches longest stem first.
- * <p>
- * TODO: we can probably do this faster using a trie type structure, but I think the current impl should perform ok most of the time
- *
- * @author Stuart Douglas
- */
-
 public class PublicApiHandler implements RefreshListener {
     private final Function<HttpServerRequest, Mono<HttpServerResponse>> NOT_FOUND_HANDLER = request ->
         Mono.just(new SimpleHttpServerResponse(404, "application/octet-stream", HttpHeaders.of(), null));
 
-    private final PathTemplateMatcher<Map<String, ValueOf<HttpServerRequestHandler>>> pathTemplateMatcher;
+    private final PathTemplateRouter<Route> router;
     private final All<ValueOf<HttpServerRequestHandler>> handlers;
     private final All<ValueOf<HttpServerInterceptor>> interceptors;
     private final AtomicReference<RequestHandler> requestHandler = new AtomicReference<>();
     private final ValueOf<HttpServerTelemetry> telemetry;
+    private final List<RouteHandler> routeHandlers = new ArrayList<>();
 
     public PublicApiHandler(All<ValueOf<HttpServerRequestHandler>> handlers, All<ValueOf<HttpServerInterceptor>> interceptors, ValueOf<HttpServerTelemetry> httpServerTelemetry) {
+        this(handlers, interceptors, httpServerTelemetry, -1);
+    }
+
+    /**
+     * @param maxRequestBodySize server wide max request body size, negative value disables the limit
+     */
+    public PublicApiHandler(All<ValueOf<HttpServerRequestHandler>> handlers, All<ValueOf<HttpServerInterceptor>> interceptors, ValueOf<HttpServerTelemetry> httpServerTelemetry, long maxRequestBodySize) {
         this.handlers = handlers;
         this.interceptors = interceptors;
         this.telemetry = httpServerTelemetry;
-        this.pathTemplateMatcher = new PathTemplateMatcher<>();
+        var handlersByRoute = new TreeMap<PathTemplate, Map<String, RouteHandler>>();
+        var currentTelemetry = httpServerTelemetry == null ? null : httpServerTelemetry.get();
         for (var h : handlers) {
             var handler = h.get();
             var route = handler.routeTemplate();
-            var routeHandlersByMethod = this.pathTemplateMatcher.get(route);
-            if (routeHandlersByMethod == null) {
-                routeHandlersByMethod = new HashMap<>();
-                this.pathTemplateMatcher.add(route, routeHandlersByMethod);
-            }
-            var oldValue = routeHandlersByMethod.put(handler.method(), h);
+            var routeHandlersByMethod = handlersByRoute.computeIfAbsent(PathTemplate.create(route), t -> new HashMap<>());
+            var routeMaxRequestBodySize = handler.maxRequestBodySize();
+            var routeHandler = new RouteHandler(h, handler.method(), route, routeMaxRequestBodySize != null ? routeMaxRequestBodySize : maxRequestBodySize, currentTelemetry);
+            var oldValue = routeHandlersByMethod.put(handler.method(), routeHandler);
             if (oldValue != null) {
-                throw new IllegalStateException("Cannot add path template %s, matcher already contains an equivalent pattern %s".formatted(route, oldValue.get().routeTemplate()));
+                throw new IllegalStateException("Cannot add path template %s, matcher already contains an equivalent pattern %s".formatted(route, oldValue.handler().get().routeTemplate()));
             }
+            this.routeHandlers.add(routeHandler);
         }
+        var routes = new HashMap<PathTemplate, Route>(handlersByRoute.size());
+        for (var entry : handlersByRoute.entrySet()) {
+            routes.put(entry.getKey(), new Route(entry.getValue()));
+        }
+        this.router = new PathTemplateRouter<>(routes);
         if (interceptors.isEmpty()) {
             this.requestHandler.set(new SimpleRequestHandler());
         } else {
@@ -69,6 +72,10 @@ public class PublicApiHandler implements RefreshListener {
 
     @Override
     public void graphRefreshed() {
+        var currentTelemetry = this.telemetry.get();
+        for (var routeHandler : this.routeHandlers) {
+            routeHandler.bind(currentTelemetry);
+        }
         if (interceptors.isEmpty()) {
             requestHandler.set(new SimpleRequestHandler());
         } else {
@@ -86,38 +93,58 @@ public class PublicApiHandler implements RefreshListener {
         Function<HttpServerRequest, Mono<HttpServerResponse>> handlerFunction;
         Map<String, String> templateParameters;
         @Nullable String routeTemplate;
+        @Nullable HttpServerTelemetry.HttpServerRouteTelemetry routeTelemetry = null;
+        var body = routerRequest.body();
 
-        var pathTemplateMatch = pathTemplateMatcher.match(routerRequest.path());
-        if (pathTemplateMatch == null) {
+        var match = this.router.match(routerRequest.path());
+        if (match == null) {
             handlerFunction = NOT_FOUND_HANDLER;
             routeTemplate = null;
             templateParameters = Map.of();
         } else {
-            templateParameters = pathTemplateMatch.parameters();
-            routeTemplate = pathTemplateMatch.matchedTemplate();
-            var handler = pathTemplateMatch.value().get(routerRequest.method());
+            templateParameters = match.parameters();
+            routeTemplate = match.matchedTemplate();
+            var route = match.value();
+            var handler = route.handlers().get(routerRequest.method());
             if (handler == null) {
-                var allowed = String.join(", ", pathTemplateMatch.value().keySet());
-                handlerFunction = request -> Mono.just(new SimpleHttpServerResponse(405, "application/octet-stream", HttpHeaders.of("allow", allowed), null));
+                handlerFunction = route.methodNotAllowedHandler();
+            } else if (handler.maxRequestBodySize() < 0) {
+                handlerFunction = handler.handler().get()::handle;
+                routeTelemetry = handler.telemetry();
             } else {
-                handlerFunction = handler.get()::handle;
+                var maxRequestBodySize = handler.maxRequestBodySize();
+                var contentLength = contentLength(routerRequest.headers());
+                if (contentLength > maxRequestBodySize) {
+                    // rejected before the body is read, connection is closed so the rest of the body is not drained
+                    handlerFunction = r -> Mono.just(payloadTooLarge(maxRequestBodySize));
+                } else {
+                    handlerFunction = handler.handler().get()::handle;
+                    body = ReactorUtils.limit(body, maxRequestBodySize);
+                }
+                routeTelemetry = handler.telemetry();
             }
         }
 
 
-        var request = new Request(routerRequest.method(), routerRequest.path(), routeTemplate, routerRequest.headers(), routerRequest.queryParams(), templateParameters, routerRequest.body());
+        var request = new Request(routerRequest.method(), routerRequest.path(), routeTemplate, routerRequest.headers(), routerRequest.queryParams(), templateParameters, body);
 
-        var ctx = this.telemetry.get().get(routerRequest, routeTemplate);
+        var ctx = routeTelemetry != null
+            ? routeTelemetry.get(routerRequest)
+            : this.telemetry.get().get(routerRequest, routeTemplate);
         var method = routerRequest.method;
 
         try {
-            this.requestHandler.get().apply(request, handlerFunction)
-                .switchIfEmpty(Mono.error(() -> new Exception(String.format("Empty result stream for `%1$s` request handler. Possibly request controller returns `null` as result", operation(method, routeTemplate)))))
+            var responseMono = this.requestHandler.get().apply(request, handlerFunction)
+                .switchIfEmpty(Mono.error(() -> new Exception(String.format("Empty result stream for `%1$s` request handler. Possibly request controller returns `null` as result", operation(method, routeTemplate)))));
+            // request context is installed by the server, so pass it to the handler and back to the response callbacks
+            ReactorUtils.propagateContext(responseMono)
                 .subscribe(
                     response -> this.sendResponse(ctx, responseSender, response, null),
                     error -> {
                         var response = error instanceof HttpServerResponse httpServerResponse
                             ? httpServerResponse
+                            : error instanceof SizeLimitExceededException sizeLimitExceeded
+                            ? payloadTooLarge(sizeLimitExceeded.limit())
                             : new SimpleHttpServerResponse(500, "text/plain", HttpHeaders.of(), StandardCharsets.UTF_8.encode(
                             Objects.requireNonNullElse(error.getMessage(), "Unknown error")
                         ));
@@ -156,6 +183,24 @@ public class PublicApiHandler implements RefreshListener {
         });
     }
 
+    private static long contentLength(HttpHeaders headers) {
+        var contentLength = headers.getFirst("content-length");
+        if (contentLength == null) {
+            return -1;
+        }
+        try {
+            return Long.parseLong(contentLength.trim());
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private static HttpServerResponse payloadTooLarge(long maxSize) {
+        return new SimpleHttpServerResponse(413, "text/plain", HttpHeaders.of("connection", "close"), StandardCharsets.UTF_8.encode(
+            "Request body exceeds the limit of " + maxSize + " bytes"
+        ));
+    }
+
     private String operation(String method, String routeTemplate) {
         return method + " " + routeTemplate;
     }
@@ -172,6 +217,50 @@ public class PublicApiHandler implements RefreshListener {
         implements HttpServerRequest {
     }
 
+    private static final class RouteHandler {
+        private final ValueOf<HttpServerRequestHandler> handler;
+        private final String method;
+        private final String routeTemplate;
+        private final long maxRequestBodySize;
+        @Nullable
+        private volatile HttpServerTelemetry.HttpServerRouteTelemetry telemetry;
+
+        private RouteHandler(ValueOf<HttpServerRequestHandler> handler, String method, String routeTemplate, long maxRequestBodySize, @Nullable HttpServerTelemetry telemetry) {
+            this.handler = handler;
+            this.method = method;
+            this.routeTemplate = routeTemplate;
+            this.maxRequestBodySize = maxRequestBodySize;
+            this.bind(telemetry);
+        }
+
+        private void bind(@Nullable HttpServerTelemetry telemetry) {
+            this.telemetry = telemetry == null ? null : telemetry.route(this.method, this.routeTemplate);
+        }
+
+        private ValueOf<HttpServerRequestHandler> handler() {
+            return this.handler;
+        }
+
+        private long maxRequestBodySize() {
+            return this.maxRequestBodySize;
+        }
+
+        @Nullable
+        private HttpServerTelemetry.HttpServerRouteTelemetry telemetry() {
+            return this.telemetry;
+        }
+    }
+
+    private record Route(Map<String, RouteHandler> handlers, Function<HttpServerRequest, Mono<HttpServerResponse>> methodNotAllowedHandler) {
+        private Route(Map<String, RouteHandler> handlers) {
+            this(handlers, methodNotAllowedHandler(String.join(", ", handlers.keySet())));
+        }
+
+        private static Function<HttpServerRequest, Mono<HttpServerResponse>> methodNotAllowedHandler(String allowed) {
+            return request -> Mono.just(new SimpleHttpServerResponse(405, "application/octet-stream", HttpHeaders.of("allow", allowed), null));
+        }
+    }
+
     private interface RequestHandler extends BiFunction<HttpServerRequest, Function<HttpServerRequest, Mono<HttpServerResponse>>, Mono<HttpServerResponse>> {}
 
     private static class SimpleRequestHandler implements RequestHandler {
@@ -22,31 +22,42 @@ public final class DefaultHttpServerTelemetry implements HttpServerTelemetry {
 
     @Override
     public HttpServerTelemetryContext get(PublicApiHandler.PublicApiRequest request, @Nullable String routeTemplate) {
+        var operation = routeTemplate != null ? request.method() + " " + routeTemplate : null;
+        return this.get(request, routeTemplate, operation, null);
+    }
+
+    @Override
+    public HttpServerRouteTelemetry route(String method, String routeTemplate) {
+        var routeMetrics = this.metrics == null ? null : this.metrics.route(method, routeTemplate);
+        var operation = method + " " + routeTemplate;
+        return request -> this.get(request, routeTemplate, operation, routeMetrics);
+    }
+
+    private HttpServerTelemetryContext get(PublicApiHandler.PublicApiRequest request, @Nullable String routeTemplate, @Nullable String operation, @Nullable HttpServerMetrics.HttpServerRouteMetrics routeMetrics) {
         var start = System.nanoTime();
         var method = request.method();
         var scheme = request.scheme();
         var host = request.hostName();
 
-        if (this.metrics != null) this.metrics.requestStarted(method, routeTemplate != null ? routeTemplate : UNMATCHED_ROUTE_TEMPLATE, host, scheme);
+        if (routeMetrics != null) routeMetrics.requestStarted(host, scheme);
+        else if (this.metrics != null) this.metrics.requestStarted(method, routeTemplate != null ? routeTemplate : UNMATCHED_ROUTE_TEMPLATE, host, scheme);
 
         final HttpServerTracer.HttpServerSpan span;
-        final String operation;
         if (routeTemplate != null) {
-            operation = method + " " + routeTemplate;
             span = this.tracer != null
                 ? this.tracer.createSpan(routeTemplate, request)
                 : null;
             if (this.logger != null) this.logger.logStart(operation);
         } else {
             span = null;
-            operation = null;
         }
 
         return (statusCode, resultCode, exception) -> {
             var end = System.nanoTime();
             var processingTime = end - start;
 
-            if (this.metrics != null) this.metrics.requestFinished(method, routeTemplate != null ? routeTemplate : UNMATCHED_ROUTE_TEMPLATE, host, scheme, statusCode, processingTime);
+            if (routeMetrics != null) routeMetrics.requestFinished(host, scheme, statusCode, processingTime);
+            else if (this.metrics != null) this.metrics.requestFinished(method, routeTemplate != null ? routeTemplate : UNMATCHED_ROUTE_TEMPLATE, host, scheme, statusCode, processingTime);
 
             if (routeTemplate != null) {
                 if (this.logger != null) this.logger.logEnd(operation, statusCode, resultCode, processingTime, exception);
@@ -6,4 +6,28 @@ public interface HttpServerMetrics {
 
     void requestFinished(String method, String route, String host, String scheme, int statusCode, long processingTime);
 
+    /**
+     * Called once for each handler route when router is built, so implementations can resolve route meters upfront
+     * instead of looking them up on each request.
+     */
+    default HttpServerRouteMetrics route(String method, String route) {
+        return new HttpServerRouteMetrics() {
+            @Override
+            public void requestStarted(String host, String scheme) {
+                HttpServerMetrics.this.requestStarted(method, route, host, scheme);
+            }
+
+            @Override
+            public void requestFinished(String host, String scheme, int statusCode, long processingTime) {
+                HttpServerMetrics.this.requestFinished(method, route, host, scheme, statusCode, processingTime);
+            }
+        };
+    }
+
+    interface HttpServerRouteMetrics {
+
+        void requestStarted(String host, String scheme);
+
+        void requestFinished(String host, String scheme, int statusCode, long processingTime);
+    }
 }
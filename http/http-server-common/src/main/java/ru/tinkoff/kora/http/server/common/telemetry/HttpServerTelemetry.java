@@ -10,5 +10,16 @@ public interface HttpServerTelemetry {
         void close(int statusCode, HttpResultCode resultCode, @Nullable Throwable exception);
     }
 
+    interface HttpServerRouteTelemetry {
+        HttpServerTelemetryContext get(PublicApiHandler.PublicApiRequest request);
+    }
+
     HttpServerTelemetryContext get(PublicApiHandler.PublicApiRequest request, @Nullable String routeTemplate);
+
+    /**
+     * Binds telemetry to the route once when router is built, requests matched to the route and method then use it instead of {@link #get(PublicApiHandler.PublicApiRequest, String)}
+     */
+    default HttpServerRouteTelemetry route(String method, String routeTemplate) {
+        return request -> this.get(request, routeTemplate);
+    }
 }
@@ -1,5 +1,16 @@
 package ru.tinkoff.kora.http.server.common.telemetry;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+
 public interface PrivateApiMetrics {
     String scrape();
+
+    /**
+     * Writes UTF-8 encoded metrics into the stream. Implementations should override it to write metrics without building the whole exposition as a String.
+     */
+    default void scrape(OutputStream out) throws IOException {
+        out.write(this.scrape().getBytes(StandardCharsets.UTF_8));
+    }
 }
@@ -0,0 +1,40 @@
+package ru.tinkoff.kora.http.server.common;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import reactor.core.publisher.Flux;
+import ru.tinkoff.kora.common.util.ReactorUtils;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FileHttpServerResponseTest {
+    private static final String CONTENT = "0123456789".repeat(10_000);
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void testBodyReadsRegion() throws IOException {
+        var file = Files.writeString(dir.resolve("file.txt"), CONTENT);
+
+        var whole = FileHttpServerResponse.of(file, "text/plain");
+        var region = FileHttpServerResponse.of(file, "text/plain", 5, 70_000);
+
+        assertThat(whole.contentLength()).isEqualTo(CONTENT.length());
+        assertThat(read(whole)).isEqualTo(CONTENT);
+        assertThat(region.contentLength()).isEqualTo(70_000);
+        assertThat(read(region)).isEqualTo(CONTENT.substring(5, 70_005));
+        assertThat(region.etag()).isNotEqualTo(whole.etag());
+    }
+
+    private static String read(HttpServerResponse response) {
+        var body = ReactorUtils.toByteArrayMono(Flux.<ByteBuffer>from(response.body())).block();
+        return new String(body, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,89 @@
+package ru.tinkoff.kora.http.server.common;
+
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import ru.tinkoff.kora.application.graph.All;
+import ru.tinkoff.kora.application.graph.ValueOf;
+import ru.tinkoff.kora.common.util.ReactorUtils;
+import ru.tinkoff.kora.http.server.common.telemetry.PrivateApiMetrics;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Optional;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PrivateApiHandlerTest {
+    private static final String METRICS = "metric_total{tag=\"value\"} 1.0\n".repeat(10_000);
+
+    private final PrivateApiHandler handler = new PrivateApiHandler(
+        valueOf(HttpServerConfigBuilder.builder().build()),
+        valueOf(Optional.<PrivateApiMetrics>of(new TestMetrics())),
+        All.of(),
+        All.of()
+    );
+
+    @Test
+    void testMetricsAreStreamed() {
+        var response = Mono.from(handler.handle(HttpServerConfig.DEFAULT_PRIVATE_API_METRICS_PATH, null)).block();
+        var body = ReactorUtils.toByteArrayMono(Flux.<ByteBuffer>from(response.body())).block();
+
+        assertThat(response.code()).isEqualTo(200);
+        assertThat(response.headers().getFirst("content-encoding")).isNull();
+        assertThat(response.contentLength()).isEqualTo(body.length);
+        assertThat(new String(body, StandardCharsets.UTF_8)).isEqualTo(METRICS);
+    }
+
+    @Test
+    void testMetricsAreCompressed() throws IOException {
+        var response = Mono.from(handler.handle(HttpServerConfig.DEFAULT_PRIVATE_API_METRICS_PATH, "deflate, gzip;q=0.9")).block();
+        var body = ReactorUtils.toByteArrayMono(Flux.<ByteBuffer>from(response.body())).block();
+
+        assertThat(response.headers().getFirst("content-encoding")).isEqualTo("gzip");
+        assertThat(response.contentLength()).isEqualTo(body.length).isLessThan(METRICS.length());
+        try (var in = new GZIPInputStream(new ByteArrayInputStream(body))) {
+            assertThat(new String(in.readAllBytes(), StandardCharsets.UTF_8)).isEqualTo(METRICS);
+        }
+    }
+
+    @Test
+    void testAcceptsGzip() {
+        assertThat(PrivateApiHandler.acceptsGzip(null)).isFalse();
+        assertThat(PrivateApiHandler.acceptsGzip("identity")).isFalse();
+        assertThat(PrivateApiHandler.acceptsGzip("gzip")).isTrue();
+        assertThat(PrivateApiHandler.acceptsGzip("br, GZIP;q=0.5")).isTrue();
+        assertThat(PrivateApiHandler.acceptsGzip("gzip;q=0, deflate")).isFalse();
+        assertThat(PrivateApiHandler.acceptsGzip("gzip; q=0.0")).isFalse();
+    }
+
+    private static final class TestMetrics implements PrivateApiMetrics {
+        @Override
+        public String scrape() {
+            throw new IllegalStateException("Metrics should be written to the stream");
+        }
+
+        @Override
+        public void scrape(OutputStream out) throws IOException {
+            out.write(METRICS.getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    private static <T> ValueOf<T> valueOf(T instance) {
+        return new ValueOf<>() {
+            @Override
+            public T get() {
+                return instance;
+            }
+
+            @Override
+            public Mono<Void> refresh() {
+                return Mono.empty();
+            }
+        };
+    }
+}
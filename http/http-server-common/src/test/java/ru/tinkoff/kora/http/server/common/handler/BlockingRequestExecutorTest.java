@@ -0,0 +1,57 @@
+package ru.tinkoff.kora.http.server.common.handler;
+
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import ru.tinkoff.kora.common.Context;
+
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class BlockingRequestExecutorTest {
+    private static final Context.Key<String> KEY = new Context.KeyImmutable<>() {};
+
+    @Test
+    void testVirtualThreadsNotSupported() {
+        Assumptions.assumeTrue(Runtime.version().feature() < 21);
+
+        assertThatThrownBy(() -> new BlockingRequestExecutor.VirtualThreads(0)).isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void testVirtualThreadsPropagateContext() {
+        Assumptions.assumeTrue(Runtime.version().feature() >= 21);
+        var executor = new BlockingRequestExecutor.VirtualThreads(0);
+        var ctx = Context.current().fork();
+        ctx.set(KEY, "value");
+
+        var result = executor.execute(() -> Objects.requireNonNullElse(Context.current().get(KEY), "none") + Thread.currentThread().getName())
+            .contextWrite(c -> Context.Reactor.inject(c, ctx))
+            .block();
+
+        assertThat(result).startsWith("valuekora-virtual-");
+    }
+
+    @Test
+    void testVirtualThreadsMaxConcurrency() {
+        Assumptions.assumeTrue(Runtime.version().feature() >= 21);
+        var executor = new BlockingRequestExecutor.VirtualThreads(2);
+        var running = new AtomicInteger();
+        var maxRunning = new AtomicInteger();
+
+        Flux.range(0, 20)
+            .flatMap(i -> executor.execute(() -> {
+                var current = running.incrementAndGet();
+                maxRunning.accumulateAndGet(current, Math::max);
+                Thread.sleep(5);
+                running.decrementAndGet();
+                return i;
+            }))
+            .blockLast();
+
+        assertThat(maxRunning.get()).isBetween(1, 2);
+    }
+}
@@ -0,0 +1,87 @@
+package ru.tinkoff.kora.http.server.common.router;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PathTemplateRouterTest {
+
+    @Test
+    void testExactMatch() {
+        var router = router("/some/path", "/some/path/", "/some");
+
+        assertThat(router.match("/some/path").value()).isEqualTo("/some/path");
+        assertThat(router.match("/some/path/").value()).isEqualTo("/some/path/");
+        assertThat(router.match("/some").value()).isEqualTo("/some");
+        assertThat(router.match("/some/path").parameters()).isEmpty();
+        assertThat(router.match("/some/other")).isNull();
+        assertThat(router.match("/so")).isNull();
+    }
+
+    @Test
+    void testTemplateParameters() {
+        var router = router("/users/{userId}", "/users/{userId}/orders/{orderId}");
+
+        var match = router.match("/users/1/orders/2");
+        assertThat(match.matchedTemplate()).isEqualTo("/users/{userId}/orders/{orderId}");
+        assertThat(match.parameters()).isEqualTo(Map.of("userId", "1", "orderId", "2"));
+        assertThat(router.match("/users/1").parameters()).isEqualTo(Map.of("userId", "1"));
+        assertThat(router.match("/users/1/orders")).isNull();
+        assertThat(router.match("/users/1/orders/2/3")).isNull();
+    }
+
+    @Test
+    void testLongestStemWins() {
+        var router = router("/users/{userId}", "/users/me", "/users/me/{tab}", "/users/*", "/{entity}/{id}");
+
+        assertThat(router.match("/users/me").value()).isEqualTo("/users/me");
+        assertThat(router.match("/users/me/settings").value()).isEqualTo("/users/me/{tab}");
+        assertThat(router.match("/users/1").value()).isEqualTo("/users/*");
+        assertThat(router.match("/groups/1").value()).isEqualTo("/{entity}/{id}");
+        assertThat(router.match("/users/1/2").parameters()).isEqualTo(Map.of("*", "1/2"));
+    }
+
+    @Test
+    void testLiteralPartBeforeParameter() {
+        var router = router("/api/{version}/{id}", "/api/{version}/items");
+
+        assertThat(router.match("/api/v1/items").value()).isEqualTo("/api/{version}/items");
+        assertThat(router.match("/api/v1/other").value()).isEqualTo("/api/{version}/{id}");
+    }
+
+    @Test
+    void testWildcardAfterParameter() {
+        var router = router("/files/{bucket}/*");
+
+        var match = router.match("/files/b/some/file.txt");
+        assertThat(match.parameters()).isEqualTo(Map.of("bucket", "b", "*", "some/file.txt"));
+    }
+
+    @Test
+    void testEmptyPath() {
+        var router = router("/");
+
+        assertThat(router.match("").value()).isEqualTo("/");
+    }
+
+    @Test
+    void testEquivalentTemplates() {
+        var templates = new HashMap<PathTemplate, String>();
+        templates.put(PathTemplate.create("/some/{variable}"), "first");
+        templates.put(PathTemplate.create("/some/{otherVariable}"), "second");
+
+        assertThatThrownBy(() -> new PathTemplateRouter<>(templates)).isInstanceOf(IllegalStateException.class);
+    }
+
+    private static PathTemplateRouter<String> router(String... templates) {
+        var map = new HashMap<PathTemplate, String>();
+        for (var template : templates) {
+            map.put(PathTemplate.create(template), template);
+        }
+        return new PathTemplateRouter<>(map);
+    }
+}
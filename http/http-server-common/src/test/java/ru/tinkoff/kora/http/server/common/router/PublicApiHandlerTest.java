@@ -2,13 +2,27 @@ package ru.tinkoff.kora.http.server.common.router;
 
 import org.assertj.core.api.Assertions;
 import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import ru.tinkoff.kora.application.graph.All;
 import ru.tinkoff.kora.application.graph.ValueOf;
+import ru.tinkoff.kora.common.Context;
+import ru.tinkoff.kora.http.common.HttpHeaders;
 import ru.tinkoff.kora.http.server.common.HttpServerRequestHandler;
+import ru.tinkoff.kora.http.server.common.HttpServerResponse;
+import ru.tinkoff.kora.http.server.common.HttpServerResponseSender;
+import ru.tinkoff.kora.http.server.common.SimpleHttpServerResponse;
 import ru.tinkoff.kora.http.server.common.handler.HttpServerRequestHandlerImpl;
+import ru.tinkoff.kora.http.server.common.telemetry.DefaultHttpServerTelemetry;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 
 class PublicApiHandlerTest {
+    private static final Context.Key<String> KEY = new Context.KeyImmutable<>() {};
 
     @Test
     void testEqualTemplatesWithDifferentMethods() {
@@ -30,11 +44,55 @@ class PublicApiHandlerTest {
 
     }
 
+    @Test
+    void testContextIsNotPropagatedThroughEveryOperatorByDefault() {
+        Context.clear();
+        Context.current().set(KEY, "request");
+
+        var result = Mono.delay(Duration.ofMillis(1))
+            .map(v -> Objects.requireNonNullElse(Context.current().get(KEY), "none"))
+            .block();
+
+        Assertions.assertThat(result).isEqualTo("none");
+        Context.clear();
+    }
+
+    @Test
+    void testHandlerSeesRequestContextAfterThreadHop() throws Exception {
+        var handlerValue = new CompletableFuture<String>();
+        var senderValue = new CompletableFuture<String>();
+        var handler = new HttpServerRequestHandlerImpl("GET", "/test", request -> Mono.delay(Duration.ofMillis(10))
+            .then(Mono.deferContextual(reactorContext -> {
+                handlerValue.complete(Context.Reactor.current(reactorContext).get(KEY));
+                return Mono.<HttpServerResponse>just(new SimpleHttpServerResponse(200, "text/plain", HttpHeaders.of(), null));
+            })));
+        var publicApiHandler = new PublicApiHandler(All.of(valueOf(handler)), All.of(), valueOf(new DefaultHttpServerTelemetry(null, null, null)));
+        HttpServerResponseSender sender = response -> {
+            senderValue.complete(Context.current().get(KEY));
+            return Mono.just(new HttpServerResponseSender.Success(response.code()));
+        };
+
+        Context.clear();
+        Context.current().set(KEY, "request");
+        try {
+            publicApiHandler.process(new PublicApiHandler.PublicApiRequest("GET", "/test", "localhost", "http", HttpHeaders.of(), Map.of(), Flux.empty()), sender);
+        } finally {
+            Context.clear();
+        }
+
+        Assertions.assertThat(handlerValue.get(10, TimeUnit.SECONDS)).isEqualTo("request");
+        Assertions.assertThat(senderValue.get(10, TimeUnit.SECONDS)).isEqualTo("request");
+    }
+
     private ValueOf<HttpServerRequestHandler> handler(String method, String route) {
+        return valueOf(new HttpServerRequestHandlerImpl(method, route, null));
+    }
+
+    private static <T> ValueOf<T> valueOf(T value) {
         return new ValueOf<>() {
             @Override
-            public HttpServerRequestHandler get() {
-                return new HttpServerRequestHandlerImpl(method, route, null);
+            public T get() {
+                return value;
             }
 
             @Override
@@ -0,0 +1,60 @@
+package ru.tinkoff.kora.http.server.common;
+
+import javax.annotation.Nullable;
+
+/**
+ * Server config for tests: ephemeral ports, a single io thread and 1 ms shutdown wait, other values are config defaults unless they are set
+ */
+public final class HttpServerConfigBuilder {
+    @Nullable
+    private HttpServerConfig.Http2Config http2;
+    @Nullable
+    private HttpServerConfig.TlsConfig tls;
+    @Nullable
+    private HttpServerConfig.CompressionConfig compression;
+    @Nullable
+    private Long maxRequestBodySize;
+
+    public static HttpServerConfigBuilder builder() {
+        return new HttpServerConfigBuilder();
+    }
+
+    public HttpServerConfigBuilder http2(HttpServerConfig.Http2Config http2) {
+        this.http2 = http2;
+        return this;
+    }
+
+    public HttpServerConfigBuilder tls(HttpServerConfig.TlsConfig tls) {
+        this.tls = tls;
+        return this;
+    }
+
+    public HttpServerConfigBuilder compression(HttpServerConfig.CompressionConfig compression) {
+        this.compression = compression;
+        return this;
+    }
+
+    public HttpServerConfigBuilder maxRequestBodySize(long maxRequestBodySize) {
+        this.maxRequestBodySize = maxRequestBodySize;
+        return this;
+    }
+
+    public HttpServerConfig build() {
+        return new HttpServerConfig(
+            0,
+            0,
+            HttpServerConfig.DEFAULT_PRIVATE_API_METRICS_PATH,
+            HttpServerConfig.DEFAULT_PRIVATE_API_READINESS_PATH,
+            HttpServerConfig.DEFAULT_PRIVATE_API_LIVENESS_PATH,
+            1,
+            10,
+            1,
+            HttpServerConfig.DEFAULT_BLOCKING_EXECUTOR,
+            HttpServerConfig.DEFAULT_VIRTUAL_THREADS_MAX_CONCURRENCY,
+            this.http2,
+            this.tls,
+            this.compression,
+            this.maxRequestBodySize
+        );
+    }
+}
@@ -63,7 +63,7 @@ public abstract class HttpServerTestKit {
 
 
 
-    private static ValueOf<HttpServerConfig> config = valueOf(new HttpServerConfig(0, 0, HttpServerConfig.DEFAULT_PRIVATE_API_METRICS_PATH, HttpServerConfig.DEFAULT_PRIVATE_API_READINESS_PATH, HttpServerConfig.DEFAULT_PRIVATE_API_LIVENESS_PATH, 1, 10, 1));
+    private static ValueOf<HttpServerConfig> config = valueOf(HttpServerConfigBuilder.builder().build());
 
     private final PrivateApiHandler privateApiHandler = new PrivateApiHandler(config, valueOf(Optional.of(registry)), All.of(readinessProbePromise), All.of(livenessProbePromise));
 
@@ -73,7 +73,7 @@ public abstract class HttpServerTestKit {
         .connectionPool(new ConnectionPool(0, 1, TimeUnit.MICROSECONDS))
         .build();
 
-    protected HttpServerMetrics metrics = Mockito.mock(HttpServerMetrics.class);
+    protected HttpServerMetrics metrics = Mockito.mock(HttpServerMetrics.class, Mockito.CALLS_REAL_METHODS);
     protected HttpServerLogger logger = Mockito.mock(HttpServerLogger.class);
 
     protected abstract HttpServer httpServer(ValueOf<HttpServerConfig> config, PublicApiHandler publicApiHandler);
@@ -15,6 +15,7 @@ import ru.tinkoff.kora.http.common.annotation.HttpRoute
 import ru.tinkoff.kora.http.common.annotation.Path
 import ru.tinkoff.kora.http.common.annotation.Query
 import ru.tinkoff.kora.http.server.common.HttpServerRequestHandler
+import ru.tinkoff.kora.http.server.common.annotation.MaxRequestBodySize
 import ru.tinkoff.kora.http.server.common.handler.*
 import ru.tinkoff.kora.ksp.common.KspCommonUtils.findRepeatableAnnotation
 import ru.tinkoff.kora.ksp.common.KotlinPoetUtils.controlFlow
@@ -37,7 +38,7 @@ class RouteProcessor(private val resolver: Resolver) {
     private val dispatchersClassName = ClassName("kotlinx.coroutines", "Dispatchers")
 
 
-    data class RequestMappingData(val method: String, val pathTemplate: String)
+    data class RequestMappingData(val method: String, val pathTemplate: String, val maxRequestBodySize: Long?)
 
     @OptIn(KspExperimental::class)
     internal fun buildHttpRouteFunction(declaration: KSClassDeclaration, rootPath: String, function: KSFunctionDeclaration): FunSpec.Builder {
@@ -79,12 +80,21 @@ class RouteProcessor(private val resolver: Resolver) {
 
         val isSuspend = function.modifiers.contains(Modifier.SUSPEND)
         val isBlocking = !isSuspend
-        funBuilder.controlFlow(
-            "return %T.%L(%S) { _request ->",
-            HttpServerRequestHandlerImpl::class,
-            requestMappingData.method.lowercase(),
-            requestMappingData.pathTemplate,
-        ) {
+        val (handlerFormat, handlerArgs) = if (requestMappingData.maxRequestBodySize != null) {
+            "return %T(%S, %S, %LL) { _request ->" to arrayOf<Any>(
+                HttpServerRequestHandlerImpl::class,
+                requestMappingData.method,
+                requestMappingData.pathTemplate,
+                requestMappingData.maxRequestBodySize,
+            )
+        } else {
+            "return %T.%L(%S) { _request ->" to arrayOf<Any>(
+                HttpServerRequestHandlerImpl::class,
+                requestMappingData.method.lowercase(),
+                requestMappingData.pathTemplate,
+            )
+        }
+        funBuilder.controlFlow(handlerFormat, *handlerArgs) {
             var requestName = "_request"
             for (i in interceptors.indices) {
                 val interceptor = interceptors[i]
@@ -167,7 +177,9 @@ class RouteProcessor(private val resolver: Resolver) {
     @OptIn(KspExperimental::class)
     private fun extractRequestMappingData(rootPath: String, declaration: KSFunctionDeclaration): RequestMappingData {
         val httpRoute = declaration.getAnnotationsByType(HttpRoute::class).first()
-        return RequestMappingData(httpRoute.method, "$rootPath${httpRoute.path}")
+        val maxRequestBodySize = declaration.getAnnotationsByType(MaxRequestBodySize::class).firstOrNull()
+            ?: (declaration.parentDeclaration as? KSClassDeclaration)?.getAnnotationsByType(MaxRequestBodySize::class)?.firstOrNull()
+        return RequestMappingData(httpRoute.method, "$rootPath${httpRoute.path}", maxRequestBodySize?.value)
     }
 
     private fun funName(requestMappingData: RequestMappingData): String {
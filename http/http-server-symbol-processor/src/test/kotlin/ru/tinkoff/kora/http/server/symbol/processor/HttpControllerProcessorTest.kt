@@ -3,6 +3,7 @@ package ru.tinkoff.kora.http.server.symbol.processor
 import com.google.devtools.ksp.KspExperimental
 
 import kotlinx.coroutines.runBlocking
+import org.assertj.core.api.Assertions.assertThat
 import org.junit.jupiter.api.Test
 import org.mockito.ArgumentMatchers
 import org.mockito.Mockito
@@ -227,7 +228,16 @@ class HttpControllerProcessorTest {
         server.invoke("GET", "/withMethodLevelInterceptors", ByteArray(0))
             .verifyStatus(200)
     }
-}
-
 
+    @Test
+    fun testControllerWithMaxRequestBodySize() {
+        val server = TestHttpServer.fromController(TestControllerWithMaxRequestBodySize::class)
+        `when`(server.controller.controllerLimit(ArgumentMatchers.anyString())).thenReturn("body")
 
+        assertThat(server.handler(HttpMethod.POST, "/controllerLimit").maxRequestBodySize()).isEqualTo(1024L)
+        assertThat(server.handler(HttpMethod.POST, "/routeLimit").maxRequestBodySize()).isEqualTo(10L * 1024 * 1024 * 1024)
+        server.invoke(HttpMethod.POST, "/controllerLimit", "body".toByteArray(StandardCharsets.UTF_8))
+            .verifyStatus(200)
+            .verifyBody("body")
+    }
+}
@@ -0,0 +1,21 @@
+package ru.tinkoff.kora.http.server.symbol.processor.controllers
+
+import ru.tinkoff.kora.http.common.HttpMethod
+import ru.tinkoff.kora.http.common.annotation.HttpRoute
+import ru.tinkoff.kora.http.server.common.annotation.HttpController
+import ru.tinkoff.kora.http.server.common.annotation.MaxRequestBodySize
+
+@HttpController
+@MaxRequestBodySize(1024)
+open class TestControllerWithMaxRequestBodySize {
+    @HttpRoute(method = HttpMethod.POST, path = "/controllerLimit")
+    open fun controllerLimit(body: String): String {
+        return body
+    }
+
+    @MaxRequestBodySize(10L * 1024 * 1024 * 1024)
+    @HttpRoute(method = HttpMethod.POST, path = "/routeLimit")
+    open fun routeLimit(body: String): String {
+        return body
+    }
+}
@@ -16,6 +16,11 @@ import java.lang.reflect.Proxy
 import kotlin.reflect.KClass
 
 class TestHttpServer<T>(private val requestHandlers: List<HttpServerRequestHandler>, val controller: T) {
+    fun handler(method: String, routeTemplate: String): HttpServerRequestHandler {
+        return requestHandlers.firstOrNull { it.method() == method && it.routeTemplate() == routeTemplate }
+            ?: throw IllegalArgumentException("Handler not found: $method $routeTemplate")
+    }
+
     @SafeVarargs
     operator fun invoke(method: String, path: String, body: ByteArray, vararg headers: Map.Entry<String, String>): HttpResponseAssert {
         for (requestHandler in requestHandlers) {
@@ -0,0 +1,218 @@
+package ru.tinkoff.kora.http.server.undertow;
+
+import io.undertow.server.HttpServerExchange;
+import io.undertow.util.DateUtils;
+import io.undertow.util.Headers;
+import io.undertow.util.Methods;
+import org.xnio.ChannelListener;
+import org.xnio.IoUtils;
+import org.xnio.channels.StreamSinkChannel;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoSink;
+import ru.tinkoff.kora.http.server.common.FileHttpServerResponse;
+import ru.tinkoff.kora.http.server.common.HttpServerResponseSender;
+
+import javax.annotation.Nullable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.Date;
+
+/**
+ * Sends {@link FileHttpServerResponse} with {@link StreamSinkChannel#transferFrom(FileChannel, long, long)}, which is sendfile for plain http connections.
+ * Conditional requests are answered with 304 and a single byte range is answered with 206, multiple ranges are answered with the whole file.
+ */
+final class UndertowFileTransfer {
+    private UndertowFileTransfer() {}
+
+    private record Range(long start, long end) {
+        static final Range UNSATISFIABLE = new Range(-1, -1);
+    }
+
+    static Mono<HttpServerResponseSender.SendResult> send(HttpServerExchange exchange, FileHttpServerResponse response) {
+        var etag = '"' + response.etag() + '"';
+        var responseHeaders = exchange.getResponseHeaders();
+        responseHeaders.put(Headers.ETAG, etag);
+        responseHeaders.put(Headers.LAST_MODIFIED, DateUtils.toDateString(new Date(response.lastModified())));
+        responseHeaders.put(Headers.ACCEPT_RANGES, "bytes");
+
+        var method = exchange.getRequestMethod();
+        var cacheable = response.code() == 200 && (method.equals(Methods.GET) || method.equals(Methods.HEAD));
+        if (cacheable && isNotModified(exchange, etag, response.lastModified())) {
+            exchange.setStatusCode(304);
+            responseHeaders.remove(Headers.CONTENT_TYPE);
+            return end(exchange);
+        }
+        var position = response.position();
+        var count = response.count();
+        var range = cacheable ? range(exchange, etag, response.lastModified(), count) : null;
+        if (range == Range.UNSATISFIABLE) {
+            exchange.setStatusCode(416);
+            responseHeaders.put(Headers.CONTENT_RANGE, "bytes */" + count);
+            exchange.setResponseContentLength(0);
+            return end(exchange);
+        }
+        if (range != null) {
+            exchange.setStatusCode(206);
+            responseHeaders.put(Headers.CONTENT_RANGE, "bytes " + range.start + "-" + range.end + "/" + count);
+            position += range.start;
+            count = range.end - range.start + 1;
+        }
+        exchange.setResponseContentLength(count);
+        if (method.equals(Methods.HEAD) || count == 0) {
+            return end(exchange);
+        }
+
+        final FileChannel file;
+        try {
+            file = FileChannel.open(response.path(), StandardOpenOption.READ);
+        } catch (IOException e) {
+            return Mono.just(new HttpServerResponseSender.ResponseBodyErrorBeforeCommit(e));
+        }
+        var startPosition = position;
+        var startCount = count;
+        return Mono.create(sink -> {
+            var channel = exchange.getResponseChannel();
+            var transfer = new Transfer(exchange, file, startPosition, startCount, sink);
+            exchange.getIoThread().execute(() -> transfer.handleEvent(channel));
+        });
+    }
+
+    private static boolean isNotModified(HttpServerExchange exchange, String etag, long lastModified) {
+        var ifNoneMatch = exchange.getRequestHeaders().getFirst(Headers.IF_NONE_MATCH);
+        if (ifNoneMatch != null) {
+            // If-Modified-Since is ignored when If-None-Match is present
+            return matches(ifNoneMatch, etag);
+        }
+        var ifModifiedSinceHeader = exchange.getRequestHeaders().getFirst(Headers.IF_MODIFIED_SINCE);
+        if (ifModifiedSinceHeader == null) {
+            return false;
+        }
+        var ifModifiedSince = DateUtils.parseDate(ifModifiedSinceHeader);
+        // http dates have second precision
+        return ifModifiedSince != null && lastModified / 1000 <= ifModifiedSince.getTime() / 1000;
+    }
+
+    private static boolean matches(String ifNoneMatch, String etag) {
+        for (var tag : ifNoneMatch.split(",")) {
+            tag = tag.trim();
+            if (tag.equals("*")) {
+                return true;
+            }
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if (tag.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @return null if whole body should be sent, inclusive range of the body or {@link Range#UNSATISFIABLE}
+     */
+    @Nullable
+    private static Range range(HttpServerExchange exchange, String etag, long lastModified, long size) {
+        var header = exchange.getRequestHeaders().getFirst(Headers.RANGE);
+        if (header == null || !header.startsWith("bytes=") || header.indexOf(',') >= 0) {
+            return null;
+        }
+        var ifRange = exchange.getRequestHeaders().getFirst(Headers.IF_RANGE);
+        if (ifRange != null && !ifRange.equals(etag)) {
+            var date = DateUtils.parseDate(ifRange);
+            if (date == null || lastModified / 1000 != date.getTime() / 1000) {
+                return null;
+            }
+        }
+        var spec = header.substring("bytes=".length()).trim();
+        var dash = spec.indexOf('-');
+        if (dash < 0) {
+            return null;
+        }
+        try {
+            var first = spec.substring(0, dash).trim();
+            var last = spec.substring(dash + 1).trim();
+            if (first.isEmpty()) {
+                // suffix range: last n bytes
+                var suffix = Long.parseLong(last);
+                if (suffix <= 0 || size == 0) {
+                    return Range.UNSATISFIABLE;
+                }
+                return new Range(Math.max(size - suffix, 0), size - 1);
+            }
+            var start = Long.parseLong(first);
+            var end = last.isEmpty() ? size - 1 : Math.min(Long.parseLong(last), size - 1);
+            if (start >= size) {
+                return Range.UNSATISFIABLE;
+            }
+            if (end < start) {
+                return null;
+            }
+            return new Range(start, end);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private static Mono<HttpServerResponseSender.SendResult> end(HttpServerExchange exchange) {
+        return Mono.create(sink -> {
+            exchange.addExchangeCompleteListener((ex, nextListener) -> {
+                sink.success(new HttpServerResponseSender.Success(ex.getStatusCode()));
+                nextListener.proceed();
+            });
+            exchange.endExchange();
+        });
+    }
+
+    private static final class Transfer implements ChannelListener<StreamSinkChannel> {
+        private final HttpServerExchange exchange;
+        private final FileChannel file;
+        private final MonoSink<HttpServerResponseSender.SendResult> sink;
+        private long position;
+        private long remaining;
+
+        private Transfer(HttpServerExchange exchange, FileChannel file, long position, long count, MonoSink<HttpServerResponseSender.SendResult> sink) {
+            this.exchange = exchange;
+            this.file = file;
+            this.position = position;
+            this.remaining = count;
+            this.sink = sink;
+        }
+
+        @Override
+        public void handleEvent(StreamSinkChannel channel) {
+            try {
+                while (this.remaining > 0) {
+                    var transferred = channel.transferFrom(this.file, this.position, this.remaining);
+                    if (transferred == 0) {
+                        if (this.position >= this.file.size()) {
+                            throw new EOFException("File is shorter than the response content length");
+                        }
+                        channel.getWriteSetter().set(this);
+                        channel.resumeWrites();
+                        return;
+                    }
+                    this.position += transferred;
+                    this.remaining -= transferred;
+                }
+            } catch (IOException e) {
+                channel.suspendWrites();
+                IoUtils.safeClose(this.file);
+                IoUtils.safeClose(this.exchange.getConnection());
+                this.sink.success(new HttpServerResponseSender.ConnectionError(e));
+                return;
+            }
+            channel.suspendWrites();
+            channel.getWriteSetter().set(null);
+            IoUtils.safeClose(this.file);
+            // exchange end shuts down and flushes the response channel
+            this.exchange.addExchangeCompleteListener((ex, nextListener) -> {
+                this.sink.success(new HttpServerResponseSender.Success(ex.getStatusCode()));
+                nextListener.proceed();
+            });
+            this.exchange.endExchange();
+        }
+    }
+}
@@ -0,0 +1,261 @@
+package ru.tinkoff.kora.http.server.undertow;
+
+import io.undertow.server.DirectByteBufferDeallocator;
+import ru.tinkoff.kora.http.server.common.HttpServerConfig;
+
+import javax.annotation.Nullable;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+
+/**
+ * Response compression of the public api. Deflaters are pooled, so native zlib state isn't allocated for every response.
+ * Gzip is written as raw deflate stream with gzip header and trailer, the same way as {@link java.util.zip.GZIPOutputStream} does.
+ */
+final class UndertowHttpCompression {
+    private static final byte[] GZIP_HEADER = {0x1f, (byte) 0x8b, Deflater.DEFLATED, 0, 0, 0, 0, 0, 0, 0};
+    private static final int POOL_SIZE = Runtime.getRuntime().availableProcessors() * 2;
+
+    enum Encoding {
+        GZIP("gzip"), DEFLATE("deflate");
+
+        final String value;
+
+        Encoding(String value) {
+            this.value = value;
+        }
+    }
+
+    private final HttpServerConfig.CompressionConfig config;
+    private final ArrayBlockingQueue<Deflater> gzipDeflaters = new ArrayBlockingQueue<>(POOL_SIZE);
+    private final ArrayBlockingQueue<Deflater> deflateDeflaters = new ArrayBlockingQueue<>(POOL_SIZE);
+
+    UndertowHttpCompression(HttpServerConfig.CompressionConfig config) {
+        this.config = config;
+    }
+
+    int minSize() {
+        return this.config.minSize();
+    }
+
+    /**
+     * @return true if response could be compressed for some client, so it should vary on Accept-Encoding
+     */
+    boolean isCompressible(int code, @Nullable String contentType, long contentLength, @Nullable String contentEncoding) {
+        if (code < 200 || code == 204 || code == 304) {
+            return false;
+        }
+        if (contentEncoding != null || contentType == null) {
+            return false;
+        }
+        if (contentLength >= 0 && contentLength < this.config.minSize()) {
+            return false;
+        }
+        var semicolon = contentType.indexOf(';');
+        var mimeType = (semicolon < 0 ? contentType : contentType.substring(0, semicolon)).trim().toLowerCase(Locale.ROOT);
+        for (var allowed : this.config.contentTypes()) {
+            if (allowed.endsWith("/*")
+                ? mimeType.regionMatches(0, allowed, 0, allowed.length() - 1)
+                : mimeType.equals(allowed)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Picks encoding with the highest quality, gzip wins ties
+     */
+    @Nullable
+    static Encoding negotiate(@Nullable String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return null;
+        }
+        float gzip = -1;
+        float deflate = -1;
+        float any = -1;
+        for (var coding : acceptEncoding.split(",")) {
+            var parameters = coding.split(";");
+            var name = parameters[0].trim();
+            var quality = 1f;
+            for (int i = 1; i < parameters.length; i++) {
+                var parameter = parameters[i].trim();
+                if (parameter.startsWith("q=")) {
+                    try {
+                        quality = Float.parseFloat(parameter.substring(2));
+                    } catch (NumberFormatException e) {
+                        quality = 0;
+                    }
+                }
+            }
+            if (name.equalsIgnoreCase("gzip")) {
+                gzip = quality;
+            } else if (name.equalsIgnoreCase("deflate")) {
+                deflate = quality;
+            } else if (name.equals("*")) {
+                any = quality;
+            }
+        }
+        if (gzip < 0) {
+            gzip = any;
+        }
+        if (deflate < 0) {
+            deflate = any;
+        }
+        if (gzip > 0 && gzip >= deflate) {
+            return Encoding.GZIP;
+        }
+        if (deflate > 0) {
+            return Encoding.DEFLATE;
+        }
+        return null;
+    }
+
+    /**
+     * Compresses the whole body in one go, source buffer is left untouched
+     */
+    ByteBuffer compress(Encoding encoding, ByteBuffer body) {
+        var compressor = this.compressor(encoding);
+        try {
+            var out = compressor.deflate(body.slice(), Deflater.NO_FLUSH, new Output(Math.max(body.remaining() / 4, 64)));
+            return compressor.finish(out).toBuffer();
+        } finally {
+            compressor.release();
+        }
+    }
+
+    Compressor compressor(Encoding encoding) {
+        var pool = encoding == Encoding.GZIP ? this.gzipDeflaters : this.deflateDeflaters;
+        var deflater = pool.poll();
+        if (deflater == null) {
+            deflater = new Deflater(this.config.level(), encoding == Encoding.GZIP);
+        }
+        return new Compressor(encoding, deflater, pool);
+    }
+
+    /**
+     * Streaming compressor of a single response: every chunk is sync flushed, so streamed bodies are not delayed by the compression
+     */
+    static final class Compressor {
+        private final Encoding encoding;
+        private final Deflater deflater;
+        private final ArrayBlockingQueue<Deflater> pool;
+        @Nullable
+        private final CRC32 crc;
+        private boolean started = false;
+        private boolean released = false;
+
+        private Compressor(Encoding encoding, Deflater deflater, ArrayBlockingQueue<Deflater> pool) {
+            this.encoding = encoding;
+            this.deflater = deflater;
+            this.pool = pool;
+            this.crc = encoding == Encoding.GZIP ? new CRC32() : null;
+        }
+
+        /**
+         * Compresses the chunk and frees it
+         */
+        ByteBuffer compress(ByteBuffer chunk) {
+            try {
+                return this.deflate(chunk, Deflater.SYNC_FLUSH, new Output(Math.max(chunk.remaining() / 2, 64))).toBuffer();
+            } finally {
+                DirectByteBufferDeallocator.free(chunk);
+            }
+        }
+
+        ByteBuffer finish() {
+            return this.finish(new Output(64)).toBuffer();
+        }
+
+        private Output deflate(ByteBuffer input, int flush, Output out) {
+            this.start(out);
+            if (this.crc != null) {
+                this.crc.update(input.duplicate());
+            }
+            this.deflater.setInput(input);
+            int written;
+            do {
+                out.ensureSpace();
+                var space = out.space();
+                written = this.deflater.deflate(out.buf, out.count, space, flush);
+                out.count += written;
+                if (written < space && this.deflater.needsInput()) {
+                    break;
+                }
+            } while (true);
+            return out;
+        }
+
+        private Output finish(Output out) {
+            this.start(out);
+            this.deflater.finish();
+            while (!this.deflater.finished()) {
+                out.ensureSpace();
+                out.count += this.deflater.deflate(out.buf, out.count, out.space());
+            }
+            if (this.crc != null) {
+                out.writeIntLE((int) this.crc.getValue());
+                out.writeIntLE((int) this.deflater.getBytesRead());
+            }
+            return out;
+        }
+
+        private void start(Output out) {
+            if (!this.started) {
+                this.started = true;
+                if (this.encoding == Encoding.GZIP) {
+                    out.write(GZIP_HEADER);
+                }
+            }
+        }
+
+        void release() {
+            if (this.released) {
+                return;
+            }
+            this.released = true;
+            this.deflater.reset();
+            if (!this.pool.offer(this.deflater)) {
+                this.deflater.end();
+            }
+        }
+    }
+
+    private static final class Output {
+        private byte[] buf;
+        private int count;
+
+        private Output(int initialSize) {
+            this.buf = new byte[initialSize];
+        }
+
+        private int space() {
+            return this.buf.length - this.count;
+        }
+
+        private void ensureSpace() {
+            if (this.space() < 16) {
+                this.buf = Arrays.copyOf(this.buf, this.buf.length * 2);
+            }
+        }
+
+        private void write(byte[] bytes) {
+            while (this.space() < bytes.length) {
+                this.buf = Arrays.copyOf(this.buf, this.buf.length * 2);
+            }
+            System.arraycopy(bytes, 0, this.buf, this.count, bytes.length);
+            this.count += bytes.length;
+        }
+
+        private void writeIntLE(int value) {
+            this.write(new byte[]{(byte) value, (byte) (value >> 8), (byte) (value >> 16), (byte) (value >> 24)});
+        }
+
+        private ByteBuffer toBuffer() {
+            return ByteBuffer.wrap(this.buf, 0, this.count);
+        }
+    }
+}
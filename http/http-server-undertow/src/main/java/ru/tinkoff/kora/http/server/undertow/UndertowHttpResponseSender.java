@@ -12,6 +12,7 @@ import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.core.publisher.MonoSink;
 import ru.tinkoff.kora.common.Context;
+import ru.tinkoff.kora.http.server.common.FileHttpServerResponse;
 import ru.tinkoff.kora.http.server.common.HttpServerResponse;
 import ru.tinkoff.kora.http.server.common.HttpServerResponseSender;
 import ru.tinkoff.kora.http.server.common.telemetry.HttpServerTracer;
@@ -19,6 +20,7 @@ import ru.tinkoff.kora.http.server.common.telemetry.HttpServerTracer;
 import javax.annotation.Nullable;
 import java.io.IOException;
 import java.nio.ByteBuffer;
+import java.util.Objects;
 import java.util.concurrent.Callable;
 import java.util.concurrent.atomic.AtomicInteger;
 
@@ -26,10 +28,17 @@ public class UndertowHttpResponseSender implements HttpServerResponseSender {
     private final HttpServerExchange exchange;
     @Nullable
     private final HttpServerTracer tracer;
+    @Nullable
+    private final UndertowHttpCompression compression;
 
     public UndertowHttpResponseSender(HttpServerExchange exchange, @Nullable HttpServerTracer tracer) {
+        this(exchange, tracer, null);
+    }
+
+    UndertowHttpResponseSender(HttpServerExchange exchange, @Nullable HttpServerTracer tracer, @Nullable UndertowHttpCompression compression) {
         this.exchange = exchange;
         this.tracer = tracer;
+        this.compression = compression;
     }
 
     @Override
@@ -44,7 +53,14 @@ public class UndertowHttpResponseSender implements HttpServerResponseSender {
             (carrier, key, value) -> carrier.add(HttpString.tryFromString(key), value)
         );
 
-        if (contentLength >= 0) {
+        // file regions are transferred as is, their length and status depend on range and conditional headers
+        var file = httpResponse instanceof FileHttpServerResponse fileResponse ? fileResponse : null;
+        UndertowHttpCompression.Encoding encoding = null;
+        if (file == null && this.compression != null && this.compression.isCompressible(httpResponse.code(), contentType, contentLength, headers.getFirst("content-encoding"))) {
+            this.exchange.getResponseHeaders().add(Headers.VARY, Headers.ACCEPT_ENCODING_STRING);
+            encoding = UndertowHttpCompression.negotiate(this.exchange.getRequestHeaders().getFirst(Headers.ACCEPT_ENCODING));
+        }
+        if (contentLength >= 0 && encoding == null && file == null) {
             this.exchange.setResponseContentLength(contentLength);
         }
         this.exchange.getResponseHeaders().put(Headers.CONTENT_TYPE, contentType);
@@ -63,8 +79,18 @@ public class UndertowHttpResponseSender implements HttpServerResponseSender {
             if (key.equals("transfer-encoding")) {
                 continue;
             }
+            if (key.equals("connection")) {
+                // undertow writes connection header itself and drops unread request body of non persistent connections instead of draining it
+                if (header.getValue().stream().anyMatch("close"::equalsIgnoreCase)) {
+                    this.exchange.setPersistent(false);
+                }
+                continue;
+            }
             this.exchange.getResponseHeaders().addAll(HttpString.tryFromString(key), header.getValue());
         }
+        if (file != null) {
+            return UndertowFileTransfer.send(this.exchange, file);
+        }
         if (httpResponse.body() instanceof Callable<?> callable) {
             final ByteBuffer body;
             try {
@@ -72,11 +98,28 @@ public class UndertowHttpResponseSender implements HttpServerResponseSender {
             } catch (Exception e) {
                 return Mono.just(new HttpServerResponseSender.ResponseBodyErrorBeforeCommit(e));
             }
+            if (encoding != null && body != null && body.remaining() >= this.compression.minSize()) {
+                this.exchange.getResponseHeaders().put(Headers.CONTENT_ENCODING, encoding.value);
+                return this.sendBody(this.compression.compress(encoding, body));
+            }
             return this.sendBody(body);
         }
+        if (encoding != null) {
+            this.exchange.getResponseHeaders().put(Headers.CONTENT_ENCODING, encoding.value);
+            return this.sendBody(this.compress(httpResponse.body(), encoding));
+        }
         return this.sendBody(httpResponse.body());
     }
 
+    private Flux<ByteBuffer> compress(Flux<? extends ByteBuffer> body, UndertowHttpCompression.Encoding encoding) {
+        var compression = Objects.requireNonNull(this.compression);
+        return Flux.using(
+            () -> compression.compressor(encoding),
+            compressor -> body.<ByteBuffer>map(compressor::compress).concatWith(Mono.fromCallable(compressor::finish)),
+            UndertowHttpCompression.Compressor::release
+        );
+    }
+
     private Mono<SendResult> sendBody(Flux<? extends ByteBuffer> body) {
         return Mono.create(sink -> body.subscribe(new HttpResponseBodySubscriber(this.exchange, sink)));
     }
@@ -1,12 +1,18 @@
 package ru.tinkoff.kora.http.server.undertow;
 
 import io.undertow.Undertow;
+import io.undertow.UndertowOptions;
 import io.undertow.server.handlers.GracefulShutdownHandler;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.xnio.OptionMap;
+import org.xnio.Options;
+import org.xnio.Sequence;
+import org.xnio.SslClientAuthMode;
 import org.xnio.XnioWorker;
 import reactor.core.Exceptions;
 import reactor.core.publisher.Mono;
+import ru.tinkoff.kora.application.graph.RefreshListener;
 import ru.tinkoff.kora.application.graph.ValueOf;
 import ru.tinkoff.kora.common.readiness.ReadinessProbe;
 import ru.tinkoff.kora.common.readiness.ReadinessProbeFailure;
@@ -16,6 +22,7 @@ import ru.tinkoff.kora.http.server.common.HttpServerConfig;
 import ru.tinkoff.kora.logging.common.arg.StructuredArgument;
 
 import javax.annotation.Nullable;
+import javax.net.ssl.SSLContext;
 import java.net.InetSocketAddress;
 import java.time.Duration;
 import java.util.concurrent.Executors;
@@ -23,8 +30,10 @@ import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicReference;
 
-public class UndertowHttpServer implements HttpServer, ReadinessProbe {
+public class UndertowHttpServer implements HttpServer, ReadinessProbe, RefreshListener {
     private static final Logger log = LoggerFactory.getLogger(UndertowHttpServer.class);
+    private static final String HTTP = "http";
+    private static final String HTTPS = "https";
 
     private final AtomicReference<HttpServerState> state = new AtomicReference<>(HttpServerState.INIT);
     private final ValueOf<HttpServerConfig> config;
@@ -87,20 +96,93 @@ public class UndertowHttpServer implements HttpServer, ReadinessProbe {
     }
 
     private Undertow createServer() {
-        return Undertow.builder()
-            .addHttpListener(this.config.get().publicApiHttpPort(), "0.0.0.0", this.gracefulShutdown)
-            .setWorker(this.xnioWorker)
-            .build();
+        var config = this.config.get();
+        var builder = Undertow.builder()
+            .addHttpListener(config.publicApiHttpPort(), "0.0.0.0", this.gracefulShutdown)
+            .setWorker(this.xnioWorker);
+        var http2 = config.http2();
+        if (http2.enabled()) {
+            // undertow wraps http listeners into h2c upgrade handler and accepts prior knowledge connections with this option
+            builder
+                .setServerOption(UndertowOptions.ENABLE_HTTP2, true)
+                .setServerOption(UndertowOptions.HTTP2_SETTINGS_ENABLE_PUSH, false)
+                .setServerOption(UndertowOptions.HTTP2_SETTINGS_MAX_CONCURRENT_STREAMS, http2.maxConcurrentStreams())
+                .setServerOption(UndertowOptions.HTTP2_SETTINGS_INITIAL_WINDOW_SIZE, http2.initialWindowSize())
+                .setServerOption(UndertowOptions.HTTP2_SETTINGS_MAX_FRAME_SIZE, http2.maxFrameSize())
+                .setServerOption(UndertowOptions.HTTP2_SETTINGS_HEADER_TABLE_SIZE, http2.headerTableSize());
+        }
+        var tls = config.tls();
+        if (tls != null) {
+            var socketOptions = OptionMap.builder()
+                .set(Options.SSL_ENABLED_PROTOCOLS, Sequence.of(tls.protocols()))
+                .set(Options.SSL_CLIENT_AUTH_MODE, switch (tls.clientAuth()) {
+                    case NONE -> SslClientAuthMode.NOT_REQUESTED;
+                    case REQUESTED -> SslClientAuthMode.REQUESTED;
+                    case REQUIRED -> SslClientAuthMode.REQUIRED;
+                });
+            if (tls.cipherSuites() != null) {
+                socketOptions.set(Options.SSL_ENABLED_CIPHER_SUITES, Sequence.of(tls.cipherSuites()));
+            }
+            // http2 is negotiated with alpn on https listener when it is enabled
+            builder.addListener(new Undertow.ListenerBuilder()
+                .setType(Undertow.ListenerType.HTTPS)
+                .setPort(tls.port())
+                .setHost("0.0.0.0")
+                .setSslContext(UndertowSslContextFactory.create(tls))
+                .setRootHandler(this.gracefulShutdown)
+                .setOverrideSocketOptions(socketOptions.getMap()));
+        }
+        return builder.build();
+    }
+
+    /**
+     * Key and trust stores are read again when the application graph is refreshed, e.g. after a config file change,
+     * so renewed certificates are used for new connections. Store files themselves are not watched: a replaced key store
+     * is picked up on the next refresh only. If the stores can't be loaded, the current ssl context is kept.
+     * Changes of port, protocols and cipher suites require restart.
+     */
+    @Override
+    public void graphRefreshed() {
+        var undertow = this.undertow;
+        var tls = this.config.get().tls();
+        if (undertow == null || tls == null) {
+            return;
+        }
+        final SSLContext sslContext;
+        try {
+            sslContext = UndertowSslContextFactory.create(tls);
+        } catch (Exception e) {
+            log.warn("Can't reload undertow ssl context, current one is kept", e);
+            return;
+        }
+        for (var listener : undertow.getListenerInfo()) {
+            if (HTTPS.equals(listener.getProtcol())) {
+                listener.setSslContext(sslContext);
+            }
+        }
+        log.debug("Undertow ssl context reloaded");
     }
 
     @Override
     public int port() {
-        if (this.undertow == null) {
+        return this.port(HTTP);
+    }
+
+    public int tlsPort() {
+        return this.port(HTTPS);
+    }
+
+    private int port(String protocol) {
+        var undertow = this.undertow;
+        if (undertow == null) {
             return -1;
         }
-        var infos = this.undertow.getListenerInfo();
-        var address = (InetSocketAddress) infos.get(0).getAddress();
-        return address.getPort();
+        for (var listener : undertow.getListenerInfo()) {
+            if (protocol.equals(listener.getProtcol())) {
+                return ((InetSocketAddress) listener.getAddress()).getPort();
+            }
+        }
+        return -1;
     }
 
     @Override
@@ -10,15 +10,18 @@ import ru.tinkoff.kora.http.server.common.telemetry.HttpServerTracer;
 import javax.annotation.Nullable;
 
 public interface UndertowHttpServerModule extends UndertowModule {
-    default UndertowPublicApiHandler undertowPublicApiHandler(PublicApiHandler publicApiHandler, @Nullable HttpServerTracer tracer) {
-        return new UndertowPublicApiHandler(publicApiHandler, tracer);
+    default UndertowPublicApiHandler undertowPublicApiHandler(PublicApiHandler publicApiHandler, @Nullable HttpServerTracer tracer, HttpServerConfig config) {
+        return new UndertowPublicApiHandler(publicApiHandler, tracer, config.compression());
     }
 
     default UndertowHttpServer undertowHttpServer(ValueOf<HttpServerConfig> config, ValueOf<UndertowPublicApiHandler> handler, XnioWorker worker) {
         return new UndertowHttpServer(config, handler, worker);
     }
 
-    default BlockingRequestExecutor undertowBlockingRequestExecutor(XnioWorker xnioWorker) {
-        return new BlockingRequestExecutor.Default(xnioWorker);
+    default BlockingRequestExecutor undertowBlockingRequestExecutor(HttpServerConfig config, XnioWorker xnioWorker) {
+        return switch (config.blockingExecutor()) {
+            case PLATFORM -> new BlockingRequestExecutor.Default(xnioWorker);
+            case VIRTUAL -> new BlockingRequestExecutor.VirtualThreads(config.virtualThreadsMaxConcurrency());
+        };
     }
 }
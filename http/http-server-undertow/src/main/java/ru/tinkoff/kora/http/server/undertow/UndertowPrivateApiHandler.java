@@ -1,6 +1,8 @@
 package ru.tinkoff.kora.http.server.undertow;
 
 import io.undertow.server.HttpServerExchange;
+import io.undertow.util.Headers;
+import io.undertow.util.HttpString;
 import io.undertow.util.SameThreadExecutor;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
@@ -21,11 +23,16 @@ public class UndertowPrivateApiHandler {
 
     public void handleRequest(HttpServerExchange exchange) {
         var path = exchange.getRequestPath() + "?" + exchange.getQueryString();
+        var acceptEncoding = exchange.getRequestHeaders().getFirst(Headers.ACCEPT_ENCODING);
 
-        exchange.dispatch(SameThreadExecutor.INSTANCE, () -> Mono.from(this.privateApiHandler.handle(path))
+        exchange.dispatch(SameThreadExecutor.INSTANCE, () -> Mono.from(this.privateApiHandler.handle(path, acceptEncoding))
             .subscribe(response -> {
                 exchange.setStatusCode(response.code());
                 exchange.setResponseContentLength(response.contentLength());
+                exchange.getResponseHeaders().put(Headers.CONTENT_TYPE, response.contentType());
+                for (var header : response.headers()) {
+                    exchange.getResponseHeaders().addAll(HttpString.tryFromString(header.getKey()), header.getValue());
+                }
                 Flux.from(response.body())
                     .collectList()
                     .subscribe(body -> {
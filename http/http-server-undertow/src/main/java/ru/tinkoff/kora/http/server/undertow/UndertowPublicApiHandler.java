@@ -1,60 +1,76 @@
 package ru.tinkoff.kora.http.server.undertow;
 
+import io.undertow.conduits.GzipStreamSourceConduit;
+import io.undertow.conduits.InflatingStreamSourceConduit;
 import io.undertow.server.HttpHandler;
 import io.undertow.server.HttpServerExchange;
+import io.undertow.server.handlers.encoding.RequestEncodingHandler;
+import io.undertow.util.Headers;
 import io.undertow.util.SameThreadExecutor;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.FluxSink;
 import ru.tinkoff.kora.common.Context;
+import ru.tinkoff.kora.http.server.common.HttpServerConfig;
 import ru.tinkoff.kora.http.server.common.router.PublicApiHandler;
 import ru.tinkoff.kora.http.server.common.telemetry.HttpServerTracer;
 
 import javax.annotation.Nullable;
 import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
-import java.util.HashMap;
-import java.util.List;
-import java.util.Map;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.concurrent.locks.ReentrantLock;
-import java.util.function.Predicate;
 
 public final class UndertowPublicApiHandler implements HttpHandler {
     private final PublicApiHandler publicApiHandler;
     @Nullable
     private final HttpServerTracer tracer;
+    @Nullable
+    private final UndertowHttpCompression compression;
+    @Nullable
+    private final HttpHandler requestDecoder;
 
     public UndertowPublicApiHandler(PublicApiHandler publicApiHandler, @Nullable HttpServerTracer tracer) {
+        this(publicApiHandler, tracer, HttpServerConfig.DEFAULT_COMPRESSION);
+    }
+
+    public UndertowPublicApiHandler(PublicApiHandler publicApiHandler, @Nullable HttpServerTracer tracer, HttpServerConfig.CompressionConfig compression) {
         this.publicApiHandler = publicApiHandler;
         this.tracer = tracer;
+        this.compression = compression.enabled() ? new UndertowHttpCompression(compression) : null;
+        // decoding conduit is installed before the request body is read
+        this.requestDecoder = compression.decodeRequests()
+            ? new RequestEncodingHandler(this::handleDecodedRequest)
+                .addEncoding("gzip", GzipStreamSourceConduit.WRAPPER)
+                .addEncoding("deflate", InflatingStreamSourceConduit.WRAPPER)
+            : null;
     }
 
     public int handlersSize() {
         return this.publicApiHandler.handlersSize();
     }
 
-    private static Map<String, List<String>> queryParams(HttpServerExchange httpServerExchange) {
-        var undertowQueryParams = httpServerExchange.getQueryParameters();
-        var queryParams = new HashMap<String, List<String>>(undertowQueryParams.size());
-        for (var entry : undertowQueryParams.entrySet()) {
-            var key = entry.getKey();
-            var value = entry.getValue().stream()
-                .filter(Predicate.not(String::isEmpty))
-                .toList();
-            queryParams.put(key, List.copyOf(value));
+    @Override
+    public void handleRequest(HttpServerExchange exchange) throws Exception {
+        if (this.requestDecoder != null) {
+            var contentEncoding = exchange.getRequestHeaders().getFirst(Headers.CONTENT_ENCODING);
+            if ("gzip".equalsIgnoreCase(contentEncoding) || "deflate".equalsIgnoreCase(contentEncoding)) {
+                // length of the decoded body is unknown
+                exchange.getRequestHeaders().remove(Headers.CONTENT_LENGTH);
+            }
+            this.requestDecoder.handleRequest(exchange);
+        } else {
+            this.handleDecodedRequest(exchange);
         }
-        return Map.copyOf(queryParams);
     }
 
-    @Override
-    public void handleRequest(HttpServerExchange exchange) {
+    private void handleDecodedRequest(HttpServerExchange exchange) {
         var method = exchange.getRequestMethod().toString();
         var path = exchange.getRelativePath();
         var host = exchange.getHostName();
         var scheme = exchange.getRequestScheme();
         var headers = new UndertowHttpHeaders(exchange.getRequestHeaders());
-        var queryParams = queryParams(exchange);
+        var queryParams = new UndertowQueryParams(exchange.getQueryParameters());
         var requestReceiver = exchange.getRequestReceiver();
         requestReceiver.pause();
         var body = Flux.<ByteBuffer>create(sink -> {
@@ -110,7 +126,7 @@ public final class UndertowPublicApiHandler implements HttpHandler {
             context.inject();
             try {
                 var routerRequest = new PublicApiHandler.PublicApiRequest(method, path, host, scheme, headers, queryParams, body);
-                var responseSender = new UndertowHttpResponseSender(exchange, tracer);
+                var responseSender = new UndertowHttpResponseSender(exchange, tracer, compression);
                 this.publicApiHandler.process(routerRequest, responseSender);
             } catch (Throwable exception) {
                 exchange.setStatusCode(500);
@@ -0,0 +1,80 @@
+package ru.tinkoff.kora.http.server.undertow;
+
+import javax.annotation.Nullable;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Predicate;
+
+/**
+ * Read only view of the exchange query parameters: empty values are skipped, nothing is copied unless the parameter has an empty value.
+ * Undertow allocates parameters map for every exchange and doesn't modify it after parsing, so the view stays valid after the request is completed.
+ */
+final class UndertowQueryParams extends AbstractMap<String, Collection<String>> {
+    private final Map<String, Deque<String>> params;
+
+    UndertowQueryParams(Map<String, Deque<String>> params) {
+        this.params = params;
+    }
+
+    @Nullable
+    @Override
+    public Collection<String> get(Object key) {
+        var values = this.params.get(key);
+        if (values == null) {
+            return null;
+        }
+        return view(values);
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return this.params.containsKey(key);
+    }
+
+    @Override
+    public int size() {
+        return this.params.size();
+    }
+
+    @Override
+    public Set<Entry<String, Collection<String>>> entrySet() {
+        return new AbstractSet<>() {
+            @Override
+            public Iterator<Entry<String, Collection<String>>> iterator() {
+                var i = params.entrySet().iterator();
+                return new Iterator<>() {
+                    @Override
+                    public boolean hasNext() {
+                        return i.hasNext();
+                    }
+
+                    @Override
+                    public Entry<String, Collection<String>> next() {
+                        var next = i.next();
+                        return Map.entry(next.getKey(), view(next.getValue()));
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return params.size();
+            }
+        };
+    }
+
+    private static Collection<String> view(Deque<String> values) {
+        for (var value : values) {
+            if (value.isEmpty()) {
+                return values.stream().filter(Predicate.not(String::isEmpty)).toList();
+            }
+        }
+        return Collections.unmodifiableCollection(values);
+    }
+}
@@ -0,0 +1,50 @@
+package ru.tinkoff.kora.http.server.undertow;
+
+import ru.tinkoff.kora.http.server.common.HttpServerConfig;
+
+import javax.annotation.Nullable;
+import javax.net.ssl.KeyManagerFactory;
+import javax.net.ssl.SSLContext;
+import javax.net.ssl.TrustManagerFactory;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.GeneralSecurityException;
+import java.security.KeyStore;
+
+final class UndertowSslContextFactory {
+    private UndertowSslContextFactory() {}
+
+    static SSLContext create(HttpServerConfig.TlsConfig config) {
+        try {
+            var keyStore = load(config.keyStorePath(), config.keyStorePassword(), config.keyStoreType());
+            var keyPassword = config.keyPassword() != null ? config.keyPassword() : config.keyStorePassword();
+            var keyManagerFactory = KeyManagerFactory.getInstance(KeyManagerFactory.getDefaultAlgorithm());
+            keyManagerFactory.init(keyStore, keyPassword != null ? keyPassword.toCharArray() : null);
+
+            TrustManagerFactory trustManagerFactory = null;
+            if (config.trustStorePath() != null) {
+                var trustStore = load(config.trustStorePath(), config.trustStorePassword(), config.trustStoreType());
+                trustManagerFactory = TrustManagerFactory.getInstance(TrustManagerFactory.getDefaultAlgorithm());
+                trustManagerFactory.init(trustStore);
+            }
+
+            var sslContext = SSLContext.getInstance("TLS");
+            sslContext.init(keyManagerFactory.getKeyManagers(), trustManagerFactory != null ? trustManagerFactory.getTrustManagers() : null, null);
+            var sessionContext = sslContext.getServerSessionContext();
+            sessionContext.setSessionCacheSize(config.sessionCacheSize());
+            sessionContext.setSessionTimeout(config.sessionTimeout());
+            return sslContext;
+        } catch (IOException | GeneralSecurityException e) {
+            throw new IllegalStateException("Can't create ssl context from key store " + config.keyStorePath(), e);
+        }
+    }
+
+    private static KeyStore load(String path, @Nullable String password, String type) throws IOException, GeneralSecurityException {
+        var keyStore = KeyStore.getInstance(type);
+        try (var is = Files.newInputStream(Path.of(path))) {
+            keyStore.load(is, password != null ? password.toCharArray() : null);
+        }
+        return keyStore;
+    }
+}
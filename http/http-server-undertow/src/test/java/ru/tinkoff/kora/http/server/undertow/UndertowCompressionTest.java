@@ -0,0 +1,196 @@
+package ru.tinkoff.kora.http.server.undertow;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import ru.tinkoff.kora.application.graph.All;
+import ru.tinkoff.kora.application.graph.ValueOf;
+import ru.tinkoff.kora.common.util.ReactorUtils;
+import ru.tinkoff.kora.http.common.HttpHeaders;
+import ru.tinkoff.kora.http.server.common.HttpServerConfig;
+import ru.tinkoff.kora.http.server.common.HttpServerConfigBuilder;
+import ru.tinkoff.kora.http.server.common.HttpServerRequest;
+import ru.tinkoff.kora.http.server.common.HttpServerRequestHandler;
+import ru.tinkoff.kora.http.server.common.HttpServerResponse;
+import ru.tinkoff.kora.http.server.common.SimpleHttpServerResponse;
+import ru.tinkoff.kora.http.server.common.router.PublicApiHandler;
+import ru.tinkoff.kora.http.server.common.telemetry.DefaultHttpServerTelemetry;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.function.Function;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+import java.util.zip.InflaterInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class UndertowCompressionTest {
+    private static final String BODY = "{\"field\":\"value\"}".repeat(1000);
+
+    private UndertowHttpServer server;
+
+    @AfterEach
+    void tearDown() {
+        if (server != null) {
+            server.release().block();
+        }
+    }
+
+    @Test
+    void testNegotiate() {
+        assertThat(UndertowHttpCompression.negotiate(null)).isNull();
+        assertThat(UndertowHttpCompression.negotiate("identity")).isNull();
+        assertThat(UndertowHttpCompression.negotiate("gzip")).isEqualTo(UndertowHttpCompression.Encoding.GZIP);
+        assertThat(UndertowHttpCompression.negotiate("deflate, gzip")).isEqualTo(UndertowHttpCompression.Encoding.GZIP);
+        assertThat(UndertowHttpCompression.negotiate("gzip;q=0.5, deflate")).isEqualTo(UndertowHttpCompression.Encoding.DEFLATE);
+        assertThat(UndertowHttpCompression.negotiate("gzip;q=0, deflate;q=0")).isNull();
+        assertThat(UndertowHttpCompression.negotiate("br, *;q=0.1")).isEqualTo(UndertowHttpCompression.Encoding.GZIP);
+        assertThat(UndertowHttpCompression.negotiate("*, gzip;q=0")).isEqualTo(UndertowHttpCompression.Encoding.DEFLATE);
+    }
+
+    @Test
+    void testIsCompressible() {
+        var compression = new UndertowHttpCompression(new HttpServerConfig.CompressionConfig(true, null, 100, null, null));
+
+        assertThat(compression.isCompressible(200, "application/json; charset=utf-8", 1000, null)).isTrue();
+        assertThat(compression.isCompressible(200, "text/csv", -1, null)).isTrue();
+        assertThat(compression.isCompressible(200, "application/json", 99, null)).isFalse();
+        assertThat(compression.isCompressible(200, "image/png", 1000, null)).isFalse();
+        assertThat(compression.isCompressible(200, "application/json", 1000, "br")).isFalse();
+        assertThat(compression.isCompressible(304, "application/json", 1000, null)).isFalse();
+    }
+
+    @Test
+    void testPooledDeflaterProducesValidStreams() throws IOException {
+        var compression = new UndertowHttpCompression(new HttpServerConfig.CompressionConfig(true, null, null, null, null));
+        var body = ByteBuffer.wrap(BODY.getBytes(StandardCharsets.UTF_8));
+
+        for (int i = 0; i < 3; i++) {
+            var gzip = compression.compress(UndertowHttpCompression.Encoding.GZIP, body);
+            var deflate = compression.compress(UndertowHttpCompression.Encoding.DEFLATE, body);
+
+            assertThat(body.remaining()).isEqualTo(BODY.length());
+            assertThat(decode(gzip, GZIPInputStream::new)).isEqualTo(BODY);
+            assertThat(decode(deflate, InflaterInputStream::new)).isEqualTo(BODY);
+        }
+    }
+
+    @Test
+    void testScalarBodyIsCompressed() throws Exception {
+        startServer("GET", request -> Mono.just(new SimpleHttpServerResponse(200, "application/json", HttpHeaders.of(), ByteBuffer.wrap(BODY.getBytes(StandardCharsets.UTF_8)))));
+
+        var response = send(HttpRequest.newBuilder(uri()).header("Accept-Encoding", "gzip").GET());
+
+        assertThat(response.headers().firstValue("content-encoding")).hasValue("gzip");
+        assertThat(response.headers().firstValue("vary")).hasValue("Accept-Encoding");
+        assertThat(response.headers().firstValueAsLong("content-length")).hasValue(response.body().length);
+        assertThat(decode(ByteBuffer.wrap(response.body()), GZIPInputStream::new)).isEqualTo(BODY);
+    }
+
+    @Test
+    void testStreamingBodyIsCompressed() throws Exception {
+        var chunk = BODY.substring(0, 100);
+        startServer("GET", request -> Mono.just(new SimpleHttpServerResponse(200, "application/json", HttpHeaders.of(), -1, Flux.range(0, 10)
+            .map(i -> ByteBuffer.wrap(chunk.getBytes(StandardCharsets.UTF_8))))));
+
+        var response = send(HttpRequest.newBuilder(uri()).header("Accept-Encoding", "deflate").GET());
+
+        assertThat(response.headers().firstValue("content-encoding")).hasValue("deflate");
+        assertThat(decode(ByteBuffer.wrap(response.body()), InflaterInputStream::new)).isEqualTo(chunk.repeat(10));
+    }
+
+    @Test
+    void testSmallBodyIsNotCompressed() throws Exception {
+        startServer("GET", request -> Mono.just(new SimpleHttpServerResponse(200, "application/json", HttpHeaders.of(), ByteBuffer.wrap("{}".getBytes(StandardCharsets.UTF_8)))));
+
+        var response = send(HttpRequest.newBuilder(uri()).header("Accept-Encoding", "gzip").GET());
+
+        assertThat(response.headers().firstValue("content-encoding")).isEmpty();
+        assertThat(new String(response.body(), StandardCharsets.UTF_8)).isEqualTo("{}");
+    }
+
+    @Test
+    void testCompressedRequestIsDecoded() throws Exception {
+        startServer("POST", request -> ReactorUtils.toByteArrayMono(request.body())
+            .map(body -> new SimpleHttpServerResponse(200, "text/plain", HttpHeaders.of(), ByteBuffer.wrap(body))));
+        var compressed = new ByteArrayOutputStream();
+        try (var out = new GZIPOutputStream(compressed)) {
+            out.write(BODY.getBytes(StandardCharsets.UTF_8));
+        }
+
+        var response = send(HttpRequest.newBuilder(uri())
+            .header("Content-Encoding", "gzip")
+            .POST(HttpRequest.BodyPublishers.ofByteArray(compressed.toByteArray())));
+
+        assertThat(response.headers().firstValue("content-encoding")).isEmpty();
+        assertThat(new String(response.body(), StandardCharsets.UTF_8)).isEqualTo(BODY);
+    }
+
+    private static String decode(ByteBuffer buffer, IOFunction<InputStream, InputStream> decoder) throws IOException {
+        var bytes = new byte[buffer.remaining()];
+        buffer.duplicate().get(bytes);
+        try (var in = decoder.apply(new ByteArrayInputStream(bytes))) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+
+    private interface IOFunction<T, R> {
+        R apply(T t) throws IOException;
+    }
+
+    private URI uri() {
+        return URI.create("http://localhost:" + server.port() + "/");
+    }
+
+    private static HttpResponse<byte[]> send(HttpRequest.Builder request) throws Exception {
+        return HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build().send(request.build(), HttpResponse.BodyHandlers.ofByteArray());
+    }
+
+    private void startServer(String method, Function<HttpServerRequest, Mono<HttpServerResponse>> handle) {
+        var compression = new HttpServerConfig.CompressionConfig(true, true, null, null, null);
+        var config = HttpServerConfigBuilder.builder().compression(compression).build();
+        HttpServerRequestHandler handler = new HttpServerRequestHandler() {
+            @Override
+            public String method() {
+                return method;
+            }
+
+            @Override
+            public String routeTemplate() {
+                return "/";
+            }
+
+            @Override
+            public Mono<HttpServerResponse> handle(HttpServerRequest request) {
+                return handle.apply(request);
+            }
+        };
+        var publicApiHandler = new PublicApiHandler(All.of(valueOf(handler)), All.of(), valueOf(new DefaultHttpServerTelemetry(null, null, null)));
+        server = new UndertowHttpServer(valueOf(config), valueOf(new UndertowPublicApiHandler(publicApiHandler, null, compression)), null);
+        server.init().block();
+    }
+
+    private static <T> ValueOf<T> valueOf(T instance) {
+        return new ValueOf<>() {
+            @Override
+            public T get() {
+                return instance;
+            }
+
+            @Override
+            public Mono<Void> refresh() {
+                return Mono.empty();
+            }
+        };
+    }
+}
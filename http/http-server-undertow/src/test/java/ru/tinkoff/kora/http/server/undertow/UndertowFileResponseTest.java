@@ -0,0 +1,160 @@
+package ru.tinkoff.kora.http.server.undertow;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import reactor.core.publisher.Mono;
+import ru.tinkoff.kora.application.graph.All;
+import ru.tinkoff.kora.application.graph.ValueOf;
+import ru.tinkoff.kora.http.server.common.FileHttpServerResponse;
+import ru.tinkoff.kora.http.server.common.HttpServerConfig;
+import ru.tinkoff.kora.http.server.common.HttpServerConfigBuilder;
+import ru.tinkoff.kora.http.server.common.HttpServerRequest;
+import ru.tinkoff.kora.http.server.common.HttpServerRequestHandler;
+import ru.tinkoff.kora.http.server.common.HttpServerResponse;
+import ru.tinkoff.kora.http.server.common.router.PublicApiHandler;
+import ru.tinkoff.kora.http.server.common.telemetry.DefaultHttpServerTelemetry;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class UndertowFileResponseTest {
+    private static final String CONTENT = "0123456789".repeat(100_000);
+
+    @TempDir
+    Path dir;
+    private Path file;
+    private UndertowHttpServer server;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        file = Files.writeString(dir.resolve("report.csv"), CONTENT);
+        startServer();
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (server != null) {
+            server.release().block();
+        }
+    }
+
+    @Test
+    void testWholeFile() throws Exception {
+        var response = send(request());
+
+        assertThat(response.statusCode()).isEqualTo(200);
+        assertThat(response.headers().firstValueAsLong("content-length")).hasValue(CONTENT.length());
+        assertThat(response.headers().firstValue("accept-ranges")).hasValue("bytes");
+        assertThat(response.headers().firstValue("etag")).isPresent();
+        assertThat(response.headers().firstValue("last-modified")).isPresent();
+        assertThat(response.body()).isEqualTo(CONTENT);
+    }
+
+    @Test
+    void testRange() throws Exception {
+        var response = send(request().header("Range", "bytes=10-19"));
+
+        assertThat(response.statusCode()).isEqualTo(206);
+        assertThat(response.headers().firstValue("content-range")).hasValue("bytes 10-19/" + CONTENT.length());
+        assertThat(response.body()).isEqualTo("0123456789");
+    }
+
+    @Test
+    void testSuffixRange() throws Exception {
+        var response = send(request().header("Range", "bytes=-5"));
+
+        assertThat(response.statusCode()).isEqualTo(206);
+        assertThat(response.body()).isEqualTo("56789");
+    }
+
+    @Test
+    void testUnsatisfiableRange() throws Exception {
+        var response = send(request().header("Range", "bytes=" + CONTENT.length() + "-"));
+
+        assertThat(response.statusCode()).isEqualTo(416);
+        assertThat(response.headers().firstValue("content-range")).hasValue("bytes */" + CONTENT.length());
+    }
+
+    @Test
+    void testIfNoneMatch() throws Exception {
+        var etag = send(request()).headers().firstValue("etag").orElseThrow();
+
+        var response = send(request().header("If-None-Match", "\"other\", " + etag));
+
+        assertThat(response.statusCode()).isEqualTo(304);
+        assertThat(response.body()).isEmpty();
+    }
+
+    @Test
+    void testIfModifiedSince() throws Exception {
+        var lastModified = Files.getLastModifiedTime(file).toInstant();
+
+        var notModified = send(request().header("If-Modified-Since", httpDate(lastModified)));
+        var modified = send(request().header("If-Modified-Since", httpDate(lastModified.minusSeconds(60))));
+
+        assertThat(notModified.statusCode()).isEqualTo(304);
+        assertThat(modified.statusCode()).isEqualTo(200);
+        assertThat(modified.body()).isEqualTo(CONTENT);
+    }
+
+    private static String httpDate(Instant instant) {
+        return DateTimeFormatter.RFC_1123_DATE_TIME.format(instant.atOffset(ZoneOffset.UTC));
+    }
+
+    private HttpRequest.Builder request() {
+        return HttpRequest.newBuilder(URI.create("http://localhost:" + server.port() + "/report")).GET();
+    }
+
+    private static HttpResponse<String> send(HttpRequest.Builder request) throws Exception {
+        return HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build().send(request.build(), HttpResponse.BodyHandlers.ofString(StandardCharsets.US_ASCII));
+    }
+
+    private void startServer() {
+        var config = HttpServerConfigBuilder.builder().compression(new HttpServerConfig.CompressionConfig(true, null, null, null, null)).build();
+        HttpServerRequestHandler handler = new HttpServerRequestHandler() {
+            @Override
+            public String method() {
+                return "GET";
+            }
+
+            @Override
+            public String routeTemplate() {
+                return "/report";
+            }
+
+            @Override
+            public Mono<HttpServerResponse> handle(HttpServerRequest request) {
+                return Mono.fromCallable(() -> FileHttpServerResponse.of(file, "text/csv"));
+            }
+        };
+        var publicApiHandler = new PublicApiHandler(All.of(valueOf(handler)), All.of(), valueOf(new DefaultHttpServerTelemetry(null, null, null)));
+        server = new UndertowHttpServer(valueOf(config), valueOf(new UndertowPublicApiHandler(publicApiHandler, null, config.compression())), null);
+        server.init().block();
+    }
+
+    private static <T> ValueOf<T> valueOf(T instance) {
+        return new ValueOf<>() {
+            @Override
+            public T get() {
+                return instance;
+            }
+
+            @Override
+            public Mono<Void> refresh() {
+                return Mono.empty();
+            }
+        };
+    }
+}
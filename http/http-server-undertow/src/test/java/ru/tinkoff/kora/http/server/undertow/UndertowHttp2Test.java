@@ -0,0 +1,121 @@
+package ru.tinkoff.kora.http.server.undertow;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import ru.tinkoff.kora.application.graph.All;
+import ru.tinkoff.kora.application.graph.ValueOf;
+import ru.tinkoff.kora.http.common.HttpHeaders;
+import ru.tinkoff.kora.http.server.common.HttpServerConfig;
+import ru.tinkoff.kora.http.server.common.HttpServerConfigBuilder;
+import ru.tinkoff.kora.http.server.common.HttpServerRequest;
+import ru.tinkoff.kora.http.server.common.HttpServerRequestHandler;
+import ru.tinkoff.kora.http.server.common.HttpServerResponse;
+import ru.tinkoff.kora.http.server.common.SimpleHttpServerResponse;
+import ru.tinkoff.kora.http.server.common.router.PublicApiHandler;
+import ru.tinkoff.kora.http.server.common.telemetry.DefaultHttpServerTelemetry;
+
+import java.io.IOException;
+import java.net.Socket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class UndertowHttp2Test {
+    private UndertowHttpServer server;
+
+    @AfterEach
+    void tearDown() {
+        if (server != null) {
+            server.release().block();
+        }
+    }
+
+    @Test
+    void testH2cUpgrade() throws Exception {
+        startServer(true);
+        var client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_2).build();
+
+        var response = client.send(HttpRequest.newBuilder(URI.create("http://localhost:" + server.port() + "/")).GET().build(), HttpResponse.BodyHandlers.ofString());
+
+        assertThat(response.statusCode()).isEqualTo(200);
+        assertThat(response.version()).isEqualTo(HttpClient.Version.HTTP_2);
+        assertThat(response.body()).isEqualTo("hello world");
+    }
+
+    @Test
+    void testPriorKnowledge() throws IOException {
+        startServer(true);
+
+        assertThat(firstFrameTypeAfterPreface()).isEqualTo(SETTINGS_FRAME_TYPE);
+    }
+
+    @Test
+    void testHttp11WhenDisabled() throws Exception {
+        startServer(false);
+        var client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_2).build();
+
+        var response = client.send(HttpRequest.newBuilder(URI.create("http://localhost:" + server.port() + "/")).GET().build(), HttpResponse.BodyHandlers.ofString());
+
+        assertThat(response.statusCode()).isEqualTo(200);
+        assertThat(response.version()).isEqualTo(HttpClient.Version.HTTP_1_1);
+    }
+
+    private static final int SETTINGS_FRAME_TYPE = 0x4;
+
+    private int firstFrameTypeAfterPreface() throws IOException {
+        try (var socket = new Socket("localhost", server.port())) {
+            socket.setSoTimeout(5000);
+            var out = socket.getOutputStream();
+            out.write("PRI * HTTP/2.0\r\n\r\nSM\r\n\r\n".getBytes(StandardCharsets.US_ASCII));
+            // empty SETTINGS frame: 24 bit length, type, flags, stream id
+            out.write(new byte[]{0, 0, 0, SETTINGS_FRAME_TYPE, 0, 0, 0, 0, 0});
+            out.flush();
+            var header = socket.getInputStream().readNBytes(9);
+            assertThat(header).hasSize(9);
+            return header[3];
+        }
+    }
+
+    private void startServer(boolean http2) {
+        var config = HttpServerConfigBuilder.builder().http2(new HttpServerConfig.Http2Config(http2, null, null, null, null)).build();
+        HttpServerRequestHandler handler = new HttpServerRequestHandler() {
+            @Override
+            public String method() {
+                return "GET";
+            }
+
+            @Override
+            public String routeTemplate() {
+                return "/";
+            }
+
+            @Override
+            public Mono<HttpServerResponse> handle(HttpServerRequest request) {
+                return Mono.just(new SimpleHttpServerResponse(200, "text/plain", HttpHeaders.of(), ByteBuffer.wrap("hello world".getBytes(StandardCharsets.UTF_8))));
+            }
+        };
+        var publicApiHandler = new PublicApiHandler(All.of(valueOf(handler)), All.of(), valueOf(new DefaultHttpServerTelemetry(null, null, null)));
+        server = new UndertowHttpServer(valueOf(config), valueOf(new UndertowPublicApiHandler(publicApiHandler, null)), null);
+        server.init().block();
+    }
+
+    private static <T> ValueOf<T> valueOf(T instance) {
+        return new ValueOf<>() {
+            @Override
+            public T get() {
+                return instance;
+            }
+
+            @Override
+            public Mono<Void> refresh() {
+                return Mono.empty();
+            }
+        };
+    }
+}
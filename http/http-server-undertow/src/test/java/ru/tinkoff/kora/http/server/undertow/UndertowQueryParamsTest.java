@@ -0,0 +1,45 @@
+package ru.tinkoff.kora.http.server.undertow;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class UndertowQueryParamsTest {
+    @Test
+    void testView() {
+        var exchangeParams = new TreeMap<String, Deque<String>>();
+        exchangeParams.put("a", new ArrayDeque<>(List.of("1", "2")));
+        exchangeParams.put("b", new ArrayDeque<>(List.of("", "3")));
+        exchangeParams.put("c", new ArrayDeque<>(List.of("")));
+
+        var params = new UndertowQueryParams(exchangeParams);
+
+        assertThat(params).hasSize(3).containsKeys("a", "b", "c").doesNotContainKey("d");
+        assertThat(params.get("a")).containsExactly("1", "2");
+        assertThat(params.get("b")).containsExactly("3");
+        assertThat(params.get("c")).isEmpty();
+        assertThat(params.get("d")).isNull();
+        assertThat(params.entrySet()).extracting(Map.Entry::getKey).containsExactly("a", "b", "c");
+        for (var entry : params.entrySet()) {
+            assertThat(entry.getValue()).doesNotContain("");
+        }
+    }
+
+    @Test
+    void testViewIsReadOnly() {
+        var exchangeParams = new TreeMap<String, Deque<String>>();
+        exchangeParams.put("a", new ArrayDeque<>(List.of("1")));
+        var params = new UndertowQueryParams(exchangeParams);
+
+        assertThatThrownBy(() -> params.get("a").add("2")).isInstanceOf(UnsupportedOperationException.class);
+        assertThatThrownBy(() -> params.put("b", List.of())).isInstanceOf(UnsupportedOperationException.class);
+        assertThatThrownBy(() -> params.entrySet().iterator().remove()).isInstanceOf(UnsupportedOperationException.class);
+    }
+}
@@ -0,0 +1,163 @@
+package ru.tinkoff.kora.http.server.undertow;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import ru.tinkoff.kora.application.graph.All;
+import ru.tinkoff.kora.application.graph.ValueOf;
+import ru.tinkoff.kora.http.common.HttpHeaders;
+import ru.tinkoff.kora.http.server.common.HttpServerConfig;
+import ru.tinkoff.kora.http.server.common.HttpServerConfigBuilder;
+import ru.tinkoff.kora.http.server.common.HttpServerRequest;
+import ru.tinkoff.kora.http.server.common.HttpServerRequestHandler;
+import ru.tinkoff.kora.http.server.common.HttpServerResponse;
+import ru.tinkoff.kora.http.server.common.SimpleHttpServerResponse;
+import ru.tinkoff.kora.http.server.common.router.PublicApiHandler;
+import ru.tinkoff.kora.http.server.common.telemetry.DefaultHttpServerTelemetry;
+
+import javax.net.ssl.SSLContext;
+import javax.net.ssl.TrustManagerFactory;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.security.KeyStore;
+import java.security.cert.X509Certificate;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class UndertowTlsTest {
+    private final AtomicReference<HttpServerConfig> config = new AtomicReference<>();
+    private UndertowHttpServer server;
+
+    @AfterEach
+    void tearDown() {
+        if (server != null) {
+            server.release().block();
+        }
+    }
+
+    @Test
+    void testHttpsRequest() throws Exception {
+        startServer(config("server.p12", false));
+
+        var response = send();
+
+        assertThat(response.statusCode()).isEqualTo(200);
+        assertThat(response.body()).isEqualTo("hello world");
+        assertThat(response.version()).isEqualTo(HttpClient.Version.HTTP_1_1);
+        assertThat(server.port()).isPositive().isNotEqualTo(server.tlsPort());
+    }
+
+    @Test
+    void testHttp2IsNegotiatedWithAlpn() throws Exception {
+        startServer(config("server.p12", true));
+
+        var response = send();
+
+        assertThat(response.statusCode()).isEqualTo(200);
+        assertThat(response.version()).isEqualTo(HttpClient.Version.HTTP_2);
+    }
+
+    @Test
+    void testCertificateIsReloadedOnGraphRefresh() throws Exception {
+        startServer(config("server.p12", false));
+        assertThat(peerCertificate(send()).getSubjectX500Principal().getName()).isEqualTo("CN=localhost");
+
+        config.set(config("server-renewed.p12", false));
+        server.graphRefreshed();
+
+        assertThat(peerCertificate(send()).getSubjectX500Principal().getName()).isEqualTo("CN=localhost,OU=renewed");
+    }
+
+    @Test
+    void testCurrentCertificateIsKeptWhenReloadFails() throws Exception {
+        startServer(config("server.p12", false));
+        var current = this.config.get().tls();
+        config.set(config(new HttpServerConfig.TlsConfig(0, current.keyStorePath() + ".missing", "changeit", null, null, null, null, null, null, null, null, null, null), false));
+
+        server.graphRefreshed();
+
+        assertThat(peerCertificate(send()).getSubjectX500Principal().getName()).isEqualTo("CN=localhost");
+    }
+
+    private HttpResponse<String> send() throws Exception {
+        var trustStore = KeyStore.getInstance("PKCS12");
+        try (var is = UndertowTlsTest.class.getResourceAsStream("/tls/truststore.p12")) {
+            trustStore.load(is, "changeit".toCharArray());
+        }
+        var trustManagerFactory = TrustManagerFactory.getInstance(TrustManagerFactory.getDefaultAlgorithm());
+        trustManagerFactory.init(trustStore);
+        var sslContext = SSLContext.getInstance("TLS");
+        sslContext.init(null, trustManagerFactory.getTrustManagers(), null);
+        // new client for every request, so connections are not reused between certificate reloads
+        var client = HttpClient.newBuilder().sslContext(sslContext).build();
+        var request = HttpRequest.newBuilder(URI.create("https://localhost:" + server.tlsPort() + "/")).GET().build();
+        return client.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    private static X509Certificate peerCertificate(HttpResponse<?> response) throws Exception {
+        return (X509Certificate) response.sslSession().orElseThrow().getPeerCertificates()[0];
+    }
+
+    private static HttpServerConfig config(String keyStore, boolean http2) throws Exception {
+        var keyStorePath = Path.of(UndertowTlsTest.class.getResource("/tls/" + keyStore).toURI()).toString();
+        var tls = new HttpServerConfig.TlsConfig(0, keyStorePath, "changeit", null, null, null, null, null, null, null, null, null, null);
+        return config(tls, http2);
+    }
+
+    private static HttpServerConfig config(HttpServerConfig.TlsConfig tls, boolean http2) {
+        return HttpServerConfigBuilder.builder().http2(new HttpServerConfig.Http2Config(http2, null, null, null, null)).tls(tls).build();
+    }
+
+    private void startServer(HttpServerConfig config) {
+        this.config.set(config);
+        HttpServerRequestHandler handler = new HttpServerRequestHandler() {
+            @Override
+            public String method() {
+                return "GET";
+            }
+
+            @Override
+            public String routeTemplate() {
+                return "/";
+            }
+
+            @Override
+            public Mono<HttpServerResponse> handle(HttpServerRequest request) {
+                return Mono.just(new SimpleHttpServerResponse(200, "text/plain", HttpHeaders.of(), ByteBuffer.wrap("hello world".getBytes(StandardCharsets.UTF_8))));
+            }
+        };
+        var publicApiHandler = new PublicApiHandler(All.of(valueOf(handler)), All.of(), valueOf(new DefaultHttpServerTelemetry(null, null, null)));
+        server = new UndertowHttpServer(new ValueOf<>() {
+            @Override
+            public HttpServerConfig get() {
+                return UndertowTlsTest.this.config.get();
+            }
+
+            @Override
+            public Mono<Void> refresh() {
+                return Mono.empty();
+            }
+        }, valueOf(new UndertowPublicApiHandler(publicApiHandler, null)), null);
+        server.init().block();
+    }
+
+    private static <T> ValueOf<T> valueOf(T instance) {
+        return new ValueOf<>() {
+            @Override
+            public T get() {
+                return instance;
+            }
+
+            @Override
+            public Mono<Void> refresh() {
+                return Mono.empty();
+            }
+        };
+    }
+}
@@ -0,0 +1,120 @@
+package ru.tinkoff.kora.json.common;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.async.ByteBufferFeeder;
+import com.fasterxml.jackson.core.util.JsonParserDelegate;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Iterator;
+
+/**
+ * Blocking parser view over a sequence of byte buffers.
+ * <p>
+ * Buffers are fed into jackson non-blocking parser one by one whenever it runs out of input, so the content is never copied into
+ * a single contiguous array and readers see a plain parser that never returns {@link JsonToken#NOT_AVAILABLE}.
+ */
+public final class ByteBufferListJsonParser extends JsonParserDelegate {
+    private final ByteBufferFeeder feeder;
+    private final Iterator<? extends ByteBuffer> buffers;
+
+    public ByteBufferListJsonParser(JsonFactory factory, Iterable<? extends ByteBuffer> buffers) throws IOException {
+        this(factory.createNonBlockingByteBufferParser(), buffers.iterator());
+    }
+
+    private ByteBufferListJsonParser(JsonParser delegate, Iterator<? extends ByteBuffer> buffers) {
+        super(delegate);
+        this.feeder = (ByteBufferFeeder) delegate.getNonBlockingInputFeeder();
+        this.buffers = buffers;
+    }
+
+    @Override
+    public JsonToken nextToken() throws IOException {
+        var token = this.delegate.nextToken();
+        while (token == JsonToken.NOT_AVAILABLE) {
+            this.feed();
+            token = this.delegate.nextToken();
+        }
+        return token;
+    }
+
+    @Override
+    public JsonToken nextValue() throws IOException {
+        var token = this.nextToken();
+        if (token == JsonToken.FIELD_NAME) {
+            token = this.nextToken();
+        }
+        return token;
+    }
+
+    @Override
+    public String nextFieldName() throws IOException {
+        return this.nextToken() == JsonToken.FIELD_NAME ? this.currentName() : null;
+    }
+
+    @Override
+    public boolean nextFieldName(SerializableString str) throws IOException {
+        return this.nextToken() == JsonToken.FIELD_NAME && str.getValue().equals(this.currentName());
+    }
+
+    @Override
+    public String nextTextValue() throws IOException {
+        return this.nextToken() == JsonToken.VALUE_STRING ? this.getText() : null;
+    }
+
+    @Override
+    public int nextIntValue(int defaultValue) throws IOException {
+        return this.nextToken() == JsonToken.VALUE_NUMBER_INT ? this.getIntValue() : defaultValue;
+    }
+
+    @Override
+    public long nextLongValue(long defaultValue) throws IOException {
+        return this.nextToken() == JsonToken.VALUE_NUMBER_INT ? this.getLongValue() : defaultValue;
+    }
+
+    @Override
+    public Boolean nextBooleanValue() throws IOException {
+        var token = this.nextToken();
+        if (token == JsonToken.VALUE_TRUE) {
+            return Boolean.TRUE;
+        }
+        if (token == JsonToken.VALUE_FALSE) {
+            return Boolean.FALSE;
+        }
+        return null;
+    }
+
+    @Override
+    public JsonParser skipChildren() throws IOException {
+        var token = this.currentToken();
+        if (token != JsonToken.START_OBJECT && token != JsonToken.START_ARRAY) {
+            return this;
+        }
+        var open = 1;
+        while (true) {
+            token = this.nextToken();
+            if (token == null) {
+                return this;
+            }
+            if (token.isStructStart()) {
+                open++;
+            } else if (token.isStructEnd() && --open == 0) {
+                return this;
+            }
+        }
+    }
+
+    private void feed() throws IOException {
+        while (this.buffers.hasNext()) {
+            var buffer = this.buffers.next();
+            if (buffer.hasRemaining()) {
+                this.feeder.feedInput(buffer);
+                return;
+            }
+        }
+        this.feeder.endOfInput();
+    }
+}
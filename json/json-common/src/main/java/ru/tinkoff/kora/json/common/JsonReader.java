@@ -5,6 +5,7 @@ import com.fasterxml.jackson.core.JsonParser;
 import javax.annotation.Nullable;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.ByteBuffer;
 
 /**
  * Class that defines public API for reading JSON content.
@@ -34,4 +35,12 @@ public interface JsonReader<T> {
             return this.read(parser);
         }
     }
+
+    @Nullable
+    default T read(Iterable<? extends ByteBuffer> buffers) throws IOException {
+        try (var parser = new ByteBufferListJsonParser(JsonCommonModule.JSON_FACTORY, buffers)) {
+            parser.nextToken();
+            return this.read(parser);
+        }
+    }
 }
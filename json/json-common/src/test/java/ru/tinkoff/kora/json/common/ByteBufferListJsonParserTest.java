@@ -0,0 +1,64 @@
+package ru.tinkoff.kora.json.common;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+public class ByteBufferListJsonParserTest {
+
+    @Test
+    void readSplitIntoChunks() throws IOException {
+        //language=json
+        var json = """
+            {
+              "string": "some long string value",
+              "number": 12345.678,
+              "array": [1, 2, 3],
+              "nested": {"skip": [{"a": 1}, {"b": 2}], "value": true}
+            }
+            """;
+        var expected = JsonCommonModule.JSON_FACTORY.createParser(json);
+        expected.nextToken();
+        var expectedResult = JsonObjectCodec.parse(expected);
+
+        for (var chunkSize = 1; chunkSize < json.length(); chunkSize += 7) {
+            var reader = (JsonReader<Object>) JsonObjectCodec::parse;
+            var result = reader.read(chunks(json, chunkSize));
+
+            Assertions.assertThat(result).isEqualTo(expectedResult);
+        }
+    }
+
+    @Test
+    void readRootScalar() throws IOException {
+        var reader = (JsonReader<Object>) JsonObjectCodec::parse;
+
+        Assertions.assertThat(reader.read(chunks("12345", 2))).isEqualTo(BigInteger.valueOf(12345));
+    }
+
+    @Test
+    void skipChildren() throws IOException {
+        try (var parser = new ByteBufferListJsonParser(JsonCommonModule.JSON_FACTORY, chunks("[{\"a\": [1, {\"b\": 2}]}, 3]", 3))) {
+            parser.nextToken();
+            parser.nextToken();
+            parser.skipChildren();
+            Assertions.assertThat(parser.nextIntValue(0)).isEqualTo(3);
+        }
+    }
+
+    private static List<ByteBuffer> chunks(String json, int chunkSize) {
+        var bytes = json.getBytes(StandardCharsets.UTF_8);
+        var result = new ArrayList<ByteBuffer>();
+        for (var i = 0; i < bytes.length; i += chunkSize) {
+            result.add(ByteBuffer.wrap(bytes, i, Math.min(chunkSize, bytes.length - i)).slice());
+        }
+        result.add(ByteBuffer.allocate(0));
+        return result;
+    }
+}
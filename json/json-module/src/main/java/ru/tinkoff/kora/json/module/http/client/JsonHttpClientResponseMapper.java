@@ -1,7 +1,6 @@
 package ru.tinkoff.kora.json.module.http.client;
 
 import reactor.core.publisher.Mono;
-import ru.tinkoff.kora.common.util.ReactorUtils;
 import ru.tinkoff.kora.http.client.common.HttpClientDecoderException;
 import ru.tinkoff.kora.http.client.common.response.HttpClientResponse;
 import ru.tinkoff.kora.http.client.common.response.HttpClientResponseMapper;
@@ -18,10 +17,10 @@ public class JsonHttpClientResponseMapper<T> implements HttpClientResponseMapper
 
     @Override
     public Mono<T> apply(HttpClientResponse response) {
-        return ReactorUtils.toByteArrayMono(response.body())
-            .handle((bytes, sink) -> {
+        return response.body().collectList()
+            .handle((buffers, sink) -> {
                 try {
-                    sink.next(this.jsonReader.read(bytes));
+                    sink.next(this.jsonReader.read(buffers));
                 } catch (IOException e) {
                     sink.error(new HttpClientDecoderException(e));
                 }
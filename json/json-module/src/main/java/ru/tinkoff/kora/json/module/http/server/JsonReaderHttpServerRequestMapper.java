@@ -1,7 +1,6 @@
 package ru.tinkoff.kora.json.module.http.server;
 
 import reactor.core.publisher.Mono;
-import ru.tinkoff.kora.common.util.ReactorUtils;
 import ru.tinkoff.kora.http.server.common.HttpServerRequest;
 import ru.tinkoff.kora.http.server.common.HttpServerResponseException;
 import ru.tinkoff.kora.http.server.common.handler.HttpServerRequestMapper;
@@ -16,10 +15,10 @@ public class JsonReaderHttpServerRequestMapper<T> implements HttpServerRequestMa
 
     @Override
     public Mono<T> apply(HttpServerRequest request) {
-        return ReactorUtils.toByteArrayMono(request.body())
-            .handle((bytes, sink) -> {
+        return request.body().collectList()
+            .handle((buffers, sink) -> {
                 try {
-                    sink.next(this.reader.read(bytes));
+                    sink.next(this.reader.read(buffers));
                 } catch (Exception e) {
                     var httpException = HttpServerResponseException.of(e, 400, e.getMessage());
                     sink.error(httpException);
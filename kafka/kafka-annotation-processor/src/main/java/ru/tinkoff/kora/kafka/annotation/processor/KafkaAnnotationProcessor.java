@@ -16,7 +16,7 @@ public class KafkaAnnotationProcessor extends AbstractKoraProcessor {
 
     @Override
     public Set<String> getSupportedAnnotationTypes() {
-        return Set.of(KafkaClassNames.kafkaIncoming.canonicalName());
+        return Set.of(KafkaClassNames.kafkaIncoming.canonicalName(), KafkaClassNames.kafkaPublisher.canonicalName());
     }
 
     @Override
@@ -29,6 +29,10 @@ public class KafkaAnnotationProcessor extends AbstractKoraProcessor {
                 .collect(Collectors.toSet())) {
                 processController(element);
             }
+            var kafkaPublisher = this.elements.getTypeElement(KafkaClassNames.kafkaPublisher.canonicalName());
+            for (var element : roundEnv.getElementsAnnotatedWith(kafkaPublisher)) {
+                processPublisher((TypeElement) element);
+            }
         } catch (ProcessingErrorException e) {
             e.printError(this.processingEnv);
         } catch (Exception e) {
@@ -48,4 +52,11 @@ public class KafkaAnnotationProcessor extends AbstractKoraProcessor {
             file.writeTo(this.processingEnv.getFiler());
         }
     }
+
+    private void processPublisher(TypeElement publisher) throws IOException {
+        var generator = new KafkaPublisherGenerator(processingEnv);
+        for (var file : generator.generate(publisher)) {
+            file.writeTo(this.processingEnv.getFiler());
+        }
+    }
 }
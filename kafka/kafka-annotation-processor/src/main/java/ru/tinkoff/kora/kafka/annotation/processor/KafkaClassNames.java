@@ -7,12 +7,24 @@ public class KafkaClassNames {
     public static final ClassName consumerRecord = ClassName.get("org.apache.kafka.clients.consumer", "ConsumerRecord");
     public static final ClassName consumerRecords = ClassName.get("org.apache.kafka.clients.consumer", "ConsumerRecords");
     public static final ClassName deserializer = ClassName.get("org.apache.kafka.common.serialization", "Deserializer");
+    public static final ClassName producerRecord = ClassName.get("org.apache.kafka.clients.producer", "ProducerRecord");
+    public static final ClassName recordMetadata = ClassName.get("org.apache.kafka.clients.producer", "RecordMetadata");
+    public static final ClassName serializer = ClassName.get("org.apache.kafka.common.serialization", "Serializer");
+    public static final ClassName headers = ClassName.get("org.apache.kafka.common.header", "Headers");
+    public static final ClassName mono = ClassName.get("reactor.core.publisher", "Mono");
 
 
     public static final ClassName kafkaIncoming = ClassName.get("ru.tinkoff.kora.kafka.common.annotation", "KafkaIncoming");
     public static final ClassName kafkaConsumerConfig = ClassName.get("ru.tinkoff.kora.kafka.common.config", "KafkaConsumerConfig");
     public static final ClassName kafkaConsumerContainer = ClassName.get("ru.tinkoff.kora.kafka.common.containers", "KafkaConsumerContainer");
     public static final ClassName handlerWrapper = ClassName.get("ru.tinkoff.kora.kafka.common.containers.handlers.wrapper", "HandlerWrapper");
+    public static final ClassName kafkaConsumerSaturation = ClassName.get("ru.tinkoff.kora.kafka.common", "KafkaConsumerSaturation");
     public static final ClassName kafkaConsumerTelemetry = ClassName.get("ru.tinkoff.kora.kafka.common.telemetry", "KafkaConsumerTelemetry");
+    public static final ClassName kafkaPublisher = ClassName.get("ru.tinkoff.kora.kafka.common.annotation", "KafkaPublisher");
+    public static final ClassName kafkaPublisherTopic = ClassName.get("ru.tinkoff.kora.kafka.common.annotation", "KafkaPublisher", "Topic");
+    public static final ClassName kafkaPublisherConfig = ClassName.get("ru.tinkoff.kora.kafka.common.config", "KafkaPublisherConfig");
+    public static final ClassName abstractKafkaPublisher = ClassName.get("ru.tinkoff.kora.kafka.common.producer", "AbstractKafkaPublisher");
+    public static final ClassName kafkaDeadLetterPublisher = ClassName.get("ru.tinkoff.kora.kafka.common.producer", "KafkaDeadLetterPublisher");
+    public static final ClassName kafkaProducerTelemetry = ClassName.get("ru.tinkoff.kora.kafka.common.telemetry", "KafkaProducerTelemetry");
 
 }
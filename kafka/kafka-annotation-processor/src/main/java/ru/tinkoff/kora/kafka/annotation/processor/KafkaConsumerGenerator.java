@@ -14,6 +14,7 @@ import javax.lang.model.type.DeclaredType;
 import javax.lang.model.type.TypeMirror;
 import javax.lang.model.util.Elements;
 import javax.lang.model.util.Types;
+import java.util.List;
 
 import static ru.tinkoff.kora.kafka.annotation.processor.KafkaClassNames.*;
 import static ru.tinkoff.kora.kafka.annotation.processor.utils.KafkaUtils.prepareMethodName;
@@ -27,6 +28,7 @@ public class KafkaConsumerGenerator {
     private final TypeMirror consumerRecordType;
     private final TypeMirror consumerRecordsType;
     private final TypeMirror consumerType;
+    private final TypeMirror listType;
 
     public KafkaConsumerGenerator(ProcessingEnvironment processingEnv) {
         this.processingEnv = processingEnv;
@@ -37,6 +39,7 @@ public class KafkaConsumerGenerator {
         this.consumerRecordType = this.types.erasure(this.elements.getTypeElement(KafkaClassNames.consumerRecord.canonicalName()).asType());
         this.consumerRecordsType = this.types.erasure(this.elements.getTypeElement(KafkaClassNames.consumerRecords.canonicalName()).asType());
         this.consumerType = this.types.erasure(this.elements.getTypeElement(KafkaClassNames.consumer.canonicalName()).asType());
+        this.listType = this.types.erasure(this.elements.getTypeElement(List.class.getCanonicalName()).asType());
     }
 
     @Nullable
@@ -74,6 +77,14 @@ public class KafkaConsumerGenerator {
         methodBuilder.addParameter(ParameterizedTypeName.get(deserializer, consumerData.keyType()), "keyDeserializer");
         methodBuilder.addParameter(ParameterizedTypeName.get(deserializer, consumerData.valueType()), "valueDeserializer");
         methodBuilder.addParameter(ParameterizedTypeName.get(kafkaConsumerTelemetry, consumerData.keyType(), consumerData.valueType()), "telemetry");
+        methodBuilder.addParameter(ParameterSpec.builder(kafkaConsumerSaturation, "saturation")
+            .addAnnotation(AnnotationSpec.builder(Tag.class).addMember("value", tagsBlock.build()).build())
+            .addAnnotation(Nullable.class)
+            .build());
+        methodBuilder.addParameter(ParameterSpec.builder(kafkaDeadLetterPublisher, "deadLetterPublisher")
+            .addAnnotation(AnnotationSpec.builder(Tag.class).addMember("value", tagsBlock.build()).build())
+            .addAnnotation(Nullable.class)
+            .build());
         methodBuilder.returns(ParameterizedTypeName.get(kafkaConsumerContainer, consumerData.keyType(), consumerData.valueType()));
 
         var returnBlock = CodeBlock.of(
@@ -82,7 +93,9 @@ public class KafkaConsumerGenerator {
                             _consumerConfig,
                             keyDeserializer,
                             valueDeserializer,
-                            $T.wrapHandler(telemetry, _controller::$L)
+                            $T.wrapHandler(telemetry, _controller::$L),
+                            saturation,
+                            deadLetterPublisher
                 );""",
             kafkaConsumerContainer,
             handlerWrapper,
@@ -142,6 +155,14 @@ public class KafkaConsumerGenerator {
                     TypeName.get(args.get(1))
                 );
             }
+            var recordListType = this.recordListElementType(params.get(0).asType());
+            if (recordListType != null) {
+                var args = recordListType.getTypeArguments();
+                return new ConsumerContainerData(
+                    TypeName.get(args.get(0)),
+                    TypeName.get(args.get(1))
+                );
+            }
 
             return new ConsumerContainerData(
                 TypeName.get(byte[].class),
@@ -152,5 +173,18 @@ public class KafkaConsumerGenerator {
         return null;
     }
 
-
+    /**
+     * @return record type if the parameter is a batch of records: {@code List<ConsumerRecord<K, V>>}
+     */
+    @Nullable
+    private DeclaredType recordListElementType(TypeMirror type) {
+        if (!this.types.isSameType(this.types.erasure(type), this.listType)) {
+            return null;
+        }
+        var args = ((DeclaredType) type).getTypeArguments();
+        if (args.size() != 1 || !(args.get(0) instanceof DeclaredType element) || !this.types.isSameType(this.types.erasure(element), this.consumerRecordType)) {
+            return null;
+        }
+        return element;
+    }
 }
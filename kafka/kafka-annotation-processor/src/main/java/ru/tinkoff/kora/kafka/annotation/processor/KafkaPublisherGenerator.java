@@ -0,0 +1,251 @@
+package ru.tinkoff.kora.kafka.annotation.processor;
+
+import com.squareup.javapoet.*;
+import com.typesafe.config.Config;
+import ru.tinkoff.kora.annotation.processor.common.AnnotationUtils;
+import ru.tinkoff.kora.annotation.processor.common.CommonUtils;
+import ru.tinkoff.kora.annotation.processor.common.ProcessingErrorException;
+import ru.tinkoff.kora.common.Module;
+import ru.tinkoff.kora.common.Tag;
+import ru.tinkoff.kora.config.common.extractor.ConfigValueExtractor;
+
+import javax.annotation.Nullable;
+import javax.annotation.processing.Generated;
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.Elements;
+import javax.lang.model.util.Types;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+
+import static ru.tinkoff.kora.kafka.annotation.processor.KafkaClassNames.*;
+
+public class KafkaPublisherGenerator {
+    private final Elements elements;
+    private final Types types;
+    private final TypeMirror producerRecordType;
+    private final TypeMirror headersType;
+    private final TypeMirror listType;
+    private final TypeMirror monoType;
+    private final TypeMirror completionStageType;
+    private final TypeMirror completableFutureType;
+    private final TypeMirror voidType;
+    private final TypeMirror recordMetadataType;
+    private final TypeMirror recordMetadataListType;
+
+    public KafkaPublisherGenerator(ProcessingEnvironment processingEnv) {
+        this.elements = processingEnv.getElementUtils();
+        this.types = processingEnv.getTypeUtils();
+
+        this.producerRecordType = this.types.erasure(this.elements.getTypeElement(producerRecord.canonicalName()).asType());
+        this.headersType = this.elements.getTypeElement(headers.canonicalName()).asType();
+        this.listType = this.types.erasure(this.elements.getTypeElement(List.class.getCanonicalName()).asType());
+        this.monoType = this.types.erasure(this.elements.getTypeElement(mono.canonicalName()).asType());
+        this.completionStageType = this.types.erasure(this.elements.getTypeElement(CompletionStage.class.getCanonicalName()).asType());
+        this.completableFutureType = this.types.erasure(this.elements.getTypeElement(CompletableFuture.class.getCanonicalName()).asType());
+        this.voidType = this.elements.getTypeElement(Void.class.getCanonicalName()).asType();
+        this.recordMetadataType = this.elements.getTypeElement(recordMetadata.canonicalName()).asType();
+        this.recordMetadataListType = this.types.getDeclaredType(this.elements.getTypeElement(List.class.getCanonicalName()), this.recordMetadataType);
+    }
+
+    public static String implName(TypeElement publisher) {
+        return CommonUtils.getOuterClassesAsPrefix(publisher) + publisher.getSimpleName() + "_Impl";
+    }
+
+    public List<JavaFile> generate(TypeElement publisher) {
+        if (publisher.getKind() != ElementKind.INTERFACE) {
+            throw new ProcessingErrorException("@KafkaPublisher can be placed only on interfaces", publisher);
+        }
+        var packageName = this.elements.getPackageOf(publisher).getQualifiedName().toString();
+        var implName = implName(publisher);
+        var methods = new ArrayList<PublisherMethod>();
+        var names = new HashSet<String>();
+        for (var element : publisher.getEnclosedElements()) {
+            if (element.getKind() != ElementKind.METHOD || element.getModifiers().contains(Modifier.DEFAULT) || element.getModifiers().contains(Modifier.STATIC)) {
+                continue;
+            }
+            var method = (ExecutableElement) element;
+            var name = method.getSimpleName().toString();
+            while (!names.add(name)) {
+                name = name + "_";
+            }
+            methods.add(this.parseMethod(method, name));
+        }
+
+        var implBuilder = TypeSpec.classBuilder(implName)
+            .addModifiers(Modifier.PUBLIC, Modifier.FINAL)
+            .addAnnotation(AnnotationSpec.builder(Generated.class).addMember("value", "$S", KafkaPublisherGenerator.class.getCanonicalName()).build())
+            .addOriginatingElement(publisher)
+            .superclass(abstractKafkaPublisher)
+            .addSuperinterface(TypeName.get(publisher.asType()));
+        var constructor = MethodSpec.constructorBuilder()
+            .addModifiers(Modifier.PUBLIC)
+            .addParameter(kafkaPublisherConfig, "config")
+            .addParameter(kafkaProducerTelemetry, "telemetry")
+            .addStatement("super(config, telemetry)");
+        var serializers = new ArrayList<ParameterSpec>();
+        for (var method : methods) {
+            var keySerializer = ParameterSpec.builder(ParameterizedTypeName.get(serializer, method.keyType()), method.name() + "KeySerializer").build();
+            var valueSerializer = ParameterSpec.builder(ParameterizedTypeName.get(serializer, method.valueType()), method.name() + "ValueSerializer").build();
+            for (var parameter : List.of(keySerializer, valueSerializer)) {
+                serializers.add(parameter);
+                implBuilder.addField(parameter.type, parameter.name, Modifier.PRIVATE, Modifier.FINAL);
+                constructor.addParameter(parameter);
+                constructor.addStatement("this.$N = $N", parameter.name, parameter.name);
+            }
+            implBuilder.addMethod(this.generateMethod(method));
+        }
+        implBuilder.addMethod(constructor.build());
+
+        var moduleName = publisher.getSimpleName() + "Module";
+        var lowercaseName = CommonUtils.decapitalize(publisher.getSimpleName().toString());
+        var configPath = AnnotationUtils.<String>parseAnnotationValueWithoutDefault(AnnotationUtils.findAnnotation(publisher, kafkaPublisher), "value");
+        var tag = AnnotationSpec.builder(Tag.class).addMember("value", "$T.class", publisher).build();
+        var factory = MethodSpec.methodBuilder(lowercaseName)
+            .addModifiers(Modifier.PUBLIC, Modifier.DEFAULT)
+            .returns(TypeName.get(publisher.asType()))
+            .addParameter(ParameterSpec.builder(kafkaPublisherConfig, "config").addAnnotation(tag).build())
+            .addParameter(kafkaProducerTelemetry, "telemetry")
+            .addParameters(serializers);
+        var args = CodeBlock.builder().add("config, telemetry");
+        for (var parameter : serializers) {
+            args.add(", $N", parameter.name);
+        }
+        factory.addStatement("return new $T($L)", ClassName.get(packageName, implName), args.build());
+
+        var module = TypeSpec.interfaceBuilder(moduleName)
+            .addModifiers(Modifier.PUBLIC)
+            .addAnnotation(AnnotationSpec.builder(Generated.class).addMember("value", "$S", KafkaPublisherGenerator.class.getCanonicalName()).build())
+            .addAnnotation(AnnotationSpec.builder(Module.class).build())
+            .addOriginatingElement(publisher)
+            .addMethod(MethodSpec.methodBuilder(lowercaseName + "Config")
+                .addModifiers(Modifier.PUBLIC, Modifier.DEFAULT)
+                .addAnnotation(tag)
+                .returns(kafkaPublisherConfig)
+                .addParameter(TypeName.get(Config.class), "config")
+                .addParameter(ParameterizedTypeName.get(ClassName.get(ConfigValueExtractor.class), kafkaPublisherConfig), "extractor")
+                .addStatement("var configValue = config.getValue($S)", configPath)
+                .addStatement("return extractor.extract(configValue)")
+                .build())
+            .addMethod(factory.build());
+
+        return List.of(
+            JavaFile.builder(packageName, implBuilder.build()).build(),
+            JavaFile.builder(packageName, module.build()).build()
+        );
+    }
+
+    private MethodSpec generateMethod(PublisherMethod method) {
+        var b = CommonUtils.overridingKeepAop(method.method());
+        var parameters = method.method().getParameters();
+        var keySerializer = method.name() + "KeySerializer";
+        var valueSerializer = method.name() + "ValueSerializer";
+        var mono = this.types.isSameType(this.types.erasure(method.method().getReturnType()), this.monoType);
+        String send;
+        if (method.kind() == PublisherMethodKind.TRANSACTION) {
+            send = mono ? "sendTransactionalMono" : "sendTransactionalFuture";
+            b.addCode("var _result = this.$L($N, this.$N, this.$N)", send, parameters.get(0).getSimpleName().toString(), keySerializer, valueSerializer);
+        } else {
+            send = mono ? "sendMono" : "sendFuture";
+            if (method.kind() == PublisherMethodKind.RECORD) {
+                b.addCode("var _result = this.$L($N, this.$N, this.$N)", send, parameters.get(0).getSimpleName().toString(), keySerializer, valueSerializer);
+            } else {
+                var key = method.hasKey() ? CodeBlock.of("$N", parameters.get(0).getSimpleName().toString()) : CodeBlock.of("null");
+                var value = parameters.get(method.hasKey() ? 1 : 0).getSimpleName().toString();
+                var headers = method.hasHeaders() ? CodeBlock.of("$N", parameters.get(parameters.size() - 1).getSimpleName().toString()) : CodeBlock.of("null");
+                b.addStatement("var _record = new $T<$T, $T>($S, null, null, $L, $N, $L)", producerRecord, method.keyType(), method.valueType(), method.topic(), key, value, headers);
+                b.addCode("var _result = this.$L(_record, this.$N, this.$N)", send, keySerializer, valueSerializer);
+            }
+        }
+        if (!method.returnsVoid()) {
+            b.addCode(";\n");
+        } else if (mono) {
+            b.addCode(".then();\n");
+        } else {
+            b.addCode(".thenAccept(_metadata -> {});\n");
+        }
+        return b.addStatement("return _result").build();
+    }
+
+    private PublisherMethod parseMethod(ExecutableElement method, String name) {
+        var publisherMethod = this.parseSignature(method, name);
+        if (publisherMethod.returnsVoid()) {
+            return publisherMethod;
+        }
+        var resultType = ((DeclaredType) method.getReturnType()).getTypeArguments().get(0);
+        if (publisherMethod.kind() == PublisherMethodKind.TRANSACTION) {
+            if (!this.types.isSameType(resultType, this.recordMetadataListType)) {
+                throw new ProcessingErrorException("@KafkaPublisher method that accepts List of ProducerRecord should return Void or List<RecordMetadata> result, got " + resultType, method);
+            }
+        } else if (!this.types.isSameType(resultType, this.recordMetadataType)) {
+            throw new ProcessingErrorException("@KafkaPublisher method should return Void or RecordMetadata result, got " + resultType, method);
+        }
+        return publisherMethod;
+    }
+
+    private PublisherMethod parseSignature(ExecutableElement method, String name) {
+        var returnType = method.getReturnType();
+        if (returnType.getKind() != TypeKind.DECLARED || ((DeclaredType) returnType).getTypeArguments().size() != 1) {
+            throw new ProcessingErrorException("@KafkaPublisher method should return Mono, CompletionStage or CompletableFuture", method);
+        }
+        var returnErasure = this.types.erasure(returnType);
+        if (!this.types.isSameType(returnErasure, this.monoType) && !this.types.isSameType(returnErasure, this.completionStageType) && !this.types.isSameType(returnErasure, this.completableFutureType)) {
+            throw new ProcessingErrorException("@KafkaPublisher method should return Mono, CompletionStage or CompletableFuture", method);
+        }
+        var returnsVoid = this.types.isSameType(((DeclaredType) returnType).getTypeArguments().get(0), this.voidType);
+
+        var params = method.getParameters();
+        if (params.size() == 1) {
+            var type = params.get(0).asType();
+            if (this.types.isSameType(this.types.erasure(type), this.producerRecordType)) {
+                var args = ((DeclaredType) type).getTypeArguments();
+                return new PublisherMethod(method, name, PublisherMethodKind.RECORD, null, TypeName.get(args.get(0)).box(), TypeName.get(args.get(1)).box(), false, false, returnsVoid);
+            }
+            var recordType = this.recordListElementType(type);
+            if (recordType != null) {
+                var args = recordType.getTypeArguments();
+                return new PublisherMethod(method, name, PublisherMethodKind.TRANSACTION, null, TypeName.get(args.get(0)).box(), TypeName.get(args.get(1)).box(), false, false, returnsVoid);
+            }
+        }
+
+        var topicAnnotation = AnnotationUtils.findAnnotation(method, kafkaPublisherTopic);
+        if (topicAnnotation == null) {
+            throw new ProcessingErrorException("@KafkaPublisher method that doesn't accept ProducerRecord should be annotated with @KafkaPublisher.Topic", method);
+        }
+        var topic = AnnotationUtils.<String>parseAnnotationValueWithoutDefault(topicAnnotation, "value");
+        var hasHeaders = !params.isEmpty() && this.types.isAssignable(params.get(params.size() - 1).asType(), this.headersType);
+        var valueParams = hasHeaders ? params.size() - 1 : params.size();
+        if (valueParams == 1) {
+            return new PublisherMethod(method, name, PublisherMethodKind.VALUE, topic, TypeName.get(byte[].class), TypeName.get(params.get(0).asType()).box(), false, hasHeaders, returnsVoid);
+        }
+        if (valueParams == 2) {
+            return new PublisherMethod(method, name, PublisherMethodKind.VALUE, topic, TypeName.get(params.get(0).asType()).box(), TypeName.get(params.get(1).asType()).box(), true, hasHeaders, returnsVoid);
+        }
+        throw new ProcessingErrorException("Unsupported signature for @KafkaPublisher method, expected ProducerRecord, List of ProducerRecord, value or key and value optionally followed by Headers", method);
+    }
+
+    @Nullable
+    private DeclaredType recordListElementType(TypeMirror type) {
+        if (!this.types.isSameType(this.types.erasure(type), this.listType)) {
+            return null;
+        }
+        var args = ((DeclaredType) type).getTypeArguments();
+        if (args.size() != 1 || !(args.get(0) instanceof DeclaredType element) || !this.types.isSameType(this.types.erasure(element), this.producerRecordType)) {
+            return null;
+        }
+        return element;
+    }
+
+    private enum PublisherMethodKind {RECORD, TRANSACTION, VALUE}
+
+    private record PublisherMethod(ExecutableElement method, String name, PublisherMethodKind kind, @Nullable String topic, TypeName keyType, TypeName valueType, boolean hasKey, boolean hasHeaders, boolean returnsVoid) {}
+}
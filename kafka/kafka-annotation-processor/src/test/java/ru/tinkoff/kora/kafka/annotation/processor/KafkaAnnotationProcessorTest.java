@@ -2,14 +2,20 @@ package ru.tinkoff.kora.kafka.annotation.processor;
 
 import com.typesafe.config.Config;
 import org.apache.kafka.common.serialization.Deserializer;
+import org.apache.kafka.common.serialization.Serializer;
 import org.junit.jupiter.api.Test;
 import ru.tinkoff.kora.annotation.processor.common.TestUtils;
 import ru.tinkoff.kora.application.graph.TypeRef;
 import ru.tinkoff.kora.common.Tag;
 import ru.tinkoff.kora.config.common.extractor.ConfigValueExtractor;
+import ru.tinkoff.kora.kafka.common.KafkaConsumerSaturation;
 import ru.tinkoff.kora.kafka.common.config.KafkaConsumerConfig;
+import ru.tinkoff.kora.kafka.common.config.KafkaPublisherConfig;
 import ru.tinkoff.kora.kafka.common.containers.KafkaConsumerContainer;
+import ru.tinkoff.kora.kafka.common.producer.AbstractKafkaPublisher;
+import ru.tinkoff.kora.kafka.common.producer.KafkaDeadLetterPublisher;
 import ru.tinkoff.kora.kafka.common.telemetry.KafkaConsumerTelemetry;
+import ru.tinkoff.kora.kafka.common.telemetry.KafkaProducerTelemetry;
 
 import java.lang.reflect.Method;
 import java.lang.reflect.Parameter;
@@ -17,6 +23,8 @@ import java.lang.reflect.Type;
 import java.util.Arrays;
 import java.util.stream.Collectors;
 
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static ru.tinkoff.kora.annotation.processor.common.MethodAssertUtils.assertHasMethod;
 
 public class KafkaAnnotationProcessorTest {
@@ -29,10 +37,44 @@ public class KafkaAnnotationProcessorTest {
         assertConsumer(module, "processRecords", String.class, String.class);
         assertConsumer(module, "processRecordWithConsumer", String.class, String.class);
         assertConsumer(module, "processRecordsWithConsumer", String.class, String.class);
+        assertConsumer(module, "processRecordList", String.class, String.class);
         assertConsumer(module, "processValueWithException", byte[].class, String.class);
         assertConsumer(module, "processKeyValueWithException", String.class, String.class);
     }
 
+    @Test
+    void testKafkaPublisher() throws Exception {
+        var module = createModule(KafkaPublishers.class);
+        var impl = module.getClassLoader().loadClass(KafkaPublishers.class.getPackageName() + ".$KafkaPublishers_Impl");
+
+        assertThat(impl).isFinal();
+        assertThat(AbstractKafkaPublisher.class).isAssignableFrom(impl);
+        assertThat(KafkaPublishers.class).isAssignableFrom(impl);
+        assertHasMethod(module, "kafkaPublishersConfig", KafkaPublisherConfig.class,
+            Config.class,
+            TypeRef.of(ConfigValueExtractor.class, TypeRef.of(KafkaPublisherConfig.class))
+        );
+        assertHasMethod(module, "kafkaPublishers", KafkaPublishers.class,
+            KafkaPublisherConfig.class,
+            KafkaProducerTelemetry.class,
+            TypeRef.of(Serializer.class, String.class),
+            TypeRef.of(Serializer.class, String.class),
+            TypeRef.of(Serializer.class, byte[].class),
+            TypeRef.of(Serializer.class, String.class),
+            TypeRef.of(Serializer.class, Long.class),
+            TypeRef.of(Serializer.class, String.class),
+            TypeRef.of(Serializer.class, String.class),
+            TypeRef.of(Serializer.class, Integer.class)
+        );
+    }
+
+    @Test
+    void testKafkaPublisherInvalidResult() {
+        assertThatThrownBy(() -> TestUtils.annotationProcess(KafkaPublisherInvalidResult.class, new KafkaAnnotationProcessor()))
+            .isInstanceOf(TestUtils.CompilationErrorException.class)
+            .hasMessageContaining("@KafkaPublisher method should return Void or RecordMetadata result, got java.lang.String");
+    }
+
     private void assertConsumer(Class<?> module, String methodName, Type key, Type value) {
         var configName = "kafkaConsumersComponent" + methodName.substring(0, 1).toUpperCase() + methodName.substring(1) + "Config";
         var consumerName = "kafkaConsumersComponent" + methodName.substring(0, 1).toUpperCase() + methodName.substring(1);
@@ -46,7 +88,9 @@ public class KafkaAnnotationProcessorTest {
             KafkaConsumerConfig.class,
             TypeRef.of(Deserializer.class, key),
             TypeRef.of(Deserializer.class, value),
-            TypeRef.of(KafkaConsumerTelemetry.class, key, value)
+            TypeRef.of(KafkaConsumerTelemetry.class, key, value),
+            KafkaConsumerSaturation.class,
+            KafkaDeadLetterPublisher.class
         );
     }
 
@@ -7,6 +7,7 @@ import ru.tinkoff.kora.common.Component;
 import ru.tinkoff.kora.kafka.common.annotation.KafkaIncoming;
 
 import javax.annotation.Nullable;
+import java.util.List;
 
 @Component
 public final class KafkaConsumersComponent {
@@ -40,6 +41,11 @@ public final class KafkaConsumersComponent {
         consumer.commitAsync();
     }
 
+    @KafkaIncoming("kafka.sixth")
+    public void processRecordList(List<ConsumerRecord<String, String>> records) {
+        System.out.println(records.size());
+    }
+
     @KafkaIncoming("kafka.value.exception")
     public void processValueWithException(@Nullable String value, @Nullable Exception e) {
         System.out.println(value + " - " + e);
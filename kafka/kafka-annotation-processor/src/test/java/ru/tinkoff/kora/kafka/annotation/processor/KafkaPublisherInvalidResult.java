@@ -0,0 +1,10 @@
+package ru.tinkoff.kora.kafka.annotation.processor;
+
+import org.apache.kafka.clients.producer.ProducerRecord;
+import reactor.core.publisher.Mono;
+import ru.tinkoff.kora.kafka.common.annotation.KafkaPublisher;
+
+@KafkaPublisher("kafka.publisher")
+public interface KafkaPublisherInvalidResult {
+    Mono<String> sendRecord(ProducerRecord<String, String> record);
+}
@@ -0,0 +1,23 @@
+package ru.tinkoff.kora.kafka.annotation.processor;
+
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.clients.producer.RecordMetadata;
+import org.apache.kafka.common.header.Headers;
+import reactor.core.publisher.Mono;
+import ru.tinkoff.kora.kafka.common.annotation.KafkaPublisher;
+
+import java.util.List;
+import java.util.concurrent.CompletionStage;
+
+@KafkaPublisher("kafka.publisher")
+public interface KafkaPublishers {
+    Mono<RecordMetadata> sendRecord(ProducerRecord<String, String> record);
+
+    @KafkaPublisher.Topic("kafka.first")
+    Mono<Void> sendValue(String value);
+
+    @KafkaPublisher.Topic("kafka.second")
+    CompletionStage<RecordMetadata> sendKeyValue(Long key, String value, Headers headers);
+
+    CompletionStage<List<RecordMetadata>> sendTransactional(List<ProducerRecord<String, Integer>> records);
+}
@@ -15,10 +15,12 @@ import org.apache.kafka.clients.consumer.ConsumerRecord
 import org.apache.kafka.clients.consumer.ConsumerRecords
 import org.apache.kafka.common.serialization.Deserializer
 import ru.tinkoff.kora.common.Tag
+import ru.tinkoff.kora.kafka.common.KafkaConsumerSaturation
 import ru.tinkoff.kora.kafka.common.annotation.KafkaIncoming
 import ru.tinkoff.kora.kafka.common.config.KafkaConsumerConfig
 import ru.tinkoff.kora.kafka.common.containers.KafkaConsumerContainer
 import ru.tinkoff.kora.kafka.common.containers.handlers.wrapper.HandlerWrapper
+import ru.tinkoff.kora.kafka.common.producer.KafkaDeadLetterPublisher
 import ru.tinkoff.kora.kafka.common.telemetry.KafkaConsumerTelemetry
 import ru.tinkoff.kora.ksp.common.exception.ProcessingError
 import ru.tinkoff.kora.ksp.common.exception.ProcessingErrorException
@@ -29,6 +31,7 @@ class KafkaConsumerGenerator(private val kspLogger: KSPLogger, resolver: Resolve
     private val consumerType = resolver.getClassDeclarationByName(Consumer::class.qualifiedName!!)!!.asStarProjectedType()
     private val consumerRecordType = resolver.getClassDeclarationByName(ConsumerRecord::class.qualifiedName!!)!!.asStarProjectedType()
     private val consumerRecordsType = resolver.getClassDeclarationByName(ConsumerRecords::class.qualifiedName!!)!!.asStarProjectedType()
+    private val listType = resolver.getClassDeclarationByName(List::class.qualifiedName!!)!!.asStarProjectedType()
 
     fun generate(functionDeclaration: KSFunctionDeclaration): FunSpec? {
         functionDeclaration.getAnnotationsByType(KafkaIncoming::class).firstOrNull() ?: return null
@@ -54,6 +57,16 @@ class KafkaConsumerGenerator(private val kspLogger: KSPLogger, resolver: Resolve
         funBuilder.addParameter(
             "telemetry", KafkaConsumerTelemetry::class.asClassName().parameterizedBy(consumerData.keyType, consumerData.valueType)
         )
+        funBuilder.addParameter(
+            ParameterSpec.builder("saturation", KafkaConsumerSaturation::class.asClassName().copy(nullable = true))
+                .addAnnotation(AnnotationSpec.builder(Tag::class).addMember(tagsBlock.build()).build())
+                .build()
+        )
+        funBuilder.addParameter(
+            ParameterSpec.builder("deadLetterPublisher", KafkaDeadLetterPublisher::class.asClassName().copy(nullable = true))
+                .addAnnotation(AnnotationSpec.builder(Tag::class).addMember(tagsBlock.build()).build())
+                .build()
+        )
         funBuilder.returns(
             KafkaConsumerContainer::class.asClassName().parameterizedBy(consumerData.keyType, consumerData.valueType)
         )
@@ -63,7 +76,9 @@ class KafkaConsumerGenerator(private val kspLogger: KSPLogger, resolver: Resolve
                             _consumerConfig,
                             keyDeserializer,
                             valueDeserializer,
-                            %T.wrapHandler(telemetry, _controller::%L)
+                            %T.wrapHandler(telemetry, _controller::%L),
+                            saturation,
+                            deadLetterPublisher
                 )""",
             KafkaConsumerContainer::class,
             HandlerWrapper::class,
@@ -133,6 +148,16 @@ class KafkaConsumerGenerator(private val kspLogger: KSPLogger, resolver: Resolve
                     )
                 }
 
+                if (firstParamTypeProjection == listType) {
+                    val recordType = firstParamType.arguments[0].type?.resolve()
+                    if (recordType != null && recordType.starProjection() == consumerRecordType) {
+                        return ConsumerContainerData(
+                            recordType.arguments[0].toTypeName(),
+                            recordType.arguments[1].toTypeName()
+                        )
+                    }
+                }
+
                 return ConsumerContainerData(
                     ByteArray::class.asTypeName(),
                     params[0].type.toTypeName()
@@ -0,0 +1,239 @@
+package ru.tinkoff.kora.kafka.symbol.processor
+
+import com.google.devtools.ksp.KspExperimental
+import com.google.devtools.ksp.getAnnotationsByType
+import com.google.devtools.ksp.getClassDeclarationByName
+import com.google.devtools.ksp.getDeclaredFunctions
+import com.google.devtools.ksp.processing.Resolver
+import com.google.devtools.ksp.symbol.ClassKind
+import com.google.devtools.ksp.symbol.KSClassDeclaration
+import com.google.devtools.ksp.symbol.KSFunctionDeclaration
+import com.google.devtools.ksp.symbol.KSType
+import com.google.devtools.ksp.symbol.Modifier
+import com.squareup.kotlinpoet.*
+import com.squareup.kotlinpoet.ParameterizedTypeName.Companion.parameterizedBy
+import com.squareup.kotlinpoet.ksp.addOriginatingKSFile
+import com.squareup.kotlinpoet.ksp.toClassName
+import com.squareup.kotlinpoet.ksp.toTypeName
+import com.typesafe.config.Config
+import org.apache.kafka.clients.producer.ProducerRecord
+import org.apache.kafka.clients.producer.RecordMetadata
+import org.apache.kafka.common.header.Headers
+import org.apache.kafka.common.serialization.Serializer
+import reactor.core.publisher.Mono
+import ru.tinkoff.kora.common.Module
+import ru.tinkoff.kora.common.Tag
+import ru.tinkoff.kora.config.common.extractor.ConfigValueExtractor
+import ru.tinkoff.kora.kafka.common.annotation.KafkaPublisher
+import ru.tinkoff.kora.kafka.common.config.KafkaPublisherConfig
+import ru.tinkoff.kora.kafka.common.producer.AbstractKafkaPublisher
+import ru.tinkoff.kora.kafka.common.telemetry.KafkaProducerTelemetry
+import ru.tinkoff.kora.ksp.common.exception.ProcessingErrorException
+import ru.tinkoff.kora.ksp.common.getOuterClassesAsPrefix
+import java.util.concurrent.CompletableFuture
+import java.util.concurrent.CompletionStage
+import javax.annotation.processing.Generated
+
+@KspExperimental
+class KafkaPublisherGenerator(resolver: Resolver) {
+    private val producerRecordType = resolver.getClassDeclarationByName(ProducerRecord::class.qualifiedName!!)!!.asStarProjectedType()
+    private val headersType = resolver.getClassDeclarationByName(Headers::class.qualifiedName!!)!!.asStarProjectedType()
+    private val listType = resolver.getClassDeclarationByName(List::class.qualifiedName!!)!!.asStarProjectedType()
+
+    private enum class PublisherMethodKind { RECORD, TRANSACTION, VALUE }
+
+    private data class PublisherMethod(
+        val function: KSFunctionDeclaration,
+        val name: String,
+        val kind: PublisherMethodKind,
+        val topic: String?,
+        val keyType: TypeName,
+        val valueType: TypeName,
+        val hasKey: Boolean,
+        val hasHeaders: Boolean,
+    )
+
+    fun generate(publisher: KSClassDeclaration): List<FileSpec> {
+        if (publisher.classKind != ClassKind.INTERFACE) {
+            throw ProcessingErrorException("@KafkaPublisher can be placed only on interfaces", publisher)
+        }
+        val packageName = publisher.packageName.asString()
+        val implName = publisher.getOuterClassesAsPrefix() + publisher.simpleName.asString() + "_Impl"
+        val names = hashSetOf<String>()
+        val methods = publisher.getDeclaredFunctions()
+            .filter { it.isAbstract }
+            .map {
+                var name = it.simpleName.asString()
+                while (!names.add(name)) {
+                    name += "_"
+                }
+                parseMethod(it, name)
+            }
+            .toList()
+
+        val implBuilder = TypeSpec.classBuilder(implName)
+            .addAnnotation(AnnotationSpec.builder(Generated::class).addMember("%S", KafkaPublisherGenerator::class.qualifiedName!!).build())
+            .addOriginatingKSFile(publisher.containingFile!!)
+            .superclass(AbstractKafkaPublisher::class)
+            .addSuperclassConstructorParameter("config")
+            .addSuperclassConstructorParameter("telemetry")
+            .addSuperinterface(publisher.toClassName())
+        val constructor = FunSpec.constructorBuilder()
+            .addParameter("config", KafkaPublisherConfig::class)
+            .addParameter("telemetry", KafkaProducerTelemetry::class)
+        val serializers = mutableListOf<ParameterSpec>()
+        for (method in methods) {
+            val keySerializer = ParameterSpec.builder(method.name + "KeySerializer", Serializer::class.asClassName().parameterizedBy(method.keyType)).build()
+            val valueSerializer = ParameterSpec.builder(method.name + "ValueSerializer", Serializer::class.asClassName().parameterizedBy(method.valueType)).build()
+            for (parameter in listOf(keySerializer, valueSerializer)) {
+                serializers.add(parameter)
+                constructor.addParameter(parameter)
+                implBuilder.addProperty(PropertySpec.builder(parameter.name, parameter.type, KModifier.PRIVATE).initializer(parameter.name).build())
+            }
+            implBuilder.addFunction(generateMethod(method))
+        }
+        implBuilder.primaryConstructor(constructor.build())
+
+        val moduleName = publisher.simpleName.asString() + "Module"
+        val lowercaseName = publisher.simpleName.asString().replaceFirstChar { it.lowercaseChar() }
+        val configPath = publisher.getAnnotationsByType(KafkaPublisher::class).first().value
+        val tag = AnnotationSpec.builder(Tag::class).addMember("%T::class", publisher.toClassName()).build()
+        val factory = FunSpec.builder(lowercaseName)
+            .returns(publisher.toClassName())
+            .addParameter(ParameterSpec.builder("config", KafkaPublisherConfig::class).addAnnotation(tag).build())
+            .addParameter("telemetry", KafkaProducerTelemetry::class)
+            .addParameters(serializers)
+            .addStatement("return %T(%L)", ClassName(packageName, implName), (listOf("config", "telemetry") + serializers.map { it.name }).joinToString(", "))
+
+        val module = TypeSpec.interfaceBuilder(moduleName)
+            .addAnnotation(AnnotationSpec.builder(Generated::class).addMember("%S", KafkaPublisherGenerator::class.qualifiedName!!).build())
+            .addAnnotation(AnnotationSpec.builder(Module::class).build())
+            .addOriginatingKSFile(publisher.containingFile!!)
+            .addFunction(
+                FunSpec.builder(lowercaseName + "Config")
+                    .addAnnotation(tag)
+                    .returns(KafkaPublisherConfig::class)
+                    .addParameter("config", Config::class)
+                    .addParameter("extractor", ConfigValueExtractor::class.asClassName().parameterizedBy(KafkaPublisherConfig::class.asClassName()))
+                    .addStatement("val configValue = config.getValue(%S)", configPath)
+                    .addStatement("return extractor.extract(configValue)")
+                    .build()
+            )
+            .addFunction(factory.build())
+
+        val implFile = FileSpec.builder(packageName, implName)
+        if (methods.any { it.function.modifiers.contains(Modifier.SUSPEND) }) {
+            implFile.addImport("kotlinx.coroutines.reactor", "awaitSingle", "awaitSingleOrNull")
+        }
+        return listOf(
+            implFile.addType(implBuilder.build()).build(),
+            FileSpec.get(packageName, module.build())
+        )
+    }
+
+    private fun generateMethod(method: PublisherMethod): FunSpec {
+        val function = method.function
+        val isSuspend = function.modifiers.contains(Modifier.SUSPEND)
+        val returnType = function.returnType!!.resolve()
+        val b = FunSpec.builder(function.simpleName.asString())
+            .addModifiers(KModifier.OVERRIDE)
+            .returns(returnType.toTypeName())
+        if (isSuspend) {
+            b.addModifiers(KModifier.SUSPEND)
+        }
+        function.parameters.forEach { b.addParameter(it.name!!.asString(), it.type.toTypeName()) }
+        val parameters = function.parameters.map { it.name!!.asString() }
+        val keySerializer = method.name + "KeySerializer"
+        val valueSerializer = method.name + "ValueSerializer"
+        val mono = isSuspend || returnType.declaration.qualifiedName?.asString() == Mono::class.qualifiedName
+        val returnsUnit = if (isSuspend) returnType.isUnit() else returnType.arguments[0].type?.resolve()?.declaration?.qualifiedName?.asString() == Void::class.qualifiedName
+
+        val send = when (method.kind) {
+            PublisherMethodKind.TRANSACTION -> if (mono) "sendTransactionalMono" else "sendTransactionalFuture"
+            else -> if (mono) "sendMono" else "sendFuture"
+        }
+        if (method.kind == PublisherMethodKind.VALUE) {
+            val key = if (method.hasKey) parameters[0] else "null"
+            val value = parameters[if (method.hasKey) 1 else 0]
+            val headers = if (method.hasHeaders) parameters.last() else "null"
+            b.addStatement("val _record = %T<%T, %T>(%S, null, null, %L, %L, %L)", ProducerRecord::class, method.keyType, method.valueType, method.topic!!, key, value, headers)
+            b.addCode("val _result = %L(_record, %N, %N)", send, keySerializer, valueSerializer)
+        } else {
+            b.addCode("val _result = %L(%N, %N, %N)", send, parameters[0], keySerializer, valueSerializer)
+        }
+        when {
+            isSuspend && returnsUnit -> b.addCode(".awaitSingleOrNull()\n")
+            isSuspend -> b.addCode(".awaitSingle()\n")
+            !returnsUnit -> b.addCode("\n")
+            mono -> b.addCode(".then()\n")
+            else -> b.addCode(".thenAccept {}\n")
+        }
+        if (!isSuspend || !returnsUnit) {
+            b.addStatement("return _result")
+        }
+        return b.build()
+    }
+
+    private fun KSType.isUnit() = this.declaration.qualifiedName?.asString() == Unit::class.qualifiedName
+
+    private fun parseMethod(function: KSFunctionDeclaration, name: String): PublisherMethod {
+        val method = parseSignature(function, name)
+        val returnType = function.returnType!!.resolve()
+        val isSuspend = function.modifiers.contains(Modifier.SUSPEND)
+        val resultType = (if (isSuspend) returnType.toTypeName() else returnType.arguments[0].toTypeName()).copy(nullable = false)
+        if (resultType == (if (isSuspend) UNIT else Void::class.asTypeName())) {
+            return method
+        }
+        if (method.kind == PublisherMethodKind.TRANSACTION) {
+            if (resultType != List::class.asClassName().parameterizedBy(RecordMetadata::class.asClassName())) {
+                throw ProcessingErrorException("@KafkaPublisher function that accepts List of ProducerRecord should return ${if (isSuspend) "Unit" else "Void"} or List<RecordMetadata> result, got $resultType", function)
+            }
+        } else if (resultType != RecordMetadata::class.asClassName()) {
+            throw ProcessingErrorException("@KafkaPublisher function should return ${if (isSuspend) "Unit" else "Void"} or RecordMetadata result, got $resultType", function)
+        }
+        return method
+    }
+
+    private fun parseSignature(function: KSFunctionDeclaration, name: String): PublisherMethod {
+        val returnType = function.returnType!!.resolve()
+        val returnTypeName = returnType.declaration.qualifiedName?.asString()
+        val isSuspend = function.modifiers.contains(Modifier.SUSPEND)
+        if (isSuspend) {
+            if (!returnType.isUnit() && returnTypeName != RecordMetadata::class.qualifiedName && returnTypeName != List::class.qualifiedName) {
+                throw ProcessingErrorException("@KafkaPublisher suspend function should return RecordMetadata, List<RecordMetadata> or Unit", function)
+            }
+        } else if (returnTypeName != Mono::class.qualifiedName && returnTypeName != CompletionStage::class.qualifiedName && returnTypeName != CompletableFuture::class.qualifiedName) {
+            throw ProcessingErrorException("@KafkaPublisher function should be suspend or return Mono, CompletionStage or CompletableFuture", function)
+        }
+
+        val params = function.parameters
+        if (params.size == 1) {
+            val type = params[0].type.resolve()
+            if (type.starProjection() == producerRecordType) {
+                return PublisherMethod(function, name, PublisherMethodKind.RECORD, null, type.arguments[0].serializedTypeName(), type.arguments[1].serializedTypeName(), false, false)
+            }
+            if (type.starProjection() == listType) {
+                val recordType = type.arguments[0].type?.resolve()
+                if (recordType != null && recordType.starProjection() == producerRecordType) {
+                    return PublisherMethod(function, name, PublisherMethodKind.TRANSACTION, null, recordType.arguments[0].serializedTypeName(), recordType.arguments[1].serializedTypeName(), false, false)
+                }
+            }
+        }
+
+        val topic = function.getAnnotationsByType(KafkaPublisher.Topic::class).firstOrNull()?.value
+            ?: throw ProcessingErrorException("@KafkaPublisher function that doesn't accept ProducerRecord should be annotated with @KafkaPublisher.Topic", function)
+        val hasHeaders = params.isNotEmpty() && headersType.isAssignableFrom(params.last().type.resolve().makeNotNullable())
+        val valueParams = if (hasHeaders) params.size - 1 else params.size
+        return when (valueParams) {
+            1 -> PublisherMethod(function, name, PublisherMethodKind.VALUE, topic, ByteArray::class.asTypeName(), params[0].type.toTypeName().copy(nullable = false), false, hasHeaders)
+            2 -> PublisherMethod(function, name, PublisherMethodKind.VALUE, topic, params[0].type.toTypeName().copy(nullable = false), params[1].type.toTypeName().copy(nullable = false), true, hasHeaders)
+            else -> throw ProcessingErrorException(
+                "Unsupported signature for @KafkaPublisher function, expected ProducerRecord, List of ProducerRecord, value or key and value optionally followed by Headers", function
+            )
+        }
+    }
+
+    private fun com.google.devtools.ksp.symbol.KSTypeArgument.serializedTypeName() = this.toTypeName().let {
+        if (it is WildcardTypeName) it else it.copy(nullable = false)
+    }
+}
@@ -9,6 +9,7 @@ import com.google.devtools.ksp.symbol.KSAnnotated
 import com.google.devtools.ksp.symbol.KSClassDeclaration
 import com.squareup.kotlinpoet.ksp.writeTo
 import ru.tinkoff.kora.kafka.common.annotation.KafkaIncoming
+import ru.tinkoff.kora.kafka.common.annotation.KafkaPublisher
 import ru.tinkoff.kora.ksp.common.BaseSymbolProcessor
 import ru.tinkoff.kora.ksp.common.visitFunction
 
@@ -26,6 +27,9 @@ class KafkaSymbolProcessor(private val environment: SymbolProcessorEnvironment)
         controllers.forEach { ksClassDeclaration ->
             processController(ksClassDeclaration)
         }
+        resolver.getSymbolsWithAnnotation(KafkaPublisher::class.qualifiedName!!).forEach {
+            processPublisher(it as KSClassDeclaration)
+        }
         return emptyList()
     }
 
@@ -36,6 +40,11 @@ class KafkaSymbolProcessor(private val environment: SymbolProcessorEnvironment)
         val file = generator.generateModule(controller)
         file.writeTo(environment.codeGenerator, false)
     }
+
+    private fun processPublisher(publisher: KSClassDeclaration) {
+        val generator = KafkaPublisherGenerator(resolver)
+        generator.generate(publisher).forEach { it.writeTo(environment.codeGenerator, false) }
+    }
 }
 
 @KspExperimental
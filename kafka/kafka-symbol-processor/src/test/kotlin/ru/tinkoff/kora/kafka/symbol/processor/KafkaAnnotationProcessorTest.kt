@@ -3,14 +3,21 @@ package ru.tinkoff.kora.kafka.symbol.processor
 import com.google.devtools.ksp.KspExperimental
 import com.typesafe.config.Config
 import org.apache.kafka.common.serialization.Deserializer
+import org.apache.kafka.common.serialization.Serializer
 import org.assertj.core.api.Assertions
 import org.junit.jupiter.api.Test
 import ru.tinkoff.kora.annotation.processor.common.MethodAssertUtils
 import ru.tinkoff.kora.application.graph.TypeRef
 import ru.tinkoff.kora.config.common.extractor.ConfigValueExtractor
+import ru.tinkoff.kora.kafka.common.KafkaConsumerSaturation
 import ru.tinkoff.kora.kafka.common.config.KafkaConsumerConfig
+import ru.tinkoff.kora.kafka.common.config.KafkaPublisherConfig
 import ru.tinkoff.kora.kafka.common.containers.KafkaConsumerContainer
+import ru.tinkoff.kora.kafka.common.producer.AbstractKafkaPublisher
+import ru.tinkoff.kora.kafka.common.producer.KafkaDeadLetterPublisher
 import ru.tinkoff.kora.kafka.common.telemetry.KafkaConsumerTelemetry
+import ru.tinkoff.kora.kafka.common.telemetry.KafkaProducerTelemetry
+import ru.tinkoff.kora.ksp.common.CompilationErrorException
 import ru.tinkoff.kora.ksp.common.symbolProcess
 import java.lang.reflect.Type
 import java.lang.reflect.Modifier
@@ -26,12 +33,47 @@ class KafkaAnnotationProcessorTest {
         assertConsumer(module, "processRecordWithConsumer", String::class.java, String::class.java)
         assertConsumer(module, "processRecords", String::class.java, String::class.java)
         assertConsumer(module, "processRecordsWithConsumer", String::class.java, String::class.java)
+        assertConsumer(module, "processRecordList", String::class.java, String::class.java)
         assertConsumer(module, "processRecord", String::class.java, String::class.java)
         assertConsumer(module, "processValue", ByteArray::class.java, String::class.java)
         assertConsumer(module, "processKeyValueWithException", String::class.java, String::class.java)
         assertConsumer(module, "processValueWithException", ByteArray::class.java, String::class.java)
     }
 
+    @Test
+    fun testKafkaPublisher() {
+        val module = createModule(KafkaPublishers::class)
+        val impl = module.classLoader.loadClass(KafkaPublishers::class.java.packageName + ".\$KafkaPublishers_Impl")
+        Assertions.assertThat(AbstractKafkaPublisher::class.java).isAssignableFrom(impl)
+        Assertions.assertThat(KafkaPublishers::class.java).isAssignableFrom(impl)
+        MethodAssertUtils.assertHasMethod(
+            module, "kafkaPublishersConfig", KafkaPublisherConfig::class.java,
+            Config::class.java,
+            TypeRef.of(ConfigValueExtractor::class.java, TypeRef.of(KafkaPublisherConfig::class.java))
+        )
+        MethodAssertUtils.assertHasMethod(
+            module, "kafkaPublishers", KafkaPublishers::class.java,
+            KafkaPublisherConfig::class.java,
+            KafkaProducerTelemetry::class.java,
+            TypeRef.of(Serializer::class.java, String::class.java),
+            TypeRef.of(Serializer::class.java, String::class.java),
+            TypeRef.of(Serializer::class.java, ByteArray::class.java),
+            TypeRef.of(Serializer::class.java, String::class.java),
+            TypeRef.of(Serializer::class.java, java.lang.Long::class.java),
+            TypeRef.of(Serializer::class.java, String::class.java),
+            TypeRef.of(Serializer::class.java, String::class.java),
+            TypeRef.of(Serializer::class.java, Integer::class.java)
+        )
+    }
+
+    @Test
+    fun testKafkaPublisherInvalidResult() {
+        Assertions.assertThatThrownBy { symbolProcess(KafkaPublisherInvalidResult::class, KafkaSymbolProcessorProvider()) }
+            .isInstanceOfSatisfying(CompilationErrorException::class.java) { e ->
+                Assertions.assertThat(e.messages).anyMatch { it.contains("@KafkaPublisher function should return Void or RecordMetadata result, got kotlin.String") }
+            }
+    }
+
     private fun assertConsumer(module: Class<*>, methodName: String, key: Type, value: Type) {
         val configName = "kafkaConsumersComponent" + methodName.substring(0, 1).uppercase(Locale.getDefault()) + methodName.substring(1) + "Config"
         val consumerName = "kafkaConsumersComponent" + methodName.substring(0, 1).uppercase(Locale.getDefault()) + methodName.substring(1)
@@ -46,7 +88,9 @@ class KafkaAnnotationProcessorTest {
             KafkaConsumerConfig::class.java,
             TypeRef.of(Deserializer::class.java, key),
             TypeRef.of(Deserializer::class.java, value),
-            TypeRef.of(KafkaConsumerTelemetry::class.java, key, value)
+            TypeRef.of(KafkaConsumerTelemetry::class.java, key, value),
+            KafkaConsumerSaturation::class.java,
+            KafkaDeadLetterPublisher::class.java
         )
     }
 
@@ -44,6 +44,11 @@ class KafkaConsumersComponent {
         consumer.commitAsync()
     }
 
+    @KafkaIncoming("kafka.sixth")
+    fun processRecordList(records: List<ConsumerRecord<String, String>>) {
+        println(records.size)
+    }
+
     @KafkaIncoming("kafka.key.value.incomming")
     fun processKeyValueWithException(
         key: String?,
@@ -0,0 +1,10 @@
+package ru.tinkoff.kora.kafka.symbol.processor
+
+import org.apache.kafka.clients.producer.ProducerRecord
+import reactor.core.publisher.Mono
+import ru.tinkoff.kora.kafka.common.annotation.KafkaPublisher
+
+@KafkaPublisher("kafka.publisher")
+interface KafkaPublisherInvalidResult {
+    fun sendRecord(record: ProducerRecord<String, String>): Mono<String>
+}
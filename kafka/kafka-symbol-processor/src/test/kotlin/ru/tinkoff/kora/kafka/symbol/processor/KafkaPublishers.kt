@@ -0,0 +1,21 @@
+package ru.tinkoff.kora.kafka.symbol.processor
+
+import org.apache.kafka.clients.producer.ProducerRecord
+import org.apache.kafka.clients.producer.RecordMetadata
+import org.apache.kafka.common.header.Headers
+import reactor.core.publisher.Mono
+import ru.tinkoff.kora.kafka.common.annotation.KafkaPublisher
+import java.util.concurrent.CompletionStage
+
+@KafkaPublisher("kafka.publisher")
+interface KafkaPublishers {
+    fun sendRecord(record: ProducerRecord<String, String>): Mono<RecordMetadata>
+
+    @KafkaPublisher.Topic("kafka.first")
+    fun sendValue(value: String): Mono<Void>
+
+    @KafkaPublisher.Topic("kafka.second")
+    fun sendKeyValue(key: Long, value: String, headers: Headers): CompletionStage<RecordMetadata>
+
+    fun sendTransactional(records: List<ProducerRecord<String, Int>>): CompletionStage<List<RecordMetadata>>
+}
@@ -0,0 +1,36 @@
+package ru.tinkoff.kora.kafka.common;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Saturation driven by the work started by handlers and completed asynchronously, e.g. requests sent to downstream without waiting for the response.
+ * <p>
+ * Handler calls {@link #acquire()} when the work is started and {@link #release()} when it is completed,
+ * consumer is paused while {@code maxInFlight} or more units of work are in flight.
+ */
+public final class InFlightKafkaConsumerSaturation implements KafkaConsumerSaturation {
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final int maxInFlight;
+
+    public InFlightKafkaConsumerSaturation(int maxInFlight) {
+        if (maxInFlight <= 0) throw new IllegalArgumentException("`maxInFlight` must be positive");
+        this.maxInFlight = maxInFlight;
+    }
+
+    public void acquire() {
+        this.inFlight.incrementAndGet();
+    }
+
+    public void release() {
+        this.inFlight.decrementAndGet();
+    }
+
+    public int inFlight() {
+        return this.inFlight.get();
+    }
+
+    @Override
+    public boolean isSaturated() {
+        return this.inFlight.get() >= this.maxInFlight;
+    }
+}
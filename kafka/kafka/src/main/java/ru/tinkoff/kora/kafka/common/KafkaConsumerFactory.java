@@ -1,6 +1,7 @@
 package ru.tinkoff.kora.kafka.common;
 
 import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRebalanceListener;
 import org.apache.kafka.clients.consumer.KafkaConsumer;
 import org.apache.kafka.common.PartitionInfo;
 import org.apache.kafka.common.TopicPartition;
@@ -10,6 +11,7 @@ import ru.tinkoff.kora.kafka.common.config.KafkaConsumerConfig;
 import ru.tinkoff.kora.kafka.common.containers.ConsumerWrapper;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 
@@ -17,6 +19,13 @@ public interface KafkaConsumerFactory<K, V> {
 
     Consumer<K, V> buildConsumer();
 
+    /**
+     * @param rebalanceListener listener of partitions assigned to the consumer, invoked only for subscribed consumers
+     */
+    default Consumer<K, V> buildConsumer(ConsumerRebalanceListener rebalanceListener) {
+        return this.buildConsumer();
+    }
+
     static <K, V> KafkaConsumerFactory<K, V> subscribe(KafkaConsumerConfig consumerConfig, Deserializer<K> keyDeserializer, Deserializer<V> valueDeserializer) {
         return new SubscribeKafkaConsumerFactory<>(consumerConfig, keyDeserializer, valueDeserializer);
     }
@@ -26,6 +35,14 @@ public interface KafkaConsumerFactory<K, V> {
     }
 
     final class SubscribeKafkaConsumerFactory<K, V> implements KafkaConsumerFactory<K, V> {
+        private static final ConsumerRebalanceListener NOOP_REBALANCE_LISTENER = new ConsumerRebalanceListener() {
+            @Override
+            public void onPartitionsRevoked(Collection<TopicPartition> partitions) {}
+
+            @Override
+            public void onPartitionsAssigned(Collection<TopicPartition> partitions) {}
+        };
+
         private final KafkaConsumerConfig consumerConfig;
         private final Deserializer<K> keyDeserializer;
         private final Deserializer<V> valueDeserializer;
@@ -38,13 +55,18 @@ public interface KafkaConsumerFactory<K, V> {
 
         @Override
         public Consumer<K, V> buildConsumer() {
+            return this.buildConsumer(NOOP_REBALANCE_LISTENER);
+        }
+
+        @Override
+        public Consumer<K, V> buildConsumer(ConsumerRebalanceListener rebalanceListener) {
             KafkaConsumer<byte[], byte[]> consumer = new KafkaConsumer<>(consumerConfig.driverProperties(), new ByteArrayDeserializer(), new ByteArrayDeserializer());
 
             try {
                 if (consumerConfig.topicsPattern() != null) {
-                    consumer.subscribe(consumerConfig.topicsPattern());
+                    consumer.subscribe(consumerConfig.topicsPattern(), rebalanceListener);
                 } else if (consumerConfig.topics() != null) {
-                    consumer.subscribe(consumerConfig.topics());
+                    consumer.subscribe(consumerConfig.topics(), rebalanceListener);
                 }
             } catch (Exception e) {
                 try {
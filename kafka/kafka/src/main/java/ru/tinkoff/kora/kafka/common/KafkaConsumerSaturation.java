@@ -0,0 +1,17 @@
+package ru.tinkoff.kora.kafka.common;
+
+/**
+ * Signals that downstream of the consumer can't accept more records.
+ * <p>
+ * Container checks the signal after each poll and pauses all the assigned partitions while downstream is saturated.
+ * Paused consumer keeps polling, so it stays in the group, and partitions are resumed as soon as the signal is cleared.
+ */
+@FunctionalInterface
+public interface KafkaConsumerSaturation {
+    /**
+     * Must not block, invoked on the poll thread
+     *
+     * @return true if the consumer should stop fetching records
+     */
+    boolean isSaturated();
+}
@@ -2,9 +2,13 @@ package ru.tinkoff.kora.kafka.common;
 
 import ru.tinkoff.kora.common.DefaultComponent;
 import ru.tinkoff.kora.kafka.common.telemetry.DefaultKafkaConsumerTelemetry;
+import ru.tinkoff.kora.kafka.common.telemetry.DefaultKafkaProducerTelemetry;
 import ru.tinkoff.kora.kafka.common.telemetry.KafkaConsumerLogger;
 import ru.tinkoff.kora.kafka.common.telemetry.KafkaConsumerMetrics;
 import ru.tinkoff.kora.kafka.common.telemetry.KafkaConsumerTracer;
+import ru.tinkoff.kora.kafka.common.telemetry.KafkaProducerLogger;
+import ru.tinkoff.kora.kafka.common.telemetry.KafkaProducerMetrics;
+import ru.tinkoff.kora.kafka.common.telemetry.KafkaProducerTracer;
 
 import javax.annotation.Nullable;
 
@@ -13,4 +17,9 @@ public interface KafkaModule extends KafkaDeserializersModule, KafkaSerializersM
     default <K, V> DefaultKafkaConsumerTelemetry<K, V> defaultKafkaConsumerTelemetry(@Nullable KafkaConsumerLogger<K, V> logger, @Nullable KafkaConsumerTracer tracing, @Nullable KafkaConsumerMetrics metrics) {
         return new DefaultKafkaConsumerTelemetry<>(logger, tracing, metrics);
     }
+
+    @DefaultComponent
+    default DefaultKafkaProducerTelemetry defaultKafkaProducerTelemetry(@Nullable KafkaProducerLogger logger, @Nullable KafkaProducerTracer tracing, @Nullable KafkaProducerMetrics metrics) {
+        return new DefaultKafkaProducerTelemetry(logger, tracing, metrics);
+    }
 }
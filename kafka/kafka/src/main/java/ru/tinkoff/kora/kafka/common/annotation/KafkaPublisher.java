@@ -0,0 +1,38 @@
+package ru.tinkoff.kora.kafka.common.annotation;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Interface level annotation used to generate Kafka Producer backed implementation of the interface.
+ * <p>
+ * Each method sends records to the topic specified by {@link Topic} and returns {@code Mono} or {@code CompletionStage}
+ * of {@link org.apache.kafka.clients.producer.RecordMetadata} (or {@code Void}) without blocking the caller.
+ * Method accepts either {@link org.apache.kafka.clients.producer.ProducerRecord}, or value, or key and value, optionally followed by {@link org.apache.kafka.common.header.Headers}.
+ * Method accepting {@code List} of {@link org.apache.kafka.clients.producer.ProducerRecord} sends all the records in a single transaction
+ * and requires {@code transactional.id} driver property.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.TYPE})
+public @interface KafkaPublisher {
+
+    /**
+     * @return config path of {@link ru.tinkoff.kora.kafka.common.config.KafkaPublisherConfig}
+     */
+    String value();
+
+    /**
+     * Method level annotation used to specify which topic method should send records to.
+     */
+    @Retention(RetentionPolicy.RUNTIME)
+    @Target({ElementType.METHOD})
+    @interface Topic {
+
+        /**
+         * @return topic name to send records to
+         */
+        String value();
+    }
+}
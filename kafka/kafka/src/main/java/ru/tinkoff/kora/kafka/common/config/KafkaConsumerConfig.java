@@ -17,12 +17,60 @@ public record KafkaConsumerConfig(
     Either<Duration, String> offset,
     Duration pollTimeout,
     Duration backoffTimeout,
-    int threads
+    int threads,
+    int parallelism,
+    ParallelOrdering parallelOrdering,
+    int maxInFlightRecordsPerPartition,
+    CommitMode commitMode,
+    Duration commitInterval,
+    int commitRecords,
+    int maxBatchSize,
+    int retries,
+    Duration retryBackoff,
+    @Nullable String deadLetterTopic
 ) {
     private static final Duration DEFAULT_POLL_TIMEOUT = Duration.ofSeconds(5);
     private static final Duration DEFAULT_BACKOFF_TIMEOUT = Duration.ofSeconds(15);
     private static final int DEFAULT_THREADS_COUNT = 1;
     private static final Either<Duration, String> DEFAULT_OFFSET = Either.right("latest");
+    private static final int DEFAULT_PARALLELISM = 0;
+    private static final ParallelOrdering DEFAULT_PARALLEL_ORDERING = ParallelOrdering.PARTITION;
+    private static final int DEFAULT_MAX_IN_FLIGHT_RECORDS_PER_PARTITION = 1000;
+    private static final CommitMode DEFAULT_COMMIT_MODE = CommitMode.SYNC;
+    private static final Duration DEFAULT_COMMIT_INTERVAL = Duration.ofSeconds(5);
+    private static final int DEFAULT_COMMIT_RECORDS = 1000;
+    private static final int DEFAULT_MAX_BATCH_SIZE = 0;
+    private static final int DEFAULT_RETRIES = 0;
+    private static final Duration DEFAULT_RETRY_BACKOFF = Duration.ofSeconds(1);
+
+    /**
+     * Which records are processed in order when records of a single consumer are processed in parallel
+     */
+    public enum ParallelOrdering {
+        /**
+         * Records of the same partition are processed sequentially
+         */
+        PARTITION,
+        /**
+         * Records of the same partition with the same key are processed sequentially, records with different keys are processed concurrently
+         */
+        KEY
+    }
+
+    /**
+     * How offsets of processed records are committed by handlers with automatic commit
+     */
+    public enum CommitMode {
+        /**
+         * Offsets are committed synchronously after each poll
+         */
+        SYNC,
+        /**
+         * Offsets are committed asynchronously once {@code commitRecords} records are processed or {@code commitInterval} has passed since the last commit.
+         * Pending offsets are committed synchronously when partitions are revoked and when consumer is closed
+         */
+        ASYNC
+    }
 
     public KafkaConsumerConfig(
         Properties driverProperties,
@@ -32,7 +80,17 @@ public record KafkaConsumerConfig(
         @Nullable Either<Duration, String> offset,
         @Nullable Duration pollTimeout,
         @Nullable Duration backoffTimeout,
-        @Nullable Integer threads
+        @Nullable Integer threads,
+        @Nullable Integer parallelism,
+        @Nullable ParallelOrdering parallelOrdering,
+        @Nullable Integer maxInFlightRecordsPerPartition,
+        @Nullable CommitMode commitMode,
+        @Nullable Duration commitInterval,
+        @Nullable Integer commitRecords,
+        @Nullable Integer maxBatchSize,
+        @Nullable Integer retries,
+        @Nullable Duration retryBackoff,
+        @Nullable String deadLetterTopic
     ) {
         this(
             driverProperties,
@@ -42,10 +100,27 @@ public record KafkaConsumerConfig(
             offset == null ? DEFAULT_OFFSET : offset ,
             pollTimeout == null ? DEFAULT_POLL_TIMEOUT : pollTimeout,
             backoffTimeout == null ? DEFAULT_BACKOFF_TIMEOUT : backoffTimeout,
-            threads == null ? DEFAULT_THREADS_COUNT : threads
+            threads == null ? DEFAULT_THREADS_COUNT : threads,
+            parallelism == null ? DEFAULT_PARALLELISM : parallelism,
+            parallelOrdering == null ? DEFAULT_PARALLEL_ORDERING : parallelOrdering,
+            maxInFlightRecordsPerPartition == null ? DEFAULT_MAX_IN_FLIGHT_RECORDS_PER_PARTITION : maxInFlightRecordsPerPartition,
+            commitMode == null ? DEFAULT_COMMIT_MODE : commitMode,
+            commitInterval == null ? DEFAULT_COMMIT_INTERVAL : commitInterval,
+            commitRecords == null ? DEFAULT_COMMIT_RECORDS : commitRecords,
+            maxBatchSize == null ? DEFAULT_MAX_BATCH_SIZE : maxBatchSize,
+            retries == null ? DEFAULT_RETRIES : retries,
+            retryBackoff == null ? DEFAULT_RETRY_BACKOFF : retryBackoff,
+            deadLetterTopic
         );
 
         if (topics == null && topicsPattern == null && partitions == null) throw new IllegalArgumentException("`topics` or `topicsPattern` or `partitions` must be specified");
+        if (this.parallelism < 0) throw new IllegalArgumentException("`parallelism` must not be negative");
+        if (this.maxInFlightRecordsPerPartition <= 0) throw new IllegalArgumentException("`maxInFlightRecordsPerPartition` must be positive");
+        if (this.commitInterval.isNegative()) throw new IllegalArgumentException("`commitInterval` must not be negative");
+        if (this.commitRecords <= 0) throw new IllegalArgumentException("`commitRecords` must be positive");
+        if (this.maxBatchSize < 0) throw new IllegalArgumentException("`maxBatchSize` must not be negative");
+        if (this.retries < 0) throw new IllegalArgumentException("`retries` must not be negative");
+        if (this.retryBackoff.isNegative()) throw new IllegalArgumentException("`retryBackoff` must not be negative");
     }
 
     public KafkaConsumerConfig withDriverPropertiesOverrides(Map<String, Object> overrides) {
@@ -60,7 +135,17 @@ public record KafkaConsumerConfig(
             offset,
             pollTimeout,
             backoffTimeout,
-            threads
+            threads,
+            parallelism,
+            parallelOrdering,
+            maxInFlightRecordsPerPartition,
+            commitMode,
+            commitInterval,
+            commitRecords,
+            maxBatchSize,
+            retries,
+            retryBackoff,
+            deadLetterTopic
         );
     }
 }
@@ -0,0 +1,14 @@
+package ru.tinkoff.kora.kafka.common.config;
+
+import org.apache.kafka.clients.producer.ProducerConfig;
+
+import java.util.Properties;
+
+/**
+ * @param driverProperties properties of {@link org.apache.kafka.clients.producer.KafkaProducer}, publisher is transactional when {@code transactional.id} is set
+ */
+public record KafkaPublisherConfig(Properties driverProperties) {
+    public boolean transactional() {
+        return this.driverProperties.getProperty(ProducerConfig.TRANSACTIONAL_ID_CONFIG) != null;
+    }
+}
@@ -102,4 +102,12 @@ public final class ConsumerRecordWrapper<K, V> extends ConsumerRecord<K, V> {
     public String toString() {
         return realRecord.toString();
     }
+
+    byte[] serializedKey() {
+        return realRecord.key();
+    }
+
+    byte[] serializedValue() {
+        return realRecord.value();
+    }
 }
@@ -3,8 +3,11 @@ package ru.tinkoff.kora.kafka.common.containers;
 import org.apache.kafka.clients.CommonClientConfigs;
 import org.apache.kafka.clients.consumer.Consumer;
 import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.ConsumerRecords;
 import org.apache.kafka.clients.consumer.KafkaConsumer;
 import org.apache.kafka.common.KafkaException;
+import org.apache.kafka.common.TopicPartition;
 import org.apache.kafka.common.errors.WakeupException;
 import org.apache.kafka.common.serialization.Deserializer;
 import org.slf4j.Logger;
@@ -13,10 +16,19 @@ import reactor.core.publisher.Mono;
 import ru.tinkoff.kora.application.graph.Lifecycle;
 import ru.tinkoff.kora.common.Context;
 import ru.tinkoff.kora.kafka.common.KafkaConsumerFactory;
+import ru.tinkoff.kora.kafka.common.KafkaConsumerSaturation;
 import ru.tinkoff.kora.kafka.common.config.KafkaConsumerConfig;
+import ru.tinkoff.kora.kafka.common.containers.handlers.BaseKafkaRecordHandler;
 import ru.tinkoff.kora.kafka.common.containers.handlers.BaseKafkaRecordsHandler;
+import ru.tinkoff.kora.kafka.common.containers.handlers.impl.AutoCommitRecordsHandler;
+import ru.tinkoff.kora.kafka.common.producer.KafkaDeadLetterPublisher;
+import ru.tinkoff.kora.kafka.common.telemetry.KafkaConsumerTelemetry;
 
+import javax.annotation.Nullable;
+import java.util.ArrayList;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ExecutorService;
@@ -38,12 +50,43 @@ public final class KafkaConsumerContainer<K, V> implements Lifecycle {
     private final Set<Consumer<K, V>> consumers = new HashSet<>();
     private final KafkaConsumerConfig config;
     private final boolean allowCommit;
+    private final boolean parallel;
+    private final boolean containerCommit;
+    private final int maxBatchSize;
+    @Nullable
+    private final KafkaConsumerSaturation saturation;
+    private String threadPrefix = "unknown";
 
     public KafkaConsumerContainer(KafkaConsumerConfig config,
                                   Deserializer<K> keyDeserializer,
                                   Deserializer<V> valueDeserializer,
                                   BaseKafkaRecordsHandler<K, V> handler) {
+        this(config, keyDeserializer, valueDeserializer, handler, null);
+    }
+
+    public KafkaConsumerContainer(KafkaConsumerConfig config,
+                                  Deserializer<K> keyDeserializer,
+                                  Deserializer<V> valueDeserializer,
+                                  BaseKafkaRecordsHandler<K, V> handler,
+                                  @Nullable KafkaConsumerSaturation saturation) {
+        this(config, keyDeserializer, valueDeserializer, handler, saturation, null);
+    }
+
+    public KafkaConsumerContainer(KafkaConsumerConfig config,
+                                  Deserializer<K> keyDeserializer,
+                                  Deserializer<V> valueDeserializer,
+                                  BaseKafkaRecordsHandler<K, V> handler,
+                                  @Nullable KafkaConsumerSaturation saturation,
+                                  @Nullable KafkaDeadLetterPublisher deadLetterPublisher) {
+        if (config.retries() > 0 || config.deadLetterTopic() != null) {
+            if (handler instanceof BaseKafkaRecordHandler<K, V> recordHandler) {
+                handler = new RecoveringRecordHandler<>(recordHandler, config, deadLetterPublisher);
+            } else {
+                logger.warn("Retries and dead letter topic are supported only for record handlers with automatic commit, failed records will be processed again after consumer restart");
+            }
+        }
         this.handler = handler;
+        this.saturation = saturation;
         this.config = config;
         this.backoffTimeout = new AtomicLong(config.backoffTimeout().toMillis());
 
@@ -57,14 +100,48 @@ public final class KafkaConsumerContainer<K, V> implements Lifecycle {
             this.factory = KafkaConsumerFactory.subscribe(config, keyDeserializer, valueDeserializer);
             this.allowCommit = true;
         }
+        this.parallel = config.parallelism() > 0 && this.allowCommit && handler instanceof BaseKafkaRecordHandler<K, V>;
+        if (config.parallelism() > 0 && !this.parallel) {
+            logger.warn("Parallel processing is supported only for record handlers with automatic commit in consumer group, records will be processed sequentially");
+        }
+        // offsets of handlers with automatic commit are committed by the container, other handlers commit offsets themselves
+        this.containerCommit = this.allowCommit && (handler instanceof BaseKafkaRecordHandler<K, V> || handler instanceof AutoCommitRecordsHandler<K, V>);
+        if (config.commitMode() == KafkaConsumerConfig.CommitMode.ASYNC && !this.containerCommit) {
+            logger.warn("Async commit is supported only for handlers with automatic commit in consumer group, offsets will be committed by the handler");
+        }
+        // only batch handlers with automatic commit can be invoked several times per poll, handlers with manual commit may commit the whole poll
+        this.maxBatchSize = handler instanceof AutoCommitRecordsHandler<K, V> ? config.maxBatchSize() : 0;
+    }
+
+    @Nullable
+    private KafkaConsumerTelemetry<K, V> telemetry() {
+        if (this.handler instanceof BaseKafkaRecordHandler<K, V> recordHandler) {
+            return recordHandler.telemetry();
+        }
+        if (this.handler instanceof AutoCommitRecordsHandler<K, V> recordsHandler) {
+            return recordsHandler.telemetry();
+        }
+        return null;
     }
 
     public void launchPollLoop() {
+        var committer = this.containerCommit
+            ? new OffsetCommitter<>(config, telemetry())
+            : null;
+        var pauser = new PartitionPauser<>(saturation, telemetry());
+        var processor = this.parallel
+            ? new ParallelRecordsProcessor<>((BaseKafkaRecordHandler<K, V>) handler, committer, pauser, config, new NamedThreadFactory(threadPrefix + "-worker-"))
+            : null;
         Consumer<K, V> consumer = null;
         while (isActive.get()) {
             if (consumer == null) {
                 try {
-                    consumer = factory.buildConsumer();
+                    if (committer != null) {
+                        consumer = factory.buildConsumer(committer);
+                        committer.reset(consumer);
+                    } else {
+                        consumer = factory.buildConsumer();
+                    }
                     consumers.add(consumer);
                 } catch (WakeupException ignore) {
                 } catch (KafkaException e) {
@@ -80,12 +157,34 @@ public final class KafkaConsumerContainer<K, V> implements Lifecycle {
             if (consumer != null) {
                 while (isActive.get()) {
                     try {
-                        var records = consumer.poll(config.pollTimeout());
-                        handler.handle(records, consumer, allowCommit);
+                        if (processor != null) {
+                            var records = consumer.poll(committer.pollTimeout(processor.pollTimeout(pauser.pollTimeout(config.pollTimeout()))));
+                            processor.process(records, consumer);
+                        } else if (committer != null) {
+                            var records = consumer.poll(committer.pollTimeout(pauser.pollTimeout(config.pollTimeout())));
+                            for (var batch : batches(records, maxBatchSize)) {
+                                handler.handle(batch, consumer, false);
+                                committer.processed(batch);
+                            }
+                            committer.commit(consumer);
+                            pauser.update(consumer, List.of());
+                        } else {
+                            var records = consumer.poll(pauser.pollTimeout(config.pollTimeout()));
+                            for (var batch : batches(records, maxBatchSize)) {
+                                handler.handle(batch, consumer, allowCommit);
+                            }
+                            pauser.update(consumer, List.of());
+                        }
                         backoffTimeout.set(config.backoffTimeout().toMillis());
                     } catch (WakeupException ignore) {
                     } catch (Exception e) {
                         logger.error("Unhandled exception", e);
+                        if (processor != null) {
+                            processor.reset();
+                        } else if (committer != null) {
+                            commitProcessed(committer, consumer);
+                        }
+                        pauser.reset();
                         consumer.close();
                         consumers.remove(consumer);
                         consumer = null;
@@ -102,12 +201,59 @@ public final class KafkaConsumerContainer<K, V> implements Lifecycle {
                 }
             }
         }
+        if (processor != null) {
+            Thread.interrupted();
+            processor.close(consumer);
+        } else if (committer != null && consumer != null) {
+            Thread.interrupted();
+            commitProcessed(committer, consumer);
+        }
+        pauser.reset();
         if (consumer != null) {
             Thread.interrupted();
             consumer.close();
         }
     }
 
+    /**
+     * Splits polled records into chunks of at most {@code maxBatchSize} records, keeping the order of records within partition
+     */
+    static <K, V> List<ConsumerRecords<K, V>> batches(ConsumerRecords<K, V> records, int maxBatchSize) {
+        if (maxBatchSize <= 0 || records.count() <= maxBatchSize) {
+            return List.of(records);
+        }
+        var batches = new ArrayList<ConsumerRecords<K, V>>(records.count() / maxBatchSize + 1);
+        var batch = new LinkedHashMap<TopicPartition, List<ConsumerRecord<K, V>>>();
+        var batchSize = 0;
+        for (var partition : records.partitions()) {
+            var partitionRecords = records.records(partition);
+            var from = 0;
+            while (from < partitionRecords.size()) {
+                var to = Math.min(partitionRecords.size(), from + maxBatchSize - batchSize);
+                batch.put(partition, partitionRecords.subList(from, to));
+                batchSize += to - from;
+                from = to;
+                if (batchSize == maxBatchSize) {
+                    batches.add(new ConsumerRecords<>(batch));
+                    batch = new LinkedHashMap<>();
+                    batchSize = 0;
+                }
+            }
+        }
+        if (batchSize > 0) {
+            batches.add(new ConsumerRecords<>(batch));
+        }
+        return batches;
+    }
+
+    private static <K, V> void commitProcessed(OffsetCommitter<K, V> committer, Consumer<K, V> consumer) {
+        try {
+            committer.commitSync(consumer);
+        } catch (Exception e) {
+            logger.warn("Error committing processed records", e);
+        }
+    }
+
     @Override
     public Mono<Void> init() {
         return Mono.fromRunnable(() -> {
@@ -122,6 +268,7 @@ public final class KafkaConsumerContainer<K, V> implements Lifecycle {
                 } else {
                     prefix = "unknown";
                 }
+                threadPrefix = prefix;
 
                 executorService = Executors.newFixedThreadPool(config.threads(), new NamedThreadFactory(prefix));
                 for (int i = 0; i < config.threads(); i++) {
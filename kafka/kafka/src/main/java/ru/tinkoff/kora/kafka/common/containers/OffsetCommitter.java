@@ -0,0 +1,213 @@
+package ru.tinkoff.kora.kafka.common.containers;
+
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRebalanceListener;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.ConsumerRecords;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.common.TopicPartition;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import ru.tinkoff.kora.kafka.common.config.KafkaConsumerConfig;
+import ru.tinkoff.kora.kafka.common.telemetry.KafkaConsumerTelemetry;
+
+import javax.annotation.Nullable;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Commits offsets of the records processed by handlers with automatic commit.
+ * <p>
+ * In {@link KafkaConsumerConfig.CommitMode#SYNC} mode offsets are committed synchronously after each poll.
+ * In {@link KafkaConsumerConfig.CommitMode#ASYNC} mode offsets are committed with {@link Consumer#commitAsync} once enough records are processed
+ * or commit interval has passed, so poll thread doesn't wait for the broker. Every commit contains the latest processed offset of the partition,
+ * so when an async commit fails the partition is committed again with the next commit, and committed offsets never go backwards.
+ * Processed offsets are committed synchronously when partitions are revoked, on handler failure and on shutdown, so records are processed at least once.
+ * <p>
+ * Must be accessed only from the poll thread, rebalance and async commit callbacks are invoked from {@link Consumer#poll} on the same thread.
+ */
+final class OffsetCommitter<K, V> implements ConsumerRebalanceListener {
+    private static final Logger logger = LoggerFactory.getLogger(OffsetCommitter.class);
+
+    private final KafkaConsumerConfig.CommitMode mode;
+    private final long commitIntervalNanos;
+    private final int commitRecords;
+    @Nullable
+    private final KafkaConsumerTelemetry<K, V> telemetry;
+
+    private final Map<TopicPartition, OffsetAndMetadata> processed = new HashMap<>();
+    private final Set<TopicPartition> uncommitted = new HashSet<>();
+    private int uncommittedRecords = 0;
+    private long lastCommit = System.nanoTime();
+    @Nullable
+    private Consumer<K, V> consumer;
+
+    OffsetCommitter(KafkaConsumerConfig config, @Nullable KafkaConsumerTelemetry<K, V> telemetry) {
+        this.mode = config.commitMode();
+        this.commitIntervalNanos = config.commitInterval().toNanos();
+        this.commitRecords = config.commitRecords();
+        this.telemetry = telemetry;
+    }
+
+    /**
+     * Binds committer to the new consumer, offsets processed by the previous consumer are dropped.
+     */
+    void reset(@Nullable Consumer<K, V> consumer) {
+        this.consumer = consumer;
+        this.processed.clear();
+        this.uncommitted.clear();
+        this.uncommittedRecords = 0;
+        this.lastCommit = System.nanoTime();
+    }
+
+    /**
+     * @return poll timeout that lets commit processed offsets in time
+     */
+    Duration pollTimeout(Duration pollTimeout) {
+        if (this.mode != KafkaConsumerConfig.CommitMode.ASYNC || this.uncommitted.isEmpty()) {
+            return pollTimeout;
+        }
+        var untilCommit = Duration.ofNanos(Math.max(this.commitIntervalNanos - (System.nanoTime() - this.lastCommit), 0));
+        return untilCommit.compareTo(pollTimeout) < 0 ? untilCommit : pollTimeout;
+    }
+
+    /**
+     * Marks all the polled records as processed.
+     */
+    void processed(ConsumerRecords<K, V> records) {
+        for (var partition : records.partitions()) {
+            var partitionRecords = records.records(partition);
+            this.processed(partition, partitionRecords.get(partitionRecords.size() - 1), partitionRecords.size());
+        }
+    }
+
+    /**
+     * Marks records of the partition up to the given record as processed.
+     *
+     * @param count number of records processed since the previous call for the partition
+     */
+    void processed(TopicPartition partition, ConsumerRecord<?, ?> last, int count) {
+        this.processed.put(partition, new OffsetAndMetadata(last.offset() + 1, last.leaderEpoch(), ""));
+        this.uncommitted.add(partition);
+        this.uncommittedRecords += count;
+    }
+
+    /**
+     * Commits processed offsets if they are due according to the commit mode. Must be called after each poll.
+     */
+    void commit(Consumer<K, V> consumer) {
+        if (this.uncommitted.isEmpty()) {
+            return;
+        }
+        if (this.mode == KafkaConsumerConfig.CommitMode.SYNC) {
+            this.commitSync(consumer, this.uncommitted);
+            return;
+        }
+        if (this.uncommittedRecords < this.commitRecords && System.nanoTime() - this.lastCommit < this.commitIntervalNanos) {
+            return;
+        }
+        var offsets = this.offsets(this.uncommitted);
+        this.uncommitted.clear();
+        this.uncommittedRecords = 0;
+        this.lastCommit = System.nanoTime();
+        var start = this.lastCommit;
+        consumer.commitAsync(offsets, (committed, e) -> {
+            var duration = System.nanoTime() - start;
+            if (this.telemetry != null) {
+                this.telemetry.offsetsCommitted(offsets, duration, e);
+            }
+            if (e != null) {
+                logger.warn("Error committing offsets asynchronously, they will be committed with the next commit", e);
+                for (var partition : offsets.keySet()) {
+                    if (this.processed.containsKey(partition)) {
+                        this.uncommitted.add(partition);
+                    }
+                }
+            }
+        });
+    }
+
+    /**
+     * Synchronously commits offsets processed so far. In async mode offsets already sent with async commits are committed again,
+     * so that they are not lost if those commits fail.
+     */
+    void commitSync(Consumer<K, V> consumer) {
+        var toCommit = this.mode == KafkaConsumerConfig.CommitMode.ASYNC ? this.processed.keySet() : this.uncommitted;
+        if (toCommit.isEmpty()) {
+            return;
+        }
+        var assignment = consumer.assignment();
+        var partitions = new HashSet<TopicPartition>(toCommit.size());
+        for (var partition : toCommit) {
+            if (assignment.contains(partition)) {
+                partitions.add(partition);
+            }
+        }
+        if (!partitions.isEmpty()) {
+            this.commitSync(consumer, partitions);
+        }
+    }
+
+    @Override
+    public void onPartitionsRevoked(Collection<TopicPartition> partitions) {
+        var consumer = this.consumer;
+        if (consumer != null && this.mode == KafkaConsumerConfig.CommitMode.ASYNC) {
+            var revoked = new HashSet<TopicPartition>();
+            for (var partition : partitions) {
+                if (this.processed.containsKey(partition)) {
+                    revoked.add(partition);
+                }
+            }
+            if (!revoked.isEmpty()) {
+                try {
+                    this.commitSync(consumer, revoked);
+                } catch (Exception e) {
+                    logger.warn("Error committing offsets of revoked partitions", e);
+                }
+            }
+        }
+        this.onPartitionsLost(partitions);
+    }
+
+    @Override
+    public void onPartitionsAssigned(Collection<TopicPartition> partitions) {}
+
+    @Override
+    public void onPartitionsLost(Collection<TopicPartition> partitions) {
+        for (var partition : partitions) {
+            this.processed.remove(partition);
+            this.uncommitted.remove(partition);
+        }
+    }
+
+    private void commitSync(Consumer<K, V> consumer, Set<TopicPartition> partitions) {
+        var offsets = this.offsets(partitions);
+        var start = System.nanoTime();
+        try {
+            consumer.commitSync(offsets);
+        } catch (Exception e) {
+            if (this.telemetry != null) {
+                this.telemetry.offsetsCommitted(offsets, System.nanoTime() - start, e);
+            }
+            throw e;
+        }
+        if (this.telemetry != null) {
+            this.telemetry.offsetsCommitted(offsets, System.nanoTime() - start, null);
+        }
+        this.uncommitted.removeAll(offsets.keySet());
+        this.uncommittedRecords = 0;
+        this.lastCommit = System.nanoTime();
+    }
+
+    private Map<TopicPartition, OffsetAndMetadata> offsets(Set<TopicPartition> partitions) {
+        var offsets = new HashMap<TopicPartition, OffsetAndMetadata>(partitions.size() * 2);
+        for (var partition : partitions) {
+            offsets.put(partition, this.processed.get(partition));
+        }
+        return offsets;
+    }
+}
@@ -0,0 +1,365 @@
+package ru.tinkoff.kora.kafka.common.containers;
+
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.ConsumerRecords;
+import org.apache.kafka.common.TopicPartition;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import ru.tinkoff.kora.common.Context;
+import ru.tinkoff.kora.kafka.common.config.KafkaConsumerConfig;
+import ru.tinkoff.kora.kafka.common.containers.handlers.BaseKafkaRecordHandler;
+import ru.tinkoff.kora.kafka.common.telemetry.KafkaConsumerTelemetry;
+
+import javax.annotation.Nullable;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Processes records polled by single consumer concurrently on a fixed number of lanes, each lane is a single thread executor.
+ * <p>
+ * Record lane is chosen by its partition (or by its partition and key), so records of the same partition (or key) are processed in poll order.
+ * Offsets are committed only up to the first record of the partition that is not processed yet,
+ * and partition is paused by {@link PartitionPauser} while it has too many records in flight, so consumer keeps polling and stays in the group.
+ * <p>
+ * Consumer is accessed only from the poll thread. When the handler fails, records that are not started yet are skipped,
+ * processed offsets are committed and the error is rethrown, so the container restarts the consumer from the committed offsets.
+ * As well as on rebalance, records processed after the last commit may be processed again.
+ * <p>
+ * Records submitted before the failure belong to the previous generation and are never handled after it.
+ * If the lanes don't finish the records being processed in {@code backoffTimeout}, they are interrupted and replaced with new ones,
+ * so records of the partitions assigned to the new consumer are not queued behind them.
+ */
+final class ParallelRecordsProcessor<K, V> {
+    private static final Logger logger = LoggerFactory.getLogger(ParallelRecordsProcessor.class);
+    private static final Duration IN_FLIGHT_POLL_TIMEOUT = Duration.ofMillis(50);
+
+    private final BaseKafkaRecordHandler<K, V> handler;
+    private final OffsetCommitter<K, V> committer;
+    private final PartitionPauser<K, V> pauser;
+    private final KafkaConsumerConfig.ParallelOrdering ordering;
+    private final int maxInFlightRecordsPerPartition;
+    private final Duration awaitTimeout;
+    private final ThreadFactory threadFactory;
+    private final ExecutorService[] lanes;
+
+    private final Map<TopicPartition, PartitionState<K, V>> partitions = new HashMap<>();
+    private int inFlight = 0;
+
+    private volatile Generation generation = new Generation();
+
+    ParallelRecordsProcessor(BaseKafkaRecordHandler<K, V> handler, OffsetCommitter<K, V> committer, PartitionPauser<K, V> pauser, KafkaConsumerConfig config, ThreadFactory threadFactory) {
+        this.handler = handler;
+        this.committer = committer;
+        this.pauser = pauser;
+        this.ordering = config.parallelOrdering();
+        this.maxInFlightRecordsPerPartition = config.maxInFlightRecordsPerPartition();
+        this.awaitTimeout = config.backoffTimeout();
+        this.threadFactory = threadFactory;
+        this.lanes = new ExecutorService[config.parallelism()];
+        for (int i = 0; i < this.lanes.length; i++) {
+            this.lanes[i] = Executors.newSingleThreadExecutor(threadFactory);
+        }
+    }
+
+    /**
+     * @return poll timeout that lets commit processed records and resume partitions in time
+     */
+    Duration pollTimeout(Duration pollTimeout) {
+        if (this.inFlight > 0 && pollTimeout.compareTo(IN_FLIGHT_POLL_TIMEOUT) > 0) {
+            return IN_FLIGHT_POLL_TIMEOUT;
+        }
+        return pollTimeout;
+    }
+
+    /**
+     * Submits polled records, commits records processed so far and pauses or resumes partitions. Must be called after each poll.
+     */
+    void process(ConsumerRecords<K, V> records, Consumer<K, V> consumer) {
+        this.retainAssigned(consumer);
+        var error = this.generation.error.get();
+        if (error != null) {
+            this.fail(consumer, error);
+        }
+        if (!records.isEmpty()) {
+            this.submit(records);
+        }
+        this.commit(consumer);
+        this.updatePaused(consumer);
+    }
+
+    /**
+     * Drops all the records in flight, must be called when consumer is closed after failure.
+     */
+    void reset() {
+        this.generation = new Generation();
+        try {
+            if (!this.awaitLanes()) {
+                this.restartLanes();
+            }
+        } finally {
+            this.partitions.clear();
+            this.pauser.reset();
+            this.inFlight = 0;
+        }
+    }
+
+    /**
+     * Waits for the records being processed, commits them if consumer is still open and stops the lanes.
+     */
+    void close(@Nullable Consumer<K, V> consumer) {
+        this.generation = new Generation();
+        try {
+            this.awaitLanes();
+            if (consumer != null) {
+                this.retainAssigned(consumer);
+                this.commit(consumer);
+                this.committer.commitSync(consumer);
+            }
+        } catch (Exception e) {
+            logger.warn("Error committing processed records on close", e);
+        } finally {
+            for (var lane : this.lanes) {
+                lane.shutdownNow();
+            }
+            this.partitions.clear();
+            this.pauser.reset();
+            this.inFlight = 0;
+        }
+    }
+
+    private void submit(ConsumerRecords<K, V> records) {
+        var telemetryCtx = this.handler.telemetry().get(records);
+        var batch = new Batch<>(this.generation, telemetryCtx, records.count(), Context.current());
+        for (var partition : records.partitions()) {
+            var partitionRecords = records.records(partition);
+            var state = this.partitions.get(partition);
+            if (state == null || partitionRecords.get(0).offset() <= state.lastOffset) {
+                // partition was reassigned and its position was reset, so records in flight won't be committed anymore
+                if (state != null) {
+                    this.inFlight -= state.tasks.size();
+                }
+                state = new PartitionState<>();
+                this.partitions.put(partition, state);
+            }
+            for (var record : partitionRecords) {
+                var task = new RecordTask<>(this, record, batch);
+                state.tasks.addLast(task);
+                state.lastOffset = record.offset();
+                this.inFlight++;
+                this.lanes[this.lane(partition, record)].execute(task);
+            }
+        }
+    }
+
+    private int lane(TopicPartition partition, ConsumerRecord<K, V> record) {
+        if (this.lanes.length == 1) {
+            return 0;
+        }
+        var hash = partition.hashCode();
+        if (this.ordering == KafkaConsumerConfig.ParallelOrdering.KEY) {
+            hash = 31 * hash + keyHash(record);
+        }
+        return Math.floorMod(hash ^ (hash >>> 16), this.lanes.length);
+    }
+
+    private static int keyHash(ConsumerRecord<?, ?> record) {
+        if (record instanceof ConsumerRecordWrapper<?, ?> wrapper) {
+            // key is not deserialized on poll thread
+            return Arrays.hashCode(wrapper.serializedKey());
+        }
+        try {
+            var key = record.key();
+            return key instanceof byte[] bytes
+                ? Arrays.hashCode(bytes)
+                : Objects.hashCode(key);
+        } catch (RuntimeException e) {
+            return 0;
+        }
+    }
+
+    private void commit(Consumer<K, V> consumer) {
+        for (var entry : this.partitions.entrySet()) {
+            var tasks = entry.getValue().tasks;
+            RecordTask<K, V> last = null;
+            var count = 0;
+            while (!tasks.isEmpty() && tasks.peekFirst().done) {
+                last = tasks.pollFirst();
+                count++;
+                this.inFlight--;
+            }
+            if (last != null) {
+                this.committer.processed(entry.getKey(), last.record, count);
+            }
+        }
+        this.committer.commit(consumer);
+    }
+
+    private void retainAssigned(Consumer<K, V> consumer) {
+        if (this.partitions.isEmpty()) {
+            return;
+        }
+        var assignment = consumer.assignment();
+        var it = this.partitions.entrySet().iterator();
+        while (it.hasNext()) {
+            var entry = it.next();
+            if (!assignment.contains(entry.getKey())) {
+                // records of revoked partition are still processed, but can't be committed by this consumer
+                this.inFlight -= entry.getValue().tasks.size();
+                it.remove();
+            }
+        }
+    }
+
+    private void updatePaused(Consumer<K, V> consumer) {
+        var overloaded = new ArrayList<TopicPartition>();
+        for (var entry : this.partitions.entrySet()) {
+            if (entry.getValue().tasks.size() >= this.maxInFlightRecordsPerPartition) {
+                overloaded.add(entry.getKey());
+            }
+        }
+        this.pauser.update(consumer, overloaded);
+    }
+
+    private void fail(Consumer<K, V> consumer, Throwable error) {
+        this.generation = new Generation();
+        try {
+            if (!this.awaitLanes()) {
+                this.restartLanes();
+            }
+            this.commit(consumer);
+            this.committer.commitSync(consumer);
+        } catch (Exception e) {
+            error.addSuppressed(e);
+        } finally {
+            this.partitions.clear();
+            this.pauser.reset();
+            this.inFlight = 0;
+        }
+        if (error instanceof RuntimeException re) {
+            throw re;
+        }
+        if (error instanceof Error e) {
+            throw e;
+        }
+        throw new IllegalStateException(error);
+    }
+
+    /**
+     * @return false if the lanes haven't finished the records being processed in time
+     */
+    private boolean awaitLanes() {
+        var barriers = new ArrayList<Future<?>>(this.lanes.length);
+        for (var lane : this.lanes) {
+            barriers.add(lane.submit(() -> {}));
+        }
+        var deadline = System.nanoTime() + this.awaitTimeout.toNanos();
+        for (var barrier : barriers) {
+            try {
+                barrier.get(Math.max(deadline - System.nanoTime(), 0), TimeUnit.NANOSECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            } catch (TimeoutException e) {
+                logger.warn("Records processing hasn't finished in {}, processing threads are interrupted", this.awaitTimeout);
+                return false;
+            } catch (ExecutionException e) {
+                // barrier does nothing
+            }
+        }
+        return true;
+    }
+
+    private void restartLanes() {
+        for (int i = 0; i < this.lanes.length; i++) {
+            this.lanes[i].shutdownNow();
+            this.lanes[i] = Executors.newSingleThreadExecutor(this.threadFactory);
+        }
+    }
+
+    private static final class Generation {
+        private final AtomicReference<Throwable> error = new AtomicReference<>();
+    }
+
+    private static final class PartitionState<K, V> {
+        private final ArrayDeque<RecordTask<K, V>> tasks = new ArrayDeque<>();
+        private long lastOffset = -1;
+    }
+
+    private static final class Batch<K, V> {
+        private final Generation generation;
+        private final KafkaConsumerTelemetry.KafkaConsumerRecordsTelemetryContext<K, V> telemetryCtx;
+        private final AtomicInteger remaining;
+        private final AtomicReference<Throwable> error = new AtomicReference<>();
+        private final Context context;
+
+        private Batch(Generation generation, KafkaConsumerTelemetry.KafkaConsumerRecordsTelemetryContext<K, V> telemetryCtx, int count, Context context) {
+            this.generation = generation;
+            this.telemetryCtx = telemetryCtx;
+            this.remaining = new AtomicInteger(count);
+            this.context = context;
+        }
+
+        private void onRecordDone(@Nullable Throwable error) {
+            if (error != null) {
+                this.error.compareAndSet(null, error);
+            }
+            if (this.remaining.decrementAndGet() == 0) {
+                this.telemetryCtx.close(this.error.get());
+            }
+        }
+    }
+
+    private static final class RecordTask<K, V> implements Runnable {
+        private final ParallelRecordsProcessor<K, V> processor;
+        private final ConsumerRecord<K, V> record;
+        private final Batch<K, V> batch;
+        private volatile boolean done = false;
+
+        private RecordTask(ParallelRecordsProcessor<K, V> processor, ConsumerRecord<K, V> record, Batch<K, V> batch) {
+            this.processor = processor;
+            this.record = record;
+            this.batch = batch;
+        }
+
+        @Override
+        public void run() {
+            var generation = this.batch.generation;
+            if (this.processor.generation != generation) {
+                // consumer failed or was closed after the record was submitted
+                this.batch.onRecordDone(null);
+                return;
+            }
+            var error = generation.error.get();
+            if (error != null) {
+                this.batch.onRecordDone(error);
+                return;
+            }
+            try {
+                this.batch.context.fork().inject();
+                this.processor.handler.handle(this.record, this.batch.telemetryCtx.get(this.record));
+                this.done = true;
+                this.batch.onRecordDone(null);
+            } catch (Throwable e) {
+                generation.error.compareAndSet(null, e);
+                this.batch.onRecordDone(e);
+            } finally {
+                Context.clear();
+            }
+        }
+    }
+}
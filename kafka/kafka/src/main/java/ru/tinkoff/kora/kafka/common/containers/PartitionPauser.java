@@ -0,0 +1,133 @@
+package ru.tinkoff.kora.kafka.common.containers;
+
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.common.TopicPartition;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import ru.tinkoff.kora.kafka.common.KafkaConsumerSaturation;
+import ru.tinkoff.kora.kafka.common.telemetry.KafkaConsumerTelemetry;
+
+import javax.annotation.Nullable;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Pauses partitions of single consumer while downstream is saturated or while partitions have too many records in flight, and resumes them afterwards.
+ * <p>
+ * Only partitions paused by the pauser are resumed. Consumer keeps polling while partitions are paused, so it stays in the group,
+ * and poll timeout is shortened so partitions are resumed soon after the saturation is cleared.
+ */
+final class PartitionPauser<K, V> {
+    private static final Logger logger = LoggerFactory.getLogger(PartitionPauser.class);
+    private static final Duration SATURATED_POLL_TIMEOUT = Duration.ofMillis(100);
+
+    @Nullable
+    private final KafkaConsumerSaturation saturation;
+    @Nullable
+    private final KafkaConsumerTelemetry<K, V> telemetry;
+    private final Set<TopicPartition> paused = new HashSet<>();
+    private boolean saturated = false;
+
+    PartitionPauser(@Nullable KafkaConsumerSaturation saturation, @Nullable KafkaConsumerTelemetry<K, V> telemetry) {
+        this.saturation = saturation;
+        this.telemetry = telemetry;
+    }
+
+    /**
+     * @return poll timeout that lets resume partitions in time after the saturation is cleared
+     */
+    Duration pollTimeout(Duration pollTimeout) {
+        if (this.saturated && pollTimeout.compareTo(SATURATED_POLL_TIMEOUT) > 0) {
+            return SATURATED_POLL_TIMEOUT;
+        }
+        return pollTimeout;
+    }
+
+    /**
+     * Pauses all the assigned partitions while downstream is saturated, otherwise pauses only overloaded partitions and resumes the rest. Must be called on the poll thread.
+     *
+     * @param overloaded partitions that have too many records in flight
+     */
+    void update(Consumer<K, V> consumer, Collection<TopicPartition> overloaded) {
+        this.saturated = this.isSaturated();
+        if (!this.saturated && overloaded.isEmpty() && this.paused.isEmpty()) {
+            return;
+        }
+        var consumerPaused = consumer.paused();
+        if (!this.paused.isEmpty()) {
+            // pause is reset when partition is revoked or reassigned
+            var dropped = new ArrayList<TopicPartition>();
+            for (var partition : this.paused) {
+                if (!consumerPaused.contains(partition)) {
+                    dropped.add(partition);
+                }
+            }
+            if (!dropped.isEmpty()) {
+                dropped.forEach(this.paused::remove);
+                this.resumed(dropped);
+            }
+        }
+        var toPause = this.saturated
+            ? consumer.assignment()
+            : overloaded;
+        var toResume = new ArrayList<TopicPartition>();
+        for (var partition : this.paused) {
+            if (!toPause.contains(partition)) {
+                toResume.add(partition);
+            }
+        }
+        if (!toResume.isEmpty()) {
+            consumer.resume(toResume);
+            toResume.forEach(this.paused::remove);
+            this.resumed(toResume);
+        }
+        var newPaused = new ArrayList<TopicPartition>();
+        for (var partition : toPause) {
+            // partitions paused by the handler are left to the handler
+            if (!this.paused.contains(partition) && !consumerPaused.contains(partition)) {
+                newPaused.add(partition);
+            }
+        }
+        if (!newPaused.isEmpty()) {
+            consumer.pause(newPaused);
+            this.paused.addAll(newPaused);
+            if (this.telemetry != null) {
+                this.telemetry.partitionsPaused(newPaused);
+            }
+        }
+    }
+
+    /**
+     * Forgets paused partitions, must be called when consumer is closed.
+     */
+    void reset() {
+        this.saturated = false;
+        if (!this.paused.isEmpty()) {
+            var resumed = List.copyOf(this.paused);
+            this.paused.clear();
+            this.resumed(resumed);
+        }
+    }
+
+    private boolean isSaturated() {
+        if (this.saturation == null) {
+            return false;
+        }
+        try {
+            return this.saturation.isSaturated();
+        } catch (Exception e) {
+            logger.warn("Error checking consumer saturation, partitions won't be paused", e);
+            return false;
+        }
+    }
+
+    private void resumed(List<TopicPartition> partitions) {
+        if (this.telemetry != null) {
+            this.telemetry.partitionsResumed(partitions);
+        }
+    }
+}
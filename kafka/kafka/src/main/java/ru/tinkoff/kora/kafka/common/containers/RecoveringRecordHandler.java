@@ -0,0 +1,191 @@
+package ru.tinkoff.kora.kafka.common.containers;
+
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import ru.tinkoff.kora.kafka.common.config.KafkaConsumerConfig;
+import ru.tinkoff.kora.kafka.common.containers.handlers.BaseKafkaRecordHandler;
+import ru.tinkoff.kora.kafka.common.exceptions.RecordKeyDeserializationException;
+import ru.tinkoff.kora.kafka.common.exceptions.RecordValueDeserializationException;
+import ru.tinkoff.kora.kafka.common.producer.KafkaDeadLetterPublisher;
+import ru.tinkoff.kora.kafka.common.telemetry.KafkaConsumerTelemetry;
+
+import javax.annotation.Nullable;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * Handles failed record in place: retries it {@code retries} times with exponential backoff,
+ * then publishes it to {@code deadLetterTopic} if it is configured and continues with the next record, so the record is committed as handled.
+ * <p>
+ * Records that can't be deserialized are not retried. If the record can't be published, the handler error is rethrown and the container restarts the consumer as usual.
+ * Record telemetry context is closed once, with the error of the last attempt if the record was not handled.
+ * <p>
+ * Retries block the poll thread, so the sum of all retry backoffs of a record (each capped at one minute) must be less than {@code max.poll.interval.ms},
+ * otherwise the configuration is rejected. The limit is per record: keep {@code max.poll.records} small if several records of one poll may fail.
+ */
+final class RecoveringRecordHandler<K, V> implements BaseKafkaRecordHandler<K, V> {
+    private static final Logger logger = LoggerFactory.getLogger(RecoveringRecordHandler.class);
+    private static final KafkaConsumerTelemetry.KafkaConsumerRecordTelemetryContext<?, ?> attemptCtx = ex -> {};
+    private static final Duration MAX_RETRY_BACKOFF = Duration.ofMinutes(1);
+    private static final Duration DEFAULT_MAX_POLL_INTERVAL = Duration.ofMinutes(5); // max.poll.interval.ms default
+
+    private final BaseKafkaRecordHandler<K, V> delegate;
+    private final int retries;
+    private final Duration retryBackoff;
+    @Nullable
+    private final String deadLetterTopic;
+    @Nullable
+    private final KafkaDeadLetterPublisher deadLetterPublisher;
+
+    RecoveringRecordHandler(BaseKafkaRecordHandler<K, V> delegate, KafkaConsumerConfig config, @Nullable KafkaDeadLetterPublisher deadLetterPublisher) {
+        if (config.deadLetterTopic() != null && deadLetterPublisher == null) {
+            throw new IllegalArgumentException("`deadLetterTopic` is configured, but there's no KafkaDeadLetterPublisher with the consumer tag");
+        }
+        var maxPollInterval = maxPollInterval(config);
+        var totalBackoff = totalBackoff(config.retries(), config.retryBackoff());
+        if (totalBackoff.compareTo(maxPollInterval) >= 0) {
+            throw new IllegalArgumentException("Total backoff of %d retries is %s, it should be less than `%s` %s, or the consumer will leave the group while retrying the record"
+                .formatted(config.retries(), totalBackoff, ConsumerConfig.MAX_POLL_INTERVAL_MS_CONFIG, maxPollInterval));
+        }
+        this.delegate = delegate;
+        this.retries = config.retries();
+        this.retryBackoff = config.retryBackoff();
+        this.deadLetterTopic = config.deadLetterTopic();
+        this.deadLetterPublisher = deadLetterPublisher;
+    }
+
+    @Override
+    public KafkaConsumerTelemetry<K, V> telemetry() {
+        return this.delegate.telemetry();
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void handle(ConsumerRecord<K, V> record, KafkaConsumerTelemetry.KafkaConsumerRecordTelemetryContext<K, V> recordCtx) {
+        var ctx = (KafkaConsumerTelemetry.KafkaConsumerRecordTelemetryContext<K, V>) attemptCtx;
+        var attempt = 1;
+        while (true) {
+            try {
+                this.delegate.handle(record, ctx);
+                recordCtx.close(null);
+                return;
+            } catch (RuntimeException e) {
+                if (attempt > this.retries || isDeserializationError(e)) {
+                    recordCtx.close(e);
+                    this.recover(record, e, attempt);
+                    return;
+                }
+                logger.debug("Error handling record {}, attempt {} of {}", record, attempt, this.retries + 1, e);
+                if (!this.sleep(attempt)) {
+                    // consumer is stopped, record is not recovered to let it be processed after restart
+                    recordCtx.close(e);
+                    throw e;
+                }
+                attempt++;
+            }
+        }
+    }
+
+    private boolean sleep(int attempt) {
+        try {
+            Thread.sleep(backoff(this.retryBackoff, attempt).toMillis());
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private static Duration backoff(Duration retryBackoff, int attempt) {
+        var backoff = retryBackoff.multipliedBy(1L << Math.min(attempt - 1, 16));
+        if (backoff.compareTo(MAX_RETRY_BACKOFF) > 0) {
+            return MAX_RETRY_BACKOFF;
+        }
+        return backoff;
+    }
+
+    private static Duration totalBackoff(int retries, Duration retryBackoff) {
+        var total = Duration.ZERO;
+        for (var attempt = 1; attempt <= retries; attempt++) {
+            total = total.plus(backoff(retryBackoff, attempt));
+        }
+        return total;
+    }
+
+    private static Duration maxPollInterval(KafkaConsumerConfig config) {
+        var value = config.driverProperties().get(ConsumerConfig.MAX_POLL_INTERVAL_MS_CONFIG);
+        if (value == null) {
+            return DEFAULT_MAX_POLL_INTERVAL;
+        }
+        return Duration.ofMillis(Long.parseLong(value.toString().trim()));
+    }
+
+    private void recover(ConsumerRecord<K, V> record, RuntimeException error, int attempts) {
+        var deadLetterPublisher = this.deadLetterPublisher;
+        if (deadLetterPublisher == null) {
+            throw error;
+        }
+        var headers = new RecordHeaders(record.headers().toArray());
+        headers.add(KafkaDeadLetterPublisher.ORIGINAL_TOPIC_HEADER, bytes(record.topic()));
+        headers.add(KafkaDeadLetterPublisher.ORIGINAL_PARTITION_HEADER, bytes(Integer.toString(record.partition())));
+        headers.add(KafkaDeadLetterPublisher.ORIGINAL_OFFSET_HEADER, bytes(Long.toString(record.offset())));
+        headers.add(KafkaDeadLetterPublisher.ORIGINAL_TIMESTAMP_HEADER, bytes(Long.toString(record.timestamp())));
+        headers.add(KafkaDeadLetterPublisher.EXCEPTION_CLASS_HEADER, bytes(error.getClass().getName()));
+        if (error.getMessage() != null) {
+            headers.add(KafkaDeadLetterPublisher.EXCEPTION_MESSAGE_HEADER, bytes(error.getMessage()));
+        }
+        headers.add(KafkaDeadLetterPublisher.ATTEMPTS_HEADER, bytes(Integer.toString(attempts)));
+        try {
+            var deadLetter = new ProducerRecord<>(this.deadLetterTopic, null, serializedKey(record), serializedValue(record), headers);
+            var metadata = deadLetterPublisher.publish(deadLetter).toCompletableFuture().get();
+            logger.warn("Record {} was not handled after {} attempts and was published to topic {} partition {} offset {}", record, attempts, metadata.topic(), metadata.partition(), metadata.offset(), error);
+        } catch (ExecutionException e) {
+            error.addSuppressed(e.getCause());
+            throw error;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            error.addSuppressed(e);
+            throw error;
+        } catch (RuntimeException e) {
+            error.addSuppressed(e);
+            throw error;
+        }
+    }
+
+    private static boolean isDeserializationError(RuntimeException e) {
+        return e instanceof RecordKeyDeserializationException || e instanceof RecordValueDeserializationException;
+    }
+
+    @Nullable
+    private static byte[] serializedKey(ConsumerRecord<?, ?> record) {
+        if (record instanceof ConsumerRecordWrapper<?, ?> wrapper) {
+            return wrapper.serializedKey();
+        }
+        return serialized(record.key());
+    }
+
+    @Nullable
+    private static byte[] serializedValue(ConsumerRecord<?, ?> record) {
+        if (record instanceof ConsumerRecordWrapper<?, ?> wrapper) {
+            return wrapper.serializedValue();
+        }
+        return serialized(record.value());
+    }
+
+    @Nullable
+    private static byte[] serialized(@Nullable Object data) {
+        if (data == null || data instanceof byte[]) {
+            return (byte[]) data;
+        }
+        throw new IllegalStateException("Record was not consumed as bytes and can't be published as is");
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,39 @@
+package ru.tinkoff.kora.kafka.common.containers.handlers;
+
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.ConsumerRecords;
+import ru.tinkoff.kora.kafka.common.telemetry.KafkaConsumerTelemetry;
+
+/**
+ * Handler that processes records one by one and commits them itself, so records can be processed independently of each other.
+ * Records of a single poll are handled sequentially by default, but container may process different partitions concurrently instead.
+ */
+public interface BaseKafkaRecordHandler<K, V> extends BaseKafkaRecordsHandler<K, V> {
+
+    KafkaConsumerTelemetry<K, V> telemetry();
+
+    /**
+     * @param record    consumed record to handle
+     * @param recordCtx telemetry context of the record, must be closed by the handler
+     * @throws RuntimeException if the record was not handled and its offset must not be committed
+     */
+    void handle(ConsumerRecord<K, V> record, KafkaConsumerTelemetry.KafkaConsumerRecordTelemetryContext<K, V> recordCtx);
+
+    @Override
+    default void handle(ConsumerRecords<K, V> records, Consumer<K, V> consumer, boolean commitAllowed) {
+        var ctx = this.telemetry().get(records);
+        try {
+            for (var record : records) {
+                this.handle(record, ctx.get(record));
+            }
+            if (commitAllowed) {
+                consumer.commitSync();
+            }
+            ctx.close(null);
+        } catch (Exception e) {
+            ctx.close(e);
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package ru.tinkoff.kora.kafka.common.containers.handlers;
+
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+
+import java.util.List;
+
+/**
+ * Handler of the whole poll batch, or of its chunks when {@code maxBatchSize} is configured for the consumer.
+ */
+@FunctionalInterface
+public interface KafkaRecordListHandler<K, V> {
+
+    /**
+     * @param records consumed records to handle by kafka consumer
+     */
+    void handle(List<ConsumerRecord<K, V>> records);
+}
@@ -1,12 +1,11 @@
 package ru.tinkoff.kora.kafka.common.containers.handlers.impl;
 
-import org.apache.kafka.clients.consumer.Consumer;
-import org.apache.kafka.clients.consumer.ConsumerRecords;
-import ru.tinkoff.kora.kafka.common.containers.handlers.BaseKafkaRecordsHandler;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import ru.tinkoff.kora.kafka.common.containers.handlers.BaseKafkaRecordHandler;
 import ru.tinkoff.kora.kafka.common.containers.handlers.KafkaRecordHandler;
 import ru.tinkoff.kora.kafka.common.telemetry.KafkaConsumerTelemetry;
 
-public class AutoCommitRecordHandler<K, V> implements BaseKafkaRecordsHandler<K, V> {
+public class AutoCommitRecordHandler<K, V> implements BaseKafkaRecordHandler<K, V> {
     private final KafkaConsumerTelemetry<K, V> telemetry;
     private final KafkaRecordHandler<K, V> handler;
 
@@ -16,25 +15,17 @@ public class AutoCommitRecordHandler<K, V> implements BaseKafkaRecordsHandler<K,
     }
 
     @Override
-    public void handle(ConsumerRecords<K, V> records, Consumer<K, V> consumer, boolean commitAllowed) {
-        var ctx = this.telemetry.get(records);
+    public KafkaConsumerTelemetry<K, V> telemetry() {
+        return this.telemetry;
+    }
+
+    @Override
+    public void handle(ConsumerRecord<K, V> record, KafkaConsumerTelemetry.KafkaConsumerRecordTelemetryContext<K, V> recordCtx) {
         try {
-            for (var record : records) {
-                var recordCtx = ctx.get(record);
-                try {
-                    this.handler.handle(record);
-                    recordCtx.close(null);
-                } catch (Exception e) {
-                    recordCtx.close(e);
-                    throw e;
-                }
-            }
-            if (commitAllowed) {
-                consumer.commitSync();
-            }
-            ctx.close(null);
+            this.handler.handle(record);
+            recordCtx.close(null);
         } catch (Exception e) {
-            ctx.close(e);
+            recordCtx.close(e);
             throw e;
         }
     }
@@ -15,6 +15,10 @@ public class AutoCommitRecordsHandler<K, V> implements BaseKafkaRecordsHandler<K
         this.handler = handler;
     }
 
+    public KafkaConsumerTelemetry<K, V> telemetry() {
+        return this.telemetry;
+    }
+
     @Override
     public void handle(ConsumerRecords<K, V> records, Consumer<K, V> consumer, boolean commitAllowed) {
         var ctx = this.telemetry.get(records);
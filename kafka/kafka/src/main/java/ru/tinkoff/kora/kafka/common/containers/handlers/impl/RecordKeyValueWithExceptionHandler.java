@@ -1,13 +1,11 @@
 package ru.tinkoff.kora.kafka.common.containers.handlers.impl;
 
-import org.apache.kafka.clients.consumer.Consumer;
-import org.apache.kafka.clients.consumer.ConsumerRecords;
-import ru.tinkoff.kora.kafka.common.containers.handlers.BaseKafkaRecordsHandler;
-import ru.tinkoff.kora.kafka.common.containers.handlers.KafkaRecordKeyValueHandler;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import ru.tinkoff.kora.kafka.common.containers.handlers.BaseKafkaRecordHandler;
 import ru.tinkoff.kora.kafka.common.containers.handlers.KafkaRecordKeyValueWithExceptionHandler;
 import ru.tinkoff.kora.kafka.common.telemetry.KafkaConsumerTelemetry;
 
-public class RecordKeyValueWithExceptionHandler<K, V> implements BaseKafkaRecordsHandler<K, V> {
+public class RecordKeyValueWithExceptionHandler<K, V> implements BaseKafkaRecordHandler<K, V> {
     private final KafkaConsumerTelemetry<K, V> telemetry;
     private final KafkaRecordKeyValueWithExceptionHandler<K, V> handler;
 
@@ -17,44 +15,36 @@ public class RecordKeyValueWithExceptionHandler<K, V> implements BaseKafkaRecord
     }
 
     @Override
-    public void handle(ConsumerRecords<K, V> records, Consumer<K, V> consumer, boolean commitAllowed) {
-        var ctx = this.telemetry.get(records);
+    public KafkaConsumerTelemetry<K, V> telemetry() {
+        return this.telemetry;
+    }
+
+    @Override
+    public void handle(ConsumerRecord<K, V> record, KafkaConsumerTelemetry.KafkaConsumerRecordTelemetryContext<K, V> recordCtx) {
+        K key;
         try {
-            for (var record : records) {
-                var recordCtx = ctx.get(record);
-                K key;
-                try {
-                    key = record.key();
-                } catch (Exception e) {
-                    try {
-                        this.handler.handle(null, null, e);
-                        recordCtx.close(null);
-                        return;
-                    } catch (Exception finalException) {
-                        recordCtx.close(finalException);
-                        throw finalException;
-                    }
-                }
-                try {
-                    this.handler.handle(key, record.value(), null);
-                    recordCtx.close(null);
-                } catch (Exception e) {
-                    try {
-                        this.handler.handle(key, null, e);
-                        recordCtx.close(null);
-                    } catch (Exception finalException) {
-                        recordCtx.close(finalException);
-                        throw finalException;
-                    }
-                }
-                if (commitAllowed) {
-                    consumer.commitSync();
-                }
-                ctx.close(null);
+            key = record.key();
+        } catch (Exception e) {
+            try {
+                this.handler.handle(null, null, e);
+                recordCtx.close(null);
+                return;
+            } catch (Exception finalException) {
+                recordCtx.close(finalException);
+                throw finalException;
             }
+        }
+        try {
+            this.handler.handle(key, record.value(), null);
+            recordCtx.close(null);
         } catch (Exception e) {
-            ctx.close(e);
-            throw e;
+            try {
+                this.handler.handle(key, null, e);
+                recordCtx.close(null);
+            } catch (Exception finalException) {
+                recordCtx.close(finalException);
+                throw finalException;
+            }
         }
     }
 }
@@ -1,9 +1,12 @@
 package ru.tinkoff.kora.kafka.common.containers.handlers.wrapper;
 
+import org.apache.kafka.clients.consumer.ConsumerRecord;
 import ru.tinkoff.kora.kafka.common.containers.handlers.*;
 import ru.tinkoff.kora.kafka.common.containers.handlers.impl.*;
 import ru.tinkoff.kora.kafka.common.telemetry.KafkaConsumerTelemetry;
 
+import java.util.ArrayList;
+
 public class HandlerWrapper {
     public static <K, V> BaseKafkaRecordsHandler<K, V> wrapHandler(KafkaConsumerTelemetry<K, V> telemetry, KafkaRecordHandler<K, V> realHandler) {
         return new AutoCommitRecordHandler<>(telemetry, realHandler);
@@ -13,6 +16,16 @@ public class HandlerWrapper {
         return new AutoCommitRecordsHandler<>(telemetry, realHandler);
     }
 
+    public static <K, V> BaseKafkaRecordsHandler<K, V> wrapHandler(KafkaConsumerTelemetry<K, V> telemetry, KafkaRecordListHandler<K, V> realHandler) {
+        return new AutoCommitRecordsHandler<>(telemetry, records -> {
+            var list = new ArrayList<ConsumerRecord<K, V>>(records.count());
+            for (var record : records) {
+                list.add(record);
+            }
+            realHandler.handle(list);
+        });
+    }
+
     public static <K, V> BaseKafkaRecordsHandler<K, V> wrapHandler(KafkaConsumerTelemetry<K, V> telemetry, KafkaRecordKeyValueHandler<K, V> realHandler) {
         return new RecordKeyValueHandler<>(telemetry, realHandler);
     }
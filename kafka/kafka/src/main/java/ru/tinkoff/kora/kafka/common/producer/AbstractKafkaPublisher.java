@@ -0,0 +1,191 @@
+package ru.tinkoff.kora.kafka.common.producer;
+
+import org.apache.kafka.clients.producer.KafkaProducer;
+import org.apache.kafka.clients.producer.Producer;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.clients.producer.RecordMetadata;
+import org.apache.kafka.common.errors.AuthorizationException;
+import org.apache.kafka.common.errors.OutOfOrderSequenceException;
+import org.apache.kafka.common.errors.ProducerFencedException;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.apache.kafka.common.serialization.ByteArraySerializer;
+import org.apache.kafka.common.serialization.Serializer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.core.publisher.Mono;
+import ru.tinkoff.kora.application.graph.Lifecycle;
+import ru.tinkoff.kora.common.Context;
+import ru.tinkoff.kora.common.util.ReactorUtils;
+import ru.tinkoff.kora.kafka.common.config.KafkaPublisherConfig;
+import ru.tinkoff.kora.kafka.common.telemetry.KafkaProducerTelemetry;
+
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Base class of the implementations generated for {@link ru.tinkoff.kora.kafka.common.annotation.KafkaPublisher} interfaces.
+ * <p>
+ * Records are serialized by the publisher and sent with a single producer of byte arrays shared by all the methods.
+ * Send result is completed from the producer callback, so callers never wait for the broker acknowledgement.
+ * <p>
+ * Producer allows only one open transaction, so transactional publisher runs transactions one by one on its own thread,
+ * and every send of transactional publisher is a transaction too.
+ */
+public abstract class AbstractKafkaPublisher implements Lifecycle {
+    private static final Logger logger = LoggerFactory.getLogger(AbstractKafkaPublisher.class);
+
+    private final KafkaPublisherConfig config;
+    private final KafkaProducerTelemetry telemetry;
+    private volatile Producer<byte[], byte[]> producer;
+    @Nullable
+    private volatile ExecutorService transactionExecutor;
+
+    protected AbstractKafkaPublisher(KafkaPublisherConfig config, KafkaProducerTelemetry telemetry) {
+        this.config = config;
+        this.telemetry = telemetry;
+    }
+
+    protected Producer<byte[], byte[]> createProducer(Properties driverProperties) {
+        return new KafkaProducer<>(driverProperties, new ByteArraySerializer(), new ByteArraySerializer());
+    }
+
+    @Override
+    public Mono<Void> init() {
+        return Mono.fromRunnable(() -> {
+            var producer = this.createProducer(this.config.driverProperties());
+            if (this.config.transactional()) {
+                producer.initTransactions();
+                var threadName = "kafka-publisher-tx-" + this.config.driverProperties().getProperty(ProducerConfig.TRANSACTIONAL_ID_CONFIG);
+                this.transactionExecutor = Executors.newSingleThreadExecutor(r -> new Thread(r, threadName));
+            }
+            this.producer = producer;
+        });
+    }
+
+    @Override
+    public Mono<Void> release() {
+        return Mono.fromRunnable(() -> {
+            var transactionExecutor = this.transactionExecutor;
+            if (transactionExecutor != null) {
+                transactionExecutor.shutdown();
+            }
+            var producer = this.producer;
+            if (producer != null) {
+                producer.close();
+            }
+        });
+    }
+
+    protected final <K, V> Mono<RecordMetadata> sendMono(ProducerRecord<K, V> record, Serializer<K> keySerializer, Serializer<V> valueSerializer) {
+        // result is completed on the producer thread, so the caller context is installed back for the next operators
+        return ReactorUtils.propagateContext(Mono.deferContextual(reactorContext -> Mono.fromFuture(this.send(Context.Reactor.current(reactorContext), record, keySerializer, valueSerializer))));
+    }
+
+    protected final <K, V> CompletableFuture<RecordMetadata> sendFuture(ProducerRecord<K, V> record, Serializer<K> keySerializer, Serializer<V> valueSerializer) {
+        return this.send(Context.current(), record, keySerializer, valueSerializer);
+    }
+
+    protected final <K, V> Mono<List<RecordMetadata>> sendTransactionalMono(List<ProducerRecord<K, V>> records, Serializer<K> keySerializer, Serializer<V> valueSerializer) {
+        return ReactorUtils.propagateContext(Mono.deferContextual(reactorContext -> Mono.fromFuture(this.sendTransactional(Context.Reactor.current(reactorContext), records, keySerializer, valueSerializer))));
+    }
+
+    protected final <K, V> CompletableFuture<List<RecordMetadata>> sendTransactionalFuture(List<ProducerRecord<K, V>> records, Serializer<K> keySerializer, Serializer<V> valueSerializer) {
+        return this.sendTransactional(Context.current(), records, keySerializer, valueSerializer);
+    }
+
+    private <K, V> CompletableFuture<RecordMetadata> send(Context ctx, ProducerRecord<K, V> record, Serializer<K> keySerializer, Serializer<V> valueSerializer) {
+        if (this.transactionExecutor != null) {
+            return this.sendTransactional(ctx, List.of(record), keySerializer, valueSerializer).thenApply(m -> m.get(0));
+        }
+        var future = new CompletableFuture<RecordMetadata>();
+        var sentRecord = copy(record);
+        var telemetry = this.telemetry.get(ctx, sentRecord);
+        try {
+            this.producer.send(serialize(sentRecord, keySerializer, valueSerializer), (metadata, e) -> {
+                telemetry.close(metadata, e);
+                if (e != null) {
+                    future.completeExceptionally(e);
+                } else {
+                    future.complete(metadata);
+                }
+            });
+        } catch (Exception e) {
+            telemetry.close(null, e);
+            future.completeExceptionally(e);
+        }
+        return future;
+    }
+
+    private <K, V> CompletableFuture<List<RecordMetadata>> sendTransactional(Context ctx, List<ProducerRecord<K, V>> records, Serializer<K> keySerializer, Serializer<V> valueSerializer) {
+        var transactionExecutor = this.transactionExecutor;
+        if (transactionExecutor == null) {
+            return CompletableFuture.failedFuture(new IllegalStateException("Publisher is not transactional, '" + ProducerConfig.TRANSACTIONAL_ID_CONFIG + "' driver property is required"));
+        }
+        return CompletableFuture.supplyAsync(() -> this.inTransaction(ctx, records, keySerializer, valueSerializer), transactionExecutor);
+    }
+
+    private <K, V> List<RecordMetadata> inTransaction(Context ctx, List<ProducerRecord<K, V>> records, Serializer<K> keySerializer, Serializer<V> valueSerializer) {
+        var producer = this.producer;
+        var futures = new ArrayList<Future<RecordMetadata>>(records.size());
+        producer.beginTransaction();
+        try {
+            for (var record : records) {
+                var sentRecord = copy(record);
+                var telemetry = this.telemetry.get(ctx, sentRecord);
+                try {
+                    futures.add(producer.send(serialize(sentRecord, keySerializer, valueSerializer), telemetry::close));
+                } catch (Exception e) {
+                    telemetry.close(null, e);
+                    throw e;
+                }
+            }
+            producer.commitTransaction();
+        } catch (ProducerFencedException | OutOfOrderSequenceException | AuthorizationException e) {
+            // producer can't recover from these errors, transaction is aborted by the broker
+            logger.error("Fatal error on transactional send, publisher can't send records anymore", e);
+            throw e;
+        } catch (RuntimeException e) {
+            try {
+                producer.abortTransaction();
+            } catch (Exception abortError) {
+                e.addSuppressed(abortError);
+            }
+            throw e;
+        }
+
+        var result = new ArrayList<RecordMetadata>(futures.size());
+        for (var future : futures) {
+            try {
+                // all the sends are completed when transaction is committed
+                result.add(future.get());
+            } catch (ExecutionException e) {
+                throw new CompletionException(e.getCause());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new CompletionException(e);
+            }
+        }
+        return result;
+    }
+
+    private static <K, V> ProducerRecord<K, V> copy(ProducerRecord<K, V> record) {
+        // telemetry and serializers add headers and producer makes sent headers read only, so they work on a copy and user record stays reusable
+        var headers = new RecordHeaders(record.headers().toArray());
+        return new ProducerRecord<>(record.topic(), record.partition(), record.timestamp(), record.key(), record.value(), headers);
+    }
+
+    private static <K, V> ProducerRecord<byte[], byte[]> serialize(ProducerRecord<K, V> record, Serializer<K> keySerializer, Serializer<V> valueSerializer) {
+        var key = keySerializer.serialize(record.topic(), record.headers(), record.key());
+        var value = valueSerializer.serialize(record.topic(), record.headers(), record.value());
+        return new ProducerRecord<>(record.topic(), record.partition(), record.timestamp(), key, value, record.headers());
+    }
+}
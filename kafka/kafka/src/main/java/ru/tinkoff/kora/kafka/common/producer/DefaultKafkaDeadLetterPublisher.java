@@ -0,0 +1,32 @@
+package ru.tinkoff.kora.kafka.common.producer;
+
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.clients.producer.RecordMetadata;
+import org.apache.kafka.common.serialization.ByteArraySerializer;
+import org.apache.kafka.common.serialization.Serializer;
+import ru.tinkoff.kora.kafka.common.config.KafkaPublisherConfig;
+import ru.tinkoff.kora.kafka.common.telemetry.KafkaProducerTelemetry;
+
+import java.util.concurrent.CompletionStage;
+
+/**
+ * Dead letter publisher with its own producer, should be declared with the tag of the consumer:
+ * <pre>{@code
+ * @Tag(MyListenerProcessTag.class)
+ * default KafkaDeadLetterPublisher myListenerDeadLetterPublisher(Config config, ConfigValueExtractor<KafkaPublisherConfig> extractor, KafkaProducerTelemetry telemetry) {
+ *     return new DefaultKafkaDeadLetterPublisher(extractor.extract(config.getValue("kafka.myListener.deadLetterPublisher")), telemetry);
+ * }
+ * }</pre>
+ */
+public final class DefaultKafkaDeadLetterPublisher extends AbstractKafkaPublisher implements KafkaDeadLetterPublisher {
+    private static final Serializer<byte[]> serializer = new ByteArraySerializer();
+
+    public DefaultKafkaDeadLetterPublisher(KafkaPublisherConfig config, KafkaProducerTelemetry telemetry) {
+        super(config, telemetry);
+    }
+
+    @Override
+    public CompletionStage<RecordMetadata> publish(ProducerRecord<byte[], byte[]> record) {
+        return this.sendFuture(record, serializer, serializer);
+    }
+}
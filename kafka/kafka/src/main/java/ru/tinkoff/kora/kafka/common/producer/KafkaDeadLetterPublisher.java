@@ -0,0 +1,28 @@
+package ru.tinkoff.kora.kafka.common.producer;
+
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.clients.producer.RecordMetadata;
+
+import java.util.concurrent.CompletionStage;
+
+/**
+ * Publishes records that consumer failed to handle to the retry or dead letter topic configured by {@code deadLetterTopic}.
+ * <p>
+ * Published record keeps the original key, value and headers, and has the headers describing the original record and the error added.
+ * Consumer finds the publisher by the tag of the consumer, see {@link DefaultKafkaDeadLetterPublisher} for the implementation.
+ */
+@FunctionalInterface
+public interface KafkaDeadLetterPublisher {
+    String ORIGINAL_TOPIC_HEADER = "kora-dlt-original-topic";
+    String ORIGINAL_PARTITION_HEADER = "kora-dlt-original-partition";
+    String ORIGINAL_OFFSET_HEADER = "kora-dlt-original-offset";
+    String ORIGINAL_TIMESTAMP_HEADER = "kora-dlt-original-timestamp";
+    String EXCEPTION_CLASS_HEADER = "kora-dlt-exception-class";
+    String EXCEPTION_MESSAGE_HEADER = "kora-dlt-exception-message";
+    String ATTEMPTS_HEADER = "kora-dlt-attempts";
+
+    /**
+     * @return stage completed when the broker acknowledges the record, consumer commits the original record only after that
+     */
+    CompletionStage<RecordMetadata> publish(ProducerRecord<byte[], byte[]> record);
+}
@@ -2,8 +2,12 @@ package ru.tinkoff.kora.kafka.common.telemetry;
 
 import org.apache.kafka.clients.consumer.ConsumerRecord;
 import org.apache.kafka.clients.consumer.ConsumerRecords;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.common.TopicPartition;
 
 import javax.annotation.Nullable;
+import java.util.Collection;
+import java.util.Map;
 
 public class DefaultKafkaConsumerTelemetry<K, V> implements KafkaConsumerTelemetry<K, V> {
     @Nullable
@@ -35,6 +39,22 @@ public class DefaultKafkaConsumerTelemetry<K, V> implements KafkaConsumerTelemet
         );
     }
 
+    @Override
+    public void offsetsCommitted(Map<TopicPartition, OffsetAndMetadata> offsets, long duration, @Nullable Throwable ex) {
+        if (this.metrics != null) this.metrics.onOffsetsCommitted(offsets, duration, ex);
+        if (this.logger != null) this.logger.logOffsetsCommitted(offsets, ex);
+    }
+
+    @Override
+    public void partitionsPaused(Collection<TopicPartition> partitions) {
+        if (this.metrics != null) this.metrics.onPartitionsPaused(partitions);
+    }
+
+    @Override
+    public void partitionsResumed(Collection<TopicPartition> partitions) {
+        if (this.metrics != null) this.metrics.onPartitionsResumed(partitions);
+    }
+
     private static final class DefaultKafkaConsumerRecordsTelemetryContext<K, V> implements KafkaConsumerRecordsTelemetryContext<K, V> {
         private final ConsumerRecords<K, V> records;
         @Nullable
@@ -0,0 +1,58 @@
+package ru.tinkoff.kora.kafka.common.telemetry;
+
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.clients.producer.RecordMetadata;
+import ru.tinkoff.kora.common.Context;
+
+import javax.annotation.Nullable;
+
+public class DefaultKafkaProducerTelemetry implements KafkaProducerTelemetry {
+    @Nullable
+    private final KafkaProducerLogger logger;
+    @Nullable
+    private final KafkaProducerTracer tracing;
+    @Nullable
+    private final KafkaProducerMetrics metrics;
+
+    public DefaultKafkaProducerTelemetry(@Nullable KafkaProducerLogger logger, @Nullable KafkaProducerTracer tracing, @Nullable KafkaProducerMetrics metrics) {
+        this.logger = logger;
+        this.tracing = tracing;
+        this.metrics = metrics;
+    }
+
+    @Override
+    public KafkaProducerRecordTelemetryContext get(Context ctx, ProducerRecord<?, ?> record) {
+        var start = System.nanoTime();
+        if (this.logger != null) this.logger.logRecord(record);
+        var span = this.tracing == null ? null : this.tracing.get(ctx, record);
+
+        return new DefaultKafkaProducerRecordTelemetryContext(record, start, this.logger, this.metrics, span);
+    }
+
+    private static final class DefaultKafkaProducerRecordTelemetryContext implements KafkaProducerRecordTelemetryContext {
+        private final ProducerRecord<?, ?> record;
+        private final long start;
+        @Nullable
+        private final KafkaProducerLogger logger;
+        @Nullable
+        private final KafkaProducerMetrics metrics;
+        @Nullable
+        private final KafkaProducerTracer.KafkaProducerRecordSpan span;
+
+        public DefaultKafkaProducerRecordTelemetryContext(ProducerRecord<?, ?> record, long start, @Nullable KafkaProducerLogger logger, @Nullable KafkaProducerMetrics metrics, @Nullable KafkaProducerTracer.KafkaProducerRecordSpan span) {
+            this.record = record;
+            this.start = start;
+            this.logger = logger;
+            this.metrics = metrics;
+            this.span = span;
+        }
+
+        @Override
+        public void close(@Nullable RecordMetadata metadata, @Nullable Throwable ex) {
+            var duration = System.nanoTime() - this.start;
+            if (this.span != null) this.span.close(metadata, ex);
+            if (this.metrics != null) this.metrics.onRecordSent(this.record, duration, metadata, ex);
+            if (this.logger != null) this.logger.logRecordSent(this.record, metadata, ex);
+        }
+    }
+}
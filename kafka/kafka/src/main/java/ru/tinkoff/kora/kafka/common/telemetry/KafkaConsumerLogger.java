@@ -2,8 +2,11 @@ package ru.tinkoff.kora.kafka.common.telemetry;
 
 import org.apache.kafka.clients.consumer.ConsumerRecord;
 import org.apache.kafka.clients.consumer.ConsumerRecords;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.common.TopicPartition;
 
 import javax.annotation.Nullable;
+import java.util.Map;
 
 public interface KafkaConsumerLogger<K, V> {
     void logRecords(ConsumerRecords<K, V> records);
@@ -13,4 +16,6 @@ public interface KafkaConsumerLogger<K, V> {
     void logRecordProcessed(ConsumerRecord<K, V> record, @Nullable Throwable ex);
 
     void logRecordsProcessed(ConsumerRecords<K, V> records, @Nullable Throwable ex);
+
+    default void logOffsetsCommitted(Map<TopicPartition, OffsetAndMetadata> offsets, @Nullable Throwable ex) {}
 }
@@ -2,6 +2,12 @@ package ru.tinkoff.kora.kafka.common.telemetry;
 
 import org.apache.kafka.clients.consumer.ConsumerRecord;
 import org.apache.kafka.clients.consumer.ConsumerRecords;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.common.TopicPartition;
+
+import javax.annotation.Nullable;
+import java.util.Collection;
+import java.util.Map;
 
 public interface KafkaConsumerMetrics {
     void onRecordsReceived(ConsumerRecords<?, ?> records);
@@ -9,4 +15,10 @@ public interface KafkaConsumerMetrics {
     void onRecordsProcessed(ConsumerRecords<?, ?> records, long duration, Throwable ex);
 
     void onRecordProcessed(ConsumerRecord<?, ?> record, long duration, Throwable ex);
+
+    default void onOffsetsCommitted(Map<TopicPartition, OffsetAndMetadata> offsets, long duration, @Nullable Throwable ex) {}
+
+    default void onPartitionsPaused(Collection<TopicPartition> partitions) {}
+
+    default void onPartitionsResumed(Collection<TopicPartition> partitions) {}
 }
@@ -2,8 +2,12 @@ package ru.tinkoff.kora.kafka.common.telemetry;
 
 import org.apache.kafka.clients.consumer.ConsumerRecord;
 import org.apache.kafka.clients.consumer.ConsumerRecords;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.common.TopicPartition;
 
 import javax.annotation.Nullable;
+import java.util.Collection;
+import java.util.Map;
 
 public interface KafkaConsumerTelemetry<K, V> {
     interface KafkaConsumerRecordsTelemetryContext<K, V> {
@@ -17,4 +21,23 @@ public interface KafkaConsumerTelemetry<K, V> {
     }
 
     KafkaConsumerRecordsTelemetryContext<K, V> get(ConsumerRecords<K, V> records);
+
+    /**
+     * Called on the poll thread when offsets commit made by the container is completed
+     *
+     * @param offsets  committed offsets
+     * @param duration commit duration in nanoseconds
+     * @param ex       commit error or null if offsets were committed
+     */
+    default void offsetsCommitted(Map<TopicPartition, OffsetAndMetadata> offsets, long duration, @Nullable Throwable ex) {}
+
+    /**
+     * Called on the poll thread when the container pauses partitions because downstream is saturated or partitions have too many records in flight
+     */
+    default void partitionsPaused(Collection<TopicPartition> partitions) {}
+
+    /**
+     * Called on the poll thread when partitions paused by the container are resumed, revoked or the consumer is closed
+     */
+    default void partitionsResumed(Collection<TopicPartition> partitions) {}
 }
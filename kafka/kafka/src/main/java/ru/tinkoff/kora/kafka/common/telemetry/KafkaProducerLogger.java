@@ -0,0 +1,12 @@
+package ru.tinkoff.kora.kafka.common.telemetry;
+
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.clients.producer.RecordMetadata;
+
+import javax.annotation.Nullable;
+
+public interface KafkaProducerLogger {
+    void logRecord(ProducerRecord<?, ?> record);
+
+    void logRecordSent(ProducerRecord<?, ?> record, @Nullable RecordMetadata metadata, @Nullable Throwable ex);
+}
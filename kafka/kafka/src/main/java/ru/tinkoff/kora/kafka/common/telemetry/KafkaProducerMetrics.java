@@ -0,0 +1,10 @@
+package ru.tinkoff.kora.kafka.common.telemetry;
+
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.clients.producer.RecordMetadata;
+
+import javax.annotation.Nullable;
+
+public interface KafkaProducerMetrics {
+    void onRecordSent(ProducerRecord<?, ?> record, long duration, @Nullable RecordMetadata metadata, @Nullable Throwable ex);
+}
@@ -0,0 +1,18 @@
+package ru.tinkoff.kora.kafka.common.telemetry;
+
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.clients.producer.RecordMetadata;
+import ru.tinkoff.kora.common.Context;
+
+import javax.annotation.Nullable;
+
+public interface KafkaProducerTelemetry {
+    interface KafkaProducerRecordTelemetryContext {
+        void close(@Nullable RecordMetadata metadata, @Nullable Throwable ex);
+    }
+
+    /**
+     * Called before the record is sent with a copy of the user record, may add headers to the copy
+     */
+    KafkaProducerRecordTelemetryContext get(Context ctx, ProducerRecord<?, ?> record);
+}
@@ -0,0 +1,18 @@
+package ru.tinkoff.kora.kafka.common.telemetry;
+
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.clients.producer.RecordMetadata;
+import ru.tinkoff.kora.common.Context;
+
+import javax.annotation.Nullable;
+
+public interface KafkaProducerTracer {
+    interface KafkaProducerRecordSpan {
+        void close(@Nullable RecordMetadata metadata, @Nullable Throwable ex);
+    }
+
+    /**
+     * Starts send span and propagates its context into the headers of the record copy that is sent
+     */
+    KafkaProducerRecordSpan get(Context ctx, ProducerRecord<?, ?> record);
+}
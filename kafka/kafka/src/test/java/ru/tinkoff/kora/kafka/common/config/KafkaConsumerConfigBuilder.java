@@ -0,0 +1,123 @@
+package ru.tinkoff.kora.kafka.common.config;
+
+import ru.tinkoff.kora.common.util.Either;
+
+import javax.annotation.Nullable;
+import java.time.Duration;
+import java.util.List;
+import java.util.Properties;
+
+/**
+ * Consumer config of a single threaded consumer of the "topic" topic, every other value is the config default unless it is set
+ */
+public final class KafkaConsumerConfigBuilder {
+    private Properties driverProperties = new Properties();
+    private List<String> topics = List.of("topic");
+    @Nullable
+    private Either<Duration, String> offset;
+    private Integer threads = 1;
+    @Nullable
+    private Duration backoffTimeout;
+    @Nullable
+    private Integer parallelism;
+    @Nullable
+    private KafkaConsumerConfig.ParallelOrdering parallelOrdering;
+    @Nullable
+    private Integer maxInFlightRecordsPerPartition;
+    @Nullable
+    private KafkaConsumerConfig.CommitMode commitMode;
+    @Nullable
+    private Duration commitInterval;
+    @Nullable
+    private Integer commitRecords;
+    @Nullable
+    private Integer maxBatchSize;
+    @Nullable
+    private Integer retries;
+    @Nullable
+    private Duration retryBackoff;
+    @Nullable
+    private String deadLetterTopic;
+
+    public static KafkaConsumerConfigBuilder builder() {
+        return new KafkaConsumerConfigBuilder();
+    }
+
+    public KafkaConsumerConfigBuilder driverProperties(Properties driverProperties) {
+        this.driverProperties = driverProperties;
+        return this;
+    }
+
+    public KafkaConsumerConfigBuilder topics(String... topics) {
+        this.topics = List.of(topics);
+        return this;
+    }
+
+    public KafkaConsumerConfigBuilder offset(Either<Duration, String> offset) {
+        this.offset = offset;
+        return this;
+    }
+
+    public KafkaConsumerConfigBuilder threads(int threads) {
+        this.threads = threads;
+        return this;
+    }
+
+    public KafkaConsumerConfigBuilder backoffTimeout(Duration backoffTimeout) {
+        this.backoffTimeout = backoffTimeout;
+        return this;
+    }
+
+    public KafkaConsumerConfigBuilder parallelism(int parallelism, KafkaConsumerConfig.ParallelOrdering parallelOrdering, int maxInFlightRecordsPerPartition) {
+        this.parallelism = parallelism;
+        this.parallelOrdering = parallelOrdering;
+        this.maxInFlightRecordsPerPartition = maxInFlightRecordsPerPartition;
+        return this;
+    }
+
+    public KafkaConsumerConfigBuilder commit(KafkaConsumerConfig.CommitMode commitMode, Duration commitInterval, int commitRecords) {
+        this.commitMode = commitMode;
+        this.commitInterval = commitInterval;
+        this.commitRecords = commitRecords;
+        return this;
+    }
+
+    public KafkaConsumerConfigBuilder maxBatchSize(int maxBatchSize) {
+        this.maxBatchSize = maxBatchSize;
+        return this;
+    }
+
+    public KafkaConsumerConfigBuilder retries(int retries, Duration retryBackoff) {
+        this.retries = retries;
+        this.retryBackoff = retryBackoff;
+        return this;
+    }
+
+    public KafkaConsumerConfigBuilder deadLetterTopic(@Nullable String deadLetterTopic) {
+        this.deadLetterTopic = deadLetterTopic;
+        return this;
+    }
+
+    public KafkaConsumerConfig build() {
+        return new KafkaConsumerConfig(
+            this.driverProperties,
+            this.topics,
+            null,
+            null,
+            this.offset,
+            null,
+            this.backoffTimeout,
+            this.threads,
+            this.parallelism,
+            this.parallelOrdering,
+            this.maxInFlightRecordsPerPartition,
+            this.commitMode,
+            this.commitInterval,
+            this.commitRecords,
+            this.maxBatchSize,
+            this.retries,
+            this.retryBackoff,
+            this.deadLetterTopic
+        );
+    }
+}
@@ -0,0 +1,54 @@
+package ru.tinkoff.kora.kafka.common.containers;
+
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.ConsumerRecords;
+import org.apache.kafka.common.TopicPartition;
+import ru.tinkoff.kora.kafka.common.telemetry.KafkaConsumerTelemetry;
+
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Partitions, records and telemetry shared by the container tests that drive a consumer by hand
+ */
+final class ContainerTestRecords {
+    static final TopicPartition TP0 = new TopicPartition("topic", 0);
+    static final TopicPartition TP1 = new TopicPartition("topic", 1);
+
+    private ContainerTestRecords() {}
+
+    static ConsumerRecords<String, String> records(TopicPartition partition, long from, int count) {
+        return new ConsumerRecords<>(Map.of(partition, partitionRecords(partition, from, count)));
+    }
+
+    static List<ConsumerRecord<String, String>> partitionRecords(TopicPartition partition, long from, int count) {
+        var records = new ArrayList<ConsumerRecord<String, String>>();
+        for (var i = 0; i < count; i++) {
+            records.add(new ConsumerRecord<>(partition.topic(), partition.partition(), from + i, "k", "v"));
+        }
+        return records;
+    }
+
+    /**
+     * Telemetry that records nothing: tests override only the callbacks they check
+     */
+    static class NoopTelemetry implements KafkaConsumerTelemetry<String, String> {
+        private static final KafkaConsumerRecordTelemetryContext<String, String> RECORD_CONTEXT = ex -> {};
+        private static final KafkaConsumerRecordsTelemetryContext<String, String> RECORDS_CONTEXT = new KafkaConsumerRecordsTelemetryContext<>() {
+            @Override
+            public KafkaConsumerRecordTelemetryContext<String, String> get(ConsumerRecord<String, String> record) {
+                return RECORD_CONTEXT;
+            }
+
+            @Override
+            public void close(@Nullable Throwable ex) {}
+        };
+
+        @Override
+        public KafkaConsumerRecordsTelemetryContext<String, String> get(ConsumerRecords<String, String> records) {
+            return RECORDS_CONTEXT;
+        }
+    }
+}
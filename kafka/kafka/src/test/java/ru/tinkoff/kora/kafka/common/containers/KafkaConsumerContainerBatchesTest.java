@@ -0,0 +1,48 @@
+package ru.tinkoff.kora.kafka.common.containers;
+
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.ConsumerRecords;
+import org.apache.kafka.common.TopicPartition;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static ru.tinkoff.kora.kafka.common.containers.ContainerTestRecords.TP0;
+import static ru.tinkoff.kora.kafka.common.containers.ContainerTestRecords.TP1;
+import static ru.tinkoff.kora.kafka.common.containers.ContainerTestRecords.partitionRecords;
+
+class KafkaConsumerContainerBatchesTest {
+    @Test
+    void recordsAreNotSplitWithoutMaxBatchSize() {
+        var records = records(5, 3);
+
+        assertThat(KafkaConsumerContainer.batches(records, 0)).containsExactly(records);
+        assertThat(KafkaConsumerContainer.batches(records, 8)).containsExactly(records);
+    }
+
+    @Test
+    void recordsAreSplitIntoBatchesOfMaxSize() {
+        var records = records(5, 3);
+
+        var batches = KafkaConsumerContainer.batches(records, 3);
+
+        assertThat(batches).extracting(ConsumerRecords::count).containsExactly(3, 3, 2);
+        var offsets = new ArrayList<String>();
+        for (var batch : batches) {
+            for (var record : batch) {
+                offsets.add(record.partition() + ":" + record.offset());
+            }
+        }
+        assertThat(offsets).containsExactly("0:0", "0:1", "0:2", "0:3", "0:4", "1:0", "1:1", "1:2");
+    }
+
+    private static ConsumerRecords<String, String> records(int tp0Count, int tp1Count) {
+        var records = new LinkedHashMap<TopicPartition, List<ConsumerRecord<String, String>>>();
+        records.put(TP0, partitionRecords(TP0, 0, tp0Count));
+        records.put(TP1, partitionRecords(TP1, 0, tp1Count));
+        return new ConsumerRecords<>(records);
+    }
+}
@@ -11,12 +11,11 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.slf4j.LoggerFactory;
 import ru.tinkoff.kora.common.util.Either;
-import ru.tinkoff.kora.kafka.common.config.KafkaConsumerConfig;
+import ru.tinkoff.kora.kafka.common.config.KafkaConsumerConfigBuilder;
 import ru.tinkoff.kora.kafka.common.exceptions.RecordValueDeserializationException;
 import ru.tinkoff.kora.test.kafka.KafkaParams;
 import ru.tinkoff.kora.test.kafka.KafkaTestContainer;
 
-import java.util.List;
 import java.util.Properties;
 import java.util.UUID;
 import java.util.concurrent.ArrayBlockingQueue;
@@ -39,7 +38,7 @@ class KafkaConsumerContainerTest {
         driverProps.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "earliest");
         driverProps.put(CommonClientConfigs.GROUP_ID_CONFIG, UUID.randomUUID().toString());
         var testTopic = params.createTopic("test-topic", 3);
-        var config = new KafkaConsumerConfig(driverProps, List.of(testTopic), null, null, Either.right("earliest"), null, null, Integer.valueOf(1));
+        var config = KafkaConsumerConfigBuilder.builder().driverProperties(driverProps).topics(testTopic).offset(Either.right("earliest")).build();
         var queue = new ArrayBlockingQueue<>(3);
         var container = new KafkaConsumerContainer<>(config, new StringDeserializer(), new IntegerDeserializer(), (records, consumer, commitAllowed) -> {
             for (var record : records) {
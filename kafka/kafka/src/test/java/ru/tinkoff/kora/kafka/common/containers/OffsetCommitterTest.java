@@ -0,0 +1,131 @@
+package ru.tinkoff.kora.kafka.common.containers;
+
+import org.apache.kafka.clients.consumer.MockConsumer;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.clients.consumer.OffsetCommitCallback;
+import org.apache.kafka.clients.consumer.OffsetResetStrategy;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.errors.RetriableCommitFailedException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import ru.tinkoff.kora.kafka.common.config.KafkaConsumerConfig;
+import ru.tinkoff.kora.kafka.common.config.KafkaConsumerConfigBuilder;
+
+import javax.annotation.Nullable;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static ru.tinkoff.kora.kafka.common.containers.ContainerTestRecords.TP0;
+import static ru.tinkoff.kora.kafka.common.containers.ContainerTestRecords.TP1;
+import static ru.tinkoff.kora.kafka.common.containers.ContainerTestRecords.records;
+
+class OffsetCommitterTest {
+    private final List<Throwable> commitResults = new ArrayList<>();
+    private final ContainerTestRecords.NoopTelemetry telemetry = new ContainerTestRecords.NoopTelemetry() {
+        @Override
+        public void offsetsCommitted(Map<TopicPartition, OffsetAndMetadata> offsets, long duration, @Nullable Throwable ex) {
+            commitResults.add(ex);
+        }
+    };
+    private FailingMockConsumer consumer;
+
+    @BeforeEach
+    void setUp() {
+        consumer = new FailingMockConsumer();
+        consumer.assign(List.of(TP0, TP1));
+    }
+
+    @Test
+    void syncModeCommitsEveryPoll() {
+        var committer = committer(KafkaConsumerConfig.CommitMode.SYNC, Duration.ofHours(1), 1000);
+
+        committer.processed(records(TP0, 0, 2));
+        committer.commit(consumer);
+
+        assertThat(consumer.committed(Set.of(TP0))).containsEntry(TP0, new OffsetAndMetadata(2));
+        assertThat(commitResults).hasSize(1).containsOnlyNulls();
+    }
+
+    @Test
+    void asyncModeCommitsAfterCommitRecords() {
+        var committer = committer(KafkaConsumerConfig.CommitMode.ASYNC, Duration.ofHours(1), 3);
+
+        committer.processed(records(TP0, 0, 2));
+        committer.commit(consumer);
+        assertThat(consumer.committed(Set.of(TP0))).isEmpty();
+
+        committer.processed(records(TP1, 0, 1));
+        committer.commit(consumer);
+        assertThat(consumer.committed(Set.of(TP0, TP1))).isEqualTo(Map.of(TP0, new OffsetAndMetadata(2), TP1, new OffsetAndMetadata(1)));
+    }
+
+    @Test
+    void asyncModeCommitsAfterInterval() {
+        var committer = committer(KafkaConsumerConfig.CommitMode.ASYNC, Duration.ZERO, 1000);
+
+        committer.processed(records(TP0, 0, 1));
+        committer.commit(consumer);
+
+        assertThat(consumer.committed(Set.of(TP0))).containsEntry(TP0, new OffsetAndMetadata(1));
+    }
+
+    @Test
+    void failedAsyncCommitIsRetriedWithLatestOffsets() {
+        var committer = committer(KafkaConsumerConfig.CommitMode.ASYNC, Duration.ZERO, 1000);
+        consumer.failAsyncCommits = true;
+
+        committer.processed(records(TP0, 0, 1));
+        committer.commit(consumer);
+        assertThat(consumer.committed(Set.of(TP0))).isEmpty();
+        assertThat(commitResults).hasSize(1).first().isInstanceOf(RetriableCommitFailedException.class);
+
+        consumer.failAsyncCommits = false;
+        committer.processed(records(TP1, 0, 1));
+        committer.commit(consumer);
+        assertThat(consumer.committed(Set.of(TP0, TP1))).isEqualTo(Map.of(TP0, new OffsetAndMetadata(1), TP1, new OffsetAndMetadata(1)));
+    }
+
+    @Test
+    void processedOffsetsAreCommittedSynchronouslyOnRevoke() {
+        var committer = committer(KafkaConsumerConfig.CommitMode.ASYNC, Duration.ofHours(1), 1000);
+
+        committer.processed(records(TP0, 0, 5));
+        committer.processed(records(TP1, 0, 5));
+        committer.commit(consumer);
+        assertThat(consumer.committed(Set.of(TP0, TP1))).isEmpty();
+
+        committer.onPartitionsRevoked(List.of(TP0));
+        assertThat(consumer.committed(Set.of(TP0, TP1))).isEqualTo(Map.of(TP0, new OffsetAndMetadata(5)));
+
+        committer.commitSync(consumer);
+        assertThat(consumer.committed(Set.of(TP0, TP1))).isEqualTo(Map.of(TP0, new OffsetAndMetadata(5), TP1, new OffsetAndMetadata(5)));
+    }
+
+    private OffsetCommitter<String, String> committer(KafkaConsumerConfig.CommitMode mode, Duration interval, int commitRecords) {
+        var config = KafkaConsumerConfigBuilder.builder().commit(mode, interval, commitRecords).build();
+        var committer = new OffsetCommitter<>(config, telemetry);
+        committer.reset(consumer);
+        return committer;
+    }
+
+    private static final class FailingMockConsumer extends MockConsumer<String, String> {
+        private boolean failAsyncCommits = false;
+
+        private FailingMockConsumer() {
+            super(OffsetResetStrategy.EARLIEST);
+        }
+
+        @Override
+        public synchronized void commitAsync(Map<TopicPartition, OffsetAndMetadata> offsets, OffsetCommitCallback callback) {
+            if (this.failAsyncCommits) {
+                callback.onComplete(offsets, new RetriableCommitFailedException("test"));
+            } else {
+                super.commitAsync(offsets, callback);
+            }
+        }
+    }
+}
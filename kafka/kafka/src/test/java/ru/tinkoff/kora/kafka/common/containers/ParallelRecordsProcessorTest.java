@@ -0,0 +1,200 @@
+package ru.tinkoff.kora.kafka.common.containers;
+
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.MockConsumer;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.clients.consumer.OffsetResetStrategy;
+import org.apache.kafka.common.TopicPartition;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import ru.tinkoff.kora.kafka.common.config.KafkaConsumerConfig;
+import ru.tinkoff.kora.kafka.common.config.KafkaConsumerConfigBuilder;
+import ru.tinkoff.kora.kafka.common.containers.handlers.KafkaRecordHandler;
+import ru.tinkoff.kora.kafka.common.containers.handlers.impl.AutoCommitRecordHandler;
+import ru.tinkoff.kora.kafka.common.telemetry.DefaultKafkaConsumerTelemetry;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static ru.tinkoff.kora.kafka.common.containers.ContainerTestRecords.TP0;
+import static ru.tinkoff.kora.kafka.common.containers.ContainerTestRecords.TP1;
+
+class ParallelRecordsProcessorTest {
+    private final MockConsumer<String, String> consumer = new MockConsumer<>(OffsetResetStrategy.EARLIEST);
+    private ParallelRecordsProcessor<String, String> processor;
+
+    @AfterEach
+    void tearDown() {
+        if (processor != null) {
+            processor.close(null);
+        }
+    }
+
+    @Test
+    void recordsOfPartitionAreProcessedInOrder() throws InterruptedException {
+        var processed = new ConcurrentHashMap<Integer, List<Long>>();
+        processor = processor(2, KafkaConsumerConfig.ParallelOrdering.PARTITION, 1000, record -> {
+            processed.computeIfAbsent(record.partition(), p -> Collections.synchronizedList(new ArrayList<>())).add(record.offset());
+        });
+        assign();
+        for (var offset = 0; offset < 100; offset++) {
+            consumer.addRecord(new ConsumerRecord<>("topic", 0, offset, "k" + offset, "v"));
+            consumer.addRecord(new ConsumerRecord<>("topic", 1, offset, "k" + offset, "v"));
+        }
+
+        pollUntilCommitted(Map.of(TP0, 100L, TP1, 100L));
+
+        assertThat(processed.get(0)).isSorted().hasSize(100);
+        assertThat(processed.get(1)).isSorted().hasSize(100);
+    }
+
+    @Test
+    void offsetIsCommittedUpToFirstRecordInFlight() throws InterruptedException {
+        var release = new CountDownLatch(1);
+        var lastProcessed = new CountDownLatch(1);
+        processor = processor(2, KafkaConsumerConfig.ParallelOrdering.KEY, 1000, record -> {
+            if (record.offset() == 1) {
+                await(release);
+            } else if (record.offset() == 2) {
+                lastProcessed.countDown();
+            }
+        });
+        assign();
+        consumer.addRecord(new ConsumerRecord<>("topic", 0, 0, "b", "v"));
+        consumer.addRecord(new ConsumerRecord<>("topic", 0, 1, "a", "v"));
+        consumer.addRecord(new ConsumerRecord<>("topic", 0, 2, "b", "v"));
+
+        processor.process(consumer.poll(Duration.ZERO), consumer);
+        assertThat(lastProcessed.await(10, TimeUnit.SECONDS)).isTrue();
+        pollUntilCommitted(Map.of(TP0, 1L));
+
+        release.countDown();
+        pollUntilCommitted(Map.of(TP0, 3L));
+    }
+
+    @Test
+    void partitionIsPausedWhenTooManyRecordsInFlight() throws InterruptedException {
+        var release = new CountDownLatch(1);
+        processor = processor(2, KafkaConsumerConfig.ParallelOrdering.PARTITION, 2, record -> await(release));
+        assign();
+        consumer.addRecord(new ConsumerRecord<>("topic", 0, 0, "k", "v"));
+        consumer.addRecord(new ConsumerRecord<>("topic", 0, 1, "k", "v"));
+
+        processor.process(consumer.poll(Duration.ZERO), consumer);
+        assertThat(consumer.paused()).containsExactly(TP0);
+
+        release.countDown();
+        pollUntilCommitted(Map.of(TP0, 2L));
+        assertThat(consumer.paused()).isEmpty();
+    }
+
+    @Test
+    void processedOffsetsAreCommittedOnFailure() throws InterruptedException {
+        processor = processor(2, KafkaConsumerConfig.ParallelOrdering.PARTITION, 1000, record -> {
+            if (record.partition() == 0 && record.offset() == 1) {
+                throw new IllegalStateException("test");
+            }
+        });
+        assign();
+        for (var offset = 0; offset < 3; offset++) {
+            consumer.addRecord(new ConsumerRecord<>("topic", 0, offset, "k", "v"));
+        }
+
+        processor.process(consumer.poll(Duration.ZERO), consumer);
+        var deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        assertThatThrownBy(() -> {
+            while (System.nanoTime() < deadline) {
+                processor.process(consumer.poll(Duration.ZERO), consumer);
+                Thread.sleep(10);
+            }
+        }).isInstanceOf(IllegalStateException.class).hasMessage("test");
+
+        assertThat(consumer.committed(Set.of(TP0))).containsEntry(TP0, new OffsetAndMetadata(1));
+    }
+
+    @Test
+    void staleRecordsAreNotProcessedAfterReset() throws InterruptedException {
+        var started = Collections.synchronizedList(new ArrayList<Long>());
+        var stuck = new AtomicBoolean(true);
+        var interrupted = new CountDownLatch(1);
+        var config = KafkaConsumerConfigBuilder.builder()
+            .parallelism(1, KafkaConsumerConfig.ParallelOrdering.PARTITION, 1000)
+            .backoffTimeout(Duration.ofMillis(100))
+            .build();
+        processor = processor(config, record -> {
+            started.add(record.offset());
+            if (stuck.compareAndSet(true, false)) {
+                try {
+                    new CountDownLatch(1).await();
+                } catch (InterruptedException e) {
+                    interrupted.countDown();
+                }
+            }
+        });
+        assign();
+        consumer.addRecord(new ConsumerRecord<>("topic", 0, 0, "k", "v"));
+        consumer.addRecord(new ConsumerRecord<>("topic", 0, 1, "k", "v"));
+        processor.process(consumer.poll(Duration.ZERO), consumer);
+        var deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (started.isEmpty() && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+
+        // lane is stuck on the first record, so reset gives up waiting and the new consumer polls the partition from the start
+        processor.reset();
+        assertThat(interrupted.await(10, TimeUnit.SECONDS)).isTrue();
+        consumer.seek(TP0, 0);
+        consumer.addRecord(new ConsumerRecord<>("topic", 0, 0, "k", "v"));
+        consumer.addRecord(new ConsumerRecord<>("topic", 0, 1, "k", "v"));
+        pollUntilCommitted(Map.of(TP0, 2L));
+
+        // record queued behind the stuck one before the reset is never handled
+        assertThat(started).containsExactly(0L, 0L, 1L);
+    }
+
+    private ParallelRecordsProcessor<String, String> processor(int parallelism, KafkaConsumerConfig.ParallelOrdering ordering, int maxInFlight, KafkaRecordHandler<String, String> handler) {
+        return processor(KafkaConsumerConfigBuilder.builder().parallelism(parallelism, ordering, maxInFlight).build(), handler);
+    }
+
+    private ParallelRecordsProcessor<String, String> processor(KafkaConsumerConfig config, KafkaRecordHandler<String, String> handler) {
+        var telemetry = new DefaultKafkaConsumerTelemetry<String, String>(null, null, null);
+        return new ParallelRecordsProcessor<>(new AutoCommitRecordHandler<>(telemetry, handler), new OffsetCommitter<>(config, telemetry), new PartitionPauser<>(null, telemetry), config, Executors.defaultThreadFactory());
+    }
+
+    private void assign() {
+        consumer.assign(List.of(TP0, TP1));
+        consumer.updateBeginningOffsets(Map.of(TP0, 0L, TP1, 0L));
+    }
+
+    private void pollUntilCommitted(Map<TopicPartition, Long> expected) throws InterruptedException {
+        var deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (System.nanoTime() < deadline) {
+            processor.process(consumer.poll(Duration.ZERO), consumer);
+            var committed = consumer.committed(expected.keySet());
+            if (expected.entrySet().stream().allMatch(e -> committed.get(e.getKey()) != null && committed.get(e.getKey()).offset() == e.getValue())) {
+                return;
+            }
+            Thread.sleep(10);
+        }
+        assertThat(consumer.committed(expected.keySet())).isEqualTo(expected);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package ru.tinkoff.kora.kafka.common.containers;
+
+import org.apache.kafka.clients.consumer.MockConsumer;
+import org.apache.kafka.clients.consumer.OffsetResetStrategy;
+import org.apache.kafka.common.TopicPartition;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import ru.tinkoff.kora.kafka.common.InFlightKafkaConsumerSaturation;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static ru.tinkoff.kora.kafka.common.containers.ContainerTestRecords.TP0;
+import static ru.tinkoff.kora.kafka.common.containers.ContainerTestRecords.TP1;
+
+class PartitionPauserTest {
+    private final List<TopicPartition> paused = new ArrayList<>();
+    private final List<TopicPartition> resumed = new ArrayList<>();
+    private final ContainerTestRecords.NoopTelemetry telemetry = new ContainerTestRecords.NoopTelemetry() {
+        @Override
+        public void partitionsPaused(Collection<TopicPartition> partitions) {
+            paused.addAll(partitions);
+        }
+
+        @Override
+        public void partitionsResumed(Collection<TopicPartition> partitions) {
+            resumed.addAll(partitions);
+        }
+    };
+    private MockConsumer<String, String> consumer;
+
+    @BeforeEach
+    void setUp() {
+        consumer = new MockConsumer<>(OffsetResetStrategy.EARLIEST);
+        consumer.assign(List.of(TP0, TP1));
+    }
+
+    @Test
+    void allPartitionsArePausedWhileSaturated() {
+        var saturation = new InFlightKafkaConsumerSaturation(2);
+        var pauser = new PartitionPauser<>(saturation, telemetry);
+
+        saturation.acquire();
+        pauser.update(consumer, List.of());
+        assertThat(consumer.paused()).isEmpty();
+        assertThat(pauser.pollTimeout(Duration.ofSeconds(5))).isEqualTo(Duration.ofSeconds(5));
+
+        saturation.acquire();
+        pauser.update(consumer, List.of());
+        assertThat(consumer.paused()).containsExactlyInAnyOrder(TP0, TP1);
+        assertThat(paused).containsExactlyInAnyOrder(TP0, TP1);
+        assertThat(pauser.pollTimeout(Duration.ofSeconds(5))).isLessThan(Duration.ofSeconds(5));
+
+        saturation.release();
+        pauser.update(consumer, List.of());
+        assertThat(consumer.paused()).isEmpty();
+        assertThat(resumed).containsExactlyInAnyOrder(TP0, TP1);
+        assertThat(pauser.pollTimeout(Duration.ofSeconds(5))).isEqualTo(Duration.ofSeconds(5));
+    }
+
+    @Test
+    void overloadedPartitionsArePausedUntilDrained() {
+        var pauser = new PartitionPauser<>(null, telemetry);
+
+        pauser.update(consumer, List.of(TP0));
+        assertThat(consumer.paused()).containsExactly(TP0);
+
+        pauser.update(consumer, List.of(TP0));
+        assertThat(paused).containsExactly(TP0);
+
+        pauser.update(consumer, List.of());
+        assertThat(consumer.paused()).isEmpty();
+        assertThat(resumed).containsExactly(TP0);
+    }
+
+    @Test
+    void partitionsPausedByOthersAreNotResumed() {
+        var pauser = new PartitionPauser<>(() -> true, telemetry);
+        consumer.pause(List.of(TP1));
+
+        pauser.update(consumer, List.of());
+        assertThat(paused).containsExactly(TP0);
+
+        var pauserWithoutSaturation = new PartitionPauser<>(() -> false, telemetry);
+        pauserWithoutSaturation.update(consumer, List.of());
+        assertThat(consumer.paused()).containsExactlyInAnyOrder(TP0, TP1);
+    }
+
+    @Test
+    void revokedPartitionsAreReportedAsResumed() {
+        var pauser = new PartitionPauser<>(() -> true, telemetry);
+        pauser.update(consumer, List.of());
+
+        consumer.assign(List.of(TP1));
+        consumer.pause(List.of(TP1));
+        pauser.update(consumer, List.of());
+
+        assertThat(resumed).containsExactly(TP0);
+        assertThat(consumer.paused()).isEqualTo(Set.of(TP1));
+    }
+
+    @Test
+    void saturationErrorDoesNotPausePartitions() {
+        var pauser = new PartitionPauser<>(() -> {
+            throw new IllegalStateException("test");
+        }, telemetry);
+
+        pauser.update(consumer, List.of());
+
+        assertThat(consumer.paused()).isEmpty();
+    }
+
+    @Test
+    void resetReportsPausedPartitionsAsResumed() {
+        var pauser = new PartitionPauser<>(() -> true, telemetry);
+        pauser.update(consumer, List.of());
+
+        pauser.reset();
+
+        assertThat(resumed).containsExactlyInAnyOrder(TP0, TP1);
+    }
+}
@@ -0,0 +1,179 @@
+package ru.tinkoff.kora.kafka.common.containers;
+
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.clients.producer.RecordMetadata;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.serialization.StringDeserializer;
+import org.junit.jupiter.api.Test;
+import ru.tinkoff.kora.kafka.common.config.KafkaConsumerConfigBuilder;
+import ru.tinkoff.kora.kafka.common.containers.handlers.KafkaRecordHandler;
+import ru.tinkoff.kora.kafka.common.containers.handlers.impl.AutoCommitRecordHandler;
+import ru.tinkoff.kora.kafka.common.exceptions.RecordValueDeserializationException;
+import ru.tinkoff.kora.kafka.common.producer.KafkaDeadLetterPublisher;
+import ru.tinkoff.kora.kafka.common.telemetry.DefaultKafkaConsumerTelemetry;
+import ru.tinkoff.kora.kafka.common.telemetry.KafkaConsumerTelemetry;
+
+import javax.annotation.Nullable;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class RecoveringRecordHandlerTest {
+    private static final String POISON = "poison";
+
+    private final List<Throwable> closed = new ArrayList<>();
+    private final KafkaConsumerTelemetry.KafkaConsumerRecordTelemetryContext<String, String> recordCtx = closed::add;
+    private final List<ProducerRecord<byte[], byte[]>> published = new ArrayList<>();
+    private final KafkaDeadLetterPublisher publisher = record -> {
+        published.add(record);
+        return CompletableFuture.completedFuture(new RecordMetadata(new TopicPartition(record.topic(), 0), 0, 0, 0, 0, 0));
+    };
+
+    @Test
+    void recordIsRetriedUntilHandled() {
+        var attempts = new AtomicInteger();
+        var handler = handler(2, null, null, record -> {
+            if (attempts.incrementAndGet() < 3) {
+                throw new IllegalStateException("test");
+            }
+        });
+
+        handler.handle(record("value"), recordCtx);
+
+        assertThat(attempts).hasValue(3);
+        assertThat(closed).hasSize(1).containsOnlyNulls();
+    }
+
+    @Test
+    void failedRecordIsPublishedWithOriginalHeadersAndErrorMetadata() {
+        var attempts = new AtomicInteger();
+        var handler = handler(1, "topic-dlt", publisher, record -> {
+            attempts.incrementAndGet();
+            throw new IllegalStateException("test");
+        });
+
+        handler.handle(record("value"), recordCtx);
+
+        assertThat(attempts).hasValue(2);
+        assertThat(closed).hasSize(1).allMatch(e -> e instanceof IllegalStateException);
+        assertThat(published).hasSize(1);
+        var deadLetter = published.get(0);
+        assertThat(deadLetter.topic()).isEqualTo("topic-dlt");
+        assertThat(string(deadLetter.key())).isEqualTo("key");
+        assertThat(string(deadLetter.value())).isEqualTo("value");
+        assertThat(header(deadLetter, "trace")).isEqualTo("span");
+        assertThat(header(deadLetter, KafkaDeadLetterPublisher.ORIGINAL_TOPIC_HEADER)).isEqualTo("topic");
+        assertThat(header(deadLetter, KafkaDeadLetterPublisher.ORIGINAL_PARTITION_HEADER)).isEqualTo("1");
+        assertThat(header(deadLetter, KafkaDeadLetterPublisher.ORIGINAL_OFFSET_HEADER)).isEqualTo("5");
+        assertThat(header(deadLetter, KafkaDeadLetterPublisher.EXCEPTION_CLASS_HEADER)).isEqualTo(IllegalStateException.class.getName());
+        assertThat(header(deadLetter, KafkaDeadLetterPublisher.EXCEPTION_MESSAGE_HEADER)).isEqualTo("test");
+        assertThat(header(deadLetter, KafkaDeadLetterPublisher.ATTEMPTS_HEADER)).isEqualTo("2");
+    }
+
+    @Test
+    void deserializationErrorIsNotRetried() {
+        var attempts = new AtomicInteger();
+        var handler = handler(3, "topic-dlt", publisher, record -> {
+            attempts.incrementAndGet();
+            record.value();
+        });
+
+        handler.handle(record(POISON), recordCtx);
+
+        assertThat(attempts).hasValue(1);
+        assertThat(published).hasSize(1);
+        assertThat(string(published.get(0).value())).isEqualTo(POISON);
+        assertThat(header(published.get(0), KafkaDeadLetterPublisher.EXCEPTION_CLASS_HEADER)).isEqualTo(RecordValueDeserializationException.class.getName());
+    }
+
+    @Test
+    void errorIsRethrownWithoutDeadLetterTopic() {
+        var handler = handler(1, null, null, record -> {
+            throw new IllegalStateException("test");
+        });
+
+        assertThatThrownBy(() -> handler.handle(record("value"), recordCtx)).isInstanceOf(IllegalStateException.class);
+        assertThat(closed).hasSize(1);
+    }
+
+    @Test
+    void errorIsRethrownWhenRecordIsNotPublished() {
+        var handler = handler(0, "topic-dlt", record -> CompletableFuture.failedFuture(new IllegalArgumentException("publish")), record -> {
+            throw new IllegalStateException("test");
+        });
+
+        assertThatThrownBy(() -> handler.handle(record("value"), recordCtx))
+            .isInstanceOf(IllegalStateException.class)
+            .satisfies(e -> assertThat(e.getSuppressed()).hasSize(1).allMatch(s -> s instanceof IllegalArgumentException));
+    }
+
+    @Test
+    void deadLetterTopicRequiresPublisher() {
+        assertThatThrownBy(() -> handler(0, "topic-dlt", null, record -> {})).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void retryBackoffsShouldFitIntoPollInterval() {
+        var driverProperties = new Properties();
+        driverProperties.put(ConsumerConfig.MAX_POLL_INTERVAL_MS_CONFIG, "5000");
+        var config = KafkaConsumerConfigBuilder.builder().driverProperties(driverProperties).retries(2, Duration.ofSeconds(1)).build();
+        var delegate = new AutoCommitRecordHandler<String, String>(new DefaultKafkaConsumerTelemetry<>(null, null, null), record -> {});
+
+        assertThat(new RecoveringRecordHandler<>(delegate, config, null)).isNotNull();
+
+        var tooLong = KafkaConsumerConfigBuilder.builder().driverProperties(driverProperties).retries(3, Duration.ofSeconds(1)).build();
+        assertThatThrownBy(() -> new RecoveringRecordHandler<>(delegate, tooLong, null))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining(ConsumerConfig.MAX_POLL_INTERVAL_MS_CONFIG);
+    }
+
+    @Test
+    void retryBackoffsAreCheckedAgainstDefaultPollInterval() {
+        var config = KafkaConsumerConfigBuilder.builder().retries(10, Duration.ofSeconds(30)).build();
+        var delegate = new AutoCommitRecordHandler<String, String>(new DefaultKafkaConsumerTelemetry<>(null, null, null), record -> {});
+
+        assertThatThrownBy(() -> new RecoveringRecordHandler<>(delegate, config, null)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static RecoveringRecordHandler<String, String> handler(int retries, @Nullable String deadLetterTopic, @Nullable KafkaDeadLetterPublisher publisher, KafkaRecordHandler<String, String> handler) {
+        var config = KafkaConsumerConfigBuilder.builder().retries(retries, Duration.ofMillis(1)).deadLetterTopic(deadLetterTopic).build();
+        var telemetry = new DefaultKafkaConsumerTelemetry<String, String>(null, null, null);
+        return new RecoveringRecordHandler<>(new AutoCommitRecordHandler<>(telemetry, handler), config, publisher);
+    }
+
+    private static ConsumerRecord<String, String> record(String value) {
+        var record = new ConsumerRecord<>("topic", 1, 5, bytes("key"), bytes(value));
+        record.headers().add("trace", bytes("span"));
+        return new ConsumerRecordWrapper<>(record, new StringDeserializer(), new StringDeserializer() {
+            @Override
+            public String deserialize(String topic, byte[] data) {
+                var value = super.deserialize(topic, data);
+                if (POISON.equals(value)) {
+                    throw new IllegalArgumentException("Can't deserialize");
+                }
+                return value;
+            }
+        });
+    }
+
+    private static String header(ProducerRecord<byte[], byte[]> record, String name) {
+        return string(record.headers().lastHeader(name).value());
+    }
+
+    private static String string(byte[] bytes) {
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,195 @@
+package ru.tinkoff.kora.kafka.common.producer;
+
+import org.apache.kafka.clients.producer.MockProducer;
+import org.apache.kafka.clients.producer.Producer;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.clients.producer.RecordMetadata;
+import org.apache.kafka.common.serialization.ByteArraySerializer;
+import org.apache.kafka.common.serialization.Serializer;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import ru.tinkoff.kora.kafka.common.config.KafkaPublisherConfig;
+import ru.tinkoff.kora.kafka.common.telemetry.DefaultKafkaProducerTelemetry;
+import ru.tinkoff.kora.kafka.common.telemetry.KafkaProducerTelemetry;
+import ru.tinkoff.kora.kafka.common.telemetry.KafkaProducerTracer;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class AbstractKafkaPublisherTest {
+    private final List<String> sendResults = new CopyOnWriteArrayList<>();
+    private final KafkaProducerTracer tracer = (ctx, record) -> {
+        record.headers().add("trace", "span".getBytes(StandardCharsets.UTF_8));
+        return (metadata, ex) -> sendResults.add(ex == null ? "ok" : ex.getClass().getSimpleName());
+    };
+    private final KafkaProducerTelemetry telemetry = new DefaultKafkaProducerTelemetry(null, tracer, null);
+    private TestPublisher publisher;
+
+    @AfterEach
+    void tearDown() {
+        if (publisher != null) {
+            publisher.release().block();
+        }
+    }
+
+    @Test
+    void sendCompletesWithMetadataAndPropagatesTraceContext() {
+        var producer = new MockProducer<>(true, new ByteArraySerializer(), new ByteArraySerializer());
+        publisher = publisher(new Properties(), producer);
+
+        var record = new ProducerRecord<>("topic", "key", "value");
+        var metadata = publisher.send(record).block(Duration.ofSeconds(1));
+
+        assertThat(metadata).isNotNull();
+        assertThat(metadata.topic()).isEqualTo("topic");
+        assertThat(producer.history()).hasSize(1);
+        var sent = producer.history().get(0);
+        assertThat(new String(sent.key(), StandardCharsets.UTF_8)).isEqualTo("key");
+        assertThat(new String(sent.value(), StandardCharsets.UTF_8)).isEqualTo("value");
+        assertThat(sent.headers().lastHeader("trace")).isNotNull();
+        assertThat(sendResults).containsExactly("ok");
+
+        assertThat(record.headers().toArray()).isEmpty();
+
+        publisher.send(record).block(Duration.ofSeconds(1));
+        assertThat(producer.history().get(1).headers().headers("trace")).hasSize(1);
+        assertThat(record.headers().toArray()).isEmpty();
+    }
+
+    @Test
+    void sendDoesNotWaitForAcknowledgement() {
+        var producer = new MockProducer<>(false, new ByteArraySerializer(), new ByteArraySerializer());
+        publisher = publisher(new Properties(), producer);
+
+        var first = publisher.sendFuture(new ProducerRecord<>("topic", "key", "1"));
+        var second = publisher.sendFuture(new ProducerRecord<>("topic", "key", "2"));
+
+        assertThat(first).isNotDone();
+        assertThat(second).isNotDone();
+        assertThat(producer.completeNext()).isTrue();
+        assertThat(producer.errorNext(new IllegalStateException("test"))).isTrue();
+        assertThat(first).isCompleted();
+        assertThat(second).isCompletedExceptionally();
+        assertThat(sendResults).containsExactly("ok", "IllegalStateException");
+    }
+
+    @Test
+    void serializationErrorFailsSend() {
+        var producer = new MockProducer<>(true, new ByteArraySerializer(), new ByteArraySerializer());
+        publisher = publisher(new Properties(), producer);
+
+        var result = publisher.sendFuture(new ProducerRecord<>("topic", "key", TestPublisher.POISON));
+
+        assertThat(result).isCompletedExceptionally();
+        assertThat(producer.history()).isEmpty();
+        assertThat(sendResults).containsExactly("IllegalArgumentException");
+    }
+
+    @Test
+    void transactionalBatchIsCommitted() throws Exception {
+        var producer = new MockProducer<>(true, new ByteArraySerializer(), new ByteArraySerializer());
+        publisher = publisher(transactionalProperties(), producer);
+
+        var result = publisher.sendTransactional(List.of(new ProducerRecord<>("topic", "1"), new ProducerRecord<>("topic", "2"))).get(1, TimeUnit.SECONDS);
+
+        assertThat(result).hasSize(2);
+        assertThat(producer.transactionCommitted()).isTrue();
+        assertThat(producer.commitCount()).isEqualTo(1);
+        assertThat(producer.history()).hasSize(2);
+    }
+
+    @Test
+    void transactionalBatchIsAbortedOnError() {
+        var producer = new MockProducer<>(true, new ByteArraySerializer(), new ByteArraySerializer());
+        publisher = publisher(transactionalProperties(), producer);
+
+        var result = publisher.sendTransactional(List.of(new ProducerRecord<>("topic", "1"), new ProducerRecord<>("topic", TestPublisher.POISON)));
+
+        assertThatThrownBy(() -> result.get(1, TimeUnit.SECONDS)).isInstanceOf(ExecutionException.class).hasCauseInstanceOf(IllegalArgumentException.class);
+        assertThat(producer.transactionAborted()).isTrue();
+        assertThat(producer.history()).isEmpty();
+    }
+
+    @Test
+    void transactionalPublisherSendsSingleRecordInTransaction() {
+        var producer = new MockProducer<>(true, new ByteArraySerializer(), new ByteArraySerializer());
+        publisher = publisher(transactionalProperties(), producer);
+
+        var metadata = publisher.send(new ProducerRecord<>("topic", "1")).block(Duration.ofSeconds(1));
+
+        assertThat(metadata).isNotNull();
+        assertThat(producer.transactionCommitted()).isTrue();
+    }
+
+    @Test
+    void transactionalBatchRequiresTransactionalId() {
+        var producer = new MockProducer<>(true, new ByteArraySerializer(), new ByteArraySerializer());
+        publisher = publisher(new Properties(), producer);
+
+        var result = publisher.sendTransactional(List.of(new ProducerRecord<>("topic", "1")));
+
+        assertThatThrownBy(() -> result.get(1, TimeUnit.SECONDS)).hasCauseInstanceOf(IllegalStateException.class);
+        assertThat(producer.history()).isEmpty();
+    }
+
+    private static Properties transactionalProperties() {
+        var properties = new Properties();
+        properties.put(ProducerConfig.TRANSACTIONAL_ID_CONFIG, "test-tx");
+        return properties;
+    }
+
+    private TestPublisher publisher(Properties properties, MockProducer<byte[], byte[]> producer) {
+        var publisher = new TestPublisher(new KafkaPublisherConfig(properties), telemetry, producer);
+        publisher.init().block();
+        return publisher;
+    }
+
+    private static final class TestPublisher extends AbstractKafkaPublisher {
+        static final String POISON = "poison";
+
+        private final MockProducer<byte[], byte[]> producer;
+        private final Serializer<String> serializer = new StringSerializer() {
+            @Override
+            public byte[] serialize(String topic, String data) {
+                if (POISON.equals(data)) {
+                    throw new IllegalArgumentException("Can't serialize");
+                }
+                return super.serialize(topic, data);
+            }
+        };
+
+        TestPublisher(KafkaPublisherConfig config, KafkaProducerTelemetry telemetry, MockProducer<byte[], byte[]> producer) {
+            super(config, telemetry);
+            this.producer = producer;
+        }
+
+        @Override
+        protected Producer<byte[], byte[]> createProducer(Properties driverProperties) {
+            return this.producer;
+        }
+
+        Mono<RecordMetadata> send(ProducerRecord<String, String> record) {
+            return this.sendMono(record, this.serializer, this.serializer);
+        }
+
+        CompletableFuture<RecordMetadata> sendFuture(ProducerRecord<String, String> record) {
+            return this.sendFuture(record, this.serializer, this.serializer);
+        }
+
+        CompletableFuture<List<RecordMetadata>> sendTransactional(List<ProducerRecord<String, String>> records) {
+            return this.sendTransactionalFuture(records, this.serializer, this.serializer);
+        }
+    }
+}
@@ -8,106 +8,143 @@ import ch.qos.logback.core.Context;
 import ch.qos.logback.core.encoder.Encoder;
 import ch.qos.logback.core.status.Status;
 import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonStreamContext;
+import com.fasterxml.jackson.core.json.JsonWriteContext;
 import ru.tinkoff.kora.logging.common.arg.StructuredArgument;
 import ru.tinkoff.kora.logging.common.arg.StructuredArgumentWriter;
 
+import javax.annotation.Nullable;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
-import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
 import java.nio.charset.StandardCharsets;
 import java.time.Instant;
 import java.time.format.DateTimeFormatter;
+import java.util.Arrays;
+import java.util.concurrent.ArrayBlockingQueue;
 
 import static java.time.ZoneOffset.UTC;
 
+/**
+ * Encoder state is taken from a small pool and reused between events: text is encoded to UTF-8 directly into the reusable buffer and
+ * structured values are written into the same buffer by the json generator of the state. Pool is bounded, so threads that log concurrently beyond its size,
+ * e.g. a lot of virtual threads, get a new state that is dropped after the event.
+ */
 public final class ConsoleTextRecordEncoder implements Encoder<ILoggingEvent> {
+    private static final int MAX_RETAINED_BUFFER_SIZE = 64 * 1024;
+    private static final int POOL_SIZE = Math.max(4, Runtime.getRuntime().availableProcessors());
+    private static final byte[] ERROR = "<error>".getBytes(StandardCharsets.UTF_8);
+
     private final JsonFactory jsonFactory = new JsonFactory();
-    private final CachingDateFormatter formatter = new CachingDateFormatter();
     private final Abbreviator abbreviator = new TargetLengthBasedClassNameAbbreviator(100);
+    private final ArrayBlockingQueue<EncoderState> pool = new ArrayBlockingQueue<>(POOL_SIZE);
 
     @Override
     public byte[] encode(ILoggingEvent event) {
-        try {
-            return this.encode0(event);
-        } catch (IOException e) {
-            return "<error>".getBytes(StandardCharsets.UTF_8);
+        var state = this.pool.poll();
+        if (state == null) {
+            state = new EncoderState();
+        }
+        // state of the event that failed with an exception is not returned to the pool
+        this.encode0(state, event);
+        var result = state.buffer.toByteArray();
+        if (state.buffer.capacity() <= MAX_RETAINED_BUFFER_SIZE) {
+            state.reset();
+            this.pool.offer(state);
         }
+        return result;
     }
 
-    private byte[] encode0(ILoggingEvent event) throws IOException {
-        var baos = new ByteArrayOutputStream(256);
-        var w = new OutputStreamWriter(baos, StandardCharsets.UTF_8);
+    private void encode0(EncoderState state, ILoggingEvent event) {
+        var b = state.buffer;
 
-        w
-            .append(this.formatter.format(event.getTimeStamp())).append(" ")
+        b.append(state.formatter.format(event.getTimeStamp())).append(" ")
             .append("[").append(event.getThreadName()).append("] ")
             .append(event.getLevel().levelStr).append(" ")
             .append(this.abbreviator.abbreviate(event.getLoggerName()))
-            .append(" ")
-            .flush();
+            .append(" ");
         if (event instanceof KoraLoggingEvent koraEvent) {
             var mdc = koraEvent.koraMdc();
             for (var e : mdc.entrySet()) {
                 var key = e.getKey();
                 var value = e.getValue();
-                w.append(key).append("=").flush();
-                this.writeJson(baos, value);
-                w.append(" ");
+                b.append(key).append("=");
+                this.writeJson(state, value);
+                b.append(" ");
             }
-            w.flush();
         }
         for (var e : event.getMDCPropertyMap().entrySet()) {
             var key = e.getKey();
             var value = e.getValue();
-            w.append(key).append("=").append(value).flush();
-            w.append(" ");
+            b.append(key).append("=").append(value);
+            b.append(" ");
         }
 
-        w.append(event.getFormattedMessage()).flush();
+        b.append(event.getFormattedMessage());
         for (var marker : event.getMarkerList()) {
             if (marker instanceof StructuredArgument structuredArgument) {
-                w.append("\n")
-                    .append("\t").append(structuredArgument.fieldName()).append("=")
-                    .flush();
-                this.writeJson(baos, structuredArgument);
+                b.append("\n")
+                    .append("\t").append(structuredArgument.fieldName()).append("=");
+                this.writeJson(state, structuredArgument);
             }
         }
         if (event.getArgumentArray() != null) for (var arg : event.getArgumentArray()) {
             if (arg instanceof StructuredArgument structuredArgument) {
-                w.append("\n")
-                    .append("\t").append(structuredArgument.fieldName()).append("=")
-                    .flush();
-                this.writeJson(baos, structuredArgument);
+                b.append("\n")
+                    .append("\t").append(structuredArgument.fieldName()).append("=");
+                this.writeJson(state, structuredArgument);
             }
         }
         if (event.getKeyValuePairs() != null) for (var keyValue : event.getKeyValuePairs()) {
             if (keyValue.value instanceof StructuredArgumentWriter structuredArgument) {
-                w.append("\n")
-                    .append("\t").append(keyValue.key).append("=")
-                    .flush();
-                this.writeJson(baos, structuredArgument);
+                b.append("\n")
+                    .append("\t").append(keyValue.key).append("=");
+                this.writeJson(state, structuredArgument);
             }
         }
-        w.append("\n");
+        b.append("\n");
         if (event.getThrowableProxy() != null) {
-            w.append(ThrowableProxyUtil.asString(event.getThrowableProxy()));
-            w.append("\n");
+            b.append(ThrowableProxyUtil.asString(event.getThrowableProxy()));
+            b.append("\n");
         }
-        w.flush();
-        return baos.toByteArray();
     }
 
-    private void writeJson(ByteArrayOutputStream b, StructuredArgumentWriter value) {
-        try (var gen = this.jsonFactory.createGenerator(b)) {
+    private void writeJson(EncoderState state, StructuredArgumentWriter value) {
+        var gen = state.generator(this.jsonFactory);
+        try {
             value.writeTo(gen);
+            endValue(gen);
         } catch (IOException e) {
             try {
-                b.write("<error>".getBytes(StandardCharsets.UTF_8));
-            } catch (IOException ex) {
+                endValue(gen);
+            } catch (IOException ignore) {
             }
+            // generator may be left in any state, so it is not reused
+            state.generator = null;
+            state.buffer.write(ERROR, 0, ERROR.length);
         }
     }
 
+    /**
+     * Does what closing the generator used for the single value did: closes the unfinished json and flushes it,
+     * then resets the root context, so the first root value of the next writer is not preceded by the separator.
+     */
+    private static void endValue(JsonGenerator gen) throws IOException {
+        while (true) {
+            var ctx = gen.getOutputContext();
+            if (ctx.inArray()) {
+                gen.writeEndArray();
+            } else if (ctx.inObject()) {
+                gen.writeEndObject();
+            } else {
+                break;
+            }
+        }
+        gen.flush();
+        ((JsonWriteContext) gen.getOutputContext()).reset(JsonStreamContext.TYPE_ROOT);
+    }
+
     @Override
     public byte[] headerBytes() {
         return new byte[0];
@@ -191,4 +228,100 @@ public final class ConsoleTextRecordEncoder implements Encoder<ILoggingEvent> {
             return this.cachedStr;
         }
     }
+
+    private static final class EncoderState {
+        private final Utf8Buffer buffer = new Utf8Buffer(256);
+        private final CachingDateFormatter formatter = new CachingDateFormatter();
+        @Nullable
+        private JsonGenerator generator;
+
+        private JsonGenerator generator(JsonFactory jsonFactory) {
+            var generator = this.generator;
+            if (generator == null) {
+                try {
+                    generator = jsonFactory.createGenerator(this.buffer);
+                } catch (IOException e) {
+                    // generator of the byte array stream doesn't do any io on creation
+                    throw new UncheckedIOException(e);
+                }
+                this.generator = generator;
+            }
+            return generator;
+        }
+
+        private void reset() {
+            this.buffer.reset();
+        }
+    }
+
+    /**
+     * Encodes chars the same way {@link java.io.OutputStreamWriter} with UTF-8 does: malformed surrogates are replaced with '?'
+     * and high surrogate at the end of the appended string is kept until the next one.
+     * Bytes written directly, e.g. by json generator, go before the pending surrogate just as they went around the writer.
+     */
+    private static final class Utf8Buffer extends ByteArrayOutputStream {
+        private char highSurrogate;
+
+        private Utf8Buffer(int size) {
+            super(size);
+        }
+
+        private int capacity() {
+            return this.buf.length;
+        }
+
+        @Override
+        public synchronized void reset() {
+            super.reset();
+            this.highSurrogate = 0;
+        }
+
+        private Utf8Buffer append(@Nullable String str) {
+            if (str == null) {
+                str = "null";
+            }
+            var length = str.length();
+            this.ensureCapacity(this.count + length * 3 + 4);
+            var buf = this.buf;
+            var count = this.count;
+            for (int i = 0; i < length; i++) {
+                var c = str.charAt(i);
+                if (this.highSurrogate != 0) {
+                    var high = this.highSurrogate;
+                    this.highSurrogate = 0;
+                    if (Character.isLowSurrogate(c)) {
+                        var cp = Character.toCodePoint(high, c);
+                        buf[count++] = (byte) (0xF0 | (cp >> 18));
+                        buf[count++] = (byte) (0x80 | ((cp >> 12) & 0x3F));
+                        buf[count++] = (byte) (0x80 | ((cp >> 6) & 0x3F));
+                        buf[count++] = (byte) (0x80 | (cp & 0x3F));
+                        continue;
+                    }
+                    buf[count++] = '?';
+                }
+                if (c < 0x80) {
+                    buf[count++] = (byte) c;
+                } else if (c < 0x800) {
+                    buf[count++] = (byte) (0xC0 | (c >> 6));
+                    buf[count++] = (byte) (0x80 | (c & 0x3F));
+                } else if (Character.isHighSurrogate(c)) {
+                    this.highSurrogate = c;
+                } else if (Character.isLowSurrogate(c)) {
+                    buf[count++] = '?';
+                } else {
+                    buf[count++] = (byte) (0xE0 | (c >> 12));
+                    buf[count++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+                    buf[count++] = (byte) (0x80 | (c & 0x3F));
+                }
+            }
+            this.count = count;
+            return this;
+        }
+
+        private void ensureCapacity(int minCapacity) {
+            if (minCapacity > this.buf.length) {
+                this.buf = Arrays.copyOf(this.buf, Math.max(this.buf.length * 2, minCapacity));
+            }
+        }
+    }
 }
@@ -0,0 +1,199 @@
+package ru.tinkoff.kora.logging.logback;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.classic.spi.ThrowableProxy;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Marker;
+import org.slf4j.event.KeyValuePair;
+import ru.tinkoff.kora.logging.common.arg.StructuredArgument;
+import ru.tinkoff.kora.logging.common.arg.StructuredArgumentWriter;
+
+import javax.annotation.Nullable;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ConsoleTextRecordEncoderTest {
+    private static final String EMOJI = "\uD83D\uDE00";
+    private static final String HIGH = "\uD83D";
+    private static final String LOW = "\uDE00";
+
+    private final ConsoleTextRecordEncoder encoder = new ConsoleTextRecordEncoder();
+    private final LegacyConsoleTextRecordEncoder legacy = new LegacyConsoleTextRecordEncoder();
+
+    @Test
+    void plainMessage() {
+        assertSameOutput(event("message", Map.of(), Map.of(), List.of(), null, null, null));
+    }
+
+    @Test
+    void allEventParts() {
+        var koraMdc = new LinkedHashMap<String, StructuredArgumentWriter>();
+        koraMdc.put("traceId", gen -> gen.writeString("abc"));
+        koraMdc.put("object", gen -> {
+            gen.writeStartObject();
+            gen.writeNumberField("n", 1);
+            gen.writeEndObject();
+        });
+        var mdc = new LinkedHashMap<String, String>();
+        mdc.put("user", "test");
+        mdc.put("null", null);
+        var markers = List.<Marker>of(StructuredArgument.marker("marker", "value"), StructuredArgument.marker("map", Map.of("k", "v")));
+        var args = new Object[]{"plain", StructuredArgument.arg("arg", 42), StructuredArgument.arg("flag", true)};
+        var keyValues = List.of(new KeyValuePair("kv", (StructuredArgumentWriter) gen -> gen.writeString("value")), new KeyValuePair("plain", "not written"));
+
+        assertSameOutput(event("message {}", koraMdc, mdc, markers, args, keyValues, new ThrowableProxy(new IllegalStateException("test"))));
+    }
+
+    @Test
+    void nonBmpCharacters() {
+        var koraMdc = Map.<String, StructuredArgumentWriter>of("key" + EMOJI, gen -> gen.writeString("value" + EMOJI));
+        var mdc = Map.of("mdc" + EMOJI, EMOJI + "value" + EMOJI);
+        var markers = List.<Marker>of(StructuredArgument.marker("marker" + EMOJI, EMOJI));
+
+        assertSameOutput(event(EMOJI + "message" + EMOJI, koraMdc, mdc, markers, null, null, null));
+    }
+
+    @Test
+    void malformedSurrogates() {
+        var mdc = new LinkedHashMap<String, String>();
+        mdc.put("dangling", "value" + HIGH);
+        mdc.put("low", LOW + "value");
+        mdc.put("twoHigh", HIGH + HIGH + LOW);
+
+        assertSameOutput(event("message" + HIGH, Map.of(), mdc, List.of(), null, null, null));
+        assertSameOutput(event(HIGH, Map.of(), Map.of(), List.of(StructuredArgument.marker("marker", "value")), null, null, null));
+        assertSameOutput(event("message" + LOW + HIGH, Map.of(), Map.of(), List.of(), null, null, new ThrowableProxy(new IllegalStateException(HIGH))));
+    }
+
+    @Test
+    void highSurrogateBeforeKoraMdcJson() {
+        var koraMdc = new LinkedHashMap<String, StructuredArgumentWriter>();
+        koraMdc.put("first" + HIGH, gen -> gen.writeString(EMOJI));
+        koraMdc.put(HIGH, gen -> gen.writeNumber(1));
+        var mdc = Map.of("mdc", "value" + HIGH);
+
+        assertSameOutput(event("message", koraMdc, mdc, List.of(), null, null, null));
+    }
+
+    @Test
+    void generatorFailureInTheMiddleOfRecord() {
+        var koraMdc = new LinkedHashMap<String, StructuredArgumentWriter>();
+        koraMdc.put("failed", gen -> {
+            gen.writeStartObject();
+            gen.writeFieldName("field");
+            gen.writeStartArray();
+            gen.writeString("value");
+            throw new IOException("test");
+        });
+        koraMdc.put("next", gen -> gen.writeString("value"));
+        var markers = List.<Marker>of(StructuredArgument.marker("failed", gen -> {
+            gen.writeStartObject();
+            throw new IOException("test");
+        }), StructuredArgument.marker("next", "value"));
+
+        assertSameOutput(event("message", koraMdc, Map.of(), markers, null, null, null));
+        // nothing is left of the failed value in the next event
+        assertSameOutput(event("message", Map.of("next", gen -> gen.writeString("value")), Map.of(), List.of(), null, null, null));
+    }
+
+    @Test
+    void severalRootValuesOfSingleWriter() {
+        var koraMdc = Map.<String, StructuredArgumentWriter>of("values", gen -> {
+            gen.writeString("first");
+            gen.writeNumber(2);
+        });
+
+        assertSameOutput(event("message", koraMdc, Map.of(), List.of(), null, null, null));
+    }
+
+    @Test
+    void unfinishedValueIsClosedBeforeNextOne() {
+        var koraMdc = new LinkedHashMap<String, StructuredArgumentWriter>();
+        koraMdc.put("unfinished", gen -> {
+            gen.writeNumber(1);
+            gen.writeStartArray();
+            gen.writeStartObject();
+        });
+        koraMdc.put("next", gen -> gen.writeString("value"));
+        var markers = List.<Marker>of(StructuredArgument.marker("unfinished", gen -> gen.writeStartArray()));
+
+        assertSameOutput(event("message", koraMdc, Map.of(), markers, null, null, null));
+    }
+
+    @Test
+    void writerRuntimeExceptionIsRethrownAndNextEventIsClean() {
+        var failed = event("message", Map.of("failed", gen -> {
+            gen.writeStartObject();
+            throw new IllegalStateException("test");
+        }), Map.of(), List.of(), null, null, null);
+
+        assertThatThrownBy(() -> legacy.encode(failed)).isInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(() -> encoder.encode(failed)).isInstanceOf(IllegalStateException.class);
+        assertSameOutput(event("message", Map.of(), Map.of(), List.of(), null, null, null));
+    }
+
+    @Test
+    void largeEventDoesNotAffectNextOne() {
+        assertSameOutput(event("x".repeat(100_000) + HIGH, Map.of(), Map.of(), List.of(), null, null, null));
+        assertSameOutput(event("message", Map.of(), Map.of(), List.of(), null, null, null));
+    }
+
+    @Test
+    void concurrentEncoding() throws Exception {
+        var tasks = new ArrayList<Callable<Void>>();
+        for (int i = 0; i < 32; i++) {
+            var thread = i;
+            tasks.add(() -> {
+                for (int j = 0; j < 100; j++) {
+                    var event = event("message " + thread + " " + j + EMOJI, Map.of("n", gen -> gen.writeNumber(thread)), Map.of(), List.of(), null, null, null);
+                    assertThat(encoder.encode(event)).isEqualTo(new LegacyConsoleTextRecordEncoder().encode(event));
+                }
+                return null;
+            });
+        }
+        var executor = Executors.newFixedThreadPool(8);
+        try {
+            for (var future : executor.invokeAll(tasks)) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private void assertSameOutput(ILoggingEvent event) {
+        // twice to check reused state too
+        assertThat(encoder.encode(event)).isEqualTo(legacy.encode(event));
+        assertThat(encoder.encode(event)).isEqualTo(legacy.encode(event));
+    }
+
+    private static ILoggingEvent event(String message, Map<String, StructuredArgumentWriter> koraMdc, Map<String, String> mdc, List<Marker> markers,
+                                       @Nullable Object[] args, @Nullable List<KeyValuePair> keyValues, @Nullable ThrowableProxy throwable) {
+        return new KoraLoggingEvent(
+            "thread" + EMOJI,
+            "ru.tinkoff.kora.logging.logback.ConsoleTextRecordEncoderTest",
+            null,
+            Level.INFO,
+            message,
+            message,
+            args,
+            throwable,
+            markers,
+            mdc,
+            1666000000123L,
+            0,
+            0,
+            keyValues,
+            koraMdc
+        );
+    }
+}
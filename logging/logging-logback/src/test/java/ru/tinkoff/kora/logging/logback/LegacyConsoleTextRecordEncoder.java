@@ -0,0 +1,105 @@
+package ru.tinkoff.kora.logging.logback;
+
+import ch.qos.logback.classic.pattern.Abbreviator;
+import ch.qos.logback.classic.pattern.TargetLengthBasedClassNameAbbreviator;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.classic.spi.ThrowableProxyUtil;
+import com.fasterxml.jackson.core.JsonFactory;
+import ru.tinkoff.kora.logging.common.arg.StructuredArgument;
+import ru.tinkoff.kora.logging.common.arg.StructuredArgumentWriter;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Encoding part of {@link ConsoleTextRecordEncoder} before it reused buffers, kept as is to compare the output with
+ */
+final class LegacyConsoleTextRecordEncoder {
+    private final JsonFactory jsonFactory = new JsonFactory();
+    private final ConsoleTextRecordEncoder.CachingDateFormatter formatter = new ConsoleTextRecordEncoder.CachingDateFormatter();
+    private final Abbreviator abbreviator = new TargetLengthBasedClassNameAbbreviator(100);
+
+    public byte[] encode(ILoggingEvent event) {
+        try {
+            return this.encode0(event);
+        } catch (IOException e) {
+            return "<error>".getBytes(StandardCharsets.UTF_8);
+        }
+    }
+
+    private byte[] encode0(ILoggingEvent event) throws IOException {
+        var baos = new ByteArrayOutputStream(256);
+        var w = new OutputStreamWriter(baos, StandardCharsets.UTF_8);
+
+        w
+            .append(this.formatter.format(event.getTimeStamp())).append(" ")
+            .append("[").append(event.getThreadName()).append("] ")
+            .append(event.getLevel().levelStr).append(" ")
+            .append(this.abbreviator.abbreviate(event.getLoggerName()))
+            .append(" ")
+            .flush();
+        if (event instanceof KoraLoggingEvent koraEvent) {
+            var mdc = koraEvent.koraMdc();
+            for (var e : mdc.entrySet()) {
+                var key = e.getKey();
+                var value = e.getValue();
+                w.append(key).append("=").flush();
+                this.writeJson(baos, value);
+                w.append(" ");
+            }
+            w.flush();
+        }
+        for (var e : event.getMDCPropertyMap().entrySet()) {
+            var key = e.getKey();
+            var value = e.getValue();
+            w.append(key).append("=").append(value).flush();
+            w.append(" ");
+        }
+
+        w.append(event.getFormattedMessage()).flush();
+        for (var marker : event.getMarkerList()) {
+            if (marker instanceof StructuredArgument structuredArgument) {
+                w.append("\n")
+                    .append("\t").append(structuredArgument.fieldName()).append("=")
+                    .flush();
+                this.writeJson(baos, structuredArgument);
+            }
+        }
+        if (event.getArgumentArray() != null) for (var arg : event.getArgumentArray()) {
+            if (arg instanceof StructuredArgument structuredArgument) {
+                w.append("\n")
+                    .append("\t").append(structuredArgument.fieldName()).append("=")
+                    .flush();
+                this.writeJson(baos, structuredArgument);
+            }
+        }
+        if (event.getKeyValuePairs() != null) for (var keyValue : event.getKeyValuePairs()) {
+            if (keyValue.value instanceof StructuredArgumentWriter structuredArgument) {
+                w.append("\n")
+                    .append("\t").append(keyValue.key).append("=")
+                    .flush();
+                this.writeJson(baos, structuredArgument);
+            }
+        }
+        w.append("\n");
+        if (event.getThrowableProxy() != null) {
+            w.append(ThrowableProxyUtil.asString(event.getThrowableProxy()));
+            w.append("\n");
+        }
+        w.flush();
+        return baos.toByteArray();
+    }
+
+    private void writeJson(ByteArrayOutputStream b, StructuredArgumentWriter value) {
+        try (var gen = this.jsonFactory.createGenerator(b)) {
+            value.writeTo(gen);
+        } catch (IOException e) {
+            try {
+                b.write("<error>".getBytes(StandardCharsets.UTF_8));
+            } catch (IOException ex) {
+            }
+        }
+    }
+}
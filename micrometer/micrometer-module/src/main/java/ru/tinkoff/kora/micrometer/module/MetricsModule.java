@@ -26,6 +26,7 @@ import ru.tinkoff.kora.micrometer.module.http.server.tag.DefaultMicrometerHttpSe
 import ru.tinkoff.kora.micrometer.module.http.server.tag.MicrometerHttpServerTagsProvider;
 import ru.tinkoff.kora.micrometer.module.jms.consumer.MicrometerJmsConsumerMetricsFactory;
 import ru.tinkoff.kora.micrometer.module.kafka.consumer.MicrometerKafkaConsumerMetrics;
+import ru.tinkoff.kora.micrometer.module.kafka.producer.MicrometerKafkaProducerMetrics;
 import ru.tinkoff.kora.micrometer.module.resilient.MicrometerCircuitBreakerMetrics;
 import ru.tinkoff.kora.micrometer.module.scheduling.MicrometerSchedulingMetricsFactory;
 import ru.tinkoff.kora.micrometer.module.soap.client.MicrometerSoapClientMetricsFactory;
@@ -118,6 +119,11 @@ public interface MetricsModule {
         return new MicrometerKafkaConsumerMetrics(meterRegistry);
     }
 
+    @DefaultComponent
+    default MicrometerKafkaProducerMetrics micrometerKafkaProducerMetrics(MeterRegistry meterRegistry) {
+        return new MicrometerKafkaProducerMetrics(meterRegistry);
+    }
+
     @DefaultComponent
     default MicrometerJmsConsumerMetricsFactory micrometerJmsConsumerMetricsFactory(MeterRegistry meterRegistry) {
         return new MicrometerJmsConsumerMetricsFactory(meterRegistry);
@@ -9,7 +9,9 @@ import ru.tinkoff.kora.cache.telemetry.CacheTelemetry;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 
 public final class MicrometerCacheMetrics implements CacheMetrics {
 
@@ -25,7 +27,10 @@ public final class MicrometerCacheMetrics implements CacheMetrics {
     private static final String STATUS_SUCCESS = "success";
     private static final String STATUS_FAILED = "failed";
 
+    private static final CacheTelemetry.Operation.Type[] TYPES = CacheTelemetry.Operation.Type.values();
+
     private final MeterRegistry meterRegistry;
+    private final ConcurrentHashMap<String, ConcurrentHashMap<String, CacheMeters>> meters = new ConcurrentHashMap<>();
 
     public MicrometerCacheMetrics(MeterRegistry meterRegistry) {
         this.meterRegistry = meterRegistry;
@@ -33,35 +38,87 @@ public final class MicrometerCacheMetrics implements CacheMetrics {
 
     @Override
     public void recordSuccess(@Nonnull CacheTelemetry.Operation operation, long durationInNanos, @Nullable Object valueFromCache) {
-        final Timer timer = meterRegistry.timer(METRIC_CACHE_DURATION, Tags.of(
-            TAG_CACHE_NAME, operation.cacheName(),
-            TAG_OPERATION, operation.type().name(),
-            TAG_ORIGIN, operation.origin(),
-            TAG_STATUS, STATUS_SUCCESS
-        ));
-        timer.record(durationInNanos, TimeUnit.NANOSECONDS);
+        final CacheMeters cacheMeters = cacheMeters(operation);
+        cacheMeters.timer(operation.type(), true).record(durationInNanos, TimeUnit.NANOSECONDS);
 
         if (CacheTelemetry.Operation.Type.GET == operation.type()) {
-            final String metricName = (valueFromCache == null)
-                ? METRIC_CACHE_MISS
-                : METRIC_CACHE_HIT;
-
-            final Counter counter = meterRegistry.counter(metricName, Tags.of(
-                TAG_CACHE_NAME, operation.cacheName(),
-                TAG_ORIGIN, operation.origin()
-            ));
+            final Counter counter = (valueFromCache == null)
+                ? cacheMeters.miss()
+                : cacheMeters.hit();
             counter.increment();
         }
     }
 
     @Override
     public void recordFailure(@Nonnull CacheTelemetry.Operation operation, long durationInNanos, @Nullable Throwable throwable) {
-        final Timer timer = meterRegistry.timer(METRIC_CACHE_DURATION, Tags.of(
-            TAG_CACHE_NAME, operation.cacheName(),
-            TAG_OPERATION, operation.type().name(),
-            TAG_ORIGIN, operation.origin(),
-            TAG_STATUS, STATUS_FAILED
-        ));
-        timer.record(durationInNanos, TimeUnit.NANOSECONDS);
+        cacheMeters(operation).timer(operation.type(), false).record(durationInNanos, TimeUnit.NANOSECONDS);
+    }
+
+    private CacheMeters cacheMeters(CacheTelemetry.Operation operation) {
+        var byOrigin = meters.get(operation.cacheName());
+        if (byOrigin == null) {
+            byOrigin = meters.computeIfAbsent(operation.cacheName(), k -> new ConcurrentHashMap<>());
+        }
+        var cacheMeters = byOrigin.get(operation.origin());
+        if (cacheMeters == null) {
+            cacheMeters = byOrigin.computeIfAbsent(operation.origin(), origin -> new CacheMeters(operation.cacheName(), origin));
+        }
+        return cacheMeters;
+    }
+
+    /**
+     * Meters of a single cache, resolved through the registry once on first use of each operation type and status.
+     */
+    private final class CacheMeters {
+        private final String cacheName;
+        private final String origin;
+        private final AtomicReferenceArray<Timer> successTimers = new AtomicReferenceArray<>(TYPES.length);
+        private final AtomicReferenceArray<Timer> failureTimers = new AtomicReferenceArray<>(TYPES.length);
+        private volatile Counter hit;
+        private volatile Counter miss;
+
+        private CacheMeters(String cacheName, String origin) {
+            this.cacheName = cacheName;
+            this.origin = origin;
+        }
+
+        private Timer timer(CacheTelemetry.Operation.Type type, boolean success) {
+            final AtomicReferenceArray<Timer> timers = success ? successTimers : failureTimers;
+            Timer timer = timers.get(type.ordinal());
+            if (timer == null) {
+                // registry returns the same timer for the same tags, so racing threads resolve the same one
+                timer = meterRegistry.timer(METRIC_CACHE_DURATION, Tags.of(
+                    TAG_CACHE_NAME, cacheName,
+                    TAG_OPERATION, type.name(),
+                    TAG_ORIGIN, origin,
+                    TAG_STATUS, success ? STATUS_SUCCESS : STATUS_FAILED
+                ));
+                timers.set(type.ordinal(), timer);
+            }
+            return timer;
+        }
+
+        private Counter hit() {
+            Counter counter = hit;
+            if (counter == null) {
+                counter = hit = counter(METRIC_CACHE_HIT);
+            }
+            return counter;
+        }
+
+        private Counter miss() {
+            Counter counter = miss;
+            if (counter == null) {
+                counter = miss = counter(METRIC_CACHE_MISS);
+            }
+            return counter;
+        }
+
+        private Counter counter(String metricName) {
+            return meterRegistry.counter(metricName, Tags.of(
+                TAG_CACHE_NAME, cacheName,
+                TAG_ORIGIN, origin
+            ));
+        }
     }
 }
@@ -2,7 +2,6 @@ package ru.tinkoff.kora.micrometer.module.db;
 
 import io.micrometer.core.instrument.DistributionSummary;
 import io.micrometer.core.instrument.MeterRegistry;
-import io.micrometer.core.instrument.Metrics;
 import ru.tinkoff.kora.database.common.QueryContext;
 import ru.tinkoff.kora.database.common.telemetry.DataBaseMetricWriter;
 
@@ -20,9 +19,14 @@ public final class MicrometerDataBaseMetricWriter implements DataBaseMetricWrite
 
     @Override
     public void recordQuery(long queryBegin, QueryContext queryContext, Throwable exception) {
-        var duration = System.nanoTime() - queryBegin;
         var metrics = this.metrics.computeIfAbsent(queryContext.queryId(), this::metrics);
-        metrics.duration().record((double) duration / 1_000_000);
+        metrics.record(queryBegin);
+    }
+
+    @Override
+    public DataBaseQueryMetricWriter bind(QueryContext queryContext) {
+        var metrics = this.metrics.computeIfAbsent(queryContext.queryId(), this::metrics);
+        return (queryBegin, exception) -> metrics.record(queryBegin);
     }
 
     @Override
@@ -30,7 +34,12 @@ public final class MicrometerDataBaseMetricWriter implements DataBaseMetricWrite
         return this.meterRegistry;
     }
 
-    private record DbMetrics(DistributionSummary duration) {}
+    private record DbMetrics(DistributionSummary duration) {
+        void record(long queryBegin) {
+            var duration = System.nanoTime() - queryBegin;
+            this.duration.record((double) duration / 1_000_000);
+        }
+    }
 
     private DbMetrics metrics(String key) {
         var duration = DistributionSummary.builder("database.client.request.duration")
@@ -38,7 +47,7 @@ public final class MicrometerDataBaseMetricWriter implements DataBaseMetricWrite
             .baseUnit("milliseconds")
             .tag("pool", this.poolName)
             .tag("query.id", key)
-            .register(Metrics.globalRegistry);
+            .register(this.meterRegistry);
         return new DbMetrics(duration);
     }
 }
@@ -8,6 +8,8 @@ import ru.tinkoff.kora.micrometer.module.http.server.tag.ActiveRequestsKey;
 import ru.tinkoff.kora.micrometer.module.http.server.tag.DurationKey;
 import ru.tinkoff.kora.micrometer.module.http.server.tag.MicrometerHttpServerTagsProvider;
 
+import javax.annotation.Nullable;
+import java.util.Arrays;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicInteger;
 
@@ -24,24 +26,30 @@ public final class MicrometerHttpServerMetrics implements HttpServerMetrics {
 
     @Override
     public void requestStarted(String method, String target, String host, String scheme) {
-        var counter = requestCounters.computeIfAbsent(new ActiveRequestsKey(method, target, host, scheme), activeRequestsKey -> {
-            var c = new AtomicInteger(0);
-            this.registerActiveRequestsGauge(activeRequestsKey, c);
-            return c;
-        });
-        counter.incrementAndGet();
+        this.requestCounter(method, target, host, scheme).incrementAndGet();
     }
 
     @Override
     public void requestFinished(String method, String target, String host, String scheme, int statusCode, long processingTime) {
-        var counter = requestCounters.computeIfAbsent(new ActiveRequestsKey(method, target, host, scheme), activeRequestsKey -> {
+        this.requestCounter(method, target, host, scheme).decrementAndGet();
+        this.requestDuration(statusCode, method, target, host, scheme).record(((double) processingTime) / 1_000_000);
+    }
+
+    @Override
+    public HttpServerRouteMetrics route(String method, String route) {
+        return new MicrometerHttpServerRouteMetrics(method, route);
+    }
+
+    private AtomicInteger requestCounter(String method, String target, String host, String scheme) {
+        return requestCounters.computeIfAbsent(new ActiveRequestsKey(method, target, host, scheme), activeRequestsKey -> {
             var c = new AtomicInteger(0);
             this.registerActiveRequestsGauge(activeRequestsKey, c);
             return c;
         });
-        counter.decrementAndGet();
-        this.duration.computeIfAbsent(new DurationKey(statusCode, method, target, host, scheme), this::requestDuration)
-            .record(((double) processingTime) / 1_000_000);
+    }
+
+    private DistributionSummary requestDuration(int statusCode, String method, String target, String host, String scheme) {
+        return this.duration.computeIfAbsent(new DurationKey(statusCode, method, target, host, scheme), this::requestDuration);
     }
 
     private void registerActiveRequestsGauge(ActiveRequestsKey key, AtomicInteger counter) {
@@ -58,4 +66,76 @@ public final class MicrometerHttpServerMetrics implements HttpServerMetrics {
             .tags(httpServerTagsProvider.getDurationTags(key))
             .register(this.meterRegistry);
     }
+
+    /**
+     * Meters of a single route, kept per host and scheme. Host and scheme are the same for almost all the requests of a server,
+     * so meters of the last seen host and scheme are checked first and the per route map is used only when they change.
+     * Durations are kept per status code in a small array that is copied when a new status code is seen.
+     */
+    private final class MicrometerHttpServerRouteMetrics implements HttpServerRouteMetrics {
+        private final String method;
+        private final String route;
+        private final ConcurrentHashMap<HostKey, HostMeters> hosts = new ConcurrentHashMap<>();
+        @Nullable
+        private volatile HostMeters hostMeters;
+
+        private MicrometerHttpServerRouteMetrics(String method, String route) {
+            this.method = method;
+            this.route = route;
+        }
+
+        @Override
+        public void requestStarted(String host, String scheme) {
+            this.hostMeters(host, scheme).activeRequests.incrementAndGet();
+        }
+
+        @Override
+        public void requestFinished(String host, String scheme, int statusCode, long processingTime) {
+            var meters = this.hostMeters(host, scheme);
+            meters.activeRequests.decrementAndGet();
+            meters.duration(statusCode).record(((double) processingTime) / 1_000_000);
+        }
+
+        private HostMeters hostMeters(String host, String scheme) {
+            var meters = this.hostMeters;
+            if (meters != null && meters.host.equals(host) && meters.scheme.equals(scheme)) {
+                return meters;
+            }
+            meters = this.hosts.computeIfAbsent(new HostKey(host, scheme), k -> new HostMeters(k.host(), k.scheme(), requestCounter(this.method, this.route, k.host(), k.scheme())));
+            this.hostMeters = meters;
+            return meters;
+        }
+
+        private final class HostMeters {
+            private final String host;
+            private final String scheme;
+            private final AtomicInteger activeRequests;
+            private volatile StatusDuration[] durations = new StatusDuration[0];
+
+            private HostMeters(String host, String scheme, AtomicInteger activeRequests) {
+                this.host = host;
+                this.scheme = scheme;
+                this.activeRequests = activeRequests;
+            }
+
+            private DistributionSummary duration(int statusCode) {
+                var durations = this.durations;
+                for (var duration : durations) {
+                    if (duration.statusCode == statusCode) {
+                        return duration.summary;
+                    }
+                }
+                var summary = requestDuration(statusCode, method, route, this.host, this.scheme);
+                // racing updates may duplicate or lose an entry, which is harmless: it is resolved from the shared map again
+                var newDurations = Arrays.copyOf(durations, durations.length + 1);
+                newDurations[durations.length] = new StatusDuration(statusCode, summary);
+                this.durations = newDurations;
+                return summary;
+            }
+        }
+    }
+
+    private record HostKey(String host, String scheme) {}
+
+    private record StatusDuration(int statusCode, DistributionSummary summary) {}
 }
@@ -1,17 +1,29 @@
 package ru.tinkoff.kora.micrometer.module.kafka.consumer;
 
+import io.micrometer.core.instrument.Counter;
 import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
 import io.micrometer.core.instrument.MeterRegistry;
 import org.apache.kafka.clients.consumer.ConsumerRecord;
 import org.apache.kafka.clients.consumer.ConsumerRecords;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
 import org.apache.kafka.common.TopicPartition;
 import ru.tinkoff.kora.kafka.common.telemetry.KafkaConsumerMetrics;
 
+import javax.annotation.Nullable;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
 
 public class MicrometerKafkaConsumerMetrics implements KafkaConsumerMetrics {
     private final MeterRegistry meterRegistry;
     private final ConcurrentHashMap<TopicPartition, DistributionSummary> metrics = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, BatchMetrics> batchMetrics = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, CommitMetrics> commitMetrics = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, PauseMetrics> pauseMetrics = new ConcurrentHashMap<>();
 
     public MicrometerKafkaConsumerMetrics(MeterRegistry meterRegistry) {
         this.meterRegistry = meterRegistry;
@@ -41,7 +53,126 @@ public class MicrometerKafkaConsumerMetrics implements KafkaConsumerMetrics {
         this.metrics.get(new TopicPartition(record.topic(), record.partition())).record(durationDouble);
     }
 
+    /**
+     * Records size of the batch part of each topic, batch duration is recorded under every topic of the batch because its records are handled together
+     */
     @Override
-    public void onRecordsProcessed(ConsumerRecords<?, ?> records, long duration, Throwable ex) {
+    public void onRecordsProcessed(ConsumerRecords<?, ?> records, long duration, @Nullable Throwable ex) {
+        if (records.isEmpty()) {
+            return;
+        }
+        double durationDouble = ((double) duration) / 1_000_000;
+        var sizeByTopic = new HashMap<String, Integer>();
+        for (var partition : records.partitions()) {
+            sizeByTopic.merge(partition.topic(), records.records(partition).size(), Integer::sum);
+        }
+        for (var entry : sizeByTopic.entrySet()) {
+            this.batchMetrics.computeIfAbsent(entry.getKey(), this::batchMetrics).record(durationDouble, entry.getValue(), ex);
+        }
+    }
+
+    private record BatchMetrics(DistributionSummary duration, DistributionSummary size, Counter errors) {
+        void record(double duration, int size, @Nullable Throwable ex) {
+            this.duration.record(duration);
+            this.size.record(size);
+            if (ex != null) {
+                this.errors.increment();
+            }
+        }
+    }
+
+    private BatchMetrics batchMetrics(String topic) {
+        var duration = DistributionSummary.builder("messaging.consumer.batch.duration")
+            .serviceLevelObjectives(1, 10, 50, 100, 200, 500, 1000, 2000, 5000, 10000, 20000, 30000, 60000, 90000)
+            .baseUnit("milliseconds")
+            .tag("messaging.system", "kafka")
+            .tag("messaging.destination", topic)
+            .tag("messaging.destination_kind", "topic")
+            .register(this.meterRegistry);
+        var size = DistributionSummary.builder("messaging.consumer.batch.size")
+            .serviceLevelObjectives(1, 10, 50, 100, 500, 1000, 5000)
+            .tag("messaging.system", "kafka")
+            .tag("messaging.destination", topic)
+            .tag("messaging.destination_kind", "topic")
+            .register(this.meterRegistry);
+        var errors = Counter.builder("messaging.consumer.batch.errors")
+            .tag("messaging.system", "kafka")
+            .tag("messaging.destination", topic)
+            .tag("messaging.destination_kind", "topic")
+            .register(this.meterRegistry);
+        return new BatchMetrics(duration, size, errors);
+    }
+
+    @Override
+    public void onOffsetsCommitted(Map<TopicPartition, OffsetAndMetadata> offsets, long duration, @Nullable Throwable ex) {
+        double durationDouble = ((double) duration) / 1_000_000;
+        var topics = new HashSet<String>();
+        for (var partition : offsets.keySet()) {
+            if (topics.add(partition.topic())) {
+                this.commitMetrics.computeIfAbsent(partition.topic(), this::commitMetrics).record(durationDouble, ex);
+            }
+        }
+    }
+
+    private record CommitMetrics(DistributionSummary duration, Counter errors) {
+        void record(double duration, @Nullable Throwable ex) {
+            this.duration.record(duration);
+            if (ex != null) {
+                this.errors.increment();
+            }
+        }
+    }
+
+    private CommitMetrics commitMetrics(String topic) {
+        var duration = DistributionSummary.builder("messaging.kafka.consumer.commit.duration")
+            .serviceLevelObjectives(1, 10, 50, 100, 200, 500, 1000, 2000, 5000, 10000)
+            .baseUnit("milliseconds")
+            .tag("messaging.system", "kafka")
+            .tag("messaging.destination", topic)
+            .register(this.meterRegistry);
+        var errors = Counter.builder("messaging.kafka.consumer.commit.errors")
+            .tag("messaging.system", "kafka")
+            .tag("messaging.destination", topic)
+            .register(this.meterRegistry);
+        return new CommitMetrics(duration, errors);
+    }
+
+    @Override
+    public void onPartitionsPaused(Collection<TopicPartition> partitions) {
+        for (var entry : countByTopic(partitions).entrySet()) {
+            var metrics = this.pauseMetrics.computeIfAbsent(entry.getKey(), this::pauseMetrics);
+            metrics.paused.addAndGet(entry.getValue());
+            metrics.pauses.increment(entry.getValue());
+        }
+    }
+
+    @Override
+    public void onPartitionsResumed(Collection<TopicPartition> partitions) {
+        for (var entry : countByTopic(partitions).entrySet()) {
+            this.pauseMetrics.computeIfAbsent(entry.getKey(), this::pauseMetrics).paused.addAndGet(-entry.getValue());
+        }
+    }
+
+    private static Map<String, Integer> countByTopic(Collection<TopicPartition> partitions) {
+        var result = new HashMap<String, Integer>();
+        for (var partition : partitions) {
+            result.merge(partition.topic(), 1, Integer::sum);
+        }
+        return result;
+    }
+
+    private record PauseMetrics(AtomicInteger paused, Counter pauses) {}
+
+    private PauseMetrics pauseMetrics(String topic) {
+        var paused = new AtomicInteger();
+        Gauge.builder("messaging.kafka.consumer.paused.partitions", paused, AtomicInteger::get)
+            .tag("messaging.system", "kafka")
+            .tag("messaging.destination", topic)
+            .register(this.meterRegistry);
+        var pauses = Counter.builder("messaging.kafka.consumer.pauses")
+            .tag("messaging.system", "kafka")
+            .tag("messaging.destination", topic)
+            .register(this.meterRegistry);
+        return new PauseMetrics(paused, pauses);
     }
 }
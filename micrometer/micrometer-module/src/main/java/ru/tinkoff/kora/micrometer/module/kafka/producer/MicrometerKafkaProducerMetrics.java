@@ -0,0 +1,51 @@
+package ru.tinkoff.kora.micrometer.module.kafka.producer;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.clients.producer.RecordMetadata;
+import ru.tinkoff.kora.kafka.common.telemetry.KafkaProducerMetrics;
+
+import javax.annotation.Nullable;
+import java.util.concurrent.ConcurrentHashMap;
+
+public class MicrometerKafkaProducerMetrics implements KafkaProducerMetrics {
+    private final MeterRegistry meterRegistry;
+    private final ConcurrentHashMap<String, SendMetrics> metrics = new ConcurrentHashMap<>();
+
+    public MicrometerKafkaProducerMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public void onRecordSent(ProducerRecord<?, ?> record, long duration, @Nullable RecordMetadata metadata, @Nullable Throwable ex) {
+        double durationDouble = ((double) duration) / 1_000_000;
+        this.metrics.computeIfAbsent(record.topic(), this::metrics).record(durationDouble, ex);
+    }
+
+    private record SendMetrics(DistributionSummary duration, Counter errors) {
+        void record(double duration, @Nullable Throwable ex) {
+            this.duration.record(duration);
+            if (ex != null) {
+                this.errors.increment();
+            }
+        }
+    }
+
+    private SendMetrics metrics(String topic) {
+        var duration = DistributionSummary.builder("messaging.producer.duration")
+            .serviceLevelObjectives(1, 10, 50, 100, 200, 500, 1000, 2000, 5000, 10000, 20000, 30000, 60000, 90000)
+            .baseUnit("milliseconds")
+            .tag("messaging.system", "kafka")
+            .tag("messaging.destination", topic)
+            .tag("messaging.destination_kind", "topic")
+            .register(this.meterRegistry);
+        var errors = Counter.builder("messaging.producer.errors")
+            .tag("messaging.system", "kafka")
+            .tag("messaging.destination", topic)
+            .tag("messaging.destination_kind", "topic")
+            .register(this.meterRegistry);
+        return new SendMetrics(duration, errors);
+    }
+}
@@ -0,0 +1,42 @@
+package ru.tinkoff.kora.micrometer.module.db;
+
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import ru.tinkoff.kora.database.common.QueryContext;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MicrometerDataBaseMetricWriterTest {
+    private final QueryContext query = new QueryContext("SELECT :id", "SELECT ?");
+
+    @Test
+    void testBoundQueryRecordsIntoInjectedRegistry() {
+        var registry = new SimpleMeterRegistry();
+        var writer = new MicrometerDataBaseMetricWriter(registry, "test-pool");
+
+        var queryWriter = writer.bind(query);
+        queryWriter.recordQuery(System.nanoTime(), null);
+        queryWriter.recordQuery(System.nanoTime(), new RuntimeException());
+
+        var summary = registry.find("database.client.request.duration")
+            .tag("pool", "test-pool")
+            .tag("query.id", query.queryId())
+            .summary();
+        assertThat(summary).isNotNull();
+        assertThat(summary.count()).isEqualTo(2);
+        assertThat(Metrics.globalRegistry.find("database.client.request.duration").tag("pool", "test-pool").summary()).isNull();
+    }
+
+    @Test
+    void testRecordQueryUsesSameSummaryAsBoundQuery() {
+        var registry = new SimpleMeterRegistry();
+        var writer = new MicrometerDataBaseMetricWriter(registry, "test-pool");
+
+        writer.bind(query).recordQuery(System.nanoTime(), null);
+        writer.recordQuery(System.nanoTime(), query, null);
+
+        assertThat(registry.find("database.client.request.duration").summaries()).hasSize(1);
+        assertThat(registry.get("database.client.request.duration").summary().count()).isEqualTo(2);
+    }
+}
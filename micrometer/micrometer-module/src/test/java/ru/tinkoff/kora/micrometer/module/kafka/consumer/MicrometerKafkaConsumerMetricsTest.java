@@ -0,0 +1,40 @@
+package ru.tinkoff.kora.micrometer.module.kafka.consumer;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.ConsumerRecords;
+import org.apache.kafka.common.TopicPartition;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MicrometerKafkaConsumerMetricsTest {
+    @Test
+    void testBatchSizeIsRecordedPerTopic() {
+        var registry = new SimpleMeterRegistry();
+        var metrics = new MicrometerKafkaConsumerMetrics(registry);
+        var records = new ConsumerRecords<>(Map.of(
+            new TopicPartition("first", 0), List.of(record("first", 0, 0), record("first", 0, 1)),
+            new TopicPartition("first", 1), List.of(record("first", 1, 0)),
+            new TopicPartition("second", 0), List.of(record("second", 0, 0))
+        ));
+
+        metrics.onRecordsProcessed(records, 1_000_000, null);
+        metrics.onRecordsProcessed(records, 1_000_000, new RuntimeException());
+
+        var first = registry.get("messaging.consumer.batch.size").tag("messaging.destination", "first").summary();
+        assertThat(first.count()).isEqualTo(2);
+        assertThat(first.totalAmount()).isEqualTo(6);
+        var second = registry.get("messaging.consumer.batch.size").tag("messaging.destination", "second").summary();
+        assertThat(second.totalAmount()).isEqualTo(2);
+        assertThat(registry.get("messaging.consumer.batch.errors").tag("messaging.destination", "first").counter().count()).isEqualTo(1);
+        assertThat(registry.get("messaging.consumer.batch.errors").tag("messaging.destination", "second").counter().count()).isEqualTo(1);
+    }
+
+    private static ConsumerRecord<String, String> record(String topic, int partition, long offset) {
+        return new ConsumerRecord<>(topic, partition, offset, "k", "v");
+    }
+}
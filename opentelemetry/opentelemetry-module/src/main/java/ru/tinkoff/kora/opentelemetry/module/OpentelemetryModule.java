@@ -9,6 +9,7 @@ import ru.tinkoff.kora.opentelemetry.module.http.client.OpentelemetryHttpClientT
 import ru.tinkoff.kora.opentelemetry.module.http.server.OpentelemetryHttpServerTracer;
 import ru.tinkoff.kora.opentelemetry.module.jms.consumer.OpentelemetryJmsConsumerTracer;
 import ru.tinkoff.kora.opentelemetry.module.kafka.consumer.OpentelemetryKafkaConsumerTracer;
+import ru.tinkoff.kora.opentelemetry.module.kafka.producer.OpentelemetryKafkaProducerTracer;
 import ru.tinkoff.kora.opentelemetry.module.scheduling.OpentelemetrySchedulingTracerFactory;
 
 public interface OpentelemetryModule {
@@ -37,6 +38,11 @@ public interface OpentelemetryModule {
         return new OpentelemetryKafkaConsumerTracer(tracer);
     }
 
+    @DefaultComponent
+    default OpentelemetryKafkaProducerTracer opentelemetryKafkaProducerTracing(Tracer tracer) {
+        return new OpentelemetryKafkaProducerTracer(tracer);
+    }
+
     @DefaultComponent
     default OpentelemetryJmsConsumerTracer opentelemetryJmsConsumerTracing(Tracer tracer) {
         return new OpentelemetryJmsConsumerTracer(tracer);
@@ -0,0 +1,73 @@
+package ru.tinkoff.kora.opentelemetry.module.kafka.producer;
+
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.SpanKind;
+import io.opentelemetry.api.trace.StatusCode;
+import io.opentelemetry.api.trace.Tracer;
+import io.opentelemetry.api.trace.propagation.W3CTraceContextPropagator;
+import io.opentelemetry.context.propagation.TextMapSetter;
+import io.opentelemetry.semconv.trace.attributes.SemanticAttributes;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.clients.producer.RecordMetadata;
+import ru.tinkoff.kora.common.Context;
+import ru.tinkoff.kora.kafka.common.telemetry.KafkaProducerTracer;
+import ru.tinkoff.kora.opentelemetry.common.OpentelemetryContext;
+
+import javax.annotation.Nullable;
+import java.nio.charset.StandardCharsets;
+
+import static io.opentelemetry.context.Context.root;
+
+public final class OpentelemetryKafkaProducerTracer implements KafkaProducerTracer {
+    private final Tracer tracer;
+
+    public OpentelemetryKafkaProducerTracer(Tracer tracer) {
+        this.tracer = tracer;
+    }
+
+    @Override
+    public KafkaProducerRecordSpan get(Context ctx, ProducerRecord<?, ?> record) {
+        var otctx = OpentelemetryContext.get(ctx);
+        var span = this.tracer.spanBuilder(record.topic() + " send")
+            .setSpanKind(SpanKind.PRODUCER)
+            .setParent(otctx.getContext())
+            .setAttribute(SemanticAttributes.MESSAGING_SYSTEM, "kafka")
+            .setAttribute(SemanticAttributes.MESSAGING_DESTINATION, record.topic())
+            .setAttribute(SemanticAttributes.MESSAGING_DESTINATION_KIND, "topic")
+            .startSpan();
+        W3CTraceContextPropagator.getInstance().inject(span.storeInContext(root()), record, ProducerRecordTextMapSetter.INSTANCE);
+
+        return new OpentelemetryKafkaProducerRecordSpan(span);
+    }
+
+    private enum ProducerRecordTextMapSetter implements TextMapSetter<ProducerRecord<?, ?>> {
+        INSTANCE;
+
+        @Override
+        public void set(@Nullable ProducerRecord<?, ?> carrier, String key, String value) {
+            // headers copied from the user record may already carry a context of another trace, it is replaced
+            carrier.headers().remove(key);
+            carrier.headers().add(key, value.getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    private static final class OpentelemetryKafkaProducerRecordSpan implements KafkaProducerRecordSpan {
+        private final Span span;
+
+        public OpentelemetryKafkaProducerRecordSpan(Span span) {
+            this.span = span;
+        }
+
+        @Override
+        public void close(@Nullable RecordMetadata metadata, @Nullable Throwable ex) {
+            if (metadata != null) {
+                this.span.setAttribute(SemanticAttributes.MESSAGING_KAFKA_PARTITION, (long) metadata.partition());
+            }
+            if (ex != null) {
+                this.span.recordException(ex);
+                this.span.setStatus(StatusCode.ERROR);
+            }
+            this.span.end();
+        }
+    }
+}
@@ -8,6 +8,7 @@ import ru.tinkoff.kora.resilient.circuitbreaker.CircuitBreakerFailurePredicate;
 import ru.tinkoff.kora.resilient.circuitbreaker.telemetry.CircuitBreakerMetrics;
 
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 import java.time.Clock;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Supplier;
@@ -29,6 +30,8 @@ import java.util.function.Supplier;
  * ^                           ^                   ^                  ^
  * state sign     error count (16 bit)   success count (16 bits)   acquired count (16 bits)
  * --------------------------------------------------------------------------------------------------
+ * With {@link FastCircuitBreakerConfig.SlidingWindowType#TIME_BASED} window closed state counters are not used,
+ * calls are recorded in {@link #timeWindow} instead and it is reset every time circuit breaker gets closed.
  */
 @SuppressWarnings("ConstantConditions")
 record FastCircuitBreaker(
@@ -38,7 +41,8 @@ record FastCircuitBreaker(
     CircuitBreakerFailurePredicate failurePredicate,
     CircuitBreakerMetrics metrics,
     long waitDurationInOpenStateInMillis,
-    Clock clock
+    Clock clock,
+    @Nullable FastCircuitBreakerTimeWindow timeWindow
 ) implements CircuitBreaker {
 
     private static final Logger logger = LoggerFactory.getLogger(FastCircuitBreaker.class);
@@ -56,7 +60,14 @@ record FastCircuitBreaker(
     private static final long BOTH_COUNTERS_INC = ERR_COUNTER_INC + COUNTER_INC;
 
     FastCircuitBreaker(String name, FastCircuitBreakerConfig.NamedConfig config, CircuitBreakerFailurePredicate failurePredicate, CircuitBreakerMetrics metrics) {
-        this(new AtomicLong(CLOSED_STATE), name, config, failurePredicate, metrics, config.waitDurationInOpenState().toMillis(), config.clock());
+        this(name, config, failurePredicate, metrics, config.clock());
+    }
+
+    FastCircuitBreaker(String name, FastCircuitBreakerConfig.NamedConfig config, CircuitBreakerFailurePredicate failurePredicate, CircuitBreakerMetrics metrics, Clock clock) {
+        this(new AtomicLong(CLOSED_STATE), name, config, failurePredicate, metrics, config.waitDurationInOpenState().toMillis(), clock,
+            config.slidingWindowType() == FastCircuitBreakerConfig.SlidingWindowType.TIME_BASED
+                ? new FastCircuitBreakerTimeWindow(config.slidingWindowSize().intValue())
+                : null);
         this.metrics.recordState(name, State.CLOSED);
     }
 
@@ -172,6 +183,14 @@ record FastCircuitBreaker(
 
     @Override
     public void releaseOnSuccess() {
+        if (timeWindow != null) {
+            final long currentStateLong = state.get();
+            if (getState(currentStateLong) == State.CLOSED) {
+                timeWindow.recordSuccess(clock.millis());
+                return;
+            }
+        }
+
         State prevState;
         State newState;
         while (true) {
@@ -185,6 +204,9 @@ record FastCircuitBreaker(
         }
 
         if (prevState != newState) {
+            if (newState == State.CLOSED && timeWindow != null) {
+                timeWindow.reset();
+            }
             onStateChange(prevState, newState);
         }
     }
@@ -225,11 +247,22 @@ record FastCircuitBreaker(
             return;
         }
 
+        final long timeWindowAggregate;
+        if (timeWindow != null && getState(state.get()) == State.CLOSED) {
+            final long currentTimeInMillis = clock.millis();
+            timeWindow.recordError(currentTimeInMillis);
+            timeWindowAggregate = timeWindow.aggregate(currentTimeInMillis);
+        } else {
+            timeWindowAggregate = 0;
+        }
+
         State prevState;
         State newState;
         while (true) {
             final long currentStateLong = state.get();
-            final long newStateLong = calculateStateOnFailure(currentStateLong);
+            final long newStateLong = (timeWindow == null)
+                ? calculateStateOnFailure(currentStateLong)
+                : calculateStateOnFailureInTimeWindow(currentStateLong, timeWindowAggregate);
             if (state.compareAndSet(currentStateLong, newStateLong)) {
                 newState = getState(newStateLong);
                 prevState = getState(currentStateLong);
@@ -268,4 +301,27 @@ record FastCircuitBreaker(
             return currentState;
         }
     }
+
+    private long calculateStateOnFailureInTimeWindow(long currentState, long timeWindowAggregate) {
+        final State state = getState(currentState);
+        if (state == State.CLOSED) {
+            final int total = FastCircuitBreakerTimeWindow.total(timeWindowAggregate);
+            if (total < config.minimumRequiredCalls()) {
+                return currentState;
+            }
+
+            final float errors = FastCircuitBreakerTimeWindow.errors(timeWindowAggregate);
+            final int failureRatePercentage = (int) (errors / total * 100);
+            if (failureRatePercentage >= config.failureRateThreshold()) {
+                return getOpenState();
+            } else {
+                return currentState;
+            }
+        } else if (state == State.HALF_OPEN) {
+            return getOpenState();
+        } else {
+            // do nothing with open state
+            return currentState;
+        }
+    }
 }
@@ -12,6 +12,15 @@ public record FastCircuitBreakerConfig(@Nullable Map<String, NamedConfig> fast)
 
     public static final String DEFAULT = "default";
 
+    /**
+     * Max {@link NamedConfig#slidingWindowSize} of {@link SlidingWindowType#TIME_BASED} window in seconds
+     */
+    public static final long MAX_TIME_BASED_SLIDING_WINDOW_SIZE = 3600;
+
+    public enum SlidingWindowType {
+        COUNT_BASED, TIME_BASED
+    }
+
     public NamedConfig getNamedConfig(@Nonnull String name) {
         if (fast == null)
             throw new IllegalStateException("CircuitBreaker no configuration is provided, but either '" + name + "' or '" + DEFAULT + "' config is required");
@@ -37,7 +46,10 @@ public record FastCircuitBreakerConfig(@Nullable Map<String, NamedConfig> fast)
             throw new IllegalArgumentException("CircuitBreaker '" + name + "' minimumRequiredCalls can't be negative, but was " + mergedConfig.minimumRequiredCalls);
         if (mergedConfig.slidingWindowSize < 1)
             throw new IllegalArgumentException("CircuitBreaker '" + name + "' slidingWindowSize can't be negative, but was " + mergedConfig.slidingWindowSize);
-        if (mergedConfig.minimumRequiredCalls > mergedConfig.slidingWindowSize)
+        if (mergedConfig.slidingWindowType == SlidingWindowType.TIME_BASED && mergedConfig.slidingWindowSize > MAX_TIME_BASED_SLIDING_WINDOW_SIZE)
+            throw new IllegalArgumentException("CircuitBreaker '" + name + "' slidingWindowSize of time based window can't be more than " + MAX_TIME_BASED_SLIDING_WINDOW_SIZE
+                + " seconds, but was " + mergedConfig.slidingWindowSize);
+        if (mergedConfig.slidingWindowType != SlidingWindowType.TIME_BASED && mergedConfig.minimumRequiredCalls > mergedConfig.slidingWindowSize)
             throw new IllegalArgumentException("CircuitBreaker '" + name + "' minimumRequiredCalls was " + mergedConfig.minimumRequiredCalls
                 + " can't be more than slidingWindowSize which is " + mergedConfig.slidingWindowSize);
         if (mergedConfig.failureRateThreshold > 100 || mergedConfig.failureRateThreshold < 1)
@@ -58,7 +70,8 @@ public record FastCircuitBreakerConfig(@Nullable Map<String, NamedConfig> fast)
             namedConfig.permittedCallsInHalfOpenState == null ? defaultConfig.permittedCallsInHalfOpenState : namedConfig.permittedCallsInHalfOpenState,
             namedConfig.slidingWindowSize == null ? defaultConfig.slidingWindowSize : namedConfig.slidingWindowSize,
             namedConfig.minimumRequiredCalls == null ? defaultConfig.minimumRequiredCalls : namedConfig.minimumRequiredCalls,
-            namedConfig.failurePredicateName == null ? defaultConfig.failurePredicateName : namedConfig.failurePredicateName);
+            namedConfig.failurePredicateName == null ? defaultConfig.failurePredicateName : namedConfig.failurePredicateName,
+            namedConfig.slidingWindowType == null ? defaultConfig.slidingWindowType : namedConfig.slidingWindowType);
     }
 
     /**
@@ -67,24 +80,27 @@ public record FastCircuitBreakerConfig(@Nullable Map<String, NamedConfig> fast)
      * {@link #failureRateThreshold} Configures the failure rate threshold in percentage. If the failure rate is equal to or greater than the threshold, the CircuitBreaker transitions to open and starts short-circuiting calls. The threshold must be greater than 0 and not greater than 100.
      * {@link #waitDurationInOpenState} Configures an interval function with a fixed wait duration which controls how long the CircuitBreaker should stay open, before it switches to half open.
      * {@link #permittedCallsInHalfOpenState} Configures the number of permitted calls that must succeed when the CircuitBreaker is half open.
-     * {@link #slidingWindowSize} Configures the sliding window which is used to record the outcome of calls when the CircuitBreaker is closed.
+     * {@link #slidingWindowSize} Configures the sliding window which is used to record the outcome of calls when the CircuitBreaker is closed: number of calls for count based window or number of seconds for time based one.
      * {@link #minimumRequiredCalls} Configures the minimum number of calls which are required (per sliding window period) before the CircuitBreaker can calculate the error rate.
      * {@link #failurePredicateName} {@link CircuitBreakerFailurePredicate#name()} default is {@link FastCircuitBreakerFailurePredicate}
+     * {@link #slidingWindowType} Configures whether the sliding window counts last {@link #slidingWindowSize} calls or calls of last {@link #slidingWindowSize} seconds, default is {@link SlidingWindowType#COUNT_BASED}
      */
     public record NamedConfig(@Nullable Integer failureRateThreshold,
                               @Nullable Duration waitDurationInOpenState,
                               @Nullable Integer permittedCallsInHalfOpenState,
                               @Nullable Long slidingWindowSize,
                               @Nullable Long minimumRequiredCalls,
-                              @Nullable String failurePredicateName) {
+                              @Nullable String failurePredicateName,
+                              @Nullable SlidingWindowType slidingWindowType) {
 
-        public NamedConfig(@Nullable Integer failureRateThreshold, @Nullable Duration waitDurationInOpenState, @Nullable Integer permittedCallsInHalfOpenState, @Nullable Long slidingWindowSize, @Nullable Long minimumRequiredCalls, @Nullable String failurePredicateName) {
+        public NamedConfig(@Nullable Integer failureRateThreshold, @Nullable Duration waitDurationInOpenState, @Nullable Integer permittedCallsInHalfOpenState, @Nullable Long slidingWindowSize, @Nullable Long minimumRequiredCalls, @Nullable String failurePredicateName, @Nullable SlidingWindowType slidingWindowType) {
             this.failureRateThreshold = failureRateThreshold;
             this.waitDurationInOpenState = waitDurationInOpenState;
             this.permittedCallsInHalfOpenState = permittedCallsInHalfOpenState;
             this.slidingWindowSize = slidingWindowSize;
             this.minimumRequiredCalls = minimumRequiredCalls;
             this.failurePredicateName = (failurePredicateName == null) ? FastCircuitBreakerFailurePredicate.class.getCanonicalName() : failurePredicateName;
+            this.slidingWindowType = slidingWindowType;
         }
 
         public Clock clock() {
@@ -0,0 +1,174 @@
+package ru.tinkoff.kora.resilient.circuitbreaker.impl;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Time based sliding window made of one second buckets, each bucket is single lock free counter
+ * --------------------------------------------------------------------------------------------------
+ * Bucket
+ * 00000000000000000000 | 0000000000000000000000 | 0000000000000000000000
+ * ^                              ^                          ^
+ * epoch second (20 bits)    errors count (22 bits)    request count (22 bits)
+ * --------------------------------------------------------------------------------------------------
+ * Bucket is reused for the next second that falls into it: the first call of the new second resets its counters.
+ * Counters saturate at their max value, calls of the seconds that already left the window are ignored.
+ * <p>
+ * Errors and requests of the whole window are also kept in running counters: each bucket change is applied to them by the thread that made it,
+ * and buckets of the seconds that leave the window are cleared as time goes on, one bucket per second.
+ * So recording a call and {@link #aggregate(long)} cost the same whatever the window size is.
+ */
+final class FastCircuitBreakerTimeWindow {
+
+    private static final int EPOCH_SHIFT = 44;
+    private static final long EPOCH_MASK = 0xF_FFFFL;
+    private static final long EPOCH_BITS = EPOCH_MASK << EPOCH_SHIFT;
+    private static final long COUNTER_MASK = 0x3F_FFFFL;
+
+    private static final long COUNTER_INC = 1L;
+    private static final long ERR_COUNTER_INC = 1L << 22;
+    private static final long BOTH_COUNTERS_INC = ERR_COUNTER_INC + COUNTER_INC;
+
+    private final AtomicLongArray buckets;
+    private final int size;
+    private final AtomicLong errors = new AtomicLong();
+    private final AtomicLong total = new AtomicLong();
+    // first second of the window, buckets of the earlier seconds are cleared
+    private final AtomicLong windowStart = new AtomicLong();
+
+    /**
+     * @param size window size in seconds
+     */
+    FastCircuitBreakerTimeWindow(int size) {
+        this.size = size;
+        this.buckets = new AtomicLongArray(size);
+    }
+
+    void recordSuccess(long currentTimeInMillis) {
+        record(currentTimeInMillis, COUNTER_INC);
+    }
+
+    void recordError(long currentTimeInMillis) {
+        record(currentTimeInMillis, BOTH_COUNTERS_INC);
+    }
+
+    private void record(long currentTimeInMillis, long increment) {
+        final long epoch = currentTimeInMillis / 1000;
+        expire(epoch);
+        if (epoch < windowStart.get()) {
+            // late call of the second that left the window, its bucket may be taken by the current second already
+            return;
+        }
+        final int index = (int) (epoch % size);
+        final long epochBits = (epoch & EPOCH_MASK) << EPOCH_SHIFT;
+        while (true) {
+            final long bucket = buckets.get(index);
+            final long newBucket;
+            if ((bucket & EPOCH_BITS) != epochBits) {
+                newBucket = epochBits + increment;
+            } else if ((bucket & COUNTER_MASK) == COUNTER_MASK) {
+                // saturated, keep the failure rate of the bucket as is
+                return;
+            } else {
+                newBucket = bucket + increment;
+            }
+            if (buckets.compareAndSet(index, bucket, newBucket)) {
+                onBucketChanged(bucket, newBucket);
+                final long start = windowStart.get();
+                if (epoch < start) {
+                    // the second left the window while the call was recorded, its bucket could be cleared before it
+                    clear(index, start);
+                }
+                return;
+            }
+        }
+    }
+
+    /**
+     * Moves the window start to the given second and clears the buckets of the seconds that left the window
+     */
+    private void expire(long epoch) {
+        final long start = epoch - size + 1;
+        while (true) {
+            final long currentStart = windowStart.get();
+            if (start <= currentStart) {
+                return;
+            }
+            if (windowStart.compareAndSet(currentStart, start)) {
+                final long passed = Math.min(start - currentStart, size);
+                for (long second = start - passed; second < start; second++) {
+                    clear((int) (second % size), start);
+                }
+                return;
+            }
+        }
+    }
+
+    /**
+     * Clears the counters of the bucket if it belongs to a second before the window start
+     */
+    private void clear(int index, long start) {
+        while (true) {
+            final long bucket = buckets.get(index);
+            final long epochBits = bucket & EPOCH_BITS;
+            if ((bucket & ~EPOCH_BITS) == 0 || !isBefore(epochBits, start)) {
+                return;
+            }
+            if (buckets.compareAndSet(index, bucket, epochBits)) {
+                onBucketChanged(bucket, epochBits);
+                return;
+            }
+        }
+    }
+
+    private static boolean isBefore(long epochBits, long second) {
+        // epoch is stored modulo 2^20, so seconds are compared by their signed distance
+        final long distance = ((second - (epochBits >>> EPOCH_SHIFT)) << EPOCH_SHIFT) >> EPOCH_SHIFT;
+        return distance > 0;
+    }
+
+    private void onBucketChanged(long bucket, long newBucket) {
+        final long errorsDelta = ((newBucket >>> 22) & COUNTER_MASK) - ((bucket >>> 22) & COUNTER_MASK);
+        final long totalDelta = (newBucket & COUNTER_MASK) - (bucket & COUNTER_MASK);
+        if (errorsDelta != 0) {
+            errors.addAndGet(errorsDelta);
+        }
+        if (totalDelta != 0) {
+            total.addAndGet(totalDelta);
+        }
+    }
+
+    /**
+     * @return errors count in the high 32 bits and request count in the low 32 bits
+     */
+    long aggregate(long currentTimeInMillis) {
+        expire(currentTimeInMillis / 1000);
+        // counters are updated one by one, so they may be a call apart from each other for a moment
+        final long total = Math.max(this.total.get(), 0);
+        final long errors = Math.min(Math.max(this.errors.get(), 0), total);
+        return (Math.min(errors, Integer.MAX_VALUE) << 32) | Math.min(total, Integer.MAX_VALUE);
+    }
+
+    static int errors(long aggregate) {
+        return (int) (aggregate >>> 32);
+    }
+
+    static int total(long aggregate) {
+        return (int) aggregate;
+    }
+
+    void reset() {
+        for (int i = 0; i < size; i++) {
+            while (true) {
+                final long bucket = buckets.get(i);
+                if ((bucket & ~EPOCH_BITS) == 0) {
+                    break;
+                }
+                if (buckets.compareAndSet(i, bucket, bucket & EPOCH_BITS)) {
+                    onBucketChanged(bucket, bucket & EPOCH_BITS);
+                    break;
+                }
+            }
+        }
+    }
+}
@@ -8,7 +8,11 @@ import ru.tinkoff.kora.resilient.circuitbreaker.CircuitBreaker.State;
 import ru.tinkoff.kora.resilient.circuitbreaker.CircuitBreakerFailurePredicate;
 
 import javax.annotation.Nonnull;
+import java.time.Clock;
 import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
 
 import static org.awaitility.Awaitility.await;
 
@@ -38,7 +42,7 @@ class FastCircuitBreakerTests extends Assertions {
     void switchFromClosedToOpen() {
         // given
         final FastCircuitBreakerConfig.NamedConfig config = new FastCircuitBreakerConfig.NamedConfig(
-            30, WAIT_IN_OPEN, 3, 10L, 8L, FastCircuitBreakerFailurePredicate.class.getCanonicalName());
+            30, WAIT_IN_OPEN, 3, 10L, 8L, FastCircuitBreakerFailurePredicate.class.getCanonicalName(), null);
         final FastCircuitBreaker circuitBreaker = new FastCircuitBreaker("default", config, new FastCircuitBreakerFailurePredicate(), NoopCircuitBreakerMetrics.INSTANCE);
 
         // when
@@ -74,7 +78,7 @@ class FastCircuitBreakerTests extends Assertions {
     void switchFromClosedToOpenForMinimumNumberOfCalls() {
         // given
         final FastCircuitBreakerConfig.NamedConfig config = new FastCircuitBreakerConfig.NamedConfig(
-            100, WAIT_IN_OPEN, 1, 2L, 2L, FastCircuitBreakerFailurePredicate.class.getCanonicalName());
+            100, WAIT_IN_OPEN, 1, 2L, 2L, FastCircuitBreakerFailurePredicate.class.getCanonicalName(), null);
         final FastCircuitBreaker circuitBreaker = new FastCircuitBreaker("default", config, new FastCircuitBreakerFailurePredicate(), NoopCircuitBreakerMetrics.INSTANCE);
 
         // when
@@ -95,7 +99,7 @@ class FastCircuitBreakerTests extends Assertions {
     void switchFromOpenToHalfOpenToOpen() {
         // given
         final FastCircuitBreakerConfig.NamedConfig config = new FastCircuitBreakerConfig.NamedConfig(
-            100, WAIT_IN_OPEN, 1, 1L, 1L, FastCircuitBreakerFailurePredicate.class.getCanonicalName());
+            100, WAIT_IN_OPEN, 1, 1L, 1L, FastCircuitBreakerFailurePredicate.class.getCanonicalName(), null);
         final FastCircuitBreaker circuitBreaker = new FastCircuitBreaker("default", config, new FastCircuitBreakerFailurePredicate(), NoopCircuitBreakerMetrics.INSTANCE);
 
         // when
@@ -117,7 +121,7 @@ class FastCircuitBreakerTests extends Assertions {
     void switchFromOpenToHalfOpenToClosed() {
         // given
         final FastCircuitBreakerConfig.NamedConfig config = new FastCircuitBreakerConfig.NamedConfig(
-            100, WAIT_IN_OPEN, 1, 1L, 1L, FastCircuitBreakerFailurePredicate.class.getCanonicalName());
+            100, WAIT_IN_OPEN, 1, 1L, 1L, FastCircuitBreakerFailurePredicate.class.getCanonicalName(), null);
         final FastCircuitBreaker circuitBreaker = new FastCircuitBreaker("default", config, new FastCircuitBreakerFailurePredicate(), NoopCircuitBreakerMetrics.INSTANCE);
 
         // when
@@ -139,7 +143,7 @@ class FastCircuitBreakerTests extends Assertions {
     void switchFromOpenToHalfOpenAndValidateAcquireCalls() {
         // given
         final FastCircuitBreakerConfig.NamedConfig config = new FastCircuitBreakerConfig.NamedConfig(
-            100, WAIT_IN_OPEN, 1, 1L, 1L, FastCircuitBreakerFailurePredicate.class.getCanonicalName());
+            100, WAIT_IN_OPEN, 1, 1L, 1L, FastCircuitBreakerFailurePredicate.class.getCanonicalName(), null);
         final FastCircuitBreaker circuitBreaker = new FastCircuitBreaker("default", config, new FastCircuitBreakerFailurePredicate(), NoopCircuitBreakerMetrics.INSTANCE);
 
         // when
@@ -163,7 +167,7 @@ class FastCircuitBreakerTests extends Assertions {
     void switchFromClosedToOpenForCustomFailurePredicate() {
         // given
         final FastCircuitBreakerConfig.NamedConfig config = new FastCircuitBreakerConfig.NamedConfig(
-            100, WAIT_IN_OPEN, 1, 1L, 1L, "custom");
+            100, WAIT_IN_OPEN, 1, 1L, 1L, "custom", null);
         final FastCircuitBreaker circuitBreaker = new FastCircuitBreaker("default", config, new CustomFailurePredicate(), NoopCircuitBreakerMetrics.INSTANCE);
 
         // when
@@ -178,4 +182,139 @@ class FastCircuitBreakerTests extends Assertions {
         assertEquals(State.OPEN, circuitBreaker.getState());
         assertFalse(circuitBreaker.tryAcquire()); // open
     }
+
+    static class ManualClock extends Clock {
+
+        private long millis = 1_000_000;
+
+        void advance(Duration duration) {
+            millis += duration.toMillis();
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public long millis() {
+            return millis;
+        }
+
+        @Override
+        public Instant instant() {
+            return Instant.ofEpochMilli(millis);
+        }
+    }
+
+    @Test
+    void switchFromClosedToOpenInTimeWindow() {
+        // given
+        final FastCircuitBreakerConfig.NamedConfig config = new FastCircuitBreakerConfig.NamedConfig(
+            50, WAIT_IN_OPEN, 1, 10L, 4L, FastCircuitBreakerFailurePredicate.class.getCanonicalName(), FastCircuitBreakerConfig.SlidingWindowType.TIME_BASED);
+        final ManualClock clock = new ManualClock();
+        final FastCircuitBreaker circuitBreaker = new FastCircuitBreaker("default", config, new FastCircuitBreakerFailurePredicate(), NoopCircuitBreakerMetrics.INSTANCE, clock);
+
+        // when
+        assertTrue(circuitBreaker.tryAcquire()); // closed
+        circuitBreaker.releaseOnSuccess();
+        assertTrue(circuitBreaker.tryAcquire()); // closed
+        circuitBreaker.releaseOnSuccess();
+        clock.advance(Duration.ofSeconds(3));
+        assertTrue(circuitBreaker.tryAcquire()); // closed
+        circuitBreaker.releaseOnError(new IllegalStateException());
+        assertEquals(State.CLOSED, circuitBreaker.getState());
+
+        // then
+        assertTrue(circuitBreaker.tryAcquire()); // closed
+        circuitBreaker.releaseOnError(new IllegalStateException());
+        assertEquals(State.OPEN, circuitBreaker.getState());
+        assertFalse(circuitBreaker.tryAcquire()); // open
+    }
+
+    @Test
+    void staleFailuresLeaveTimeWindow() {
+        // given
+        final FastCircuitBreakerConfig.NamedConfig config = new FastCircuitBreakerConfig.NamedConfig(
+            50, WAIT_IN_OPEN, 1, 10L, 2L, FastCircuitBreakerFailurePredicate.class.getCanonicalName(), FastCircuitBreakerConfig.SlidingWindowType.TIME_BASED);
+        final ManualClock clock = new ManualClock();
+        final FastCircuitBreaker circuitBreaker = new FastCircuitBreaker("default", config, new FastCircuitBreakerFailurePredicate(), NoopCircuitBreakerMetrics.INSTANCE, clock);
+
+        // when
+        assertTrue(circuitBreaker.tryAcquire()); // closed
+        circuitBreaker.releaseOnError(new IllegalStateException());
+        assertEquals(State.CLOSED, circuitBreaker.getState());
+        clock.advance(Duration.ofSeconds(10));
+        for (int i = 0; i < 3; i++) {
+            assertTrue(circuitBreaker.tryAcquire()); // closed
+            circuitBreaker.releaseOnSuccess();
+        }
+
+        // then
+        assertTrue(circuitBreaker.tryAcquire()); // closed
+        circuitBreaker.releaseOnError(new IllegalStateException());
+        assertEquals(State.CLOSED, circuitBreaker.getState());
+        clock.advance(Duration.ofSeconds(10));
+        assertTrue(circuitBreaker.tryAcquire()); // closed
+        circuitBreaker.releaseOnSuccess();
+        assertTrue(circuitBreaker.tryAcquire()); // closed
+        circuitBreaker.releaseOnError(new IllegalStateException());
+        assertEquals(State.OPEN, circuitBreaker.getState());
+    }
+
+    @Test
+    void timeWindowIsResetAfterHalfOpen() {
+        // given
+        final FastCircuitBreakerConfig.NamedConfig config = new FastCircuitBreakerConfig.NamedConfig(
+            50, WAIT_IN_OPEN, 1, 10L, 2L, FastCircuitBreakerFailurePredicate.class.getCanonicalName(), FastCircuitBreakerConfig.SlidingWindowType.TIME_BASED);
+        final ManualClock clock = new ManualClock();
+        final FastCircuitBreaker circuitBreaker = new FastCircuitBreaker("default", config, new FastCircuitBreakerFailurePredicate(), NoopCircuitBreakerMetrics.INSTANCE, clock);
+        assertTrue(circuitBreaker.tryAcquire()); // closed
+        circuitBreaker.releaseOnError(new IllegalStateException());
+        assertTrue(circuitBreaker.tryAcquire()); // closed
+        circuitBreaker.releaseOnError(new IllegalStateException());
+        assertEquals(State.OPEN, circuitBreaker.getState());
+
+        // when
+        clock.advance(WAIT_IN_OPEN);
+        assertTrue(circuitBreaker.tryAcquire()); // half open
+        circuitBreaker.releaseOnSuccess();
+        assertEquals(State.CLOSED, circuitBreaker.getState());
+
+        // then
+        assertTrue(circuitBreaker.tryAcquire()); // closed
+        circuitBreaker.releaseOnError(new IllegalStateException());
+        assertEquals(State.CLOSED, circuitBreaker.getState());
+    }
+
+    @Test
+    void timeWindowCountsLeaveWindowSecondBySecond() {
+        // given
+        final FastCircuitBreakerTimeWindow window = new FastCircuitBreakerTimeWindow(3);
+        final long start = 1_000_000;
+        window.recordError(start);
+        window.recordSuccess(start + 1_000);
+        window.recordSuccess(start + 2_000);
+        window.recordError(start + 2_500);
+
+        // then
+        long aggregate = window.aggregate(start + 2_999);
+        assertEquals(2, FastCircuitBreakerTimeWindow.errors(aggregate));
+        assertEquals(4, FastCircuitBreakerTimeWindow.total(aggregate));
+        aggregate = window.aggregate(start + 3_000);
+        assertEquals(1, FastCircuitBreakerTimeWindow.errors(aggregate));
+        assertEquals(3, FastCircuitBreakerTimeWindow.total(aggregate));
+        window.recordSuccess(start); // left the window already
+        aggregate = window.aggregate(start + 4_000);
+        assertEquals(1, FastCircuitBreakerTimeWindow.errors(aggregate));
+        assertEquals(2, FastCircuitBreakerTimeWindow.total(aggregate));
+        aggregate = window.aggregate(start + 60_000);
+        assertEquals(0, FastCircuitBreakerTimeWindow.errors(aggregate));
+        assertEquals(0, FastCircuitBreakerTimeWindow.total(aggregate));
+    }
 }